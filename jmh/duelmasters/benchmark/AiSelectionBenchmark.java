@@ -0,0 +1,50 @@
+package duelmasters.benchmark;
+
+import duelmasters.engine.DuelView;
+import duelmasters.engine.HeuristicAiStrategy;
+import duelmasters.entities.TacticalChoice;
+import duelmasters.headless.SyntheticDeckFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selección de carta de la IA (HeuristicAiStrategy.selectOptimalCard a
+ * través de su jugada de apertura) sobre una mano fija
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class AiSelectionBenchmark {
+
+    private DuelView aiView;
+    private HeuristicAiStrategy aiStrategy;
+
+    @Setup
+    public void setUp() {
+        Random random = BenchmarkFixtures.random();
+        aiView = BenchmarkFixtures.fixedView(SyntheticDeckFactory.generateDeck(random, BenchmarkFixtures.AI_HAND_SIZE, 100));
+        aiStrategy = new HeuristicAiStrategy(new Random(BenchmarkFixtures.FIXTURE_SEED));
+    }
+
+    @Benchmark
+    public TacticalChoice opening() {
+        return aiStrategy.chooseOpeningMove(aiView);
+    }
+}
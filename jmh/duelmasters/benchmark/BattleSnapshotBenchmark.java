@@ -0,0 +1,71 @@
+package duelmasters.benchmark;
+
+import duelmasters.engine.BattleEngine;
+import duelmasters.engine.BattleSnapshot;
+import duelmasters.engine.CombatEventAdapter;
+import duelmasters.engine.DuelRandom;
+import duelmasters.entities.DuelCard;
+import duelmasters.headless.HeadlessPlayers;
+import duelmasters.headless.SyntheticDeckFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Captura y restauración de BattleSnapshot sobre un duelo a mitad con manos
+ * de 3 cartas (unos 70 bytes por instantánea)
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BattleSnapshotBenchmark {
+
+    private static final int HAND_SIZE = 3;
+
+    private final CombatEventAdapter silent = new CombatEventAdapter();
+    private final Map<Integer, DuelCard> catalog = new HashMap<>();
+    private BattleEngine engine;
+    private byte[] snapshot;
+
+    @Setup
+    public void setUp() {
+        Random random = BenchmarkFixtures.random();
+        List<DuelCard> playerDeck = SyntheticDeckFactory.generateDeck(random, HAND_SIZE, 1);
+        List<DuelCard> aiDeck = SyntheticDeckFactory.generateDeck(random, HAND_SIZE, 1 + HAND_SIZE);
+        playerDeck.forEach(card -> catalog.put(card.getCardId(), card));
+        aiDeck.forEach(card -> catalog.put(card.getCardId(), card));
+        engine = new BattleEngine(playerDeck, aiDeck, silent, new DuelRandom(random.nextLong()));
+        engine.commenceBattle();
+        engine.setPlayerTacticalChoice(HeadlessPlayers.greedy().chooseMove(engine));
+        snapshot = engine.snapshot();
+    }
+
+    @Benchmark
+    public byte[] capture() {
+        return engine.snapshot();
+    }
+
+    @Benchmark
+    public BattleEngine restore() {
+        return BattleSnapshot.restore(snapshot, catalog::get, silent, null);
+    }
+}
@@ -0,0 +1,142 @@
+package duelmasters.benchmark;
+
+import duelmasters.engine.DuelView;
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+import duelmasters.headless.SyntheticDeckFactory;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Datos de entrada fijos de los benchmarks JMH
+ * Todo se genera con FIXTURE_SEED, así que dos ejecuciones (y la línea base
+ * de docs/jmh-baseline.csv) miden exactamente las mismas entradas
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+final class BenchmarkFixtures {
+
+    static final long FIXTURE_SEED = 20240601L;
+    static final int SMALL_PAYLOAD_CARDS = 10;       // Una petición de cartas aleatorias
+    static final int CATALOG_PAYLOAD_CARDS = 12_000; // Tamaño aproximado de cardinfo.php completo
+    static final int DUEL_HAND_SIZE = 3;
+    static final int AI_HAND_SIZE = 5;
+    static final int CHOICE_PAIRS = 1024;
+    static final int BATCH_ROUNDS = 4096;
+    static final int THUMBNAIL_SIZE = 140;
+
+    private static final int CARD_IMAGE_WIDTH = 421;
+    private static final int CARD_IMAGE_HEIGHT = 614;
+    private static final String[] CARD_TYPES = {"Normal Monster", "Effect Monster", "Fusion Monster", "Spell Card", "Trap Card"};
+
+    private BenchmarkFixtures() { }
+
+    static Random random() {
+        return new Random(FIXTURE_SEED);
+    }
+
+    /**
+     * Respuesta con el formato de cardinfo.php: descripciones con comillas,
+     * barras y saltos de línea escapados, imágenes y precios
+     */
+    static String cardInfoJson(Random random, int cards) {
+        StringBuilder json = new StringBuilder(cards * 900);
+        json.append("{\"data\":[");
+        for (int i = 0; i < cards; i++) {
+            int id = 10_000_000 + random.nextInt(90_000_000);
+            String type = CARD_TYPES[random.nextInt(CARD_TYPES.length)];
+            boolean monster = type.endsWith("Monster");
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id)
+                .append(",\"name\":\"Carta de Prueba ").append(i).append("\"")
+                .append(",\"type\":\"").append(type).append("\"")
+                .append(",\"frameType\":\"").append(monster ? "effect" : "spell").append("\"")
+                .append(",\"desc\":\"").append(cardDescription(random, i)).append("\"");
+            if (monster) {
+                json.append(",\"atk\":").append(random.nextInt(61) * 50)
+                    .append(",\"def\":").append(random.nextInt(61) * 50)
+                    .append(",\"level\":").append(1 + random.nextInt(12))
+                    .append(",\"race\":\"Warrior\",\"attribute\":\"LIGHT\"");
+            } else {
+                json.append(",\"race\":\"Normal\"");
+            }
+            json.append(",\"ygoprodeck_url\":\"https:\\/\\/ygoprodeck.com\\/card\\/carta-").append(i).append("\"")
+                .append(",\"card_images\":[{\"id\":").append(id)
+                .append(",\"image_url\":\"https://images.ygoprodeck.com/images/cards/").append(id).append(".jpg\"")
+                .append(",\"image_url_small\":\"https://images.ygoprodeck.com/images/cards_small/").append(id).append(".jpg\"")
+                .append(",\"image_url_cropped\":\"https://images.ygoprodeck.com/images/cards_cropped/").append(id).append(".jpg\"}]")
+                .append(",\"card_prices\":[{\"cardmarket_price\":\"0.").append(random.nextInt(100))
+                .append("\",\"tcgplayer_price\":\"0.").append(random.nextInt(100)).append("\"}]}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Descripción de unos 300 caracteres con escapes JSON
+     */
+    static String cardDescription(Random random, int index) {
+        return "When this card is Normal Summoned: You can target 1 \\\"Duelista\\\" monster in your GY; "
+             + "Special Summon it in Defense Position.\\nDuring your opponent's turn (Quick Effect): You can "
+             + "banish this card from your GY; negate the activation of 1 Spell\\/Trap Card, and if you do, "
+             + "destroy it. You can only use each effect of \\\"Carta de Prueba " + index + "\\\" once per turn. "
+             + "ATK bonus: " + random.nextInt(1000) + ".";
+    }
+
+    /**
+     * Parejas de jugadas tácticas al azar sobre un mazo sintético de 64 cartas
+     *
+     * @return {primeras, segundas}, cada una con CHOICE_PAIRS elementos
+     */
+    static TacticalChoice[][] choicePairs(Random random) {
+        TacticalChoice[] first = new TacticalChoice[CHOICE_PAIRS];
+        TacticalChoice[] second = new TacticalChoice[CHOICE_PAIRS];
+        BattlePosition[] positions = BattlePosition.values();
+        List<DuelCard> pool = SyntheticDeckFactory.generateDeck(random, 64, 200);
+        for (int i = 0; i < CHOICE_PAIRS; i++) {
+            first[i] = new TacticalChoice(pool.get(random.nextInt(pool.size())), positions[random.nextInt(positions.length)]);
+            second[i] = new TacticalChoice(pool.get(random.nextInt(pool.size())), positions[random.nextInt(positions.length)]);
+        }
+        return new TacticalChoice[][] {first, second};
+    }
+
+    /**
+     * Vista de duelo inmóvil: las mismas cartas en ambos lados y la partida sin empezar
+     */
+    static DuelView fixedView(List<DuelCard> aiCards) {
+        return new DuelView() {
+            @Override public List<DuelCard> getPlayerActiveCards() { return aiCards; }
+            @Override public List<DuelCard> getAiActiveCards() { return aiCards; }
+            @Override public int getPlayerVictories() { return 0; }
+            @Override public int getAiVictories() { return 0; }
+            @Override public int getPlayerLivesRemaining() { return 3; }
+            @Override public int getAiLivesRemaining() { return 3; }
+            @Override public int getTotalRoundsPlayed() { return 0; }
+        };
+    }
+
+    /**
+     * Imagen del tamaño de una carta, con degradado y ruido en la zona del arte
+     */
+    static BufferedImage cardImage(Random random) {
+        BufferedImage image = new BufferedImage(CARD_IMAGE_WIDTH, CARD_IMAGE_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, new Color(0x8b5a2b), CARD_IMAGE_WIDTH, CARD_IMAGE_HEIGHT, new Color(0x1c2128)));
+        g.fillRect(0, 0, CARD_IMAGE_WIDTH, CARD_IMAGE_HEIGHT);
+        g.dispose();
+        for (int y = 110; y < 430; y++) {
+            for (int x = 50; x < 370; x++) {
+                image.setRGB(x, y, random.nextInt(0xffffff));
+            }
+        }
+        return image;
+    }
+}
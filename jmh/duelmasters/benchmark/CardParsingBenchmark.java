@@ -0,0 +1,66 @@
+package duelmasters.benchmark;
+
+import duelmasters.entities.DuelCard;
+import duelmasters.services.DuelCardsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parseo del JSON de cardinfo.php: una petición pequeña, el catálogo
+ * completo y la decodificación de una descripción escapada
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CardParsingBenchmark {
+
+    private DuelCardsService service;
+    private String smallPayload;
+    private String catalogPayload;
+    private String escapedDescription;
+
+    @Setup
+    public void setUp() {
+        Random random = BenchmarkFixtures.random();
+        service = new DuelCardsService();
+        smallPayload = BenchmarkFixtures.cardInfoJson(random, BenchmarkFixtures.SMALL_PAYLOAD_CARDS);
+        catalogPayload = BenchmarkFixtures.cardInfoJson(random, BenchmarkFixtures.CATALOG_PAYLOAD_CARDS);
+        escapedDescription = BenchmarkFixtures.cardDescription(random, 0);
+    }
+
+    @Benchmark
+    public List<DuelCard> parseSmall() throws IOException {
+        return service.parseCardsFromJson(smallPayload);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<DuelCard> parseCatalog() throws IOException {
+        return service.parseCardsFromJson(catalogPayload);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String unescape() {
+        return DuelCardsService.unescapeJsonString(escapedDescription);
+    }
+}
@@ -0,0 +1,70 @@
+package duelmasters.benchmark;
+
+import duelmasters.engine.BatchRoundResolver;
+import duelmasters.entities.TacticalChoice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reglas de combate: una comparación objeto a objeto (TacticalChoice) y un
+ * lote de BATCH_ROUNDS rondas con BatchRoundResolver por la ruta escalar
+ * (RoundResolutionBenchmark compara todas las rutas)
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CombatRulesBenchmark {
+
+    private TacticalChoice[] first;
+    private TacticalChoice[] second;
+    private int next;
+
+    private BatchRoundResolver.Side batchPlayer;
+    private BatchRoundResolver.Side batchAi;
+    private int[] outcomes;
+
+    @Setup
+    public void setUp() {
+        TacticalChoice[][] pairs = BenchmarkFixtures.choicePairs(BenchmarkFixtures.random());
+        first = pairs[0];
+        second = pairs[1];
+
+        int rounds = BenchmarkFixtures.BATCH_ROUNDS;
+        batchPlayer = new BatchRoundResolver.Side(rounds);
+        batchAi = new BatchRoundResolver.Side(rounds);
+        for (int i = 0; i < rounds; i++) {
+            batchPlayer.set(i, first[i % first.length]);
+            batchAi.set(i, second[(i * 7) % second.length]);
+        }
+        outcomes = new int[rounds];
+    }
+
+    @Benchmark
+    public boolean defeatsOpponent() {
+        int i = next++ & (BenchmarkFixtures.CHOICE_PAIRS - 1);
+        return first[i].defeatsOpponent(second[i]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int[] batch4096() {
+        BatchRoundResolver.resolveScalar(batchPlayer, batchAi, outcomes, BenchmarkFixtures.BATCH_ROUNDS);
+        return outcomes;
+    }
+}
@@ -0,0 +1,61 @@
+package duelmasters.benchmark;
+
+import duelmasters.headless.SyntheticDeckFactory;
+import duelmasters.simulation.CompactDuelState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Una ronda sobre CompactDuelState: selección de la IA, movimiento
+ * aleatorio del jugador y resolución, empezando un duelo nuevo al terminar
+ * el anterior. Con -prof gc, gc.alloc.rate.norm debe ser 0 B/op
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CompactDuelStateBenchmark {
+
+    private static final int HAND_SIZE = 8;
+
+    private CompactDuelState state;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        Random fixtures = BenchmarkFixtures.random();
+        state = new CompactDuelState(SyntheticDeckFactory.generateDeck(fixtures, HAND_SIZE, 1),
+                                     SyntheticDeckFactory.generateDeck(fixtures, HAND_SIZE, 1 + HAND_SIZE));
+        random = new SplittableRandom(BenchmarkFixtures.FIXTURE_SEED);
+        state.reset(random.nextBoolean());
+    }
+
+    @Benchmark
+    public int round() {
+        if (state.isFinished()) {
+            state.reset(random.nextBoolean());
+        }
+        int playerCard = CompactDuelState.nthCard(state.getPlayerHand(), random.nextInt(state.getPlayerCardCount()));
+        int playerPosition = random.nextInt(CompactDuelState.POSITION_COUNT);
+        int aiCard = state.selectAiCard(random);
+        int aiPosition = CompactDuelState.selectAiPosition(random, state.isPlayerTurn() ? playerPosition : -1);
+        return state.resolveRound(playerCard, playerPosition, aiCard, aiPosition);
+    }
+}
@@ -0,0 +1,62 @@
+package duelmasters.benchmark;
+
+import duelmasters.engine.BattleEngine;
+import duelmasters.engine.CombatEventAdapter;
+import duelmasters.engine.DuelRandom;
+import duelmasters.entities.DuelCard;
+import duelmasters.headless.HeadlessDuelRunner;
+import duelmasters.headless.HeadlessPlayer;
+import duelmasters.headless.HeadlessPlayers;
+import duelmasters.headless.SyntheticDeckFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duelo completo sin interfaz: IA heurística contra el jugador codicioso
+ * Cada invocación juega un duelo nuevo con su propia semilla, derivada de
+ * FIXTURE_SEED, sobre los mismos mazos
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class DuelEngineBenchmark {
+
+    private List<DuelCard> playerDeck;
+    private List<DuelCard> aiDeck;
+    private HeadlessPlayer player;
+    private CombatEventAdapter listener;
+    private DuelRandom engineSeeds;
+
+    @Setup
+    public void setUp() {
+        Random random = BenchmarkFixtures.random();
+        playerDeck = SyntheticDeckFactory.generateDeck(random, BenchmarkFixtures.DUEL_HAND_SIZE, 1);
+        aiDeck = SyntheticDeckFactory.generateDeck(random, BenchmarkFixtures.DUEL_HAND_SIZE, 1 + BenchmarkFixtures.DUEL_HAND_SIZE);
+        player = HeadlessPlayers.greedy();
+        listener = new CombatEventAdapter();
+        engineSeeds = new DuelRandom(BenchmarkFixtures.FIXTURE_SEED);
+    }
+
+    @Benchmark
+    public HeadlessDuelRunner.DuelResult duel() {
+        return HeadlessDuelRunner.playDuel(new BattleEngine(playerDeck, aiDeck, listener, engineSeeds.split()), player);
+    }
+}
@@ -0,0 +1,79 @@
+package duelmasters.benchmark;
+
+import duelmasters.gui.CardImageLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodificación de miniaturas de cartas desde el JPEG descargado
+ * Compara ImageIO.read + getScaledInstance (ruta original de DuelArena) con
+ * la decodificación submuestreada de CardImageLoader, a tamaño completo de
+ * miniatura y a tamaño de marcador de posición
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ImageDecodeBenchmark {
+
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(BenchmarkFixtures.cardImage(BenchmarkFixtures.random()), "jpg", output);
+        encoded = output.toByteArray();
+    }
+
+    /**
+     * Ruta de carga original de DuelArena: decodificación completa y escalado diferido
+     */
+    @Benchmark
+    public ImageIcon original() throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(encoded));
+        return new ImageIcon(image.getScaledInstance(BenchmarkFixtures.THUMBNAIL_SIZE,
+                                                     BenchmarkFixtures.THUMBNAIL_SIZE, Image.SCALE_SMOOTH));
+    }
+
+    @Benchmark
+    public BufferedImage subsampled() throws IOException {
+        return CardImageLoader.decodeThumbnail(encoded, BenchmarkFixtures.THUMBNAIL_SIZE,
+                                               CardImageLoader.DEFAULT_OVERSAMPLING);
+    }
+
+    /**
+     * Miniatura del arte: el lector solo decodifica la región de CARD_ART_REGION
+     */
+    @Benchmark
+    public BufferedImage artCrop() throws IOException {
+        return CardImageLoader.decodeThumbnail(encoded, BenchmarkFixtures.THUMBNAIL_SIZE,
+                                               CardImageLoader.DEFAULT_OVERSAMPLING, CardImageLoader.CARD_ART_REGION);
+    }
+
+    @Benchmark
+    public BufferedImage placeholder() throws IOException {
+        return CardImageLoader.decodeThumbnail(encoded, BenchmarkFixtures.THUMBNAIL_SIZE / 4, 1);
+    }
+}
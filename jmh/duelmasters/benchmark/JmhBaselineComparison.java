@@ -0,0 +1,166 @@
+package duelmasters.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compara dos resultados de JMH en CSV (-rf csv): el de la última ejecución
+ * y la línea base guardada en docs/jmh-baseline.csv
+ * Solo la puntuación principal de cada benchmark decide si hay regresión; la
+ * asignación por operación del perfilador de GC (gc.alloc.rate.norm) se
+ * muestra al lado como referencia
+ *
+ * Uso: java duelmasters.benchmark.JmhBaselineComparison [opciones]
+ *   --results ARCHIVO   CSV de la última ejecución (por defecto build/reports/jmh/results.csv)
+ *   --baseline ARCHIVO  CSV de referencia (por defecto docs/jmh-baseline.csv)
+ *   --tolerance PCT     Empeoramiento tolerado (por defecto 25); si algún
+ *                       benchmark lo supera el proceso termina con código 1
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class JmhBaselineComparison {
+
+    private static final String ALLOCATION_METRIC = ":gc.alloc.rate.norm";
+
+    /** Una fila del CSV de JMH */
+    private static final class Row {
+        final String mode;
+        final double score;
+        final String unit;
+
+        Row(String mode, double score, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.unit = unit;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String resultsFile = "build/reports/jmh/results.csv";
+        String baselineFile = "docs/jmh-baseline.csv";
+        double tolerancePercent = 25;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--results": resultsFile = args[++i]; break;
+                case "--baseline": baselineFile = args[++i]; break;
+                case "--tolerance": tolerancePercent = Double.parseDouble(args[++i]); break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        Map<String, Row> results = read(resultsFile);
+        Map<String, Row> baseline = read(baselineFile);
+        System.out.println("Comparación de " + resultsFile + " con " + baselineFile + ":");
+
+        int regressions = 0;
+        for (Map.Entry<String, Row> entry : results.entrySet()) {
+            String name = entry.getKey();
+            if (name.contains(":")) {
+                continue;   // Métricas secundarias (perfiladores)
+            }
+            Row current = entry.getValue();
+            Row reference = baseline.get(name);
+            String allocation = allocation(results.get(name + ALLOCATION_METRIC), baseline.get(name + ALLOCATION_METRIC));
+            if (reference == null || !reference.mode.equals(current.mode) || !reference.unit.equals(current.unit)) {
+                System.out.printf("   %-60s %12.3f %-8s (sin línea base comparable)%s%n",
+                                  name, current.score, current.unit, allocation);
+                continue;
+            }
+            // En modo thrpt más es mejor; en avgt, sample y ss, menos
+            double change = current.mode.equals("thrpt")
+                ? reference.score / current.score - 1
+                : current.score / reference.score - 1;
+            boolean regression = change > tolerancePercent / 100;
+            regressions += regression ? 1 : 0;
+            System.out.printf("%s %-60s %12.3f %-8s %+6.1f%%%s%n",
+                              regression ? "⚠️" : "✅", name, current.score, current.unit, change * 100, allocation);
+        }
+
+        if (regressions > 0) {
+            System.out.printf("⚠️ %d benchmark(s) peores que la línea base (tolerancia %.0f%%)%n", regressions, tolerancePercent);
+            System.exit(1);
+        }
+    }
+
+    private static String allocation(Row current, Row reference) {
+        if (current == null) {
+            return "";
+        }
+        return reference != null
+            ? String.format("   asignación %.0f → %.0f B/op", reference.score, current.score)
+            : String.format("   asignación %.0f B/op", current.score);
+    }
+
+    /**
+     * Lee un CSV de JMH indexado por nombre de benchmark
+     * Si el benchmark tiene parámetros (columnas "Param: ..."), se añaden al nombre
+     */
+    private static Map<String, Row> read(String file) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+        if (lines.isEmpty()) {
+            throw new IOException("CSV de JMH vacío: " + file);
+        }
+        List<String> header = fields(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int mode = header.indexOf("Mode");
+        int score = header.indexOf("Score");
+        int unit = header.indexOf("Unit");
+        if (benchmark < 0 || mode < 0 || score < 0 || unit < 0) {
+            throw new IOException("No es un CSV de JMH (-rf csv): " + file);
+        }
+
+        Map<String, Row> rows = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = fields(line);
+            StringBuilder name = new StringBuilder(values.get(benchmark));
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ") && i < values.size() && !values.get(i).isEmpty()) {
+                    name.append(" [").append(header.get(i).substring(7)).append('=').append(values.get(i)).append(']');
+                }
+            }
+            double value = Double.parseDouble(values.get(score).replace(',', '.'));
+            rows.put(name.toString(), new Row(values.get(mode), value, values.get(unit)));
+        }
+        return rows;
+    }
+
+    /**
+     * Campos de una línea CSV con comillas dobles opcionales
+     */
+    private static List<String> fields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
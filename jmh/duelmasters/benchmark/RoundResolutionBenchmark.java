@@ -0,0 +1,130 @@
+package duelmasters.benchmark;
+
+import duelmasters.engine.BatchRoundResolver;
+import duelmasters.engine.DuelRules;
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+import duelmasters.headless.SyntheticDeckFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolución de rondas por cuatro rutas: objetos (TacticalChoice +
+ * DuelRules.resolveRound, como BattleEngine), arreglos primitivos con el
+ * switch de BattlePosition, BatchRoundResolver escalar y BatchRoundResolver
+ * con la Vector API (el fork arranca con el módulo jdk.incubator.vector)
+ * Antes de medir comprueba que las cuatro rutas dan el mismo resultado en
+ * todas las rondas
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "--add-modules=jdk.incubator.vector"})
+public class RoundResolutionBenchmark {
+
+    private static final BattlePosition[] POSITIONS = BattlePosition.values();
+    private static final int CARD_POOL = 256;
+
+    @Param({"4096", "65536"})
+    private int rounds;
+
+    private TacticalChoice[] playerChoices;
+    private TacticalChoice[] aiChoices;
+    private BatchRoundResolver.Side player;
+    private BatchRoundResolver.Side ai;
+    private int[] outcomes;
+
+    @Setup
+    public void setUp() {
+        // Valores múltiplos de 50: los empates de poder y el desempate por nivel son frecuentes
+        Random random = BenchmarkFixtures.random();
+        DuelCard[] cards = SyntheticDeckFactory.generateDeck(random, CARD_POOL, 1).toArray(new DuelCard[0]);
+        playerChoices = new TacticalChoice[rounds];
+        aiChoices = new TacticalChoice[rounds];
+        player = new BatchRoundResolver.Side(rounds);
+        ai = new BatchRoundResolver.Side(rounds);
+        for (int i = 0; i < rounds; i++) {
+            playerChoices[i] = new TacticalChoice(cards[random.nextInt(CARD_POOL)], POSITIONS[random.nextInt(POSITIONS.length)]);
+            aiChoices[i] = new TacticalChoice(cards[random.nextInt(CARD_POOL)], POSITIONS[random.nextInt(POSITIONS.length)]);
+            player.set(i, playerChoices[i]);
+            ai.set(i, aiChoices[i]);
+        }
+        outcomes = new int[rounds];
+
+        int[] expected = objects().clone();
+        if (!Arrays.equals(expected, arraysSwitch()) || !Arrays.equals(expected, batchScalar())
+            || !Arrays.equals(expected, batch())) {
+            throw new IllegalStateException("Las rutas de resolución de rondas no coinciden");
+        }
+    }
+
+    /**
+     * Ruta de BattleEngine: un objeto por elección
+     */
+    @Benchmark
+    public int[] objects() {
+        for (int i = 0; i < rounds; i++) {
+            TacticalChoice playerChoice = playerChoices[i];
+            TacticalChoice aiChoice = aiChoices[i];
+            outcomes[i] = DuelRules.resolveRound(playerChoice.getEffectiveBattlePower(), playerChoice.getSelectedCard().getLevel(),
+                                                 aiChoice.getEffectiveBattlePower(), aiChoice.getSelectedCard().getLevel());
+        }
+        return outcomes;
+    }
+
+    /**
+     * Los mismos arreglos que el lote, con las reglas originales (switch y comparaciones)
+     */
+    @Benchmark
+    public int[] arraysSwitch() {
+        int[] playerAttack = player.getAttack();
+        int[] playerDefense = player.getDefense();
+        int[] playerLevel = player.getLevel();
+        int[] playerPosition = player.getPosition();
+        int[] aiAttack = ai.getAttack();
+        int[] aiDefense = ai.getDefense();
+        int[] aiLevel = ai.getLevel();
+        int[] aiPosition = ai.getPosition();
+        for (int i = 0; i < rounds; i++) {
+            int playerPower = POSITIONS[playerPosition[i]].getEffectivePower(playerAttack[i], playerDefense[i]);
+            int aiPower = POSITIONS[aiPosition[i]].getEffectivePower(aiAttack[i], aiDefense[i]);
+            outcomes[i] = DuelRules.resolveRound(playerPower, playerLevel[i], aiPower, aiLevel[i]);
+        }
+        return outcomes;
+    }
+
+    @Benchmark
+    public int[] batchScalar() {
+        BatchRoundResolver.resolveScalar(player, ai, outcomes, rounds);
+        return outcomes;
+    }
+
+    /**
+     * BatchRoundResolver.resolve: la Vector API si la CPU tiene registros
+     * vectoriales, si no la misma ruta que batchScalar
+     */
+    @Benchmark
+    public int[] batch() {
+        BatchRoundResolver.resolve(player, ai, outcomes, rounds);
+        return outcomes;
+    }
+}
@@ -0,0 +1,44 @@
+package duelmasters.benchmark;
+
+import duelmasters.gui.CardImageLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Miniaturas: escalado de una imagen del tamaño de las de YGOProDeck al
+ * cuadrado de la cuadrícula de cartas
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ThumbnailBenchmark {
+
+    private BufferedImage cardImage;
+
+    @Setup
+    public void setUp() {
+        cardImage = BenchmarkFixtures.cardImage(BenchmarkFixtures.random());
+    }
+
+    @Benchmark
+    public BufferedImage scaleToSquare() {
+        return CardImageLoader.scaleToSquare(cardImage, BenchmarkFixtures.THUMBNAIL_SIZE);
+    }
+}
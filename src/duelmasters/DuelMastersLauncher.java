@@ -1,10 +1,16 @@
 package duelmasters;
 
 import duelmasters.gui.DuelArena;
+import duelmasters.headless.HeadlessDuelRunner;
+import duelmasters.journal.DuelJournalTool;
+import duelmasters.journal.DuelReplayRunner;
+import duelmasters.simulation.MonteCarloDuelSimulator;
+import duelmasters.tournament.TournamentRunner;
 
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
+import java.util.Arrays;
 
 /**
  * Punto de entrada principal para la aplicación Duel Masters Arena
@@ -34,9 +40,41 @@ public class DuelMastersLauncher {
 
     /**
      * Método principal que inicia la aplicación Duel Masters Arena
-     * @param args Argumentos de línea de comandos (no utilizados)
+     * @param args Argumentos de línea de comandos; "--headless" ejecuta duelos
+     *             sin interfaz gráfica (ver HeadlessDuelRunner para las opciones) y
+     *             "--simulate" lanza el simulador Monte Carlo (ver MonteCarloDuelSimulator),
+     *             "--journal" la herramienta del diario de duelos (ver DuelJournalTool),
+     *             "--replay" re-ejecuta los duelos de un diario (ver DuelReplayRunner) y
+     *             "--tournament" enfrenta muchos mazos en un torneo (ver TournamentRunner)
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        // Modo sin interfaz: no se toca ninguna clase de AWT/Swing
+        if (args.length > 0 && args[0].equals("--headless")) {
+            System.setProperty("java.awt.headless", "true");
+            HeadlessDuelRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            System.setProperty("java.awt.headless", "true");
+            MonteCarloDuelSimulator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--journal")) {
+            System.setProperty("java.awt.headless", "true");
+            DuelJournalTool.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--replay")) {
+            System.setProperty("java.awt.headless", "true");
+            DuelReplayRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--tournament")) {
+            System.setProperty("java.awt.headless", "true");
+            TournamentRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         // Mostrar información de inicio
         System.out.println("=== DUEL MASTERS ARENA ===");
         System.out.println("Iniciando sistema de duelos...");
@@ -0,0 +1,201 @@
+package duelmasters.benchmark;
+
+import duelmasters.entities.CardDescription;
+import duelmasters.entities.DuelCard;
+import duelmasters.services.DuelCardsService;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Medición de la memoria que ocupa un catálogo de cartas
+ * Parsea un catálogo con el formato de cardinfo.php (sintético o guardado
+ * localmente) y mide el heap retenido por las cartas después de un GC,
+ * escalado a 10 000 cartas. Como referencia mide también lo que ocupan las
+ * mismas descripciones en texto plano, que es lo que guardaba cada carta
+ * antes de comprimirlas (CardDescription)
+ *
+ * Las descripciones sintéticas se arman con frases del diccionario de
+ * CardDescription, así que su compresión es el mejor caso: las cifras
+ * representativas salen de un volcado real de cardinfo.php con --file
+ *
+ * Para cifras estables conviene un GC sin concurrencia: -XX:+UseSerialGC
+ *
+ * Uso: java duelmasters.benchmark.CardMemoryFootprint [opciones]
+ *   --cards N         Cartas del catálogo sintético (por defecto 10000)
+ *   --file ARCHIVO    Catálogo JSON de la API en lugar del sintético
+ *   --seed S          Semilla del catálogo sintético (por defecto 20240601)
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class CardMemoryFootprint {
+
+    private static final int CARDS_PER_REPORT = 10_000;
+    private static final int DECODE_PASSES = 5;
+
+    // Cláusulas típicas de los textos de la API, ya escapadas como en el JSON;
+    // %s es el nombre de un arquetipo y %d un valor
+    private static final String[] CLAUSES = {
+        "When this card is Normal Summoned: You can add 1 \\\"%s\\\" monster from your Deck to your hand.",
+        "If this card is sent to the GY: You can target 1 \\\"%s\\\" card in your GY; add it to your hand.",
+        "You can only use each effect of \\\"%s\\\" once per turn.",
+        "Once per turn: You can target 1 face-up monster your opponent controls; it loses %d ATK.",
+        "During your opponent's turn (Quick Effect): You can banish this card from your GY; negate the activation of 1 Spell\\/Trap Card, and if you do, destroy it.",
+        "If a \\\"%s\\\" monster you control would be destroyed by battle, you can banish this card from your GY instead.",
+        "Cannot be Normal Summoned\\/Set. Must be Special Summoned by a card effect.",
+        "This card gains %d ATK for each \\\"%s\\\" monster you control.",
+        "When this card destroys an opponent's monster by battle: Inflict %d damage to your opponent.",
+        "You can Tribute this card; Special Summon 1 Level %d or lower monster from your hand.",
+        "If this card is Special Summoned: You can target 1 card on the field; destroy it.",
+        "During the End Phase, if this card is in the GY because it was sent there this turn: You can Set 1 \\\"%s\\\" Spell\\/Trap directly from your Deck.",
+        "Your opponent cannot target this card with card effects.",
+        "Once per turn, during the Standby Phase: Gain %d LP.",
+        "If this card attacks a Defense Position monster, inflict piercing battle damage.",
+        "You can discard this card; add 1 \\\"%s\\\" Spell from your Deck to your hand.",
+        "Target 1 monster in either GY; Special Summon it to your field in Defense Position, but negate its effects.",
+        "While you control a \\\"%s\\\" monster, your opponent cannot activate cards or effects during the Battle Phase.",
+        "A proud warrior from the %s clan, said to have defeated %d enemies in a single night.",
+        "\\r\\n2 Level %d monsters\\r\\nOnce per turn, you can detach 1 material from this card; draw 1 card."
+    };
+    private static final String[] ARCHETYPES = {
+        "Blue-Eyes", "Dark Magician", "Elemental HERO", "Cyber Dragon", "Blackwing", "Lightsworn",
+        "Six Samurai", "Gladiator Beast", "Sylvan", "Dragunity", "Madolche", "Shaddoll", "Salamangreat"
+    };
+
+    public static void main(String[] args) throws Exception {
+        int cardCount = 10_000;
+        String file = null;
+        long seed = 20240601L;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--cards": cardCount = Integer.parseInt(args[++i]); break;
+                case "--file": file = args[++i]; break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        String json = file != null
+            ? Files.readString(Paths.get(file), StandardCharsets.UTF_8)
+            : catalogJson(new Random(seed), cardCount);
+        DuelCardsService service = new DuelCardsService();
+        service.parseCardsFromJson(json);   // Calienta el parser y las clases
+
+        long before = usedHeapAfterGc();
+        long start = System.nanoTime();
+        List<DuelCard> cards = service.parseCardsFromJson(json);
+        double parseMillis = (System.nanoTime() - start) / 1e6;
+        long cardsHeap = usedHeapAfterGc() - before;
+        if (cards.isEmpty()) {
+            System.err.println("❌ El catálogo no tiene cartas");
+            System.exit(1);
+        }
+
+        long rawBytes = 0;
+        long storedBytes = 0;
+        int compressed = 0;
+        for (DuelCard card : cards) {
+            CardDescription description = card.getDescription();
+            rawBytes += description.getRawBytes();
+            storedBytes += description.getStoredBytes();
+            compressed += description.isCompressed() ? 1 : 0;
+        }
+
+        // Referencia: las descripciones decodificadas, como las guardaba antes cada carta
+        before = usedHeapAfterGc();
+        List<String> plainDescriptions = new ArrayList<>(cards.size());
+        for (DuelCard card : cards) {
+            plainDescriptions.add(card.getCardDescription());
+        }
+        long plainHeap = usedHeapAfterGc() - before;
+
+        // Coste de decodificar con el código ya compilado: pasadas de calentamiento y la última medida
+        long checksum = 0;
+        double decodeMicros = 0;
+        for (int pass = 0; pass < DECODE_PASSES; pass++) {
+            start = System.nanoTime();
+            for (DuelCard card : cards) {
+                checksum += card.getCardDescription().length();
+            }
+            decodeMicros = (System.nanoTime() - start) / 1e3 / cards.size();
+        }
+
+        double scale = (double) CARDS_PER_REPORT / cards.size();
+        System.out.println("=== MEMORIA DEL CATÁLOGO === " + cards.size() + " cartas"
+                           + (file != null ? " de " + file : " sintéticas (semilla " + seed + ")"));
+        System.out.printf("Cartas en el heap:             %8.2f MB por 10k cartas (parseo %.1f ms)%n",
+                          cardsHeap * scale / (1 << 20), parseMillis);
+        System.out.printf("Texto de las descripciones:    %8.2f MB en bruto → %.2f MB guardados (%.0f%%), %d de %d comprimidas%n",
+                          rawBytes * scale / (1 << 20), storedBytes * scale / (1 << 20),
+                          rawBytes > 0 ? 100.0 * storedBytes / rawBytes : 0.0, compressed, cards.size());
+        System.out.printf("Descripciones en texto plano:  %8.2f MB por 10k cartas (lo que ocupaban antes)%n",
+                          plainHeap * scale / (1 << 20));
+        System.out.printf("Decodificar una descripción:   %8.2f µs%n", decodeMicros);
+        if (file == null) {
+            System.out.println("⚠️ Mejor caso: las descripciones sintéticas repiten frases del diccionario de"
+                               + " compresión; usa --file con un volcado de cardinfo.php para cifras reales");
+        }
+
+        // Mantener vivas ambas listas hasta después de medir
+        if (plainDescriptions.size() != cards.size() || checksum == 42) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Catálogo con el formato de cardinfo.php y descripciones variadas de
+     * 2 a 5 cláusulas típicas (unos 300 caracteres, como la media de la API)
+     */
+    private static String catalogJson(Random random, int cards) {
+        StringBuilder json = new StringBuilder(cards * 700);
+        json.append("{\"data\":[");
+        for (int i = 0; i < cards; i++) {
+            int id = 10_000_000 + random.nextInt(90_000_000);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id)
+                .append(",\"name\":\"").append(ARCHETYPES[random.nextInt(ARCHETYPES.length)]).append(' ').append(i).append("\"")
+                .append(",\"type\":\"Effect Monster\",\"frameType\":\"effect\"")
+                .append(",\"desc\":\"").append(description(random)).append("\"")
+                .append(",\"atk\":").append(random.nextInt(61) * 50)
+                .append(",\"def\":").append(random.nextInt(61) * 50)
+                .append(",\"level\":").append(1 + random.nextInt(12))
+                .append(",\"card_images\":[{\"id\":").append(id)
+                .append(",\"image_url\":\"https://images.ygoprodeck.com/images/cards/").append(id).append(".jpg\"}]}");
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String description(Random random) {
+        StringBuilder text = new StringBuilder();
+        int clauses = 2 + random.nextInt(4);
+        for (int i = 0; i < clauses; i++) {
+            String clause = CLAUSES[random.nextInt(CLAUSES.length)];
+            String archetype = ARCHETYPES[random.nextInt(ARCHETYPES.length)];
+            int value = (1 + random.nextInt(30)) * 100;
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(clause.replace("%s", archetype).replace("%d", Integer.toString(value)));
+        }
+        return text.toString();
+    }
+}
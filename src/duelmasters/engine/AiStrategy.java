@@ -0,0 +1,39 @@
+package duelmasters.engine;
+
+import duelmasters.entities.TacticalChoice;
+
+/**
+ * Interface de las estrategias de la IA
+ * BattleEngine delega en ella la elección de carta y posición; solo se
+ * llama cuando la IA tiene al menos una carta activa. La carta devuelta debe
+ * ser una de view.getAiActiveCards()
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public interface AiStrategy {
+
+    /**
+     * Elige el movimiento cuando la IA abre la ronda (el jugador responde después)
+     *
+     * @param view Estado actual del duelo
+     * @return Carta y posición de la IA
+     */
+    TacticalChoice chooseOpeningMove(DuelView view);
+
+    /**
+     * Elige el movimiento cuando la IA responde a la elección del jugador
+     *
+     * @param view Estado actual del duelo
+     * @param playerChoice Elección ya hecha por el jugador
+     * @return Carta y posición de la IA
+     */
+    TacticalChoice chooseResponse(DuelView view, TacticalChoice playerChoice);
+
+    /**
+     * Descripción corta para registros y herramientas de línea de comandos
+     */
+    default String getDescription() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,250 @@
+package duelmasters.engine;
+
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Despachador asíncrono de eventos del motor de duelos
+ * Se pasa a BattleEngine como su CombatEventListener: cada callback solo
+ * captura un CombatEvent, así que el motor nunca espera a los listeners
+ * mientras tiene su monitor. Un hilo propio entrega los eventos a los
+ * listeners registrados
+ *
+ * Con agrupación activada, los eventos de cada operación del motor se
+ * acumulan en el hilo que los emite y se publican juntos en
+ * onEngineStepCompleted, con una sola inserción en la cola sin bloqueo
+ * (varios productores, un consumidor). Los listeners de lotes reciben el
+ * lote en una sola llamada; los demás, evento por evento
+ *
+ * Garantías de orden:
+ * - Los eventos de un mismo hilo productor se entregan en el orden emitido
+ * - Un lote se entrega completo y sin mezclarse con eventos de otros lotes
+ * - Todos los listeners ven los mismos lotes en el mismo orden, y un lote
+ *   se entrega a todos antes de empezar el siguiente
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class AsyncCombatEventDispatcher implements CombatEventListener, AutoCloseable {
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+    private static final long AWAIT_POLL_NANOS = 100_000;
+
+    private final boolean mergeSteps;
+    private final Queue<List<CombatEvent>> queue = new ConcurrentLinkedQueue<>();
+    private final List<CombatEventBatchListener> listeners = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<List<CombatEvent>> pendingStep = ThreadLocal.withInitial(ArrayList::new);
+    private final Thread deliveryThread;
+    private volatile boolean closed;
+
+    // Estadísticas
+    private final LongAdder publishedEvents = new LongAdder();
+    private final LongAdder enqueuedBatches = new LongAdder();
+    private final LongAdder deliveredBatches = new LongAdder();
+
+    /**
+     * @param mergeSteps true para agrupar los eventos de cada operación del motor en un lote;
+     *                   false para publicar cada evento por separado
+     */
+    public AsyncCombatEventDispatcher(boolean mergeSteps) {
+        this.mergeSteps = mergeSteps;
+        this.deliveryThread = new Thread(this::deliveryLoop, "combat-events");
+        this.deliveryThread.setDaemon(true);
+        this.deliveryThread.start();
+    }
+
+    /**
+     * Registra un listener que recibe los eventos uno a uno, seguidos de
+     * onEngineStepCompleted al final de cada lote
+     */
+    public void addListener(CombatEventListener listener) {
+        listeners.add(batch -> {
+            for (CombatEvent event : batch) {
+                event.deliverTo(listener);
+            }
+            listener.onEngineStepCompleted();
+        });
+    }
+
+    /**
+     * Registra un listener que recibe cada lote en una sola llamada
+     */
+    public void addBatchListener(CombatEventBatchListener listener) {
+        listeners.add(listener);
+    }
+
+    // ==================== PRODUCTORES ====================
+
+    private void publish(CombatEvent event) {
+        if (closed) {
+            return;
+        }
+        publishedEvents.increment();
+        if (mergeSteps) {
+            pendingStep.get().add(event);
+        } else {
+            enqueue(List.of(event));
+        }
+    }
+
+    private void enqueue(List<CombatEvent> batch) {
+        enqueuedBatches.increment();
+        queue.offer(batch);
+        // Sin espera activa: el consumidor se duerme si la cola está vacía
+        LockSupport.unpark(deliveryThread);
+    }
+
+    @Override
+    public void onEngineStepCompleted() {
+        if (!mergeSteps) {
+            return;
+        }
+        List<CombatEvent> step = pendingStep.get();
+        if (step.isEmpty()) {
+            return;
+        }
+        List<CombatEvent> batch = Collections.unmodifiableList(new ArrayList<>(step));
+        step.clear();
+        enqueue(batch);
+    }
+
+    @Override
+    public void onDuelCommenced(String initiatingPlayer) {
+        publish(CombatEvent.duelCommenced(initiatingPlayer));
+    }
+
+    @Override
+    public void onRoundResolved(TacticalChoice playerChoice, TacticalChoice aiChoice,
+                               String attackingPlayer, String roundVictor) {
+        publish(CombatEvent.roundResolved(playerChoice, aiChoice, attackingPlayer, roundVictor));
+    }
+
+    @Override
+    public void onScoreUpdated(int playerVictories, int aiVictories) {
+        publish(CombatEvent.scoreUpdated(playerVictories, aiVictories));
+    }
+
+    @Override
+    public void onDuelCompleted(String finalWinner) {
+        publish(CombatEvent.duelCompleted(finalWinner));
+    }
+
+    @Override
+    public void onErrorOccurred(String errorMessage, Throwable exception) {
+        publish(CombatEvent.errorOccurred(errorMessage, exception));
+    }
+
+    @Override
+    public void onCardReplacementNeeded(boolean isPlayerSide) {
+        publish(CombatEvent.cardReplacementNeeded(isPlayerSide));
+    }
+
+    @Override
+    public void onCardsRemovedFromBattle(List<DuelCard> removedPlayerCards,
+                                        List<DuelCard> removedAiCards) {
+        publish(CombatEvent.cardsRemoved(removedPlayerCards, removedAiCards));
+    }
+
+    @Override
+    public void onAiInitialSelection(TacticalChoice aiTacticalChoice) {
+        publish(CombatEvent.aiInitialSelection(aiTacticalChoice));
+    }
+
+    @Override
+    public void onDuelStatusChanged(String currentPhase, String statusMessage) {
+        publish(CombatEvent.statusChanged(currentPhase, statusMessage));
+    }
+
+    @Override
+    public void onBattleStatistics(int playerPower, int aiPower, int powerDifference) {
+        publish(CombatEvent.battleStatistics(playerPower, aiPower, powerDifference));
+    }
+
+    // ==================== CONSUMIDOR ====================
+
+    private void deliveryLoop() {
+        while (true) {
+            List<CombatEvent> batch = queue.poll();
+            if (batch == null) {
+                if (closed) {
+                    return;
+                }
+                // Un unpark anterior al park deja el permiso: no se pierden avisos
+                LockSupport.park(this);
+                continue;
+            }
+            deliver(batch);
+        }
+    }
+
+    private void deliver(List<CombatEvent> batch) {
+        for (CombatEventBatchListener listener : listeners) {
+            try {
+                listener.onEventBatch(batch);
+            } catch (RuntimeException e) {
+                // Un listener que falla no detiene la entrega a los demás
+                System.err.println("⚠️ Error en listener de eventos: " + e.getMessage());
+            }
+        }
+        deliveredBatches.increment();
+    }
+
+    /**
+     * Espera a que se entreguen los lotes publicados hasta ahora
+     * Sirve para ordenar una acción tras los eventos de una operación del
+     * motor ya terminada (por ejemplo, escribir el inicio de un duelo en el
+     * diario después del final del anterior)
+     *
+     * @return false si venció el plazo antes de entregarlos
+     */
+    public boolean awaitDelivery(long timeoutMillis) {
+        long target = enqueuedBatches.sum();
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        // La cola es FIFO: al contar target lotes entregados, los anteriores ya lo están
+        while (deliveredBatches.sum() < target) {
+            if (closed || System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.parkNanos(AWAIT_POLL_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Entrega los eventos pendientes y detiene el hilo de entrega
+     * Los eventos acumulados sin onEngineStepCompleted en el hilo que cierra
+     * también se publican
+     */
+    @Override
+    public void close() {
+        onEngineStepCompleted();
+        closed = true;
+        LockSupport.unpark(deliveryThread);
+        try {
+            deliveryThread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getPublishedEvents() { return publishedEvents.sum(); }
+    public long getDeliveredBatches() { return deliveredBatches.sum(); }
+
+    /**
+     * Eventos publicados y lotes entregados
+     */
+    public String getStatistics() {
+        long batches = getDeliveredBatches();
+        return String.format("%d eventos en %d lotes (%.1f por lote)", getPublishedEvents(), batches,
+                             batches == 0 ? 0.0 : (double) getPublishedEvents() / batches);
+    }
+}
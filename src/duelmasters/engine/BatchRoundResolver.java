@@ -0,0 +1,223 @@
+package duelmasters.engine;
+
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+
+/**
+ * Resolución de rondas por lotes sobre arreglos primitivos
+ * Para simulaciones masivas: en lugar de un TacticalChoice por ronda, cada
+ * lado de miles de rondas se describe con arreglos paralelos de ATK, DEF,
+ * nivel y ordinal de posición, y los resultados se escriben en otro arreglo
+ *
+ * Aplica las mismas reglas que BattlePosition.getEffectivePower (la táctica
+ * es el promedio truncado) y DuelRules.resolveRound (desempate por nivel),
+ * pero sin ramas: las posiciones y las comparaciones se convierten en
+ * máscaras de bits, de modo que el bucle es aritmética entera pura sobre
+ * arreglos int que el compilador JIT puede vectorizar
+ *
+ * Si la JVM arranca con --add-modules jdk.incubator.vector, resolve usa
+ * VectorRoundKernel, que vectoriza explícitamente con la Vector API; sin el
+ * módulo (o sin registros vectoriales) usa resolveScalar
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class BatchRoundResolver {
+
+    /** Rondas por bloque: los bloques de los arreglos caben juntos en la caché L1 */
+    private static final int BLOCK_SIZE = 512;
+
+    /**
+     * Poderes de la IA, uno por hilo para no asignar en cada resolve; crece
+     * hasta el lote más grande del hilo, porque indexarlo por bloque (con un
+     * desplazamiento distinto al de los demás arreglos) impide que C2 vectorice
+     */
+    private static final ThreadLocal<int[]> AI_POWERS = ThreadLocal.withInitial(() -> new int[BLOCK_SIZE]);
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+                                              && VectorRoundKernel.isSupported();
+
+    /**
+     * Un lado (jugador o IA) de un lote de rondas, en arreglos paralelos
+     */
+    public static final class Side {
+        private final int[] attack;
+        private final int[] defense;
+        private final int[] level;
+        private final int[] position;
+
+        /**
+         * @param attack ATK de la carta de cada ronda
+         * @param defense DEF de la carta de cada ronda
+         * @param level Nivel de la carta de cada ronda
+         * @param position Ordinal de BattlePosition de cada ronda (0, 1 o 2)
+         */
+        public Side(int[] attack, int[] defense, int[] level, int[] position) {
+            if (defense.length != attack.length || level.length != attack.length || position.length != attack.length) {
+                throw new IllegalArgumentException("Los arreglos de un lado deben tener la misma longitud");
+            }
+            this.attack = attack;
+            this.defense = defense;
+            this.level = level;
+            this.position = position;
+        }
+
+        /** Lado vacío con capacidad para el número de rondas indicado */
+        public Side(int capacity) {
+            this(new int[capacity], new int[capacity], new int[capacity], new int[capacity]);
+        }
+
+        /** Escribe la ronda index */
+        public void set(int index, int attackPower, int defensePower, int cardLevel, BattlePosition battlePosition) {
+            attack[index] = attackPower;
+            defense[index] = defensePower;
+            level[index] = cardLevel;
+            position[index] = battlePosition.ordinal();
+        }
+
+        /** Escribe la ronda index a partir de una elección del motor */
+        public void set(int index, TacticalChoice choice) {
+            DuelCard card = choice.getSelectedCard();
+            set(index, card.getAttackPower(), card.getDefensePower(), card.getLevel(), choice.getBattlePosition());
+        }
+
+        public int[] getAttack() { return attack; }
+        public int[] getDefense() { return defense; }
+        public int[] getLevel() { return level; }
+        public int[] getPosition() { return position; }
+        public int capacity() { return attack.length; }
+    }
+
+    private BatchRoundResolver() { }
+
+    /**
+     * Poder efectivo de las primeras count rondas de un lado
+     *
+     * @param powers Destino (al menos count elementos)
+     */
+    public static void effectivePowers(Side side, int[] powers, int count) {
+        checkCount(count, side.capacity(), powers.length);
+        effectivePowers(side, powers, 0, count);
+    }
+
+    /**
+     * Resuelve las primeras count rondas, con la Vector API si está disponible
+     *
+     * @param outcomes Destino: DuelRules.ROUND_PLAYER_WINS, ROUND_AI_WINS o ROUND_TIE por ronda
+     */
+    public static void resolve(Side player, Side ai, int[] outcomes, int count) {
+        if (VECTORIZED) {
+            checkCount(count, Math.min(player.capacity(), ai.capacity()), outcomes.length);
+            VectorRoundKernel.resolve(player, ai, outcomes, count);
+        } else {
+            resolveScalar(player, ai, outcomes, count);
+        }
+    }
+
+    /**
+     * Resuelve las primeras count rondas sin la Vector API
+     * Trabaja por bloques de BLOCK_SIZE rondas en tres pasadas (poderes del
+     * jugador, poderes de la IA, comparación): así C2 vectoriza cada bucle,
+     * mientras que un único bucle con los nueve arreglos se queda escalar
+     *
+     * @param outcomes Destino: DuelRules.ROUND_PLAYER_WINS, ROUND_AI_WINS o ROUND_TIE por ronda
+     */
+    public static void resolveScalar(Side player, Side ai, int[] outcomes, int count) {
+        checkCount(count, Math.min(player.capacity(), ai.capacity()), outcomes.length);
+        int[] aiPowers = aiPowers(count);
+        int[] playerLevel = player.level;
+        int[] aiLevel = ai.level;
+
+        for (int from = 0; from < count; from += BLOCK_SIZE) {
+            int to = Math.min(from + BLOCK_SIZE, count);
+            // El poder del jugador se guarda provisionalmente en outcomes
+            effectivePowers(player, outcomes, from, to);
+            effectivePowers(ai, aiPowers, from, to);
+            for (int i = from; i < to; i++) {
+                outcomes[i] = outcome(outcomes[i], playerLevel[i], aiPowers[i], aiLevel[i]);
+            }
+        }
+    }
+
+    /**
+     * Verifica si resolve usa la Vector API en esta JVM
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    private static int[] aiPowers(int count) {
+        int[] powers = AI_POWERS.get();
+        if (powers.length < count) {
+            powers = new int[Math.max(count, powers.length * 2)];
+            AI_POWERS.set(powers);
+        }
+        return powers;
+    }
+
+    private static void effectivePowers(Side side, int[] powers, int from, int to) {
+        int[] attack = side.attack;
+        int[] defense = side.defense;
+        int[] position = side.position;
+        for (int i = from; i < to; i++) {
+            powers[i] = effectivePower(attack[i], defense[i], position[i]);
+        }
+    }
+
+    /**
+     * Cuenta los resultados de las primeras count rondas
+     *
+     * @return Arreglo indexado por DuelRules.ROUND_TIE, ROUND_PLAYER_WINS y ROUND_AI_WINS
+     */
+    public static int[] tally(int[] outcomes, int count) {
+        checkCount(count, outcomes.length, outcomes.length);
+        int[] totals = new int[3];
+        for (int i = 0; i < count; i++) {
+            totals[outcomes[i]]++;
+        }
+        return totals;
+    }
+
+    /**
+     * Igual que BattlePosition.getEffectivePower, con máscaras en lugar del switch:
+     * ofensiva = posición 0, táctica = posición 2, defensiva el resto (las
+     * mismas comparaciones de igualdad que VectorRoundKernel, también para
+     * ordinales fuera de 0..2)
+     */
+    static int effectivePower(int attack, int defense, int position) {
+        int offensive = isZero(position);           // -1 si posición == 0
+        int tactical = isZero(position - 2);        // -1 si posición == 2
+        int sum = attack + defense;
+        int average = (sum + (sum >>> 31)) >> 1;    // sum / 2 truncado hacia cero
+        return (attack & offensive) | (average & tactical) | (defense & ~(offensive | tactical));
+    }
+
+    /**
+     * Igual que DuelRules.resolveRound: el signo de la diferencia de poder y,
+     * si es cero, el de la diferencia de nivel, traducido a 0 (empate),
+     * 1 (jugador) o 2 (IA)
+     */
+    static int outcome(int playerPower, int playerLevel, int aiPower, int aiLevel) {
+        int power = signum(playerPower - aiPower);
+        int level = signum(playerLevel - aiLevel);
+        int decided = (power | -power) >> 31;       // -1 si el poder desempata
+        int sign = power | (level & ~decided);
+        return (sign & 1) + (sign >>> 31);
+    }
+
+    /** -1 si value es cero, 0 si no */
+    private static int isZero(int value) {
+        return ~((value | -value) >> 31);
+    }
+
+    private static int signum(int value) {
+        return (value >> 31) | (-value >>> 31);
+    }
+
+    private static void checkCount(int count, int capacity, int outputLength) {
+        if (count < 0 || count > capacity || count > outputLength) {
+            throw new IndexOutOfBoundsException("Rondas fuera de rango: " + count);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package duelmasters.engine;
 
 import duelmasters.entities.DuelCard;
-import duelmasters.entities.BattlePosition;
 import duelmasters.entities.TacticalChoice;
 
 import java.util.ArrayList;
@@ -9,7 +8,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Motor principal de duelos que gestiona las batallas entre jugadores
@@ -18,18 +16,16 @@ import java.util.concurrent.ThreadLocalRandom;
  * @author Sistema DS3 - Duel Masters Team
  * @version 2.0
  */
-public class BattleEngine {
-
-    // Configuración del duelo
-    private static final int WINNING_SCORE = 2;
-    private static final int INITIAL_LIVES = 3;
-    private static final int MIN_DECK_SIZE = 3;
+public class BattleEngine implements DuelView {
 
     // Estado del duelo
     private final List<DuelCard> playerDeck;
     private final List<DuelCard> aiDeck;
     private final CombatEventListener eventListener;
     private final Random strategicRandom;
+    private final AiStrategy aiStrategy;
+    // Sustituye a aiStrategy en la ronda en que esta falla; null si ya es la heurística
+    private final AiStrategy fallbackStrategy;
 
     // Cartas disponibles durante el duelo
     private final List<DuelCard> playerActiveCards;
@@ -42,6 +38,7 @@ public class BattleEngine {
     private int aiLivesRemaining;
     private boolean isPlayerTurn;
     private boolean isDuelActive;
+    private boolean isDuelAborted;
 
     // Selecciones pendientes
     private TacticalChoice pendingPlayerChoice;
@@ -61,28 +58,73 @@ public class BattleEngine {
      */
     public BattleEngine(List<DuelCard> playerDeck, List<DuelCard> aiDeck, 
                        CombatEventListener eventListener) {
+        this(playerDeck, aiDeck, eventListener, new DuelRandom());
+    }
+
+    /**
+     * Constructor con el generador de las decisiones de la IA inyectado,
+     * para reproducir duelos o compararlos con los simuladores
+     * Es la única fuente de azar del motor: con un DuelRandom de la misma
+     * semilla y las mismas elecciones del jugador el duelo se repite igual
+     *
+     * @param strategicRandom Generador usado para quién inicia y las decisiones de la IA
+     */
+    public BattleEngine(List<DuelCard> playerDeck, List<DuelCard> aiDeck,
+                       CombatEventListener eventListener, Random strategicRandom) {
+        this(playerDeck, aiDeck, eventListener, strategicRandom, new HeuristicAiStrategy(strategicRandom));
+    }
+
+    /**
+     * Constructor con una estrategia de IA distinta de la heurística por defecto
+     *
+     * @param aiStrategy Estrategia que elige las cartas y posiciones de la IA
+     */
+    public BattleEngine(List<DuelCard> playerDeck, List<DuelCard> aiDeck,
+                       CombatEventListener eventListener, AiStrategy aiStrategy) {
+        this(playerDeck, aiDeck, eventListener, new DuelRandom(), aiStrategy);
+    }
+
+    /**
+     * Constructor completo
+     *
+     * @param strategicRandom Generador usado para decidir quién inicia
+     * @param aiStrategy Estrategia que elige las cartas y posiciones de la IA
+     */
+    public BattleEngine(List<DuelCard> playerDeck, List<DuelCard> aiDeck, CombatEventListener eventListener,
+                       Random strategicRandom, AiStrategy aiStrategy) {
         this.playerDeck = new ArrayList<>(Objects.requireNonNull(playerDeck, "El mazo del jugador no puede ser null"));
         this.aiDeck = new ArrayList<>(Objects.requireNonNull(aiDeck, "El mazo de la IA no puede ser null"));
         this.eventListener = Objects.requireNonNull(eventListener, "El listener de eventos no puede ser null");
-        this.strategicRandom = new Random();
+        this.strategicRandom = Objects.requireNonNull(strategicRandom, "El generador aleatorio no puede ser null");
+        this.aiStrategy = Objects.requireNonNull(aiStrategy, "La estrategia de la IA no puede ser null");
+        this.fallbackStrategy = aiStrategy instanceof HeuristicAiStrategy ? null : new HeuristicAiStrategy(strategicRandom);
 
-        // Inicializar cartas activas como copias de los mazos originales
+        // Inicializar cartas activas como copias de los mazos originales, en su
+        // orden: commenceBattle las restaura así, de modo que mezclarlas aquí
+        // no cambiaba el duelo y solo añadía azar sin semilla
         this.playerActiveCards = new ArrayList<>(this.playerDeck);
         this.aiActiveCards = new ArrayList<>(this.aiDeck);
-
-        // Mezclar para variabilidad estratégica
-        Collections.shuffle(this.playerActiveCards, ThreadLocalRandom.current());
-        Collections.shuffle(this.aiActiveCards, ThreadLocalRandom.current());
     }
 
     /**
      * Inicia un nuevo duelo con validación de condiciones iniciales
      */
     public void commenceBattle() {
+        try {
+            startDuel();
+        } finally {
+            eventListener.onEngineStepCompleted();
+        }
+    }
+
+    /**
+     * Valida los mazos, resetea el estado y decide quién inicia
+     */
+    private void startDuel() {
         // Validar condiciones iniciales
-        if (playerDeck.size() < MIN_DECK_SIZE || aiDeck.size() < MIN_DECK_SIZE) {
+        if (playerDeck.size() < DuelRules.MIN_DECK_SIZE || aiDeck.size() < DuelRules.MIN_DECK_SIZE) {
             eventListener.onErrorOccurred(
-                String.format("Ambos duelistas necesitan al menos %d cartas para iniciar", MIN_DECK_SIZE), 
+                String.format("Ambos duelistas necesitan al menos %d cartas para iniciar", DuelRules.MIN_DECK_SIZE), 
                 null);
             return;
         }
@@ -112,13 +154,14 @@ public class BattleEngine {
     private void resetDuelState() {
         this.playerVictories = 0;
         this.aiVictories = 0;
-        this.playerLivesRemaining = INITIAL_LIVES;
-        this.aiLivesRemaining = INITIAL_LIVES;
+        this.playerLivesRemaining = DuelRules.INITIAL_LIVES;
+        this.aiLivesRemaining = DuelRules.INITIAL_LIVES;
         this.totalRoundsPlayed = 0;
         this.playerDirectAttacks = 0;
         this.aiDirectAttacks = 0;
         this.pendingPlayerChoice = null;
         this.pendingAiChoice = null;
+        this.isDuelAborted = false;
 
         // Restaurar cartas activas
         this.playerActiveCards.clear();
@@ -131,6 +174,17 @@ public class BattleEngine {
      * Establece la elección táctica del jugador humano
      */
     public synchronized boolean setPlayerTacticalChoice(TacticalChoice playerChoice) {
+        try {
+            return acceptPlayerChoice(playerChoice);
+        } finally {
+            eventListener.onEngineStepCompleted();
+        }
+    }
+
+    /**
+     * Valida la elección del jugador y, si abre la ronda, pide la respuesta de la IA
+     */
+    private boolean acceptPlayerChoice(TacticalChoice playerChoice) {
         if (!isDuelActive) {
             eventListener.onErrorOccurred("No hay un duelo activo en curso", null);
             return false;
@@ -160,14 +214,16 @@ public class BattleEngine {
      * Ejecuta la primera selección de la IA cuando es su turno
      */
     private void executeAiFirstSelection() {
-        DuelCard aiSelectedCard = selectOptimalAiCard();
-        if (aiSelectedCard == null) {
-            eventListener.onErrorOccurred("La IA no tiene cartas disponibles", null);
+        if (aiActiveCards.isEmpty()) {
+            abortDuel("La IA no tiene cartas disponibles");
             return;
         }
 
-        BattlePosition aiPosition = selectAiStrategy();
-        this.pendingAiChoice = new TacticalChoice(aiSelectedCard, aiPosition, "IA Estratégica");
+        TacticalChoice aiMove = requestAiMove(null);
+        if (aiMove == null) {
+            return;
+        }
+        this.pendingAiChoice = new TacticalChoice(aiMove.getSelectedCard(), aiMove.getBattlePosition(), "IA Estratégica");
 
         eventListener.onAiInitialSelection(pendingAiChoice);
         eventListener.onDuelStatusChanged("ESPERANDO_JUGADOR", 
@@ -178,67 +234,87 @@ public class BattleEngine {
      * Ejecuta la respuesta automática de la IA
      */
     private void executeAiResponse() {
-        DuelCard aiCard = selectOptimalAiCard();
-        if (aiCard == null) {
-            eventListener.onErrorOccurred("La IA no tiene cartas disponibles para responder", null);
+        if (aiActiveCards.isEmpty()) {
+            abortDuel("La IA no tiene cartas disponibles para responder");
             return;
         }
 
-        BattlePosition aiPosition = selectCounterStrategy(pendingPlayerChoice);
-        this.pendingAiChoice = new TacticalChoice(aiCard, aiPosition, "IA Táctica");
+        TacticalChoice aiMove = requestAiMove(pendingPlayerChoice);
+        if (aiMove == null) {
+            return;
+        }
+        this.pendingAiChoice = new TacticalChoice(aiMove.getSelectedCard(), aiMove.getBattlePosition(), "IA Táctica");
 
         eventListener.onDuelStatusChanged("RESOLVIENDO", "Ambos jugadores han seleccionado. Resolviendo combate...");
     }
 
     /**
-     * Selecciona la estrategia óptima de la IA
+     * Pide el movimiento a la estrategia de la IA y lo valida
+     * Si la estrategia falla, lanza una excepción o elige una carta no
+     * disponible, la ronda la juega la estrategia heurística; si tampoco
+     * hay movimiento válido el duelo se aborta, de modo que nunca queda
+     * activo esperando una elección de la IA que no va a llegar
+     *
+     * @param playerChoice Elección del jugador si la IA responde, o null si abre la ronda
+     * @return El movimiento, o null si el duelo se abortó
      */
-    private BattlePosition selectAiStrategy() {
-        // Estrategia básica: 60% ofensiva, 30% defensiva, 10% táctica
-        double strategy = strategicRandom.nextDouble();
-        if (strategy < 0.6) return BattlePosition.OFFENSIVE;
-        if (strategy < 0.9) return BattlePosition.DEFENSIVE;
-        return BattlePosition.TACTICAL;
+    private TacticalChoice requestAiMove(TacticalChoice playerChoice) {
+        TacticalChoice aiMove = requestAiMove(aiStrategy, playerChoice);
+        if (aiMove == null && fallbackStrategy != null) {
+            eventListener.onDuelStatusChanged("IA_DE_RESPALDO", "La IA usa la estrategia heurística en esta ronda");
+            aiMove = requestAiMove(fallbackStrategy, playerChoice);
+        }
+        if (aiMove == null) {
+            abortDuel("La IA no pudo elegir un movimiento válido");
+        }
+        return aiMove;
     }
 
-    /**
-     * Selecciona una contra-estrategia basada en la elección del jugador
-     */
-    private BattlePosition selectCounterStrategy(TacticalChoice playerChoice) {
-        if (playerChoice == null) return selectAiStrategy();
+    private TacticalChoice requestAiMove(AiStrategy strategy, TacticalChoice playerChoice) {
+        TacticalChoice aiMove;
+        try {
+            aiMove = playerChoice == null
+                ? strategy.chooseOpeningMove(this)
+                : strategy.chooseResponse(this, playerChoice);
+        } catch (RuntimeException e) {
+            eventListener.onErrorOccurred("La estrategia de la IA falló: " + e.getMessage(), e);
+            return null;
+        }
 
-        BattlePosition playerPosition = playerChoice.getBattlePosition();
-        
-        // Estrategia reactiva inteligente
-        switch (playerPosition) {
-            case OFFENSIVE:
-                // Contra ataque: 50% defensa, 30% táctica, 20% contraataque
-                double counter = strategicRandom.nextDouble();
-                if (counter < 0.5) return BattlePosition.DEFENSIVE;
-                if (counter < 0.8) return BattlePosition.TACTICAL;
-                return BattlePosition.OFFENSIVE;
-                
-            case DEFENSIVE:
-                // Contra defensa: 70% ataque, 30% táctica
-                return strategicRandom.nextDouble() < 0.7 ? 
-                       BattlePosition.OFFENSIVE : BattlePosition.TACTICAL;
-                
-            case TACTICAL:
-                // Contra táctica: 40% cada una, equilibrado
-                double tacticalCounter = strategicRandom.nextDouble();
-                if (tacticalCounter < 0.4) return BattlePosition.OFFENSIVE;
-                if (tacticalCounter < 0.8) return BattlePosition.DEFENSIVE;
-                return BattlePosition.TACTICAL;
-                
-            default:
-                return BattlePosition.DEFENSIVE;
+        if (aiMove == null || !aiMove.isValidChoice() || !aiActiveCards.contains(aiMove.getSelectedCard())) {
+            eventListener.onErrorOccurred("La estrategia de la IA eligió una carta no disponible", null);
+            return null;
         }
+        return aiMove;
+    }
+
+    /**
+     * Termina el duelo sin ganador por un error que impide continuarlo
+     */
+    private void abortDuel(String reason) {
+        this.isDuelActive = false;
+        this.isDuelAborted = true;
+        this.pendingPlayerChoice = null;
+        this.pendingAiChoice = null;
+        eventListener.onErrorOccurred(reason, null);
+        eventListener.onDuelStatusChanged("ABORTADO", reason + ". Duelo terminado sin ganador.");
     }
 
     /**
      * Resuelve la ronda pendiente de combate
      */
     public synchronized void resolvePendingRound() {
+        try {
+            resolveRound();
+        } finally {
+            eventListener.onEngineStepCompleted();
+        }
+    }
+
+    /**
+     * Resuelve la ronda, actualiza el estado y prepara la siguiente
+     */
+    private void resolveRound() {
         if (!isDuelActive) {
             return;
         }
@@ -257,11 +333,12 @@ public class BattleEngine {
         eventListener.onBattleStatistics(playerPower, aiPower, powerDifference);
 
         // Determinar ganador del round
-        String roundWinner = determineRoundWinner(pendingPlayerChoice, pendingAiChoice);
-        boolean playerWins = roundWinner.equals("Jugador Humano");
+        int roundOutcome = DuelRules.resolveRound(playerPower, pendingPlayerChoice.getSelectedCard().getLevel(),
+                                                  aiPower, pendingAiChoice.getSelectedCard().getLevel());
+        String roundWinner = describeRoundWinner(roundOutcome);
 
         // Actualizar vidas y puntuación
-        updateGameState(playerWins, roundWinner);
+        updateGameState(roundOutcome);
 
         // Remover cartas usadas
         List<DuelCard> removedPlayerCards = List.of(pendingPlayerChoice.getSelectedCard());
@@ -298,27 +375,25 @@ public class BattleEngine {
     }
 
     /**
-     * Determina el ganador de una ronda específica
+     * Nombre del ganador de una ronda para los eventos
      */
-    private String determineRoundWinner(TacticalChoice playerChoice, TacticalChoice aiChoice) {
-        if (playerChoice.defeatsOpponent(aiChoice)) {
-            return "Jugador Humano";
-        } else if (aiChoice.defeatsOpponent(playerChoice)) {
-            return "IA Estratégica";
-        } else {
-            return "Empate Táctico";
+    private String describeRoundWinner(int roundOutcome) {
+        switch (roundOutcome) {
+            case DuelRules.ROUND_PLAYER_WINS: return "Jugador Humano";
+            case DuelRules.ROUND_AI_WINS: return "IA Estratégica";
+            default: return "Empate Táctico";
         }
     }
 
     /**
      * Actualiza el estado del juego después de una ronda
      */
-    private void updateGameState(boolean playerWins, String roundWinner) {
-        if (roundWinner.equals("Jugador Humano")) {
+    private void updateGameState(int roundOutcome) {
+        if (roundOutcome == DuelRules.ROUND_PLAYER_WINS) {
             aiLivesRemaining--;
             playerVictories++;
             playerDirectAttacks++;
-        } else if (roundWinner.equals("IA Estratégica")) {
+        } else if (roundOutcome == DuelRules.ROUND_AI_WINS) {
             playerLivesRemaining--;
             aiVictories++;
             aiDirectAttacks++;
@@ -334,11 +409,9 @@ public class BattleEngine {
      * Verifica si el duelo debe terminar
      */
     private boolean shouldEndDuel() {
-        return playerVictories >= WINNING_SCORE || 
-               aiVictories >= WINNING_SCORE || 
-               playerActiveCards.isEmpty() || 
-               aiActiveCards.isEmpty() ||
-               (playerLivesRemaining <= 0 || aiLivesRemaining <= 0);
+        return DuelRules.shouldEndDuel(playerVictories, aiVictories,
+                                       playerActiveCards.size(), aiActiveCards.size(),
+                                       playerLivesRemaining, aiLivesRemaining);
     }
 
     /**
@@ -361,28 +434,11 @@ public class BattleEngine {
             String.format("Duelo completado. Rondas jugadas: %d", totalRoundsPlayed));
     }
 
-    /**
-     * Selecciona la carta óptima para la IA usando estrategia
-     */
-    private DuelCard selectOptimalAiCard() {
-        if (aiActiveCards.isEmpty()) {
-            return null;
-        }
-
-        // Estrategia: 70% mejor carta, 30% aleatoria para impredecibilidad
-        if (strategicRandom.nextDouble() < 0.7) {
-            // Seleccionar la carta con mayor poder total
-            return aiActiveCards.stream()
-                .max((c1, c2) -> Integer.compare(c1.getTotalBattlePower(), c2.getTotalBattlePower()))
-                .orElse(aiActiveCards.get(0));
-        } else {
-            // Selección aleatoria para variabilidad
-            return aiActiveCards.get(strategicRandom.nextInt(aiActiveCards.size()));
-        }
-    }
-
     // Getters para el estado del duelo
     public boolean isDuelActive() { return isDuelActive; }
+    /** true si el duelo terminó por un error (ver requestAiMove) y no por las reglas */
+    public boolean isDuelAborted() { return isDuelAborted; }
+    public AiStrategy getAiStrategy() { return aiStrategy; }
     public int getPlayerVictories() { return playerVictories; }
     public int getAiVictories() { return aiVictories; }
     public int getPlayerLivesRemaining() { return playerLivesRemaining; }
@@ -393,6 +449,47 @@ public class BattleEngine {
     public TacticalChoice getPendingAiChoice() { return pendingAiChoice; }
     public int getTotalRoundsPlayed() { return totalRoundsPlayed; }
 
+    // Estado interno para BattleSnapshot
+    List<DuelCard> getPlayerDeck() { return playerDeck; }
+    List<DuelCard> getAiDeck() { return aiDeck; }
+    Random getStrategicRandom() { return strategicRandom; }
+    boolean isPlayerTurn() { return isPlayerTurn; }
+    int getPlayerDirectAttacks() { return playerDirectAttacks; }
+    int getAiDirectAttacks() { return aiDirectAttacks; }
+
+    /**
+     * Copia el estado en una instantánea binaria compacta (ver BattleSnapshot)
+     */
+    public synchronized byte[] snapshot() {
+        return BattleSnapshot.capture(this);
+    }
+
+    /**
+     * Sustituye el estado del duelo por uno restaurado, sin emitir eventos
+     * Las listas de cartas activas deben contener cartas de los mazos
+     */
+    synchronized void restoreState(boolean duelActive, boolean playerTurn,
+                                   int playerVictories, int aiVictories, int playerLives, int aiLives,
+                                   int roundsPlayed, int playerAttacks, int aiAttacks,
+                                   List<DuelCard> playerActive, List<DuelCard> aiActive,
+                                   TacticalChoice pendingPlayer, TacticalChoice pendingAi) {
+        this.isDuelActive = duelActive;
+        this.isPlayerTurn = playerTurn;
+        this.playerVictories = playerVictories;
+        this.aiVictories = aiVictories;
+        this.playerLivesRemaining = playerLives;
+        this.aiLivesRemaining = aiLives;
+        this.totalRoundsPlayed = roundsPlayed;
+        this.playerDirectAttacks = playerAttacks;
+        this.aiDirectAttacks = aiAttacks;
+        this.playerActiveCards.clear();
+        this.playerActiveCards.addAll(playerActive);
+        this.aiActiveCards.clear();
+        this.aiActiveCards.addAll(aiActive);
+        this.pendingPlayerChoice = pendingPlayer;
+        this.pendingAiChoice = pendingAi;
+    }
+
     /**
      * Obtiene estadísticas del duelo actual
      */
@@ -0,0 +1,256 @@
+package duelmasters.engine;
+
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Instantánea binaria compacta del estado de un BattleEngine
+ * Guarda los mazos (solo el cardId de cada carta), las cartas activas como
+ * mapa de bits sobre el mazo, victorias, vidas, turno, elecciones pendientes,
+ * estadísticas y el estado del DuelRandom del motor. Un motor restaurado con
+ * la misma estrategia de IA continúa exactamente igual que el original, lo
+ * que permite pausar, migrar o bifurcar duelos (análisis "qué pasaría si")
+ *
+ * Formato (versión 1): magic, versión, indicadores, siete contadores de 2
+ * bytes, semilla y estado del generador, y por cada mazo su tamaño, los
+ * cardId y el mapa de bits de cartas activas, seguidos de las dos elecciones
+ * pendientes como índice en el mazo y posición. Con manos de 3 cartas ocupa
+ * unos 70 bytes
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class BattleSnapshot {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x444D534E;   // "DMSN"
+
+    // Indicadores
+    private static final int FLAG_DUEL_ACTIVE = 1;
+    private static final int FLAG_PLAYER_TURN = 2;
+    private static final int FLAG_SEEDED_RANDOM = 4;
+
+    private static final int HEADER_BYTES = Integer.BYTES + 2;
+    private static final int COUNTER_BYTES = 7 * Short.BYTES;
+    private static final int RANDOM_BYTES = 2 * Long.BYTES;
+    private static final int PENDING_BYTES = 2 * (Short.BYTES + 1);
+    private static final int NO_CARD = -1;
+
+    private static final BattlePosition[] POSITIONS = BattlePosition.values();
+
+    private BattleSnapshot() { }
+
+    /**
+     * Captura el estado del motor
+     * Si el motor no usa un DuelRandom, el generador no se guarda y el motor
+     * restaurado continúa con uno nuevo
+     */
+    public static byte[] capture(BattleEngine engine) {
+        synchronized (engine) {
+            List<DuelCard> playerDeck = engine.getPlayerDeck();
+            List<DuelCard> aiDeck = engine.getAiDeck();
+            boolean seeded = engine.getStrategicRandom() instanceof DuelRandom;
+
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + COUNTER_BYTES + (seeded ? RANDOM_BYTES : 0)
+                                                    + deckBytes(playerDeck.size()) + deckBytes(aiDeck.size())
+                                                    + PENDING_BYTES);
+            buffer.putInt(MAGIC);
+            buffer.put((byte) FORMAT_VERSION);
+            buffer.put((byte) ((engine.isDuelActive() ? FLAG_DUEL_ACTIVE : 0)
+                               | (engine.isPlayerTurn() ? FLAG_PLAYER_TURN : 0)
+                               | (seeded ? FLAG_SEEDED_RANDOM : 0)));
+
+            putCounter(buffer, engine.getPlayerVictories());
+            putCounter(buffer, engine.getAiVictories());
+            putCounter(buffer, engine.getPlayerLivesRemaining());
+            putCounter(buffer, engine.getAiLivesRemaining());
+            putCounter(buffer, engine.getTotalRoundsPlayed());
+            putCounter(buffer, engine.getPlayerDirectAttacks());
+            putCounter(buffer, engine.getAiDirectAttacks());
+
+            if (seeded) {
+                DuelRandom random = (DuelRandom) engine.getStrategicRandom();
+                buffer.putLong(random.getSeed());
+                buffer.putLong(random.getState());
+            }
+
+            putDeck(buffer, playerDeck, engine.getPlayerActiveCards());
+            putDeck(buffer, aiDeck, engine.getAiActiveCards());
+            putChoice(buffer, playerDeck, engine.getPendingPlayerChoice());
+            putChoice(buffer, aiDeck, engine.getPendingAiChoice());
+            return buffer.array();
+        }
+    }
+
+    /**
+     * Crea un motor con el estado de la instantánea, sin emitir eventos
+     *
+     * @param snapshot Bytes devueltos por capture
+     * @param cardLookup Devuelve la carta de cada cardId (por ejemplo catalog::get)
+     * @param listener Listener del motor restaurado
+     * @param aiStrategy Estrategia de la IA, o null para la heurística con el
+     *                   generador restaurado
+     * @throws IllegalArgumentException Si la instantánea no es válida, es de
+     *                                  otra versión o nombra una carta desconocida
+     */
+    public static BattleEngine restore(byte[] snapshot, IntFunction<DuelCard> cardLookup,
+                                       CombatEventListener listener, AiStrategy aiStrategy) {
+        ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Los datos no son una instantánea de duelo");
+            }
+            int version = buffer.get();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Versión de instantánea no soportada: " + version);
+            }
+            int flags = buffer.get();
+
+            int playerVictories = buffer.getShort();
+            int aiVictories = buffer.getShort();
+            int playerLives = buffer.getShort();
+            int aiLives = buffer.getShort();
+            int roundsPlayed = buffer.getShort();
+            int playerAttacks = buffer.getShort();
+            int aiAttacks = buffer.getShort();
+
+            DuelRandom random = (flags & FLAG_SEEDED_RANDOM) != 0
+                ? DuelRandom.fromState(buffer.getLong(), buffer.getLong())
+                : new DuelRandom();
+
+            List<DuelCard> playerDeck = new ArrayList<>();
+            List<DuelCard> playerActive = getDeck(buffer, cardLookup, playerDeck);
+            List<DuelCard> aiDeck = new ArrayList<>();
+            List<DuelCard> aiActive = getDeck(buffer, cardLookup, aiDeck);
+            boolean playerTurn = (flags & FLAG_PLAYER_TURN) != 0;
+            TacticalChoice pendingPlayer = getChoice(buffer, playerDeck, "Jugador Humano");
+            TacticalChoice pendingAi = getChoice(buffer, aiDeck, playerTurn ? "IA Táctica" : "IA Estratégica");
+
+            BattleEngine engine = new BattleEngine(playerDeck, aiDeck, listener, random,
+                aiStrategy != null ? aiStrategy : new HeuristicAiStrategy(random));
+            engine.restoreState((flags & FLAG_DUEL_ACTIVE) != 0, playerTurn,
+                                playerVictories, aiVictories, playerLives, aiLives,
+                                roundsPlayed, playerAttacks, aiAttacks,
+                                playerActive, aiActive, pendingPlayer, pendingAi);
+            return engine;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Instantánea de duelo incompleta o corrupta", e);
+        }
+    }
+
+    /**
+     * Bifurca un duelo: un motor nuevo con el mismo estado y las mismas
+     * cartas, que evoluciona por separado del original
+     */
+    public static BattleEngine fork(BattleEngine engine, CombatEventListener listener, AiStrategy aiStrategy) {
+        Map<Integer, DuelCard> cards = new HashMap<>();
+        byte[] snapshot;
+        synchronized (engine) {
+            engine.getPlayerDeck().forEach(card -> cards.putIfAbsent(card.getCardId(), card));
+            engine.getAiDeck().forEach(card -> cards.putIfAbsent(card.getCardId(), card));
+            snapshot = capture(engine);
+        }
+        return restore(snapshot, cards::get, listener, aiStrategy);
+    }
+
+    // ==================== CODIFICACIÓN ====================
+
+    private static int deckBytes(int size) {
+        return Short.BYTES + size * Integer.BYTES + (size + 7) / 8;
+    }
+
+    private static void putCounter(ByteBuffer buffer, int value) {
+        if (value < 0 || value > Short.MAX_VALUE) {
+            throw new IllegalStateException("Contador fuera de rango para la instantánea: " + value);
+        }
+        buffer.putShort((short) value);
+    }
+
+    /**
+     * Escribe los cardId del mazo y el mapa de bits de las cartas activas
+     * Las activas conservan el orden del mazo, así que basta con recorrer
+     * ambas listas a la vez
+     */
+    private static void putDeck(ByteBuffer buffer, List<DuelCard> deck, List<DuelCard> active) {
+        if (deck.size() > Short.MAX_VALUE) {
+            throw new IllegalStateException("Mazo demasiado grande para la instantánea: " + deck.size());
+        }
+        buffer.putShort((short) deck.size());
+        for (DuelCard card : deck) {
+            buffer.putInt(card.getCardId());
+        }
+
+        byte[] activeBits = new byte[(deck.size() + 7) / 8];
+        int next = 0;
+        for (int i = 0; i < deck.size() && next < active.size(); i++) {
+            if (deck.get(i) == active.get(next)) {
+                activeBits[i >> 3] |= (byte) (1 << (i & 7));
+                next++;
+            }
+        }
+        if (next != active.size()) {
+            throw new IllegalStateException("Las cartas activas no siguen el orden del mazo");
+        }
+        buffer.put(activeBits);
+    }
+
+    private static void putChoice(ByteBuffer buffer, List<DuelCard> deck, TacticalChoice choice) {
+        if (choice == null) {
+            buffer.putShort((short) NO_CARD);
+            buffer.put((byte) 0);
+            return;
+        }
+        int index = NO_CARD;
+        for (int i = 0; i < deck.size() && index == NO_CARD; i++) {
+            if (deck.get(i) == choice.getSelectedCard()) {
+                index = i;
+            }
+        }
+        if (index == NO_CARD) {
+            index = deck.indexOf(choice.getSelectedCard());
+        }
+        buffer.putShort((short) index);
+        buffer.put((byte) choice.getBattlePosition().ordinal());
+    }
+
+    /**
+     * Lee un mazo en deck y devuelve sus cartas activas
+     */
+    private static List<DuelCard> getDeck(ByteBuffer buffer, IntFunction<DuelCard> cardLookup, List<DuelCard> deck) {
+        int size = buffer.getShort();
+        for (int i = 0; i < size; i++) {
+            int cardId = buffer.getInt();
+            DuelCard card = cardLookup.apply(cardId);
+            if (card == null) {
+                throw new IllegalArgumentException("Carta desconocida en la instantánea: " + cardId);
+            }
+            deck.add(card);
+        }
+
+        byte[] activeBits = new byte[(size + 7) / 8];
+        buffer.get(activeBits);
+        List<DuelCard> active = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if ((activeBits[i >> 3] & (1 << (i & 7))) != 0) {
+                active.add(deck.get(i));
+            }
+        }
+        return active;
+    }
+
+    private static TacticalChoice getChoice(ByteBuffer buffer, List<DuelCard> deck, String playerName) {
+        int index = buffer.getShort();
+        int position = buffer.get();
+        return index == NO_CARD ? null : new TacticalChoice(deck.get(index), POSITIONS[position], playerName);
+    }
+}
@@ -0,0 +1,106 @@
+package duelmasters.engine;
+
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Evento del motor de duelos ya capturado, listo para entregarse más tarde
+ * Guarda el tipo (uno por callback de CombatEventListener) y la llamada con
+ * sus argumentos; los argumentos son inmutables o copias, así que el evento
+ * se puede entregar desde cualquier hilo
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class CombatEvent {
+
+    /**
+     * Tipos de evento, uno por callback de CombatEventListener
+     */
+    public enum Type {
+        DUEL_COMMENCED,
+        ROUND_RESOLVED,
+        SCORE_UPDATED,
+        DUEL_COMPLETED,
+        ERROR_OCCURRED,
+        CARD_REPLACEMENT_NEEDED,
+        CARDS_REMOVED,
+        AI_INITIAL_SELECTION,
+        STATUS_CHANGED,
+        BATTLE_STATISTICS
+    }
+
+    private final Type type;
+    private final Consumer<CombatEventListener> delivery;
+
+    private CombatEvent(Type type, Consumer<CombatEventListener> delivery) {
+        this.type = type;
+        this.delivery = delivery;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Invoca sobre el listener el callback que originó el evento
+     */
+    public void deliverTo(CombatEventListener listener) {
+        delivery.accept(listener);
+    }
+
+    // ==================== FÁBRICAS ====================
+
+    public static CombatEvent duelCommenced(String initiatingPlayer) {
+        return new CombatEvent(Type.DUEL_COMMENCED, l -> l.onDuelCommenced(initiatingPlayer));
+    }
+
+    public static CombatEvent roundResolved(TacticalChoice playerChoice, TacticalChoice aiChoice,
+                                            String attackingPlayer, String roundVictor) {
+        return new CombatEvent(Type.ROUND_RESOLVED,
+                               l -> l.onRoundResolved(playerChoice, aiChoice, attackingPlayer, roundVictor));
+    }
+
+    public static CombatEvent scoreUpdated(int playerVictories, int aiVictories) {
+        return new CombatEvent(Type.SCORE_UPDATED, l -> l.onScoreUpdated(playerVictories, aiVictories));
+    }
+
+    public static CombatEvent duelCompleted(String finalWinner) {
+        return new CombatEvent(Type.DUEL_COMPLETED, l -> l.onDuelCompleted(finalWinner));
+    }
+
+    public static CombatEvent errorOccurred(String errorMessage, Throwable exception) {
+        return new CombatEvent(Type.ERROR_OCCURRED, l -> l.onErrorOccurred(errorMessage, exception));
+    }
+
+    public static CombatEvent cardReplacementNeeded(boolean isPlayerSide) {
+        return new CombatEvent(Type.CARD_REPLACEMENT_NEEDED, l -> l.onCardReplacementNeeded(isPlayerSide));
+    }
+
+    public static CombatEvent cardsRemoved(List<DuelCard> removedPlayerCards, List<DuelCard> removedAiCards) {
+        List<DuelCard> playerCards = List.copyOf(removedPlayerCards);
+        List<DuelCard> aiCards = List.copyOf(removedAiCards);
+        return new CombatEvent(Type.CARDS_REMOVED, l -> l.onCardsRemovedFromBattle(playerCards, aiCards));
+    }
+
+    public static CombatEvent aiInitialSelection(TacticalChoice aiTacticalChoice) {
+        return new CombatEvent(Type.AI_INITIAL_SELECTION, l -> l.onAiInitialSelection(aiTacticalChoice));
+    }
+
+    public static CombatEvent statusChanged(String currentPhase, String statusMessage) {
+        return new CombatEvent(Type.STATUS_CHANGED, l -> l.onDuelStatusChanged(currentPhase, statusMessage));
+    }
+
+    public static CombatEvent battleStatistics(int playerPower, int aiPower, int powerDifference) {
+        return new CombatEvent(Type.BATTLE_STATISTICS,
+                               l -> l.onBattleStatistics(playerPower, aiPower, powerDifference));
+    }
+
+    @Override
+    public String toString() {
+        return type.name();
+    }
+}
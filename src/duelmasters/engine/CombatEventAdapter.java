@@ -0,0 +1,49 @@
+package duelmasters.engine;
+
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+
+import java.util.List;
+
+/**
+ * Implementación vacía de CombatEventListener
+ * Permite escuchar solo los eventos necesarios (por ejemplo en ejecuciones
+ * sin interfaz gráfica) sobrescribiendo únicamente esos métodos
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class CombatEventAdapter implements CombatEventListener {
+
+    @Override
+    public void onDuelCommenced(String initiatingPlayer) { }
+
+    @Override
+    public void onRoundResolved(TacticalChoice playerChoice, TacticalChoice aiChoice,
+                               String attackingPlayer, String roundVictor) { }
+
+    @Override
+    public void onScoreUpdated(int playerVictories, int aiVictories) { }
+
+    @Override
+    public void onDuelCompleted(String finalWinner) { }
+
+    @Override
+    public void onErrorOccurred(String errorMessage, Throwable exception) { }
+
+    @Override
+    public void onCardReplacementNeeded(boolean isPlayerSide) { }
+
+    @Override
+    public void onCardsRemovedFromBattle(List<DuelCard> removedPlayerCards,
+                                        List<DuelCard> removedAiCards) { }
+
+    @Override
+    public void onAiInitialSelection(TacticalChoice aiTacticalChoice) { }
+
+    @Override
+    public void onDuelStatusChanged(String currentPhase, String statusMessage) { }
+
+    @Override
+    public void onBattleStatistics(int playerPower, int aiPower, int powerDifference) { }
+}
@@ -0,0 +1,23 @@
+package duelmasters.engine;
+
+import java.util.List;
+
+/**
+ * Listener que recibe los eventos del motor agrupados por lotes
+ * AsyncCombatEventDispatcher entrega a estos listeners una sola llamada por
+ * operación del motor (por ejemplo, todos los eventos de una ronda) en lugar
+ * de un callback por evento. Los eventos del lote están en el orden en que
+ * el motor los emitió
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public interface CombatEventBatchListener {
+
+    /**
+     * Se llama con los eventos de una operación del motor, desde el hilo del despachador
+     *
+     * @param batch Eventos en orden de emisión (lista inmutable)
+     */
+    void onEventBatch(List<CombatEvent> batch);
+}
@@ -94,4 +94,11 @@ public interface CombatEventListener {
      * @param powerDifference Diferencia de poder
      */
     void onBattleStatistics(int playerPower, int aiPower, int powerDifference);
+
+    /**
+     * Se llama al terminar cada operación pública del motor (iniciar el duelo,
+     * elegir carta, resolver la ronda), cuando ya se emitieron todos sus eventos.
+     * Permite a los listeners agrupar los eventos de una misma operación
+     */
+    default void onEngineStepCompleted() { }
 }
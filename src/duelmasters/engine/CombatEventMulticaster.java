@@ -0,0 +1,94 @@
+package duelmasters.engine;
+
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+
+import java.util.List;
+
+/**
+ * Reenvía cada evento del motor a varios listeners, en el mismo hilo y en
+ * el orden en que se pasaron
+ * Para entregar los eventos fuera del hilo del motor se usa
+ * AsyncCombatEventDispatcher
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class CombatEventMulticaster implements CombatEventListener {
+
+    private final CombatEventListener[] listeners;
+
+    private CombatEventMulticaster(CombatEventListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * Listener que reenvía a todos los indicados; con uno solo lo devuelve tal cual
+     */
+    public static CombatEventListener of(CombatEventListener... listeners) {
+        if (listeners.length == 1) {
+            return listeners[0];
+        }
+        return new CombatEventMulticaster(listeners.clone());
+    }
+
+    @Override
+    public void onDuelCommenced(String initiatingPlayer) {
+        for (CombatEventListener listener : listeners) listener.onDuelCommenced(initiatingPlayer);
+    }
+
+    @Override
+    public void onRoundResolved(TacticalChoice playerChoice, TacticalChoice aiChoice,
+                                String attackingPlayer, String roundVictor) {
+        for (CombatEventListener listener : listeners) {
+            listener.onRoundResolved(playerChoice, aiChoice, attackingPlayer, roundVictor);
+        }
+    }
+
+    @Override
+    public void onScoreUpdated(int playerVictories, int aiVictories) {
+        for (CombatEventListener listener : listeners) listener.onScoreUpdated(playerVictories, aiVictories);
+    }
+
+    @Override
+    public void onDuelCompleted(String finalWinner) {
+        for (CombatEventListener listener : listeners) listener.onDuelCompleted(finalWinner);
+    }
+
+    @Override
+    public void onErrorOccurred(String errorMessage, Throwable exception) {
+        for (CombatEventListener listener : listeners) listener.onErrorOccurred(errorMessage, exception);
+    }
+
+    @Override
+    public void onCardReplacementNeeded(boolean isPlayerSide) {
+        for (CombatEventListener listener : listeners) listener.onCardReplacementNeeded(isPlayerSide);
+    }
+
+    @Override
+    public void onCardsRemovedFromBattle(List<DuelCard> removedPlayerCards, List<DuelCard> removedAiCards) {
+        for (CombatEventListener listener : listeners) {
+            listener.onCardsRemovedFromBattle(removedPlayerCards, removedAiCards);
+        }
+    }
+
+    @Override
+    public void onAiInitialSelection(TacticalChoice aiTacticalChoice) {
+        for (CombatEventListener listener : listeners) listener.onAiInitialSelection(aiTacticalChoice);
+    }
+
+    @Override
+    public void onDuelStatusChanged(String currentPhase, String statusMessage) {
+        for (CombatEventListener listener : listeners) listener.onDuelStatusChanged(currentPhase, statusMessage);
+    }
+
+    @Override
+    public void onBattleStatistics(int playerPower, int aiPower, int powerDifference) {
+        for (CombatEventListener listener : listeners) listener.onBattleStatistics(playerPower, aiPower, powerDifference);
+    }
+
+    @Override
+    public void onEngineStepCompleted() {
+        for (CombatEventListener listener : listeners) listener.onEngineStepCompleted();
+    }
+}
@@ -0,0 +1,128 @@
+package duelmasters.engine;
+
+import duelmasters.entities.TacticalChoice;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Confina un BattleEngine a un hilo propio de duelo
+ * La interfaz envía comandos (iniciar duelo, jugar carta) que se ejecutan en
+ * orden en un executor de un solo hilo, y recibe el estado resultante como
+ * un Status inmutable en un CompletableFuture. El motor, incluida la
+ * búsqueda de la IA, nunca corre en el hilo que envía los comandos; los
+ * eventos del motor siguen llegando por su CombatEventListener
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class DuelController implements AutoCloseable {
+
+    private final ExecutorService duelThread;
+
+    // Solo se accede desde el hilo de duelo
+    private BattleEngine engine;
+
+    /**
+     * Estado del duelo tras un comando, seguro de leer desde cualquier hilo
+     */
+    public static final class Status {
+        private final boolean accepted;
+        private final boolean duelActive;
+        private final int playerVictories;
+        private final int aiVictories;
+        private final int playerLives;
+        private final int aiLives;
+
+        private Status(boolean accepted, BattleEngine engine) {
+            this.accepted = accepted;
+            this.duelActive = engine.isDuelActive();
+            this.playerVictories = engine.getPlayerVictories();
+            this.aiVictories = engine.getAiVictories();
+            this.playerLives = engine.getPlayerLivesRemaining();
+            this.aiLives = engine.getAiLivesRemaining();
+        }
+
+        /** true si el motor aceptó el comando */
+        public boolean isAccepted() { return accepted; }
+        public boolean isDuelActive() { return duelActive; }
+        public int getPlayerVictories() { return playerVictories; }
+        public int getAiVictories() { return aiVictories; }
+        public int getPlayerLives() { return playerLives; }
+        public int getAiLives() { return aiLives; }
+    }
+
+    public DuelController() {
+        this.duelThread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "duel-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Crea el motor en el hilo de duelo y comienza la batalla
+     *
+     * @param engineFactory Crea el motor; se invoca en el hilo de duelo
+     */
+    public CompletableFuture<Status> startDuel(Supplier<BattleEngine> engineFactory) {
+        return CompletableFuture.supplyAsync(() -> {
+            engine = engineFactory.get();
+            engine.commenceBattle();
+            return new Status(engine.isDuelActive(), engine);
+        }, duelThread);
+    }
+
+    /**
+     * Continúa en el hilo de duelo un motor ya comenzado, por ejemplo uno
+     * reconstruido desde el diario tras una caída
+     *
+     * @param engineFactory Devuelve el motor en curso; se invoca en el hilo de duelo
+     */
+    public CompletableFuture<Status> resumeDuel(Supplier<BattleEngine> engineFactory) {
+        return CompletableFuture.supplyAsync(() -> {
+            engine = engineFactory.get();
+            return new Status(engine.isDuelActive(), engine);
+        }, duelThread);
+    }
+
+    /**
+     * Registra la elección del jugador y, si la IA ya eligió o responde en
+     * ese momento, resuelve la ronda
+     */
+    public CompletableFuture<Status> playCard(TacticalChoice playerChoice) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (engine == null) {
+                throw new IllegalStateException("No hay un duelo iniciado");
+            }
+            boolean accepted = engine.setPlayerTacticalChoice(playerChoice);
+            if (accepted && engine.getPendingPlayerChoice() != null && engine.getPendingAiChoice() != null) {
+                engine.resolvePendingRound();
+            }
+            return new Status(accepted, engine);
+        }, duelThread);
+    }
+
+    /**
+     * Ejecuta una consulta de solo lectura sobre el motor en el hilo de duelo,
+     * en orden con los comandos ya enviados (por ejemplo para capturar la
+     * posición y analizarla en otro hilo)
+     *
+     * @param query Consulta; se invoca en el hilo de duelo y no debe modificar el motor
+     * @return Resultado de la consulta, o null si no hay un duelo iniciado
+     */
+    public <T> CompletableFuture<T> inspect(Function<BattleEngine, T> query) {
+        return CompletableFuture.supplyAsync(() -> engine == null ? null : query.apply(engine), duelThread);
+    }
+
+    /**
+     * Detiene el hilo de duelo; los comandos pendientes se descartan
+     */
+    @Override
+    public void close() {
+        duelThread.shutdownNow();
+    }
+}
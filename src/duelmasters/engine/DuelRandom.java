@@ -0,0 +1,146 @@
+package duelmasters.engine;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Generador aleatorio sembrado de un duelo
+ * Es un Random (lo aceptan BattleEngine y las estrategias) que implementa el
+ * mismo algoritmo SplitMix64 que SplittableRandom: con la misma semilla
+ * produce exactamente el mismo flujo que CompactDuelState y los simuladores.
+ * La semilla se puede registrar (por ejemplo en el diario) para reproducir
+ * el duelo, y el estado es un solo long que BattleSnapshot guarda
+ *
+ * split() crea un generador independiente con semilla propia, para derivar
+ * los duelos de una ejecución por lotes de una sola semilla maestra
+ *
+ * No es seguro entre hilos: cada duelo usa el suyo desde el hilo del motor
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class DuelRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    // Incremento de SplittableRandom para generadores creados con semilla
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private final long seed;
+    private long state;
+    // Falso mientras corre el constructor de Random, que llama a setSeed
+    private final boolean initialized;
+
+    /**
+     * Generador con una semilla nueva (consultable con getSeed)
+     */
+    public DuelRandom() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public DuelRandom(long seed) {
+        this(seed, seed);
+    }
+
+    private DuelRandom(long seed, long state) {
+        super(0);
+        this.seed = seed;
+        this.state = state;
+        this.initialized = true;
+    }
+
+    /**
+     * Generador que continúa desde un estado guardado con getState
+     */
+    static DuelRandom fromState(long seed, long state) {
+        return new DuelRandom(seed, state);
+    }
+
+    /**
+     * Semilla con la que se creó el generador
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Estado actual: con él y la semilla, fromState continúa el mismo flujo */
+    long getState() {
+        return state;
+    }
+
+    /**
+     * Generador independiente cuya semilla sale de este
+     * Avanza este generador en un valor
+     */
+    public DuelRandom split() {
+        return new DuelRandom(nextLong());
+    }
+
+    /**
+     * Semilla número index derivada de seed, como el valor index + 1 de un
+     * flujo SplitMix64 que empieza en seed
+     * Sirve para repartir una semilla maestra entre tareas o emparejamientos:
+     * los flujos de índices vecinos no se solapan
+     */
+    public static long mix(long seed, long index) {
+        return mix64(seed + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    private long nextSeed() {
+        return state += GOLDEN_GAMMA;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    @Override public boolean nextBoolean() { return mix32(nextSeed()) < 0; }
+    @Override public double nextDouble() { return (mix64(nextSeed()) >>> 11) * DOUBLE_UNIT; }
+    @Override public int nextInt() { return mix32(nextSeed()); }
+    @Override public long nextLong() { return mix64(nextSeed()); }
+
+    /**
+     * Entero uniforme en [0, bound), con el mismo rechazo que SplittableRandom
+     */
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("El límite debe ser positivo");
+        }
+        int r = nextInt();
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1) {
+            // Rechazo para evitar el sesgo del módulo
+        }
+        return r;
+    }
+
+    /**
+     * Base del resto de métodos de Random (nextFloat, nextBytes, nextGaussian...)
+     */
+    @Override
+    protected int next(int bits) {
+        return nextInt() >>> (32 - bits);
+    }
+
+    /**
+     * La semilla es fija: para otra secuencia se crea otro generador
+     */
+    @Override
+    public synchronized void setSeed(long seed) {
+        if (initialized) {
+            throw new UnsupportedOperationException("La semilla de DuelRandom no se puede cambiar");
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package duelmasters.engine;
+
+import duelmasters.entities.BattlePosition;
+
+/**
+ * Reglas puras del duelo compartidas por BattleEngine y los simuladores
+ * Todas las funciones son deterministas: el azar se recibe como parámetro
+ * para que cada llamador use su propio generador
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class DuelRules {
+
+    // Configuración del duelo
+    public static final int WINNING_SCORE = 2;
+    public static final int INITIAL_LIVES = 3;
+    public static final int MIN_DECK_SIZE = 3;
+
+    // Resultados de una ronda
+    public static final int ROUND_TIE = 0;
+    public static final int ROUND_PLAYER_WINS = 1;
+    public static final int ROUND_AI_WINS = 2;
+
+    /** Probabilidad de que la IA juegue su carta de mayor poder total */
+    public static final double OPTIMAL_CARD_PROBABILITY = 0.7;
+
+    private DuelRules() { }
+
+    /**
+     * Resuelve una ronda con las mismas reglas que TacticalChoice.defeatsOpponent:
+     * gana el mayor poder efectivo y, en empate de poder, el mayor nivel
+     *
+     * @return ROUND_PLAYER_WINS, ROUND_AI_WINS o ROUND_TIE
+     */
+    public static int resolveRound(int playerPower, int playerLevel, int aiPower, int aiLevel) {
+        if (playerPower != aiPower) {
+            return playerPower > aiPower ? ROUND_PLAYER_WINS : ROUND_AI_WINS;
+        }
+        if (playerLevel != aiLevel) {
+            return playerLevel > aiLevel ? ROUND_PLAYER_WINS : ROUND_AI_WINS;
+        }
+        return ROUND_TIE;
+    }
+
+    /**
+     * Verifica si el duelo debe terminar
+     */
+    public static boolean shouldEndDuel(int playerVictories, int aiVictories,
+                                        int playerCardsLeft, int aiCardsLeft,
+                                        int playerLives, int aiLives) {
+        return playerVictories >= WINNING_SCORE ||
+               aiVictories >= WINNING_SCORE ||
+               playerCardsLeft == 0 ||
+               aiCardsLeft == 0 ||
+               (playerLives <= 0 || aiLives <= 0);
+    }
+
+    /**
+     * Estrategia de apertura de la IA: 60% ofensiva, 30% defensiva, 10% táctica
+     *
+     * @param roll Valor uniforme en [0, 1)
+     */
+    public static BattlePosition openingPosition(double roll) {
+        if (roll < 0.6) return BattlePosition.OFFENSIVE;
+        if (roll < 0.9) return BattlePosition.DEFENSIVE;
+        return BattlePosition.TACTICAL;
+    }
+
+    /**
+     * Probabilidad de cada posición en openingPosition
+     */
+    public static double openingProbability(BattlePosition position) {
+        switch (position) {
+            case OFFENSIVE: return 0.6;
+            case DEFENSIVE: return 0.3;
+            default: return 0.1;
+        }
+    }
+
+    /**
+     * Probabilidad de cada respuesta en counterPosition
+     *
+     * @param playerPosition Posición elegida por el jugador
+     * @param response Posición de la IA
+     */
+    public static double counterProbability(BattlePosition playerPosition, BattlePosition response) {
+        switch (playerPosition) {
+            case OFFENSIVE:
+                return response == BattlePosition.DEFENSIVE ? 0.5 : response == BattlePosition.TACTICAL ? 0.3 : 0.2;
+            case DEFENSIVE:
+                return response == BattlePosition.OFFENSIVE ? 0.7 : response == BattlePosition.TACTICAL ? 0.3 : 0.0;
+            case TACTICAL:
+                return response == BattlePosition.TACTICAL ? 0.2 : 0.4;
+            default:
+                return response == BattlePosition.DEFENSIVE ? 1.0 : 0.0;
+        }
+    }
+
+    /**
+     * Contra-estrategia de la IA según la posición del jugador
+     *
+     * @param playerPosition Posición elegida por el jugador
+     * @param roll Valor uniforme en [0, 1)
+     */
+    public static BattlePosition counterPosition(BattlePosition playerPosition, double roll) {
+        switch (playerPosition) {
+            case OFFENSIVE:
+                // Contra ataque: 50% defensa, 30% táctica, 20% contraataque
+                if (roll < 0.5) return BattlePosition.DEFENSIVE;
+                if (roll < 0.8) return BattlePosition.TACTICAL;
+                return BattlePosition.OFFENSIVE;
+
+            case DEFENSIVE:
+                // Contra defensa: 70% ataque, 30% táctica
+                return roll < 0.7 ? BattlePosition.OFFENSIVE : BattlePosition.TACTICAL;
+
+            case TACTICAL:
+                // Contra táctica: 40% cada una, equilibrado
+                if (roll < 0.4) return BattlePosition.OFFENSIVE;
+                if (roll < 0.8) return BattlePosition.DEFENSIVE;
+                return BattlePosition.TACTICAL;
+
+            default:
+                return BattlePosition.DEFENSIVE;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package duelmasters.engine;
+
+import duelmasters.entities.DuelCard;
+
+import java.util.List;
+
+/**
+ * Vista de solo lectura del estado de un duelo
+ * Es lo que ve una estrategia de IA al decidir su movimiento
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public interface DuelView {
+
+    /**
+     * Cartas que le quedan al jugador humano, en el orden del mazo
+     */
+    List<DuelCard> getPlayerActiveCards();
+
+    /**
+     * Cartas que le quedan a la IA, en el orden del mazo
+     */
+    List<DuelCard> getAiActiveCards();
+
+    int getPlayerVictories();
+
+    int getAiVictories();
+
+    int getPlayerLivesRemaining();
+
+    int getAiLivesRemaining();
+
+    int getTotalRoundsPlayed();
+
+    /**
+     * Rondas empatadas hasta ahora: cada ronda da una victoria o es un empate
+     */
+    default int getTiedRounds() {
+        return getTotalRoundsPlayed() - getPlayerVictories() - getAiVictories();
+    }
+}
@@ -0,0 +1,69 @@
+package duelmasters.engine;
+
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Estrategia original de la IA basada en tablas de probabilidad
+ * 70% la carta de mayor poder total y 30% una al azar; la posición sale de
+ * DuelRules.openingPosition o DuelRules.counterPosition. Consume el
+ * generador siempre en el orden carta → posición
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class HeuristicAiStrategy implements AiStrategy {
+
+    static final String AI_NAME = "IA Estratégica";
+
+    private final Random strategicRandom;
+
+    /**
+     * @param strategicRandom Generador de las decisiones (BattleEngine comparte el suyo)
+     */
+    public HeuristicAiStrategy(Random strategicRandom) {
+        this.strategicRandom = Objects.requireNonNull(strategicRandom, "El generador aleatorio no puede ser null");
+    }
+
+    @Override
+    public TacticalChoice chooseOpeningMove(DuelView view) {
+        DuelCard card = selectOptimalCard(view.getAiActiveCards());
+        // Estrategia básica: 60% ofensiva, 30% defensiva, 10% táctica
+        return new TacticalChoice(card, DuelRules.openingPosition(strategicRandom.nextDouble()), AI_NAME);
+    }
+
+    @Override
+    public TacticalChoice chooseResponse(DuelView view, TacticalChoice playerChoice) {
+        DuelCard card = selectOptimalCard(view.getAiActiveCards());
+        BattlePosition position = playerChoice == null
+            ? DuelRules.openingPosition(strategicRandom.nextDouble())
+            : DuelRules.counterPosition(playerChoice.getBattlePosition(), strategicRandom.nextDouble());
+        return new TacticalChoice(card, position, AI_NAME);
+    }
+
+    /**
+     * Selecciona la carta óptima para la IA usando estrategia
+     */
+    private DuelCard selectOptimalCard(List<DuelCard> aiActiveCards) {
+        // Estrategia: 70% mejor carta, 30% aleatoria para impredecibilidad
+        if (strategicRandom.nextDouble() < DuelRules.OPTIMAL_CARD_PROBABILITY) {
+            // Seleccionar la carta con mayor poder total
+            return aiActiveCards.stream()
+                .max((c1, c2) -> Integer.compare(c1.getTotalBattlePower(), c2.getTotalBattlePower()))
+                .orElse(aiActiveCards.get(0));
+        } else {
+            // Selección aleatoria para variabilidad
+            return aiActiveCards.get(strategicRandom.nextInt(aiActiveCards.size()));
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return "heurística";
+    }
+}
@@ -0,0 +1,86 @@
+package duelmasters.engine;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Ruta de BatchRoundResolver con la Vector API (jdk.incubator.vector)
+ * Resuelve SPECIES.length() rondas por iteración con las mismas reglas que
+ * la ruta escalar: el poder efectivo se elige con máscaras de posición y el
+ * resultado con máscaras de comparación, sin arreglos intermedios
+ *
+ * Solo se carga si el módulo está en la JVM (--add-modules jdk.incubator.vector);
+ * BatchRoundResolver lo comprueba antes de tocar esta clase
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+final class VectorRoundKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /** Con menos carriles la Vector API no tiene soporte SIMD y es más lenta que la ruta escalar */
+    private static final int MIN_LANES = 4;
+
+    private VectorRoundKernel() { }
+
+    /**
+     * Verifica que la CPU tiene registros vectoriales que compensen esta ruta
+     */
+    static boolean isSupported() {
+        return SPECIES.length() >= MIN_LANES;
+    }
+
+    static void resolve(BatchRoundResolver.Side player, BatchRoundResolver.Side ai, int[] outcomes, int count) {
+        int[] playerAttack = player.getAttack();
+        int[] playerDefense = player.getDefense();
+        int[] playerLevel = player.getLevel();
+        int[] playerPosition = player.getPosition();
+        int[] aiAttack = ai.getAttack();
+        int[] aiDefense = ai.getDefense();
+        int[] aiLevel = ai.getLevel();
+        int[] aiPosition = ai.getPosition();
+
+        IntVector playerWins = IntVector.broadcast(SPECIES, DuelRules.ROUND_PLAYER_WINS);
+        IntVector aiWins = IntVector.broadcast(SPECIES, DuelRules.ROUND_AI_WINS);
+        IntVector ties = IntVector.broadcast(SPECIES, DuelRules.ROUND_TIE);
+
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            IntVector playerPower = effectivePower(playerAttack, playerDefense, playerPosition, i);
+            IntVector aiPower = effectivePower(aiAttack, aiDefense, aiPosition, i);
+            IntVector playerLevels = IntVector.fromArray(SPECIES, playerLevel, i);
+            IntVector aiLevels = IntVector.fromArray(SPECIES, aiLevel, i);
+
+            // Primero el desempate por nivel; la comparación de poder lo sobrescribe donde decide
+            IntVector outcome = ties
+                .blend(playerWins, playerLevels.compare(VectorOperators.GT, aiLevels))
+                .blend(aiWins, playerLevels.compare(VectorOperators.LT, aiLevels))
+                .blend(playerWins, playerPower.compare(VectorOperators.GT, aiPower))
+                .blend(aiWins, playerPower.compare(VectorOperators.LT, aiPower));
+            outcome.intoArray(outcomes, i);
+        }
+        for (; i < count; i++) {
+            outcomes[i] = BatchRoundResolver.outcome(
+                BatchRoundResolver.effectivePower(playerAttack[i], playerDefense[i], playerPosition[i]), playerLevel[i],
+                BatchRoundResolver.effectivePower(aiAttack[i], aiDefense[i], aiPosition[i]), aiLevel[i]);
+        }
+    }
+
+    /**
+     * Igual que BatchRoundResolver.effectivePower para SPECIES.length() rondas desde index
+     */
+    private static IntVector effectivePower(int[] attack, int[] defense, int[] position, int index) {
+        IntVector attacks = IntVector.fromArray(SPECIES, attack, index);
+        IntVector defenses = IntVector.fromArray(SPECIES, defense, index);
+        IntVector positions = IntVector.fromArray(SPECIES, position, index);
+        IntVector sum = attacks.add(defenses);
+        IntVector average = sum.add(sum.lanewise(VectorOperators.LSHR, 31)).lanewise(VectorOperators.ASHR, 1);
+        VectorMask<Integer> offensive = positions.eq(0);
+        VectorMask<Integer> tactical = positions.eq(2);
+        return defenses.blend(attacks, offensive).blend(average, tactical);
+    }
+}
@@ -0,0 +1,187 @@
+package duelmasters.entities;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Descripción de una carta guardada comprimida y decodificada bajo demanda
+ * La descripción es el campo más grande de DuelCard y la interfaz del duelo
+ * no la muestra, así que en un catálogo completo casi toda la memoria de las
+ * cartas se iba en texto que nadie lee. Aquí se guarda como deflate crudo
+ * contra un diccionario compartido con las frases habituales de las cartas
+ * (el diccionario hace que incluso un texto de 300 caracteres comprima bien)
+ * y solo se descomprime al llamar a getText
+ *
+ * Opcionalmente se guarda el texto tal como llega (por ejemplo escapado en
+ * JSON) junto con el decodificador que lo convierte: así el parseo tampoco
+ * paga la decodificación de descripciones que no se van a leer
+ *
+ * Los textos cortos no compensan la compresión y se guardan tal cual
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class CardDescription {
+
+    /** Longitud (en bytes UTF-8) a partir de la cual se intenta comprimir */
+    private static final int MIN_COMPRESSED_LENGTH = 64;
+
+    // Diccionario de deflate: frases frecuentes en los textos de la API,
+    // con las más frecuentes al final (deflate las alcanza con distancias más cortas)
+    private static final byte[] DICTIONARY = (
+        "Cannot be Normal Summoned/Set. Must be Special Summoned by a card effect. "
+        + "Must first be Special Summoned (from your Extra Deck) by Tributing "
+        + "This card is used to Ritual Summon any Ritual Monster. "
+        + "You must also Tribute monsters from your hand or field whose total Levels equal or exceed "
+        + "2+ Effect Monsters\\r\\n 1 Tuner + 1+ non-Tuner monsters\\r\\n 2 Level 4 monsters\\r\\n "
+        + "Once per turn, you can detach 1 material from this card; "
+        + "When this card is destroyed by battle and sent to the GY: "
+        + "If this card is sent from the field to the GY: "
+        + "If this card is Normal or Special Summoned: "
+        + "When this card is Normal Summoned: "
+        + "During the End Phase: During the Standby Phase of your next turn: "
+        + "During your Main Phase: During the Battle Phase: during the Damage Step "
+        + "Activate only if your opponent controls a monster. "
+        + "inflict damage to your opponent equal to its original ATK. "
+        + "gains ATK equal to the combined ATK of "
+        + "shuffle it into the Deck. Send 1 card from your hand to the GY; "
+        + "change the battle position of face-up monster. "
+        + "return it to the hand. banish it face-down. "
+        + "negate the activation, and if you do, destroy that card. "
+        + "negate its effects until the end of this turn. "
+        + "Target 1 monster your opponent controls; take control of it "
+        + "Special Summon 1 monster from your Deck in Defense Position. "
+        + "This card cannot be destroyed by battle or card effects. "
+        + "(Quick Effect): You can banish this card from your GY; "
+        + "You can only activate 1 \\\" per turn. "
+        + "You can only use this effect of \\\" once per turn. "
+        + "You can only use each effect of \\\" once per turn. "
+        + "add 1 \\\" card from your Deck to your hand. "
+        + "add it to your hand. Special Summon it. "
+        + "You can target 1 monster on the field; destroy it. "
+        + "If this card is Special Summoned: You can "
+        + "your opponent controls; monster your opponent controls "
+        + "from your hand, Deck, or GY, "
+        + "this card gains 500 ATK/DEF. lose 1000 LP. "
+        + "Once per turn: You can target 1 face-up monster you control; "
+        + "then you can Special Summon this card from your hand."
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private static final ThreadLocal<Deflater> DEFLATERS =
+        ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION, true));
+    private static final ThreadLocal<Inflater> INFLATERS =
+        ThreadLocal.withInitial(() -> new Inflater(true));
+
+    private final String plainText;      // Textos cortos o que no comprimen
+    private final byte[] compressed;     // Deflate crudo con DICTIONARY
+    private final int length;            // Bytes UTF-8 sin comprimir
+    private final UnaryOperator<String> decoder;
+
+    private CardDescription(String plainText, byte[] compressed, int length, UnaryOperator<String> decoder) {
+        this.plainText = plainText;
+        this.compressed = compressed;
+        this.length = length;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Descripción a partir del texto final
+     */
+    public static CardDescription of(String text) {
+        return of(text, null);
+    }
+
+    /**
+     * Descripción a partir del texto en bruto; decoder se aplica al leerla
+     *
+     * @param rawText Texto tal como llega de la fuente (no nulo)
+     * @param decoder Conversión a texto final (por ejemplo quitar escapes JSON), o null si ya es final;
+     *                debe ser una referencia sin estado, porque se comparte entre todas las cartas
+     */
+    public static CardDescription of(String rawText, UnaryOperator<String> decoder) {
+        byte[] raw = rawText.getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= MIN_COMPRESSED_LENGTH) {
+            byte[] compressed = deflate(raw);
+            if (compressed.length < raw.length) {
+                return new CardDescription(null, compressed, raw.length, decoder);
+            }
+        }
+        return new CardDescription(rawText, null, raw.length, decoder);
+    }
+
+    /**
+     * Texto de la descripción, descomprimido y decodificado en cada llamada
+     */
+    public String getText() {
+        String raw = plainText != null ? plainText : new String(inflate(compressed, length), StandardCharsets.UTF_8);
+        return decoder != null ? decoder.apply(raw) : raw;
+    }
+
+    /**
+     * Bytes de texto que ocupa la descripción: los comprimidos, o los UTF-8 del texto sin comprimir
+     */
+    public int getStoredBytes() {
+        return compressed != null ? compressed.length : length;
+    }
+
+    /**
+     * Bytes UTF-8 del texto en bruto sin comprimir
+     */
+    public int getRawBytes() {
+        return length;
+    }
+
+    public boolean isCompressed() {
+        return compressed != null;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = DEFLATERS.get();
+        deflater.reset();
+        deflater.setDictionary(DICTIONARY);
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] buffer = new byte[raw.length + 16];
+        int size = 0;
+        while (!deflater.finished()) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            size += deflater.deflate(buffer, size, buffer.length - size);
+        }
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private static byte[] inflate(byte[] compressed, int length) {
+        Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        inflater.setDictionary(DICTIONARY);
+        inflater.setInput(compressed);
+        byte[] raw = new byte[length];
+        try {
+            int size = 0;
+            while (size < length) {
+                int inflated = inflater.inflate(raw, size, length - size);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                size += inflated;
+            }
+            if (size != length) {
+                throw new IllegalStateException("Descripción comprimida incompleta: " + size + " de " + length + " bytes");
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Descripción comprimida dañada", e);
+        }
+        return raw;
+    }
+
+    @Override
+    public String toString() {
+        return getText();
+    }
+}
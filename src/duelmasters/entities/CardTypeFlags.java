@@ -0,0 +1,166 @@
+package duelmasters.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Taxonomía del tipo de carta como conjunto de bits
+ * La API describe el tipo con un texto libre ("Effect Monster",
+ * "Synchro Tuner Monster", "Spell Card"...); DuelCard lo analiza una sola
+ * vez al construirse con parse, y a partir de ahí clasificar o filtrar por
+ * subtipo es una operación de bits, sin trabajo con cadenas
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class CardTypeFlags {
+
+    // Categoría principal
+    public static final int MONSTER  = 1;
+    public static final int SPELL    = 1 << 1;
+    public static final int TRAP     = 1 << 2;
+    public static final int SKILL    = 1 << 3;
+    public static final int TOKEN    = 1 << 4;
+    /** Tipos ajenos a la API ("Creature", "Beast") que el juego también trata como criaturas */
+    public static final int CREATURE = 1 << 5;
+
+    // Subtipos de monstruo
+    public static final int NORMAL   = 1 << 8;
+    public static final int EFFECT   = 1 << 9;
+    public static final int FUSION   = 1 << 10;
+    public static final int RITUAL   = 1 << 11;
+    public static final int SYNCHRO  = 1 << 12;
+    public static final int XYZ      = 1 << 13;
+    public static final int LINK     = 1 << 14;
+    public static final int PENDULUM = 1 << 15;
+    public static final int TUNER    = 1 << 16;
+    public static final int FLIP     = 1 << 17;
+    public static final int SPIRIT   = 1 << 18;
+    public static final int UNION    = 1 << 19;
+    public static final int GEMINI   = 1 << 20;
+    public static final int TOON     = 1 << 21;
+
+    /** Cartas que pueden combatir (equivale a "monster", "creature" o "beast" en el texto) */
+    public static final int BATTLE_CREATURE = MONSTER | CREATURE;
+
+    private static final int[] FLAGS = {
+        MONSTER, SPELL, TRAP, SKILL, TOKEN, CREATURE, NORMAL, EFFECT, FUSION, RITUAL,
+        SYNCHRO, XYZ, LINK, PENDULUM, TUNER, FLIP, SPIRIT, UNION, GEMINI, TOON
+    };
+    private static final String[] NAMES = {
+        "monster", "spell", "trap", "skill", "token", "creature", "normal", "effect", "fusion", "ritual",
+        "synchro", "xyz", "link", "pendulum", "tuner", "flip", "spirit", "union", "gemini", "toon"
+    };
+
+    private CardTypeFlags() { }
+
+    /**
+     * Analiza el texto de tipo de la API
+     * Las categorías de criatura conservan el criterio anterior de
+     * isBattleCreature (subcadena, sin distinguir mayúsculas); los subtipos
+     * se reconocen palabra por palabra
+     *
+     * @return Conjunto de bits; 0 si el tipo es nulo o no se reconoce
+     */
+    public static int parse(String cardType) {
+        if (cardType == null) {
+            return 0;
+        }
+        String type = cardType.toLowerCase(Locale.ROOT);
+        int flags = 0;
+        if (type.contains("monster")) flags |= MONSTER;
+        if (type.contains("creature") || type.contains("beast")) flags |= CREATURE;
+
+        int start = -1;
+        for (int i = 0; i <= type.length(); i++) {
+            boolean letter = i < type.length() && Character.isLetter(type.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                flags |= wordFlag(type.substring(start, i));
+                start = -1;
+            }
+        }
+        return flags;
+    }
+
+    private static int wordFlag(String word) {
+        switch (word) {
+            case "spell":    return SPELL;
+            case "trap":     return TRAP;
+            case "skill":    return SKILL;
+            case "token":    return TOKEN;
+            case "normal":   return NORMAL;
+            case "effect":   return EFFECT;
+            case "fusion":   return FUSION;
+            case "ritual":   return RITUAL;
+            case "synchro":  return SYNCHRO;
+            case "xyz":      return XYZ;
+            case "link":     return LINK;
+            case "pendulum": return PENDULUM;
+            case "tuner":    return TUNER;
+            case "flip":     return FLIP;
+            case "spirit":   return SPIRIT;
+            case "union":    return UNION;
+            case "gemini":   return GEMINI;
+            case "toon":     return TOON;
+            default:         return 0;
+        }
+    }
+
+    /**
+     * Verifica que flags contiene todos los bits de required
+     */
+    public static boolean hasAll(int flags, int required) {
+        return (flags & required) == required;
+    }
+
+    /**
+     * Verifica que flags contiene al menos uno de los bits de any
+     */
+    public static boolean hasAny(int flags, int any) {
+        return (flags & any) != 0;
+    }
+
+    /**
+     * Convierte una lista de nombres separada por comas ("fusion,effect") en bits
+     *
+     * @throws IllegalArgumentException Si algún nombre no es un tipo conocido
+     */
+    public static int fromNames(String names) {
+        int flags = 0;
+        for (String name : names.split(",")) {
+            String trimmed = name.trim().toLowerCase(Locale.ROOT);
+            int index = indexOf(trimmed);
+            if (index < 0) {
+                throw new IllegalArgumentException("Tipo de carta desconocido: " + name.trim()
+                                                   + " (válidos: " + String.join(", ", NAMES) + ")");
+            }
+            flags |= FLAGS[index];
+        }
+        return flags;
+    }
+
+    /**
+     * Nombres de los bits activos, en el orden de las constantes
+     */
+    public static List<String> names(int flags) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < FLAGS.length; i++) {
+            if ((flags & FLAGS[i]) != 0) {
+                names.add(NAMES[i]);
+            }
+        }
+        return names;
+    }
+
+    private static int indexOf(String name) {
+        for (int i = 0; i < NAMES.length; i++) {
+            if (NAMES[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -11,10 +11,13 @@ import java.util.Objects;
  */
 public class DuelCard {
     
+    private static final CardDescription NO_DESCRIPTION = CardDescription.of("Sin descripción disponible");
+
     // Identificadores únicos y básicos
     private final int cardId;
     private final String cardName;
     private final String cardType;
+    private final int typeFlags;
     
     // Estadísticas de combate
     private final int attackPower;
@@ -22,7 +25,7 @@ public class DuelCard {
     private final int level;
     
     // Información descriptiva
-    private final String cardDescription;
+    private final CardDescription cardDescription;
     private final String imageUrl;
     private final String rarity;
     
@@ -43,12 +46,23 @@ public class DuelCard {
      */
     public DuelCard(int cardId, String cardName, String cardType, 
                    int attackPower, int defensePower, String cardDescription, String imageUrl) {
+        this(cardId, cardName, cardType, attackPower, defensePower,
+             cardDescription != null ? CardDescription.of(cardDescription) : null, imageUrl);
+    }
+
+    /**
+     * Constructor con la descripción ya preparada (comprimida y, si se
+     * quiere, sin decodificar); ver CardDescription
+     */
+    public DuelCard(int cardId, String cardName, String cardType,
+                   int attackPower, int defensePower, CardDescription cardDescription, String imageUrl) {
         this.cardId = cardId;
         this.cardName = cardName != null ? cardName : "Carta Misteriosa";
         this.cardType = cardType != null ? cardType : "Desconocido";
+        this.typeFlags = CardTypeFlags.parse(cardType);
         this.attackPower = Math.max(0, attackPower);
         this.defensePower = Math.max(0, defensePower);
-        this.cardDescription = cardDescription != null ? cardDescription : "Sin descripción disponible";
+        this.cardDescription = cardDescription != null ? cardDescription : NO_DESCRIPTION;
         this.imageUrl = imageUrl != null ? imageUrl : "";
         
         // Calcular rareza basada en estadísticas
@@ -94,9 +108,13 @@ public class DuelCard {
     public int getCardId() { return cardId; }
     public String getCardName() { return cardName; }
     public String getCardType() { return cardType; }
+    /** Tipo analizado como bits de CardTypeFlags */
+    public int getTypeFlags() { return typeFlags; }
     public int getAttackPower() { return attackPower; }
     public int getDefensePower() { return defensePower; }
-    public String getCardDescription() { return cardDescription; }
+    /** Descomprime la descripción en cada llamada; no la guarda en texto plano */
+    public String getCardDescription() { return cardDescription.getText(); }
+    public CardDescription getDescription() { return cardDescription; }
     public String getImageUrl() { return imageUrl; }
     public String getRarity() { return rarity; }
     public int getLevel() { return level; }
@@ -112,10 +130,14 @@ public class DuelCard {
      * Determina si la carta es una criatura de combate
      */
     public boolean isBattleCreature() {
-        return cardType != null && 
-               (cardType.toLowerCase().contains("monster") || 
-                cardType.toLowerCase().contains("creature") ||
-                cardType.toLowerCase().contains("beast"));
+        return (typeFlags & CardTypeFlags.BATTLE_CREATURE) != 0;
+    }
+
+    /**
+     * Verifica si la carta tiene todos los tipos indicados (bits de CardTypeFlags)
+     */
+    public boolean hasTypes(int requiredFlags) {
+        return CardTypeFlags.hasAll(typeFlags, requiredFlags);
     }
 
     /**
@@ -0,0 +1,157 @@
+package duelmasters.gui;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reloj central de animaciones de la arena
+ * Un único Timer de Swing avanza todas las animaciones activas en cada frame.
+ * Cada animación repinta lo que cambia con los métodos normales de Swing;
+ * como todas corren en la misma tarea del EDT, el RepaintManager junta esos
+ * repintados en una sola pasada por frame. Cada animación tiene una clave:
+ * programar otra con la misma clave cancela la anterior. El reloj se detiene
+ * solo cuando no quedan animaciones activas
+ *
+ * Todos los métodos deben invocarse desde el EDT
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class AnimationScheduler {
+
+    /** Duración de un frame a ~60 Hz */
+    private static final int FRAME_INTERVAL_MS = 16;
+
+    /**
+     * Animación avanzada por el reloj central
+     */
+    public interface Animation {
+
+        /**
+         * Avanza la animación
+         *
+         * @param elapsedMillis Milisegundos desde que se programó
+         * @return true si debe seguir activa, false si terminó
+         */
+        boolean onFrame(long elapsedMillis);
+
+        /**
+         * Se llama si la animación se cancela antes de terminar
+         * para restaurar el estado visual
+         */
+        default void onCancel() { }
+    }
+
+    private static final class ActiveAnimation {
+        final Animation animation;
+        final long startNanos;
+
+        ActiveAnimation(Animation animation, long startNanos) {
+            this.animation = animation;
+            this.startNanos = startNanos;
+        }
+    }
+
+    private final Map<String, ActiveAnimation> activeAnimations = new LinkedHashMap<>();
+    private final Timer frameTimer;
+
+    // Estadísticas de tiempo de frame
+    private long framesRendered;
+    private long totalFrameNanos;
+    private long maxFrameNanos;
+
+    public AnimationScheduler() {
+        this.frameTimer = new Timer(FRAME_INTERVAL_MS, e -> runFrame());
+        this.frameTimer.setCoalesce(true);
+    }
+
+    /**
+     * Programa una animación, cancelando la que tuviera la misma clave
+     *
+     * @param key Identificador de la animación (p. ej. "ai-pulse")
+     * @param animation Animación a ejecutar
+     */
+    public void schedule(String key, Animation animation) {
+        cancel(key);
+        activeAnimations.put(key, new ActiveAnimation(animation, System.nanoTime()));
+        if (!frameTimer.isRunning()) {
+            frameTimer.start();
+        }
+    }
+
+    /**
+     * Programa una acción única tras un retraso
+     */
+    public void scheduleOnce(String key, long delayMillis, Runnable action) {
+        schedule(key, elapsed -> {
+            if (elapsed < delayMillis) {
+                return true;
+            }
+            action.run();
+            return false;
+        });
+    }
+
+    /**
+     * Cancela una animación activa
+     */
+    public void cancel(String key) {
+        ActiveAnimation previous = activeAnimations.remove(key);
+        if (previous != null) {
+            previous.animation.onCancel();
+        }
+    }
+
+    /**
+     * Cancela todas las animaciones activas (p. ej. al iniciar un duelo nuevo)
+     */
+    public void cancelAll() {
+        List<ActiveAnimation> cancelled = new ArrayList<>(activeAnimations.values());
+        activeAnimations.clear();
+        cancelled.forEach(active -> active.animation.onCancel());
+        frameTimer.stop();
+    }
+
+    /**
+     * Avanza todas las animaciones activas
+     */
+    private void runFrame() {
+        long frameStart = System.nanoTime();
+
+        // Copia: una animación puede programar o cancelar otras durante su frame
+        for (Map.Entry<String, ActiveAnimation> entry : new ArrayList<>(activeAnimations.entrySet())) {
+            ActiveAnimation active = entry.getValue();
+            if (activeAnimations.get(entry.getKey()) != active) {
+                continue;
+            }
+            long elapsedMillis = (frameStart - active.startNanos) / 1_000_000;
+            if (!active.animation.onFrame(elapsedMillis)) {
+                activeAnimations.remove(entry.getKey(), active);
+            }
+        }
+
+        if (activeAnimations.isEmpty()) {
+            frameTimer.stop();
+        }
+
+        long frameNanos = System.nanoTime() - frameStart;
+        framesRendered++;
+        totalFrameNanos += frameNanos;
+        maxFrameNanos = Math.max(maxFrameNanos, frameNanos);
+    }
+
+    public int getActiveAnimationCount() { return activeAnimations.size(); }
+    public long getFramesRendered() { return framesRendered; }
+
+    /**
+     * Resumen del tiempo de frame acumulado
+     */
+    public String getFrameStatistics() {
+        double averageMillis = framesRendered == 0 ? 0 : totalFrameNanos / 1e6 / framesRendered;
+        return String.format("Frames: %d | Tiempo medio: %.3f ms | Máximo: %.3f ms",
+                             framesRendered, averageMillis, maxFrameNanos / 1e6);
+    }
+}
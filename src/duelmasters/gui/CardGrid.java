@@ -0,0 +1,320 @@
+package duelmasters.gui;
+
+import duelmasters.entities.DuelCard;
+
+import javax.swing.BorderFactory;
+import javax.swing.Box;
+import javax.swing.BoxLayout;
+import javax.swing.DefaultListModel;
+import javax.swing.Icon;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.ListCellRenderer;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingConstants;
+import javax.swing.border.Border;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Rejilla virtualizada de cartas basada en JList
+ * Solo se pintan las celdas visibles en el viewport y un único componente
+ * renderizador se reutiliza para todas las cartas, por lo que el coste de
+ * pintado no depende del tamaño de la mano
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class CardGrid extends JList<DuelCard> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Estado visual destacado de una carta */
+    public enum CardHighlight { NONE, AI_SELECTED, PLAYER_SELECTED }
+
+    private static final int CELL_GAP = 8;
+
+    private final DefaultListModel<DuelCard> cardModel = new DefaultListModel<>();
+    private final Map<DuelCard, Icon> cardIcons = new HashMap<>();
+    private final Set<DuelCard> requestedIcons = new HashSet<>();
+    private final Map<DuelCard, CardHighlight> highlights = new HashMap<>();
+    private final Set<DuelCard> pulsingCards = new HashSet<>();
+    private final Color accentColor;
+    private final boolean interactive;
+
+    private Consumer<DuelCard> cardClickHandler = card -> { };
+    private Consumer<DuelCard> iconRequestHandler = card -> { };
+    private int hoveredIndex = -1;
+
+    /**
+     * Constructor de la rejilla
+     *
+     * @param accentColor Color del borde normal de las cartas
+     * @param cardWidth Ancho de cada carta
+     * @param cardHeight Alto de cada carta
+     * @param imageSize Lado del área de imagen
+     * @param singleRow true para una fila con desplazamiento horizontal, false para filas que se ajustan al ancho
+     * @param interactive true si las cartas responden a hover y clic
+     */
+    public CardGrid(Color accentColor, int cardWidth, int cardHeight, int imageSize,
+                    boolean singleRow, boolean interactive) {
+        this.accentColor = accentColor;
+        this.interactive = interactive;
+
+        setModel(cardModel);
+        setCellRenderer(new CardCellRenderer(imageSize, interactive ? 10 : 9));
+        setFixedCellWidth(cardWidth + CELL_GAP * 2);
+        setFixedCellHeight(cardHeight + CELL_GAP * 2);
+        setLayoutOrientation(singleRow ? JList.VERTICAL_WRAP : JList.HORIZONTAL_WRAP);
+        setVisibleRowCount(singleRow ? 1 : 0);
+        setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        setFocusable(false);
+        setOpaque(false);
+
+        if (interactive) {
+            setCursor(new Cursor(Cursor.HAND_CURSOR));
+        }
+
+        MouseAdapter mouseHandler = new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = cardIndexAt(e.getPoint());
+                if (CardGrid.this.interactive && index >= 0) {
+                    cardClickHandler.accept(cardModel.get(index));
+                }
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                if (CardGrid.this.interactive) {
+                    setHoveredIndex(cardIndexAt(e.getPoint()));
+                }
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHoveredIndex(-1);
+            }
+        };
+        addMouseListener(mouseHandler);
+        addMouseMotionListener(mouseHandler);
+    }
+
+    /**
+     * Reemplaza las cartas mostradas y limpia todo el estado visual
+     */
+    public void setCards(Collection<DuelCard> cards) {
+        cardModel.clear();
+        cardIcons.clear();
+        requestedIcons.clear();
+        highlights.clear();
+        pulsingCards.clear();
+        hoveredIndex = -1;
+        for (DuelCard card : cards) {
+            cardModel.addElement(card);
+        }
+    }
+
+    /**
+     * Quita una carta de la rejilla
+     */
+    public void removeCard(DuelCard card) {
+        cardModel.removeElement(card);
+        cardIcons.remove(card);
+        requestedIcons.remove(card);
+        highlights.remove(card);
+        pulsingCards.remove(card);
+        hoveredIndex = -1;
+    }
+
+    /**
+     * Asigna la imagen de una carta y repinta solo su celda
+     */
+    public void setCardIcon(DuelCard card, Icon icon) {
+        cardIcons.put(card, icon);
+        repaintCard(card);
+    }
+
+    /**
+     * Marca que la imagen de una carta no pudo cargarse (se muestra el nombre)
+     */
+    public void markIconUnavailable(DuelCard card) {
+        cardIcons.remove(card);
+        repaintCard(card);
+    }
+
+    public void setHighlight(DuelCard card, CardHighlight highlight) {
+        if (highlight == CardHighlight.NONE) {
+            highlights.remove(card);
+        } else {
+            highlights.put(card, highlight);
+        }
+        repaintCard(card);
+    }
+
+    public void clearHighlights() {
+        highlights.clear();
+        pulsingCards.clear();
+        repaint();
+    }
+
+    /**
+     * Alterna el fondo brillante de una carta (efecto de pulso)
+     */
+    public void setPulseBright(DuelCard card, boolean bright) {
+        if (bright ? pulsingCards.add(card) : pulsingCards.remove(card)) {
+            repaintCard(card);
+        }
+    }
+
+    public void setCardClickHandler(Consumer<DuelCard> handler) {
+        this.cardClickHandler = handler;
+    }
+
+    /**
+     * Callback invocado la primera vez que una carta sin imagen se pinta,
+     * de modo que solo se cargan imágenes de cartas visibles
+     */
+    public void setIconRequestHandler(Consumer<DuelCard> handler) {
+        this.iconRequestHandler = handler;
+    }
+
+    public int getCardCount() { return cardModel.size(); }
+
+    private int cardIndexAt(Point point) {
+        int index = locationToIndex(point);
+        if (index < 0) {
+            return -1;
+        }
+        Rectangle bounds = getCellBounds(index, index);
+        return bounds != null && bounds.contains(point) ? index : -1;
+    }
+
+    private void setHoveredIndex(int index) {
+        if (index == hoveredIndex) {
+            return;
+        }
+        repaintIndex(hoveredIndex);
+        hoveredIndex = index;
+        repaintIndex(hoveredIndex);
+    }
+
+    private void repaintCard(DuelCard card) {
+        repaintIndex(cardModel.indexOf(card));
+    }
+
+    private void repaintIndex(int index) {
+        if (index >= 0 && index < cardModel.size()) {
+            Rectangle bounds = getCellBounds(index, index);
+            if (bounds != null) {
+                repaint(bounds);
+            }
+        }
+    }
+
+    /**
+     * Renderizador único reutilizado para todas las celdas
+     * Usa etiquetas de texto plano: el HTML se reparsearía en cada pintado
+     */
+    private class CardCellRenderer extends JPanel implements ListCellRenderer<DuelCard> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final JPanel cardPanel = new JPanel(new BorderLayout(5, 5));
+        private final JLabel selectionIndicator = new JLabel("🤖 SELECCIONADA", SwingConstants.CENTER);
+        private final JLabel imageLabel = new JLabel();
+        private final JLabel nameLabel = new JLabel();
+        private final JLabel statsLabel = new JLabel();
+        private final JLabel levelLabel = new JLabel();
+
+        // Bordes precreados: el renderizador se invoca en cada pintado
+        private final Border normalBorder = BorderFactory.createLineBorder(accentColor, 2);
+        private final Border hoverBorder = BorderFactory.createLineBorder(DuelArena.ACCENT_GOLD, 3);
+        private final Border aiSelectedBorder = BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(DuelArena.ACCENT_GOLD, 4),
+            BorderFactory.createLineBorder(Color.WHITE, 1));
+        private final Border playerSelectedBorder = BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(DuelArena.ACCENT_GOLD, 3),
+            BorderFactory.createLineBorder(accentColor, 1));
+
+        CardCellRenderer(int imageSize, int fontSize) {
+            super(new BorderLayout());
+            setOpaque(false);
+            setBorder(BorderFactory.createEmptyBorder(CELL_GAP, CELL_GAP, CELL_GAP, CELL_GAP));
+
+            selectionIndicator.setFont(new Font("Segoe UI", Font.BOLD, 10));
+            selectionIndicator.setForeground(DuelArena.ACCENT_GOLD);
+            selectionIndicator.setOpaque(true);
+            selectionIndicator.setBackground(DuelArena.AI_RED);
+
+            imageLabel.setPreferredSize(new Dimension(imageSize, imageSize));
+            imageLabel.setHorizontalAlignment(SwingConstants.CENTER);
+            imageLabel.setBorder(BorderFactory.createLineBorder(DuelArena.CARD_BORDER, 1));
+            imageLabel.setOpaque(true);
+            imageLabel.setBackground(DuelArena.PRIMARY_DARK);
+            imageLabel.setForeground(DuelArena.TEXT_PRIMARY);
+
+            JPanel infoPanel = new JPanel();
+            infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
+            infoPanel.setOpaque(false);
+            for (JLabel label : new JLabel[] {nameLabel, statsLabel, levelLabel}) {
+                label.setFont(new Font("Segoe UI", label == nameLabel ? Font.BOLD : Font.PLAIN, fontSize));
+                label.setForeground(DuelArena.TEXT_PRIMARY);
+                label.setAlignmentX(Component.CENTER_ALIGNMENT);
+                infoPanel.add(label);
+            }
+            infoPanel.add(Box.createVerticalStrut(2));
+
+            cardPanel.add(selectionIndicator, BorderLayout.NORTH);
+            cardPanel.add(imageLabel, BorderLayout.CENTER);
+            cardPanel.add(infoPanel, BorderLayout.SOUTH);
+            add(cardPanel, BorderLayout.CENTER);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends DuelCard> list, DuelCard card,
+                                                      int index, boolean isSelected, boolean cellHasFocus) {
+            CardHighlight highlight = highlights.getOrDefault(card, CardHighlight.NONE);
+
+            Icon icon = cardIcons.get(card);
+            if (icon == null && requestedIcons.add(card)) {
+                iconRequestHandler.accept(card);
+            }
+            imageLabel.setIcon(icon);
+            imageLabel.setText(icon == null ? card.getCardName() : "");
+
+            nameLabel.setText(card.getCardName());
+            statsLabel.setText("ATK:" + card.getAttackPower() + " DEF:" + card.getDefensePower());
+            levelLabel.setText("Nivel " + card.getLevel());
+
+            selectionIndicator.setVisible(highlight == CardHighlight.AI_SELECTED);
+            cardPanel.setBackground(pulsingCards.contains(card) ? DuelArena.PULSE_HIGHLIGHT : DuelArena.SECONDARY_DARK);
+
+            if (interactive && index == hoveredIndex) {
+                cardPanel.setBorder(hoverBorder);
+            } else if (highlight == CardHighlight.AI_SELECTED) {
+                cardPanel.setBorder(aiSelectedBorder);
+            } else if (highlight == CardHighlight.PLAYER_SELECTED) {
+                cardPanel.setBorder(playerSelectedBorder);
+            } else {
+                cardPanel.setBorder(normalBorder);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package duelmasters.gui;
+
+import duelmasters.entities.DuelCard;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Cargador de miniaturas de cartas con decodificación submuestreada
+ * Decodifica directamente a ~2x el tamaño destino usando ImageReader en lugar
+ * de materializar la imagen completa con ImageIO.read. Las miniaturas de las
+ * cartas son el recorte del arte (casi cuadrado), que se pide al lector como
+ * región fuente para no decodificar ni deformar el resto de la carta
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class CardImageLoader {
+
+    /** Factor de sobremuestreo respecto al tamaño destino para conservar nitidez */
+    public static final int DEFAULT_OVERSAMPLING = 2;
+
+    /**
+     * Región del arte en la imagen completa de una carta, en proporciones del
+     * ancho y el alto (las imágenes de la API miden 421x614 y el arte ocupa
+     * 320x320 desde el píxel 50,110)
+     */
+    public static final Rectangle2D CARD_ART_REGION =
+        new Rectangle2D.Double(50.0 / 421, 110.0 / 614, 320.0 / 421, 320.0 / 614);
+
+    /** Divisor del tamaño destino usado para el placeholder de baja resolución */
+    private static final int PLACEHOLDER_DIVISOR = 4;
+
+    private final Executor backgroundExecutor;
+    private final int thumbnailSize;
+    private final ThumbnailAtlas atlas;
+
+    /**
+     * Constructor del cargador de imágenes
+     *
+     * @param backgroundExecutor Executor donde se descargan y decodifican las imágenes
+     * @param thumbnailSize Lado en píxeles de la miniatura final
+     */
+    public CardImageLoader(Executor backgroundExecutor, int thumbnailSize) {
+        this(backgroundExecutor, thumbnailSize, null);
+    }
+
+    /**
+     * Constructor con atlas persistente de miniaturas
+     *
+     * @param backgroundExecutor Executor donde se descargan y decodifican las imágenes
+     * @param thumbnailSize Lado en píxeles de la miniatura final
+     * @param atlas Atlas consultado antes de descargar y actualizado con cada carta nueva (puede ser null)
+     */
+    public CardImageLoader(Executor backgroundExecutor, int thumbnailSize, ThumbnailAtlas atlas) {
+        this.backgroundExecutor = backgroundExecutor;
+        this.thumbnailSize = thumbnailSize;
+        this.atlas = atlas != null && atlas.getCellSize() == thumbnailSize ? atlas : null;
+    }
+
+    /**
+     * Carga la imagen de una carta. Si está en el atlas se entrega de inmediato
+     * en el hilo llamante; si no, se descarga de forma asíncrona publicando
+     * primero un placeholder de baja resolución y después la miniatura final
+     * (ambos en el EDT), que se agrega al atlas
+     *
+     * @param card Carta cuya imagen se carga
+     * @param onImage Callback invocado una o dos veces con la imagen disponible
+     * @param onFailure Callback invocado si la imagen no se pudo obtener
+     */
+    public void loadAsync(DuelCard card, Consumer<ImageIcon> onImage, Runnable onFailure) {
+        if (atlas != null) {
+            Optional<BufferedImage> cached = atlas.getThumbnail(card.getCardId());
+            if (cached.isPresent()) {
+                onImage.accept(new ImageIcon(cached.get()));
+                return;
+            }
+        }
+
+        String imageUrl = card.getImageUrl();
+        CompletableFuture.runAsync(() -> {
+            try {
+                byte[] encoded = fetchImageBytes(imageUrl);
+
+                // Placeholder rápido: submuestreo agresivo y escalado al tamaño final
+                BufferedImage placeholder = decodeThumbnail(encoded, thumbnailSize / PLACEHOLDER_DIVISOR, 1,
+                                                            CARD_ART_REGION);
+                ImageIcon placeholderIcon = new ImageIcon(scaleToSquare(placeholder, thumbnailSize));
+                SwingUtilities.invokeLater(() -> onImage.accept(placeholderIcon));
+
+                BufferedImage finalImage = decodeThumbnail(encoded, thumbnailSize, DEFAULT_OVERSAMPLING,
+                                                           CARD_ART_REGION);
+                ImageIcon finalIcon = new ImageIcon(finalImage);
+                SwingUtilities.invokeLater(() -> onImage.accept(finalIcon));
+
+                storeInAtlas(card, finalImage);
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(onFailure);
+            }
+        }, backgroundExecutor);
+    }
+
+    /**
+     * Agrega la miniatura al atlas; un fallo de escritura no afecta a la UI
+     */
+    private void storeInAtlas(DuelCard card, BufferedImage thumbnail) {
+        if (atlas == null) {
+            return;
+        }
+        try {
+            atlas.put(card.getCardId(), thumbnail);
+        } catch (IOException e) {
+            System.err.println("⚠️ No se pudo guardar la miniatura en el atlas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Descarga los bytes codificados de la imagen una sola vez para poder
+     * decodificar varias resoluciones sin repetir la petición
+     */
+    public static byte[] fetchImageBytes(String imageUrl) throws IOException {
+        try (InputStream input = URI.create(imageUrl).toURL().openStream()) {
+            return input.readAllBytes();
+        }
+    }
+
+    /**
+     * Decodifica una imagen completa directamente a una resolución cercana a
+     * targetSize * oversampling y la escala al cuadrado destino
+     *
+     * @param encoded Bytes de la imagen (JPEG, PNG, ...)
+     * @param targetSize Lado de la miniatura resultante
+     * @param oversampling Factor sobre targetSize al que se decodifica antes de escalar
+     * @return Miniatura cuadrada de targetSize x targetSize
+     * @throws IOException Si no hay un lector disponible o el formato es inválido
+     */
+    public static BufferedImage decodeThumbnail(byte[] encoded, int targetSize, int oversampling) throws IOException {
+        return decodeThumbnail(encoded, targetSize, oversampling, null);
+    }
+
+    /**
+     * Decodifica solo una región de la imagen, submuestreada hasta una
+     * resolución cercana a targetSize * oversampling, y la escala al cuadrado
+     * destino
+     *
+     * @param encoded Bytes de la imagen (JPEG, PNG, ...)
+     * @param targetSize Lado de la miniatura resultante
+     * @param oversampling Factor sobre targetSize al que se decodifica antes de escalar
+     * @param sourceRegion Región a decodificar en proporciones del ancho y el
+     *                     alto (por ejemplo CARD_ART_REGION), o null para la imagen completa
+     * @return Miniatura cuadrada de targetSize x targetSize
+     * @throws IOException Si no hay un lector disponible o el formato es inválido
+     */
+    public static BufferedImage decodeThumbnail(byte[] encoded, int targetSize, int oversampling,
+                                                Rectangle2D sourceRegion) throws IOException {
+        // Stream en memoria: evita la caché en disco que ImageIO usa por defecto
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(encoded))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Formato de imagen no soportado");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                Rectangle region = new Rectangle(0, 0, sourceWidth, sourceHeight);
+                if (sourceRegion != null) {
+                    Rectangle requested = new Rectangle(
+                        (int) Math.round(sourceRegion.getX() * sourceWidth),
+                        (int) Math.round(sourceRegion.getY() * sourceHeight),
+                        (int) Math.round(sourceRegion.getWidth() * sourceWidth),
+                        (int) Math.round(sourceRegion.getHeight() * sourceHeight));
+                    region = requested.intersection(region);
+                    if (region.isEmpty()) {
+                        throw new IOException("La región pedida queda fuera de la imagen");
+                    }
+                    param.setSourceRegion(region);
+                }
+
+                // El lado menor decodificado no baja de targetSize * oversampling
+                int decodeSize = Math.max(1, targetSize * Math.max(1, oversampling));
+                int subsampling = Math.max(1, Math.min(region.width, region.height) / decodeSize);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                return scaleToSquare(reader.read(0, param), targetSize);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Escala una imagen a un cuadrado con interpolación bilineal
+     */
+    public static BufferedImage scaleToSquare(BufferedImage source, int size) {
+        BufferedImage scaled = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, size, size, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    public int getThumbnailSize() { return thumbnailSize; }
+}
@@ -0,0 +1,197 @@
+package duelmasters.gui;
+
+import javax.swing.JTextArea;
+import javax.swing.Timer;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Backend del log de combate con escritura por lotes
+ * Las líneas se encolan sin bloqueo desde cualquier hilo y se vuelcan al
+ * JTextArea en una sola actualización del documento por frame. El log
+ * conserva como máximo maxLines líneas (anillo); las más antiguas se
+ * descartan o, opcionalmente, se archivan en un archivo
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class CombatLogBuffer {
+
+    /** Intervalo de volcado, aproximadamente un frame a 60 Hz */
+    private static final int FRAME_INTERVAL_MS = 16;
+
+    private final JTextArea logArea;
+    private final int maxLines;
+    private final Queue<String> pendingLines = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final Timer flushTimer;
+
+    // Longitudes de las líneas presentes en el documento (anillo, solo EDT)
+    private final int[] lineLengths;
+    private int oldestLine;
+    private int lineCount;
+
+    // Caracteres del inicio del documento que ya salieron del anillo
+    private int excessChars;
+
+    private ExecutorService archiveExecutor;
+    private BufferedWriter archiveWriter;
+
+    /**
+     * Constructor del buffer de log
+     *
+     * @param logArea Área de texto donde se muestra el log
+     * @param maxLines Número máximo de líneas conservadas en pantalla
+     */
+    public CombatLogBuffer(JTextArea logArea, int maxLines) {
+        this.logArea = logArea;
+        this.maxLines = Math.max(1, maxLines);
+        this.lineLengths = new int[this.maxLines];
+        this.flushTimer = new Timer(FRAME_INTERVAL_MS, e -> flush());
+        this.flushTimer.setRepeats(false);
+    }
+
+    /**
+     * Activa el archivado de las líneas que salen del anillo
+     * La escritura ocurre en un hilo propio para no bloquear el EDT
+     *
+     * @param archiveFile Archivo al que se anexan las líneas descartadas
+     * @throws IOException Si el archivo no se puede abrir
+     */
+    public synchronized void enableArchive(Path archiveFile) throws IOException {
+        if (archiveWriter != null) {
+            return;
+        }
+        Path parent = archiveFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        archiveWriter = Files.newBufferedWriter(archiveFile, StandardCharsets.UTF_8,
+                                                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        archiveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "combat-log-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Encola una línea; se puede llamar desde cualquier hilo
+     * Solo la primera línea de un lote programa el volcado
+     */
+    public void append(String line) {
+        pendingLines.offer(line.endsWith("\n") ? line : line + "\n");
+        if (flushScheduled.compareAndSet(false, true)) {
+            flushTimer.restart();
+        }
+    }
+
+    /**
+     * Vuelca todas las líneas pendientes en una única inserción (EDT)
+     */
+    private void flush() {
+        flushScheduled.set(false);
+
+        StringBuilder batch = new StringBuilder();
+        String line;
+        while ((line = pendingLines.poll()) != null) {
+            batch.append(line);
+            recordLine(line.length());
+        }
+        if (batch.length() == 0) {
+            return;
+        }
+
+        Document document = logArea.getDocument();
+        try {
+            document.insertString(document.getLength(), batch.toString(), null);
+            trimToCapacity(document);
+        } catch (BadLocationException e) {
+            logArea.append(batch.toString());
+        }
+        logArea.setCaretPosition(document.getLength());
+    }
+
+    /**
+     * Registra la longitud de una línea nueva en el anillo
+     * Las líneas que exceden la capacidad se marcan para recortarse
+     */
+    private void recordLine(int length) {
+        if (lineCount < maxLines) {
+            lineLengths[(oldestLine + lineCount) % maxLines] = length;
+            lineCount++;
+        } else {
+            excessChars += lineLengths[oldestLine];
+            lineLengths[oldestLine] = length;
+            oldestLine = (oldestLine + 1) % maxLines;
+        }
+    }
+
+    /**
+     * Elimina del inicio del documento las líneas que salieron del anillo
+     */
+    private void trimToCapacity(Document document) throws BadLocationException {
+        if (excessChars == 0) {
+            return;
+        }
+        int removeLength = Math.min(excessChars, document.getLength());
+        archive(document.getText(0, removeLength));
+        document.remove(0, removeLength);
+        excessChars = 0;
+    }
+
+    private synchronized void archive(String text) {
+        if (archiveWriter == null) {
+            return;
+        }
+        BufferedWriter writer = archiveWriter;
+        archiveExecutor.execute(() -> {
+            try {
+                writer.write(text);
+                writer.flush();
+            } catch (IOException e) {
+                System.err.println("⚠️ No se pudo archivar el log de combate: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Cierra el archivo de archivado tras escribir lo ya descartado
+     */
+    public synchronized void close() {
+        if (archiveExecutor == null) {
+            return;
+        }
+        BufferedWriter writer = archiveWriter;
+        archiveExecutor.execute(() -> {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("⚠️ Error al cerrar el archivo del log: " + e.getMessage());
+            }
+        });
+        archiveExecutor.shutdown();
+        try {
+            archiveExecutor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        archiveWriter = null;
+        archiveExecutor = null;
+    }
+
+    public int getLineCount() { return lineCount; }
+    public int getMaxLines() { return maxLines; }
+}
@@ -1,24 +1,35 @@
 package duelmasters.gui;
 
 import duelmasters.services.DuelCardsService;
+import duelmasters.engine.AsyncCombatEventDispatcher;
+import duelmasters.engine.CombatEvent;
+import duelmasters.engine.CombatEventBatchListener;
 import duelmasters.engine.CombatEventListener;
+import duelmasters.engine.AiStrategy;
 import duelmasters.engine.BattleEngine;
+import duelmasters.engine.DuelController;
+import duelmasters.engine.DuelRandom;
 import duelmasters.entities.DuelCard;
 import duelmasters.entities.BattlePosition;
 import duelmasters.entities.TacticalChoice;
+import duelmasters.journal.DuelJournal;
+import duelmasters.journal.DuelJournalReader;
+import duelmasters.journal.RecordedDuel;
+import duelmasters.simulation.AiStrategies;
+import duelmasters.simulation.MctsAiStrategy;
+import duelmasters.simulation.WinProbabilityEstimator;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.net.URI;
-import java.util.HashMap;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -29,38 +40,59 @@ import java.util.concurrent.Executors;
  * @author Sistema DS3 - Duel Masters Team
  * @version 2.0
  */
-public class DuelArena extends JFrame implements CombatEventListener {
+public class DuelArena extends JFrame implements CombatEventListener, CombatEventBatchListener {
 
     // Configuración del juego
     private static final int INITIAL_HAND_SIZE = 3;
-
-    // Paleta de colores moderna y profesional
-    private static final Color PRIMARY_DARK = new Color(0x0f1419);      // Negro azulado muy oscuro
-    private static final Color SECONDARY_DARK = new Color(0x1c2128);    // Gris muy oscuro
-    private static final Color ACCENT_GOLD = new Color(0xffc72c);       // Dorado vibrante
+    private static final int CARD_THUMBNAIL_SIZE = 140;
+    private static final int COMBAT_LOG_MAX_LINES = 500;
+    private static final long JOURNAL_DELIVERY_TIMEOUT_MILLIS = 2000;
+
+    // Paleta de colores moderna y profesional (compartida con CardGrid)
+    static final Color PRIMARY_DARK = new Color(0x0f1419);      // Negro azulado muy oscuro
+    static final Color SECONDARY_DARK = new Color(0x1c2128);    // Gris muy oscuro
+    static final Color ACCENT_GOLD = new Color(0xffc72c);       // Dorado vibrante
     private static final Color PLAYER_BLUE = new Color(0x388bfd);       // Azul brillante
-    private static final Color AI_RED = new Color(0xff6b6b);           // Rojo suave
-    private static final Color CARD_BORDER = new Color(0x30363d);       // Gris medio para bordes
+    static final Color AI_RED = new Color(0xff6b6b);           // Rojo suave
+    static final Color CARD_BORDER = new Color(0x30363d);       // Gris medio para bordes
+    static final Color PULSE_HIGHLIGHT = new Color(0x2d3748);   // Fondo del pulso de selección
     private static final Color SUCCESS_GREEN = new Color(0x56d364);     // Verde éxito
     private static final Color WARNING_ORANGE = new Color(0xdb6e42);    // Naranja advertencia
-    private static final Color TEXT_PRIMARY = new Color(0xf0f6fc);      // Blanco principal
+    static final Color TEXT_PRIMARY = new Color(0xf0f6fc);      // Blanco principal
     private static final Color TEXT_SECONDARY = new Color(0x8b949e);    // Gris claro
 
     // Servicios y motores
     private final DuelCardsService cardsService = new DuelCardsService();
     private final ExecutorService backgroundExecutor = Executors.newFixedThreadPool(4);
+    private final ThumbnailAtlas thumbnailAtlas = openThumbnailAtlas();
+    private final CardImageLoader imageLoader = new CardImageLoader(backgroundExecutor, CARD_THUMBNAIL_SIZE, thumbnailAtlas);
+    private final AiStrategy aiStrategy = createAiStrategy();
+    private final EdtEventRenderer edtRenderer = new EdtEventRenderer();
+    private final AsyncCombatEventDispatcher eventDispatcher = new AsyncCombatEventDispatcher(true);
+    private final Path journalPath = duelJournalPath();
+    private final DuelJournal duelJournal = openDuelJournal(journalPath);
+    private final WinProbabilityEstimator winEstimator = new WinProbabilityEstimator();
+    private final ExecutorService estimatorExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "win-estimator");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     // Componentes de interfaz principales
-    private final JPanel playerCardsZone = new JPanel();
-    private final JPanel aiCardsZone = new JPanel();
+    private final CardGrid playerCardsZone = new CardGrid(PLAYER_BLUE, 160, 220, 150, true, true);
+    private final CardGrid aiCardsZone = new CardGrid(AI_RED, 140, 200, 130, false, false);
     private final JPanel combatZone = new JPanel();
     private final JTextArea combatLog = new JTextArea();
+    private final CombatLogBuffer combatLogBuffer = new CombatLogBuffer(combatLog, COMBAT_LOG_MAX_LINES);
+    private final AnimationScheduler animationScheduler = new AnimationScheduler();
     
     // Etiquetas de estado
     private final JLabel statusIndicator = new JLabel("🎮 Preparando Arena de Duelos...");
     private final JLabel scoreDisplay = new JLabel("Jugador 0 - 0 IA");
     private final JLabel playerHealthLabel = new JLabel("❤️ Vida: 3");
     private final JLabel aiHealthLabel = new JLabel("🤖 Vida: 3");
+    private final JLabel winProbabilityLabel = new JLabel("🎯 Victoria: --");
+    private final JLabel moveValuesLabel = new JLabel("Jugadas: --");
     
     // Botones de control
     private final JButton loadCardsButton = new JButton("🎲 Cargar Nuevas Cartas");
@@ -73,11 +105,14 @@ public class DuelArena extends JFrame implements CombatEventListener {
     private final JLabel aiBattleInfo = new JLabel("IA preparándose...");
 
     // Estado del juego
-    private BattleEngine duelEngine;
+    // El motor vive en el hilo de duelo; el EDT solo conserva el último estado recibido
+    private final DuelController duelController = new DuelController();
+    private final DuelRandom duelSeeds = new DuelRandom();   // Solo en el hilo de duelo
+    private DuelController.Status duelStatus;
+    private boolean commandInFlight;
+    private long estimateSequence;   // Descarta estimaciones de posiciones ya superadas
     private List<DuelCard> playerHand = List.of();
     private List<DuelCard> aiHand = List.of();
-    private final Map<DuelCard, JPanel> playerCardPanels = new HashMap<>();
-    private final Map<DuelCard, JPanel> aiCardPanels = new HashMap<>();
 
     // Datos para resultado de carga
     private static class HandsData {
@@ -103,6 +138,8 @@ public class DuelArena extends JFrame implements CombatEventListener {
         appendToCombatLog("🌟 ¡Bienvenido al Arena de Duelos!");
         appendToCombatLog("🔥 Prepárate para batallas épicas con cartas estratégicas");
         appendToCombatLog("💡 Haz clic en 'Cargar Nuevas Cartas' para comenzar");
+
+        recoverUnfinishedDuel();
     }
 
     /**
@@ -123,6 +160,86 @@ public class DuelArena extends JFrame implements CombatEventListener {
         }
     }
 
+    /**
+     * Abre el atlas de miniaturas persistente (ruta configurable con -Dduelmasters.atlas)
+     * Si no se puede abrir, las imágenes se descargan como siempre
+     */
+    private static ThumbnailAtlas openThumbnailAtlas() {
+        Path atlasPath = Paths.get(System.getProperty("duelmasters.atlas",
+            Paths.get(System.getProperty("user.home"), ".duelmasters", "thumbnails.atlas").toString()));
+        try {
+            return ThumbnailAtlas.open(atlasPath, CARD_THUMBNAIL_SIZE);
+        } catch (IOException e) {
+            System.err.println("Advertencia: atlas de miniaturas no disponible: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Ruta del diario de duelos (configurable con -Dduelmasters.journal)
+     */
+    private static Path duelJournalPath() {
+        return Paths.get(System.getProperty("duelmasters.journal",
+            Paths.get(System.getProperty("user.home"), ".duelmasters", "duels.journal").toString()));
+    }
+
+    /**
+     * Abre el diario de duelos; si no se puede abrir, se juega sin él
+     */
+    private static DuelJournal openDuelJournal(Path journalPath) {
+        try {
+            return DuelJournal.open(journalPath, DuelJournal.SyncPolicy.DUEL_BOUNDARIES);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Advertencia: diario de duelos no disponible: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Cierra el diario de duelos al salir
+     */
+    private void closeDuelJournal() {
+        if (duelJournal == null) {
+            return;
+        }
+        try {
+            duelJournal.close();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Advertencia: error al cerrar el diario de duelos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Estrategia de la IA configurada con -Dduelmasters.ai (por ejemplo "mcts:20")
+     * Devuelve null para usar la heurística integrada en BattleEngine
+     */
+    private static AiStrategy createAiStrategy() {
+        String spec = System.getProperty("duelmasters.ai", "heuristic");
+        if (spec.equals("heuristic")) {
+            return null;
+        }
+        try {
+            return AiStrategies.fromSpec(spec, System.nanoTime());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Advertencia: " + e.getMessage() + ", se usa la IA heurística");
+            return null;
+        }
+    }
+
+    /**
+     * Cierra el atlas de miniaturas al salir
+     */
+    private void closeThumbnailAtlas() {
+        if (thumbnailAtlas == null) {
+            return;
+        }
+        try {
+            thumbnailAtlas.close();
+        } catch (IOException e) {
+            System.err.println("Advertencia: error al cerrar el atlas: " + e.getMessage());
+        }
+    }
+
     /**
      * Construye toda la interfaz de usuario con layout revolucionario en forma de L
      */
@@ -206,9 +323,7 @@ public class DuelArena extends JFrame implements CombatEventListener {
             BorderFactory.createEmptyBorder(10, 10, 10, 10)
         ));
 
-        // Reasignar el panel de cartas de IA
-        aiCardsZone.removeAll();
-        aiCardsZone.setLayout(new GridLayout(0, 2, 8, 8));
+        // Rejilla virtualizada de cartas de IA
         aiCardsZone.setBackground(new Color(0x16213e));
 
         JScrollPane scrollPane = new JScrollPane(aiCardsZone);
@@ -271,9 +386,13 @@ public class DuelArena extends JFrame implements CombatEventListener {
     /**
      * Crea un arsenal expandido horizontal para el jugador
      */
-    private JScrollPane createExpandedPlayerArsenal() {
+    private JPanel createExpandedPlayerArsenal() {
         JPanel arsenalContainer = new JPanel(new BorderLayout());
         arsenalContainer.setBackground(PRIMARY_DARK);
+        arsenalContainer.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createRaisedBevelBorder(),
+            BorderFactory.createLineBorder(PLAYER_BLUE, 2)
+        ));
 
         // Título del arsenal con efectos
         JLabel arsenalTitle = new JLabel("🧙‍♂️ TU ARSENAL ESTRATÉGICO", SwingConstants.CENTER);
@@ -281,23 +400,21 @@ public class DuelArena extends JFrame implements CombatEventListener {
         arsenalTitle.setForeground(ACCENT_GOLD);
         arsenalTitle.setBorder(BorderFactory.createEmptyBorder(10, 0, 10, 0));
 
-        // Panel de cartas con layout horizontal mejorado
-        playerCardsZone.setLayout(new FlowLayout(FlowLayout.CENTER, 15, 10));
+        // Rejilla virtualizada en una sola fila: el viewport es la propia rejilla
+        // para que solo se pinten las cartas visibles
         playerCardsZone.setBackground(PRIMARY_DARK);
 
-        arsenalContainer.add(arsenalTitle, BorderLayout.NORTH);
-        arsenalContainer.add(playerCardsZone, BorderLayout.CENTER);
-
-        JScrollPane scrollPane = new JScrollPane(arsenalContainer);
+        JScrollPane scrollPane = new JScrollPane(playerCardsZone);
         scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_NEVER);
-        scrollPane.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createRaisedBevelBorder(),
-            BorderFactory.createLineBorder(PLAYER_BLUE, 2)
-        ));
+        scrollPane.setBorder(null);
         scrollPane.getViewport().setBackground(PRIMARY_DARK);
+        scrollPane.getHorizontalScrollBar().setUnitIncrement(32);
 
-        return scrollPane;
+        arsenalContainer.add(arsenalTitle, BorderLayout.NORTH);
+        arsenalContainer.add(scrollPane, BorderLayout.CENTER);
+
+        return arsenalContainer;
     }
 
     // ========== MÉTODOS AUXILIARES PARA COMPONENTES ==========
@@ -351,12 +468,17 @@ public class DuelArena extends JFrame implements CombatEventListener {
         configureStatusLabel(playerHealthLabel, PLAYER_BLUE, Font.BOLD, 12);
         configureStatusLabel(aiHealthLabel, AI_RED, Font.BOLD, 12);
 
+        configureStatusLabel(winProbabilityLabel, ACCENT_GOLD, Font.BOLD, 12);
+
         playerHealthLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         aiHealthLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        winProbabilityLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
         section.add(playerHealthLabel);
         section.add(Box.createVerticalStrut(5));
         section.add(aiHealthLabel);
+        section.add(Box.createVerticalStrut(5));
+        section.add(winProbabilityLabel);
 
         return section;
     }
@@ -424,7 +546,7 @@ public class DuelArena extends JFrame implements CombatEventListener {
             createTitledBorder("📊 Estadísticas", ACCENT_GOLD),
             BorderFactory.createEmptyBorder(10, 10, 10, 10)
         ));
-        stats.setPreferredSize(new Dimension(280, 150));
+        stats.setPreferredSize(new Dimension(280, 230));
 
         // Etiquetas de estadísticas (se actualizarán dinámicamente)
         JLabel roundsLabel = new JLabel("Rondas: 0");
@@ -434,12 +556,15 @@ public class DuelArena extends JFrame implements CombatEventListener {
         configureStatusLabel(roundsLabel, TEXT_PRIMARY, Font.PLAIN, 11);
         configureStatusLabel(winRateLabel, SUCCESS_GREEN, Font.PLAIN, 11);
         configureStatusLabel(avgPowerLabel, PLAYER_BLUE, Font.PLAIN, 11);
+        configureStatusLabel(moveValuesLabel, TEXT_PRIMARY, Font.PLAIN, 11);
 
         stats.add(roundsLabel);
         stats.add(Box.createVerticalStrut(5));
         stats.add(winRateLabel);
         stats.add(Box.createVerticalStrut(5));
         stats.add(avgPowerLabel);
+        stats.add(Box.createVerticalStrut(5));
+        stats.add(moveValuesLabel);
 
         return stats;
     }
@@ -457,6 +582,16 @@ public class DuelArena extends JFrame implements CombatEventListener {
         combatLog.setCaretColor(ACCENT_GOLD);
         combatLog.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
 
+        // Archivo opcional para las líneas que salen del log (-Dduelmasters.combatlog.archive=...)
+        String archivePath = System.getProperty("duelmasters.combatlog.archive");
+        if (archivePath != null && !archivePath.isEmpty()) {
+            try {
+                combatLogBuffer.enableArchive(Paths.get(archivePath));
+            } catch (IOException e) {
+                System.err.println("Advertencia: no se pudo abrir el archivo del log: " + e.getMessage());
+            }
+        }
+
         JScrollPane scrollPane = new JScrollPane(combatLog);
         scrollPane.setBorder(createTitledBorder("📜 Log de Batalla", ACCENT_GOLD));
         scrollPane.getViewport().setBackground(SECONDARY_DARK);
@@ -469,17 +604,37 @@ public class DuelArena extends JFrame implements CombatEventListener {
      * Configura los manejadores de eventos
      */
     private void setupEventHandlers() {
+        // Eventos del motor: llegan por lotes desde el hilo del despachador
+        eventDispatcher.addBatchListener(this);
+        if (duelJournal != null) {
+            eventDispatcher.addListener(duelJournal);
+        }
+
         // Botón cargar cartas
         loadCardsButton.addActionListener(e -> loadCardsAsync());
 
         // Botón iniciar duelo
         startDuelButton.addActionListener(e -> initiateNewDuel());
 
+        // Rejillas de cartas: clic del jugador e imágenes cargadas solo al hacerse visibles
+        playerCardsZone.setCardClickHandler(this::onPlayerCardSelected);
+        playerCardsZone.setIconRequestHandler(card -> loadGridCardImage(playerCardsZone, card));
+        aiCardsZone.setIconRequestHandler(card -> loadGridCardImage(aiCardsZone, card));
+
         // Cerrar aplicación
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
                 backgroundExecutor.shutdownNow();
+                estimatorExecutor.shutdownNow();
+                duelController.close();
+                eventDispatcher.close();
+                closeDuelJournal();
+                if (aiStrategy instanceof MctsAiStrategy) {
+                    ((MctsAiStrategy) aiStrategy).close();
+                }
+                closeThumbnailAtlas();
+                combatLogBuffer.close();
                 System.exit(0);
             }
         });
@@ -535,148 +690,190 @@ public class DuelArena extends JFrame implements CombatEventListener {
      * Agrega texto al log de combate con timestamp
      */
     private void appendToCombatLog(String message) {
-        SwingUtilities.invokeLater(() -> {
-            combatLog.append(String.format("[%02d:%02d] %s%n", 
-                System.currentTimeMillis() % 3600000 / 60000,
-                System.currentTimeMillis() % 60000 / 1000,
-                message));
-            combatLog.setCaretPosition(combatLog.getDocument().getLength());
-        });
+        long now = System.currentTimeMillis();
+        combatLogBuffer.append(String.format("[%02d:%02d] %s%n", 
+            now % 3600000 / 60000,
+            now % 60000 / 1000,
+            message));
     }
 
     // ========== IMPLEMENTACIÓN DE CombatEventListener ==========
+    // Los callbacks directos llegan desde cualquier hilo y se reenvían al EDT;
+    // los lotes del despachador llegan con una sola tarea del EDT por operación
 
     @Override
     public void onDuelCommenced(String initiatingPlayer) {
-        SwingUtilities.invokeLater(() -> {
-            statusIndicator.setText("⚔️ Duelo en curso - " + initiatingPlayer + " inicia");
-            appendToCombatLog("🚀 DUELO INICIADO por " + initiatingPlayer);
-            startDuelButton.setEnabled(false);
-        });
+        SwingUtilities.invokeLater(() -> edtRenderer.onDuelCommenced(initiatingPlayer));
     }
 
     @Override
     public void onRoundResolved(TacticalChoice playerChoice, TacticalChoice aiChoice, 
                                String attackingPlayer, String roundVictor) {
+        SwingUtilities.invokeLater(() ->
+            edtRenderer.onRoundResolved(playerChoice, aiChoice, attackingPlayer, roundVictor));
+    }
+
+    @Override
+    public void onScoreUpdated(int playerVictories, int aiVictories) {
+        SwingUtilities.invokeLater(() -> edtRenderer.onScoreUpdated(playerVictories, aiVictories));
+    }
+
+    @Override
+    public void onDuelCompleted(String finalWinner) {
+        SwingUtilities.invokeLater(() -> edtRenderer.onDuelCompleted(finalWinner));
+    }
+
+    @Override
+    public void onErrorOccurred(String errorMessage, Throwable exception) {
+        SwingUtilities.invokeLater(() -> edtRenderer.onErrorOccurred(errorMessage, exception));
+    }
+
+    @Override
+    public void onCardReplacementNeeded(boolean isPlayerSide) {
+        SwingUtilities.invokeLater(() -> edtRenderer.onCardReplacementNeeded(isPlayerSide));
+    }
+
+    @Override
+    public void onCardsRemovedFromBattle(List<DuelCard> removedPlayerCards, 
+                                        List<DuelCard> removedAiCards) {
+        SwingUtilities.invokeLater(() ->
+            edtRenderer.onCardsRemovedFromBattle(removedPlayerCards, removedAiCards));
+    }
+
+    @Override
+    public void onAiInitialSelection(TacticalChoice aiTacticalChoice) {
+        SwingUtilities.invokeLater(() -> edtRenderer.onAiInitialSelection(aiTacticalChoice));
+    }
+
+    @Override
+    public void onDuelStatusChanged(String currentPhase, String statusMessage) {
+        SwingUtilities.invokeLater(() -> edtRenderer.onDuelStatusChanged(currentPhase, statusMessage));
+    }
+
+    @Override
+    public void onBattleStatistics(int playerPower, int aiPower, int powerDifference) {
+        SwingUtilities.invokeLater(() -> edtRenderer.onBattleStatistics(playerPower, aiPower, powerDifference));
+    }
+
+    @Override
+    public void onEventBatch(List<CombatEvent> batch) {
         SwingUtilities.invokeLater(() -> {
+            for (CombatEvent event : batch) {
+                event.deliverTo(edtRenderer);
+            }
+        });
+    }
+
+    /**
+     * Aplica los eventos del duelo a la interfaz; todos sus métodos se ejecutan en el EDT
+     */
+    private final class EdtEventRenderer implements CombatEventListener {
+
+        @Override
+        public void onDuelCommenced(String initiatingPlayer) {
+            statusIndicator.setText("⚔️ Duelo en curso - " + initiatingPlayer + " inicia");
+            appendToCombatLog("🚀 DUELO INICIADO por " + initiatingPlayer);
+            startDuelButton.setEnabled(false);
+        }
+
+        @Override
+        public void onRoundResolved(TacticalChoice playerChoice, TacticalChoice aiChoice, 
+                                   String attackingPlayer, String roundVictor) {
             appendToCombatLog("⚔️ RONDA RESUELTA:");
             appendToCombatLog("  👤 Jugador: " + playerChoice.toCompactString());
             appendToCombatLog("  🤖 IA: " + aiChoice.toCompactString());
             appendToCombatLog("  🏆 Ganador: " + roundVictor);
-            
+
             // Mostrar ambas selecciones claramente
             highlightBothSelections(playerChoice, aiChoice);
-            
+
             // Actualizar zona de combate
             updateBattleZone(playerChoice, aiChoice, roundVictor);
-            
+
             // Efecto visual del ganador
             showRoundWinnerEffect(roundVictor);
-        });
-    }
+        }
 
-    @Override
-    public void onScoreUpdated(int playerVictories, int aiVictories) {
-        SwingUtilities.invokeLater(() -> {
+        @Override
+        public void onScoreUpdated(int playerVictories, int aiVictories) {
             scoreDisplay.setText(String.format("Jugador %d - %d IA", playerVictories, aiVictories));
             appendToCombatLog(String.format("📊 Marcador actualizado: %d - %d", 
                             playerVictories, aiVictories));
-        });
-    }
+        }
 
-    @Override
-    public void onDuelCompleted(String finalWinner) {
-        SwingUtilities.invokeLater(() -> {
+        @Override
+        public void onDuelCompleted(String finalWinner) {
             statusIndicator.setText("✅ Duelo completado - " + finalWinner);
             appendToCombatLog("🎊 DUELO FINALIZADO: " + finalWinner);
+            appendToCombatLog("🎞️ Animaciones - " + animationScheduler.getFrameStatistics());
+            appendToCombatLog("📨 Eventos - " + eventDispatcher.getStatistics());
+            if (aiStrategy instanceof MctsAiStrategy) {
+                MctsAiStrategy mcts = (MctsAiStrategy) aiStrategy;
+                appendToCombatLog(String.format("🧠 IA MCTS - %,.0f simulaciones/s, última: %s",
+                                                mcts.getRolloutsPerSecond(), mcts.getLastReport()));
+            }
             appendToCombatLog("🔄 Puedes cargar nuevas cartas para otro duelo");
-            
+
             // Rehabilitar controles
             loadCardsButton.setEnabled(true);
             startDuelButton.setEnabled(false);
-            
+
             // Mostrar dialog de victoria
             showVictoryDialog(finalWinner);
-        });
-    }
+        }
 
-    @Override
-    public void onErrorOccurred(String errorMessage, Throwable exception) {
-        SwingUtilities.invokeLater(() -> {
+        @Override
+        public void onErrorOccurred(String errorMessage, Throwable exception) {
             statusIndicator.setText("⚠️ Error: " + errorMessage);
             appendToCombatLog("❌ ERROR: " + errorMessage);
-            
+
             // Rehabilitar controles en caso de error
             loadCardsButton.setEnabled(true);
-            
+
             if (exception != null) {
                 exception.printStackTrace();
             }
-        });
-    }
+        }
 
-    @Override
-    public void onCardReplacementNeeded(boolean isPlayerSide) {
-        String side = isPlayerSide ? "Jugador" : "IA";
-        appendToCombatLog("🔄 " + side + " necesita cartas de reemplazo");
-    }
+        @Override
+        public void onCardReplacementNeeded(boolean isPlayerSide) {
+            String side = isPlayerSide ? "Jugador" : "IA";
+            appendToCombatLog("🔄 " + side + " necesita cartas de reemplazo");
+        }
 
-    @Override
-    public void onCardsRemovedFromBattle(List<DuelCard> removedPlayerCards, 
-                                        List<DuelCard> removedAiCards) {
-        SwingUtilities.invokeLater(() -> {
+        @Override
+        public void onCardsRemovedFromBattle(List<DuelCard> removedPlayerCards, 
+                                            List<DuelCard> removedAiCards) {
             // Remover cartas usadas de la UI
-            removedPlayerCards.forEach(card -> {
-                JPanel panel = playerCardPanels.get(card);
-                if (panel != null) {
-                    playerCardsZone.remove(panel);
-                    playerCardPanels.remove(card);
-                }
-            });
-            
-            removedAiCards.forEach(card -> {
-                JPanel panel = aiCardPanels.get(card);
-                if (panel != null) {
-                    aiCardsZone.remove(panel);
-                    aiCardPanels.remove(card);
-                }
-            });
-            
-            playerCardsZone.revalidate();
-            playerCardsZone.repaint();
-            aiCardsZone.revalidate();
-            aiCardsZone.repaint();
-            
+            removedPlayerCards.forEach(playerCardsZone::removeCard);
+            removedAiCards.forEach(aiCardsZone::removeCard);
+
             appendToCombatLog("🗑️ Cartas usadas removidas del campo");
-        });
-    }
+        }
 
-    @Override
-    public void onAiInitialSelection(TacticalChoice aiTacticalChoice) {
-        SwingUtilities.invokeLater(() -> {
+        @Override
+        public void onAiInitialSelection(TacticalChoice aiTacticalChoice) {
             appendToCombatLog("🤖 IA seleccionó: " + aiTacticalChoice.toCompactString());
             statusIndicator.setText("🎯 Tu turno - Selecciona tu carta y posición");
-            
+
             // Destacar visualmente la carta seleccionada por la IA
             highlightAiSelectedCard(aiTacticalChoice.getSelectedCard());
-            
+
             // Efecto de animación de selección
             showAiSelectionAnimation(aiTacticalChoice);
-        });
-    }
+        }
 
-    @Override
-    public void onDuelStatusChanged(String currentPhase, String statusMessage) {
-        SwingUtilities.invokeLater(() -> {
+        @Override
+        public void onDuelStatusChanged(String currentPhase, String statusMessage) {
             statusIndicator.setText("📊 " + currentPhase + ": " + statusMessage);
             appendToCombatLog("📋 " + statusMessage);
-        });
-    }
+        }
 
-    @Override
-    public void onBattleStatistics(int playerPower, int aiPower, int powerDifference) {
-        appendToCombatLog(String.format("⚡ Poder - Jugador: %d, IA: %d (Diferencia: %+d)", 
-                        playerPower, aiPower, powerDifference));
+        @Override
+        public void onBattleStatistics(int playerPower, int aiPower, int powerDifference) {
+            appendToCombatLog(String.format("⚡ Poder - Jugador: %d, IA: %d (Diferencia: %+d)", 
+                            playerPower, aiPower, powerDifference));
+        }
     }
 
     // ========== MÉTODOS DE LÓGICA DEL JUEGO ==========
@@ -733,8 +930,22 @@ public class DuelArena extends JFrame implements CombatEventListener {
             return;
         }
         
-        this.duelEngine = new BattleEngine(playerHand, aiHand, this);
-        duelEngine.commenceBattle();
+        // Las animaciones del duelo anterior no sobreviven al nuevo
+        animationScheduler.cancelAll();
+
+        // El motor se crea y juega en el hilo de duelo; emite al despachador
+        // y la interfaz recibe un lote de eventos por operación
+        List<DuelCard> playerCards = playerHand;
+        List<DuelCard> aiCards = aiHand;
+        startDuelButton.setEnabled(false);
+        submitDuelCommand(duelController.startDuel(() -> {
+            long seed = duelSeeds.nextLong();
+            recordDuelStart(seed, aiStrategy == null, playerCards, aiCards);
+            DuelRandom random = new DuelRandom(seed);
+            return aiStrategy != null
+                ? new BattleEngine(playerCards, aiCards, eventDispatcher, random, aiStrategy)
+                : new BattleEngine(playerCards, aiCards, eventDispatcher, random);
+        }), null);
         
         // Limpiar zona de combate
         clearBattleZone();
@@ -742,153 +953,111 @@ public class DuelArena extends JFrame implements CombatEventListener {
     }
 
     /**
-     * Muestra las cartas del jugador
+     * Registra en el diario el inicio de un duelo (en el hilo de duelo)
+     * Antes se espera a que el diario reciba los eventos del duelo anterior
      */
-    private void displayPlayerCards() {
-        playerCardsZone.removeAll();
-        playerCardPanels.clear();
-        
-        for (DuelCard card : playerHand) {
-            JPanel cardPanel = createInteractiveCardPanel(card, true);
-            playerCardPanels.put(card, cardPanel);
-            playerCardsZone.add(cardPanel);
+    private void recordDuelStart(long seed, boolean seededAi, List<DuelCard> playerCards, List<DuelCard> aiCards) {
+        if (duelJournal == null) {
+            return;
         }
-        
-        playerCardsZone.revalidate();
-        playerCardsZone.repaint();
+        if (!eventDispatcher.awaitDelivery(JOURNAL_DELIVERY_TIMEOUT_MILLIS)) {
+            System.err.println("Advertencia: eventos pendientes al registrar el duelo en el diario");
+        }
+        duelJournal.recordDuelStart(seed, seededAi, playerCards, aiCards);
     }
 
     /**
-     * Muestra las cartas de la IA con efectos visuales de selección
+     * Cierra en el diario el duelo en curso sin resultado (en el hilo de duelo)
      */
-    private void displayAiCards() {
-        aiCardsZone.removeAll();
-        aiCardPanels.clear();
-        
-        for (DuelCard card : aiHand) {
-            JPanel cardPanel = createAiCardPanel(card);
-            aiCardPanels.put(card, cardPanel);
-            aiCardsZone.add(cardPanel);
+    private void recordDuelAbandoned() {
+        if (duelJournal == null) {
+            return;
         }
-        
-        aiCardsZone.revalidate();
-        aiCardsZone.repaint();
+        if (!eventDispatcher.awaitDelivery(JOURNAL_DELIVERY_TIMEOUT_MILLIS)) {
+            System.err.println("Advertencia: eventos pendientes al cerrar el duelo en el diario");
+        }
+        duelJournal.recordDuelAbandoned();
     }
 
     /**
-     * Crea un panel para cartas de la IA con efectos de selección
+     * Busca en el diario un duelo que no llegó a terminar (la aplicación se
+     * cerró o cayó a mitad) y, si lo hay, lo reconstruye y lo continúa
      */
-    private JPanel createAiCardPanel(DuelCard card) {
-        JPanel panel = new JPanel(new BorderLayout(5, 5));
-        panel.setPreferredSize(new Dimension(140, 200));
-        panel.setBackground(SECONDARY_DARK);
-        panel.setBorder(BorderFactory.createLineBorder(AI_RED, 2));
-
-        // Imagen de la carta
-        JLabel imageLabel = new JLabel();
-        imageLabel.setPreferredSize(new Dimension(130, 130));
-        imageLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        imageLabel.setBorder(BorderFactory.createLineBorder(CARD_BORDER, 1));
-        imageLabel.setOpaque(true);
-        imageLabel.setBackground(PRIMARY_DARK);
-        
-        // Cargar imagen de forma asíncrona
-        loadCardImageAsync(card, imageLabel);
-
-        // Información de la carta
-        JLabel infoLabel = new JLabel(String.format("<html><center><b>%s</b><br/>ATK:%d DEF:%d<br/>Nivel %d</center></html>", 
-                                    card.getCardName(), card.getAttackPower(), 
-                                    card.getDefensePower(), card.getLevel()));
-        infoLabel.setFont(new Font("Segoe UI", Font.PLAIN, 9));
-        infoLabel.setForeground(TEXT_PRIMARY);
-        infoLabel.setHorizontalAlignment(SwingConstants.CENTER);
-
-        // Indicador de selección (inicialmente oculto)
-        JLabel selectionIndicator = new JLabel("🤖 SELECCIONADA", SwingConstants.CENTER);
-        selectionIndicator.setFont(new Font("Segoe UI", Font.BOLD, 10));
-        selectionIndicator.setForeground(ACCENT_GOLD);
-        selectionIndicator.setOpaque(true);
-        selectionIndicator.setBackground(AI_RED);
-        selectionIndicator.setVisible(false);
-
-        panel.add(selectionIndicator, BorderLayout.NORTH);
-        panel.add(imageLabel, BorderLayout.CENTER);
-        panel.add(infoLabel, BorderLayout.SOUTH);
+    private void recoverUnfinishedDuel() {
+        if (duelJournal == null) {
+            return;
+        }
+        CompletableFuture
+            .supplyAsync(() -> {
+                try {
+                    return DuelJournalReader.findUnfinishedDuel(journalPath);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, backgroundExecutor)
+            .whenComplete((recovered, throwable) -> SwingUtilities.invokeLater(() -> {
+                if (throwable != null) {
+                    System.err.println("Advertencia: no se pudo leer el diario de duelos: " + throwable.getMessage());
+                    return;
+                }
+                recovered.ifPresent(this::resumeRecordedDuel);
+            }));
+    }
 
-        return panel;
+    private void resumeRecordedDuel(RecordedDuel recovered) {
+        if (duelStatus != null || commandInFlight) {
+            return; // El usuario ya empezó otro duelo
+        }
+        playerHand = recovered.getPlayerDeck();
+        aiHand = recovered.getAiDeck();
+        displayPlayerCards();
+        displayAiCards();
+        clearBattleZone();
+        startDuelButton.setEnabled(false);
+        appendToCombatLog("♻️ Recuperando duelo interrumpido (" + recovered.getRoundsPlayed() + " rondas jugadas)");
+
+        // Las rondas reconstruidas vuelven a pasar por el despachador: el
+        // marcador se actualiza y el diario registra de nuevo el duelo completo
+        submitDuelCommand(duelController.resumeDuel(() -> {
+            // Con otra IA configurada, el resto del duelo ya no se puede re-ejecutar con la semilla
+            recordDuelStart(recovered.getSeed(), recovered.isSeededAi() && aiStrategy == null,
+                            recovered.getPlayerDeck(), recovered.getAiDeck());
+            try {
+                return recovered.rebuild(eventDispatcher, aiStrategy);
+            } catch (RuntimeException e) {
+                // Sin cerrarlo, el diario ofrecería de nuevo el mismo duelo en cada arranque
+                recordDuelAbandoned();
+                throw e;
+            }
+        }), null);
     }
 
     /**
-     * Crea un panel interactivo para cartas del jugador
+     * Muestra las cartas del jugador
      */
-    private JPanel createInteractiveCardPanel(DuelCard card, boolean isPlayerCard) {
-        JPanel panel = new JPanel(new BorderLayout(5, 5));
-        panel.setPreferredSize(new Dimension(160, 220));
-        panel.setBackground(SECONDARY_DARK);
-        panel.setBorder(BorderFactory.createLineBorder(
-            isPlayerCard ? PLAYER_BLUE : AI_RED, 2));
-
-        // Imagen de la carta
-        JLabel imageLabel = new JLabel();
-        imageLabel.setPreferredSize(new Dimension(150, 150));
-        imageLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        imageLabel.setBorder(BorderFactory.createLineBorder(CARD_BORDER, 1));
-        imageLabel.setOpaque(true);
-        imageLabel.setBackground(PRIMARY_DARK);
-        
-        // Cargar imagen de forma asíncrona
-        loadCardImageAsync(card, imageLabel);
-
-        // Información de la carta
-        JLabel infoLabel = new JLabel(String.format("<html><center><b>%s</b><br/>ATK:%d DEF:%d<br/>Nivel %d</center></html>", 
-                                    card.getCardName(), card.getAttackPower(), 
-                                    card.getDefensePower(), card.getLevel()));
-        infoLabel.setFont(new Font("Segoe UI", Font.PLAIN, 10));
-        infoLabel.setForeground(TEXT_PRIMARY);
-        infoLabel.setHorizontalAlignment(SwingConstants.CENTER);
-
-        panel.add(imageLabel, BorderLayout.CENTER);
-        panel.add(infoLabel, BorderLayout.SOUTH);
-
-        // Solo las cartas del jugador son clickeables
-        if (isPlayerCard) {
-            panel.setCursor(new Cursor(Cursor.HAND_CURSOR));
-            panel.addMouseListener(new java.awt.event.MouseAdapter() {
-                @Override
-                public void mouseClicked(java.awt.event.MouseEvent e) {
-                    onPlayerCardSelected(card);
-                }
-                
-                @Override
-                public void mouseEntered(java.awt.event.MouseEvent e) {
-                    panel.setBorder(BorderFactory.createLineBorder(ACCENT_GOLD, 3));
-                }
-                
-                @Override
-                public void mouseExited(java.awt.event.MouseEvent e) {
-                    panel.setBorder(BorderFactory.createLineBorder(PLAYER_BLUE, 2));
-                }
-            });
-        }
-
-        return panel;
+    private void displayPlayerCards() {
+        playerCardsZone.setCards(playerHand);
     }
 
     /**
-     * Crea un panel estático para cartas de la IA
+     * Muestra las cartas de la IA con efectos visuales de selección
      */
-    private JPanel createStaticCardPanel(DuelCard card) {
-        return createInteractiveCardPanel(card, false);
+    private void displayAiCards() {
+        aiCardsZone.setCards(aiHand);
     }
 
     /**
      * Maneja la selección de carta del jugador
      */
     private void onPlayerCardSelected(DuelCard selectedCard) {
-        if (duelEngine == null || !duelEngine.isDuelActive()) {
+        if (duelStatus == null || !duelStatus.isDuelActive()) {
             appendToCombatLog("⚠️ No hay duelo activo");
             return;
         }
+        if (commandInFlight) {
+            appendToCombatLog("⏳ La IA todavía está pensando");
+            return;
+        }
 
         // Mostrar dialog para seleccionar posición
         BattlePosition position = showPositionSelectionDialog();
@@ -898,15 +1067,87 @@ public class DuelArena extends JFrame implements CombatEventListener {
 
         TacticalChoice playerChoice = new TacticalChoice(selectedCard, position, "Jugador Humano");
         
-        if (duelEngine.setPlayerTacticalChoice(playerChoice)) {
-            appendToCombatLog("✅ Seleccionaste: " + playerChoice.toCompactString());
-            
-            // Si ambos tienen selecciones, resolver ronda
-            if (duelEngine.getPendingPlayerChoice() != null && 
-                duelEngine.getPendingAiChoice() != null) {
-                duelEngine.resolvePendingRound();
+        // El motor registra la elección y resuelve la ronda en el hilo de duelo
+        submitDuelCommand(duelController.playCard(playerChoice),
+                          "✅ Seleccionaste: " + playerChoice.toCompactString());
+    }
+
+    /**
+     * Espera sin bloquear el resultado de un comando del hilo de duelo y
+     * aplica el estado devuelto en el EDT
+     *
+     * @param acceptedMessage Mensaje del log si el motor acepta el comando (puede ser null)
+     */
+    private void submitDuelCommand(CompletableFuture<DuelController.Status> command, String acceptedMessage) {
+        commandInFlight = true;
+        command.whenComplete((status, throwable) -> SwingUtilities.invokeLater(() -> {
+            commandInFlight = false;
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+                onErrorOccurred("Error del motor de duelo: " + cause.getMessage(), cause);
+                return;
             }
+            duelStatus = status;
+            if (status.isAccepted() && acceptedMessage != null) {
+                appendToCombatLog(acceptedMessage);
+            }
+            playerHealthLabel.setText("❤️ Vida: " + status.getPlayerLives());
+            aiHealthLabel.setText("🤖 Vida: " + status.getAiLives());
+            requestWinEstimate(status);
+        }));
+    }
+
+    /**
+     * Estima la probabilidad de victoria de la posición actual: la posición se
+     * captura en el hilo de duelo, se estima en el hilo del estimador (unos
+     * milisegundos) y el resultado vuelve al EDT; solo se muestra si no llegó
+     * otra posición mientras tanto
+     */
+    private void requestWinEstimate(DuelController.Status status) {
+        long request = ++estimateSequence;
+        if (!status.isDuelActive()) {
+            winProbabilityLabel.setText("🎯 Victoria: --");
+            moveValuesLabel.setText("Jugadas: --");
+            return;
         }
+        duelController
+            .inspect(engine -> WinProbabilityEstimator.capture(engine, engine.getPendingAiChoice()))
+            .thenApplyAsync(position -> position == null ? null : winEstimator.estimate(position), estimatorExecutor)
+            .whenComplete((estimate, throwable) -> SwingUtilities.invokeLater(() -> {
+                if (request != estimateSequence) {
+                    return;
+                }
+                if (throwable != null) {
+                    System.err.println("Advertencia: no se pudo estimar la posición: " + throwable.getMessage());
+                    return;
+                }
+                if (estimate != null) {
+                    showWinEstimate(estimate);
+                }
+            }));
+    }
+
+    /**
+     * Muestra la probabilidad de victoria y el valor esperado de cada carta y posición
+     */
+    private void showWinEstimate(WinProbabilityEstimator.Estimate estimate) {
+        double probability = estimate.getPlayerWinProbability();
+        winProbabilityLabel.setText(String.format("🎯 Victoria: %.0f%%", 100 * probability));
+        winProbabilityLabel.setForeground(probability >= 0.5 ? SUCCESS_GREEN : probability >= 0.25 ? ACCENT_GOLD : AI_RED);
+        winProbabilityLabel.setToolTipText(estimate.toString());
+
+        StringBuilder text = new StringBuilder("<html>Valor esperado por jugada:");
+        List<DuelCard> cards = estimate.getPlayerCards();
+        for (int card = 0; card < cards.size(); card++) {
+            text.append("<br/>").append(cards.get(card).getCardName()).append(':');
+            for (BattlePosition position : BattlePosition.values()) {
+                boolean best = cards.get(card) == estimate.getBestCard() && position == estimate.getBestPosition();
+                text.append(String.format(best ? " <b>%s %.0f%%</b>" : " %s %.0f%%",
+                                          position.getSymbol(), 100 * estimate.getMoveScore(card, position)));
+            }
+        }
+        moveValuesLabel.setText(text.append("</html>").toString());
     }
 
     /**
@@ -976,21 +1217,26 @@ public class DuelArena extends JFrame implements CombatEventListener {
             return;
         }
         
-        CompletableFuture.supplyAsync(() -> {
-            try {
-                BufferedImage image = ImageIO.read(URI.create(card.getImageUrl()).toURL());
-                return new ImageIcon(image.getScaledInstance(140, 140, Image.SCALE_SMOOTH));
-            } catch (Exception e) {
-                return null;
-            }
-        }, backgroundExecutor).whenComplete((icon, throwable) -> SwingUtilities.invokeLater(() -> {
-            if (icon != null) {
+        imageLoader.loadAsync(card,
+            icon -> {
                 targetLabel.setIcon(icon);
                 targetLabel.setText("");
-            } else {
-                targetLabel.setText(card.getCardName());
-            }
-        }));
+            },
+            () -> targetLabel.setText(card.getCardName()));
+    }
+
+    /**
+     * Carga la imagen de una carta de una rejilla cuando se vuelve visible
+     */
+    private void loadGridCardImage(CardGrid grid, DuelCard card) {
+        if (card.getImageUrl() == null || card.getImageUrl().isEmpty()) {
+            grid.markIconUnavailable(card);
+            return;
+        }
+
+        imageLoader.loadAsync(card,
+            icon -> grid.setCardIcon(card, icon),
+            () -> grid.markIconUnavailable(card));
     }
 
     /**
@@ -1037,46 +1283,27 @@ public class DuelArena extends JFrame implements CombatEventListener {
         // Restablecer todas las cartas de IA a estado normal
         resetAllAiCardsHighlight();
         
-        // Destacar la carta seleccionada
-        JPanel selectedPanel = aiCardPanels.get(selectedCard);
-        if (selectedPanel != null) {
-            // Cambiar borde a dorado brillante
-            selectedPanel.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(ACCENT_GOLD, 4),
-                BorderFactory.createLineBorder(Color.WHITE, 1)
-            ));
+        // Destacar la carta seleccionada (borde dorado e indicador de selección)
+        if (aiHand.contains(selectedCard)) {
+            aiCardsZone.setHighlight(selectedCard, CardGrid.CardHighlight.AI_SELECTED);
             
-            // Mostrar indicador de selección
-            Component[] components = selectedPanel.getComponents();
-            for (Component comp : components) {
-                if (comp instanceof JLabel && ((JLabel) comp).getText().contains("SELECCIONADA")) {
-                    comp.setVisible(true);
-                    break;
+            // Efecto de brillo pulsante cada 500 ms durante 3 segundos
+            animationScheduler.schedule("ai-pulse", new AnimationScheduler.Animation() {
+                @Override
+                public boolean onFrame(long elapsedMillis) {
+                    if (elapsedMillis >= 3000) {
+                        aiCardsZone.setPulseBright(selectedCard, false);
+                        return false;
+                    }
+                    aiCardsZone.setPulseBright(selectedCard, (elapsedMillis / 500) % 2 == 1);
+                    return true;
                 }
-            }
-            
-            // Efecto de brillo pulsante
-            Timer pulseTimer = new Timer(500, null);
-            final boolean[] bright = {true};
-            
-            pulseTimer.addActionListener(e -> {
-                if (bright[0]) {
-                    selectedPanel.setBackground(new Color(0x2d3748));
-                } else {
-                    selectedPanel.setBackground(SECONDARY_DARK);
+
+                @Override
+                public void onCancel() {
+                    aiCardsZone.setPulseBright(selectedCard, false);
                 }
-                bright[0] = !bright[0];
             });
-            
-            pulseTimer.start();
-            
-            // Detener el efecto después de 3 segundos
-            Timer stopTimer = new Timer(3000, e -> {
-                pulseTimer.stop();
-                selectedPanel.setBackground(SECONDARY_DARK);
-            });
-            stopTimer.setRepeats(false);
-            stopTimer.start();
         }
     }
 
@@ -1084,19 +1311,7 @@ public class DuelArena extends JFrame implements CombatEventListener {
      * Restablece el highlight de todas las cartas de IA
      */
     private void resetAllAiCardsHighlight() {
-        for (JPanel panel : aiCardPanels.values()) {
-            panel.setBorder(BorderFactory.createLineBorder(AI_RED, 2));
-            panel.setBackground(SECONDARY_DARK);
-            
-            // Ocultar indicadores de selección
-            Component[] components = panel.getComponents();
-            for (Component comp : components) {
-                if (comp instanceof JLabel && ((JLabel) comp).getText().contains("SELECCIONADA")) {
-                    comp.setVisible(false);
-                    break;
-                }
-            }
-        }
+        aiCardsZone.clearHighlights();
     }
 
     /**
@@ -1104,7 +1319,8 @@ public class DuelArena extends JFrame implements CombatEventListener {
      */
     private void showAiSelectionAnimation(TacticalChoice aiChoice) {
         // Crear un dialog temporal con la selección de la IA
-        JDialog selectionDialog = new JDialog(this, "🤖 IA Seleccionando...", true);
+        // No modal: un diálogo modal abre un bucle de eventos anidado y detiene la interfaz
+        JDialog selectionDialog = new JDialog(this, "🤖 IA Seleccionando...", false);
         selectionDialog.setSize(400, 200);
         selectionDialog.setLocationRelativeTo(this);
         selectionDialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
@@ -1138,26 +1354,27 @@ public class DuelArena extends JFrame implements CombatEventListener {
         dialogPanel.add(progressBar, BorderLayout.SOUTH);
         selectionDialog.add(dialogPanel);
 
-        // Timer para llenar la barra de progreso
-        Timer progressTimer = new Timer(50, null);
-        final int[] progress = {0};
-        
-        progressTimer.addActionListener(e -> {
-            progress[0] += 5;
-            progressBar.setValue(progress[0]);
-            
-            if (progress[0] >= 100) {
-                progressTimer.stop();
+        // Llenar la barra de progreso en 1 segundo (5% cada 50 ms)
+        animationScheduler.schedule("ai-selection-dialog", new AnimationScheduler.Animation() {
+            @Override
+            public boolean onFrame(long elapsedMillis) {
+                int progress = (int) Math.min(100, elapsedMillis / 50 * 5);
+                progressBar.setValue(progress);
+                if (progress >= 100) {
+                    selectionDialog.dispose();
+                    return false;
+                }
+                return true;
+            }
+
+            @Override
+            public void onCancel() {
                 selectionDialog.dispose();
             }
         });
 
-        // Mostrar dialog y comenzar animación
-        SwingUtilities.invokeLater(() -> {
-            selectionDialog.setVisible(true);
-        });
-        
-        progressTimer.start();
+        // Mostrar dialog (ya estamos en el EDT)
+        selectionDialog.setVisible(true);
     }
 
     /**
@@ -1167,9 +1384,7 @@ public class DuelArena extends JFrame implements CombatEventListener {
         resetAllAiCardsHighlight();
         
         // También restablecer cartas del jugador
-        for (JPanel panel : playerCardPanels.values()) {
-            panel.setBorder(BorderFactory.createLineBorder(PLAYER_BLUE, 2));
-        }
+        playerCardsZone.clearHighlights();
     }
 
     /**
@@ -1177,13 +1392,7 @@ public class DuelArena extends JFrame implements CombatEventListener {
      */
     private void highlightBothSelections(TacticalChoice playerChoice, TacticalChoice aiChoice) {
         // Destacar carta del jugador
-        JPanel playerPanel = playerCardPanels.get(playerChoice.getSelectedCard());
-        if (playerPanel != null) {
-            playerPanel.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(ACCENT_GOLD, 3),
-                BorderFactory.createLineBorder(PLAYER_BLUE, 1)
-            ));
-        }
+        playerCardsZone.setHighlight(playerChoice.getSelectedCard(), CardGrid.CardHighlight.PLAYER_SELECTED);
         
         // Asegurar que la carta de IA sigue destacada
         highlightAiSelectedCard(aiChoice.getSelectedCard());
@@ -1208,21 +1417,28 @@ public class DuelArena extends JFrame implements CombatEventListener {
             message = "🤝 ¡EMPATE!";
         }
         
-        // Crear efecto de flash en toda la ventana
-        Timer flashTimer = new Timer(200, null);
-        final int[] flashCount = {0};
+        // Crear efecto de flash en toda la ventana: 3 flashes, un cambio cada 200 ms
+        // (un flash anterior se cancela y restaura el fondo antes de capturarlo)
+        animationScheduler.cancel("round-flash");
         final Color originalBg = getContentPane().getBackground();
         
-        flashTimer.addActionListener(e -> {
-            if (flashCount[0] % 2 == 0) {
-                getContentPane().setBackground(effectColor);
-            } else {
-                getContentPane().setBackground(originalBg);
+        animationScheduler.schedule("round-flash", new AnimationScheduler.Animation() {
+            @Override
+            public boolean onFrame(long elapsedMillis) {
+                long flashCount = elapsedMillis / 200;
+                if (flashCount == 0) {
+                    return true;
+                }
+                if (flashCount > 6) {
+                    getContentPane().setBackground(originalBg);
+                    return false;
+                }
+                getContentPane().setBackground(flashCount % 2 == 1 ? effectColor : originalBg);
+                return true;
             }
-            
-            flashCount[0]++;
-            if (flashCount[0] >= 6) { // 3 flashes
-                flashTimer.stop();
+
+            @Override
+            public void onCancel() {
                 getContentPane().setBackground(originalBg);
             }
         });
@@ -1230,13 +1446,8 @@ public class DuelArena extends JFrame implements CombatEventListener {
         // Mostrar mensaje temporal
         statusIndicator.setText(message);
         
-        flashTimer.start();
-        
         // Restaurar mensaje después de 3 segundos
-        Timer restoreTimer = new Timer(3000, e -> {
-            statusIndicator.setText("🎮 Preparando siguiente ronda...");
-        });
-        restoreTimer.setRepeats(false);
-        restoreTimer.start();
+        animationScheduler.scheduleOnce("round-status", 3000, () ->
+            statusIndicator.setText("🎮 Preparando siguiente ronda..."));
     }
 }
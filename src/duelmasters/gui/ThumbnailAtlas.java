@@ -0,0 +1,306 @@
+package duelmasters.gui;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Atlas persistente de miniaturas de cartas
+ * Guarda todas las miniaturas en un único archivo de celdas de tamaño fijo
+ * (mapeado en memoria) más un índice cardId -> celda, de modo que el tablero
+ * se pinta sin leer ni decodificar una imagen por carta
+ *
+ * Formato del archivo de datos: cabecera de 16 bytes (magic, versión, lado de
+ * celda, reservado) seguida de celdas de lado x lado píxeles RGB en int.
+ * Formato del índice: cabecera de 12 bytes seguida de pares (cardId, celda).
+ * Ambos archivos son de solo anexado, por lo que agregar cartas nuevas no
+ * reescribe las existentes.
+ *
+ * Las celdas se mapean bajo demanda en bloques de CHUNK_BYTES con
+ * desplazamientos long: abrir el atlas no mapea nada y el coste de la
+ * primera lectura no crece con el número de cartas ni choca con el límite
+ * de 2 GB de un único mapeo. Las lecturas no toman el cerrojo de escritura:
+ * el índice es concurrente y los bloques mapeados se publican con una
+ * referencia volatile, así que el EDT nunca espera detrás de una escritura
+ * a disco de put
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class ThumbnailAtlas implements Closeable {
+
+    private static final int DATA_MAGIC = 0x444D4154;   // "DMAT"
+    private static final int INDEX_MAGIC = 0x444D4149;  // "DMAI"
+    private static final int FORMAT_VERSION = 2;   // 2: celdas con el recorte del arte
+    private static final int DATA_HEADER_BYTES = 16;
+    private static final int INDEX_HEADER_BYTES = 12;
+    private static final int INDEX_ENTRY_BYTES = 8;
+    private static final long CHUNK_BYTES = 64L << 20;
+
+    private final Path dataFile;
+    private final Path indexFile;
+    private final int cellSize;
+    private final int cellBytes;
+    private final int cellsPerChunk;
+
+    private final FileChannel dataChannel;
+    private final FileChannel indexChannel;
+    private final Map<Integer, Integer> cellByCardId = new ConcurrentHashMap<>();
+
+    // Escrituras (put, flush, close) serializadas; nuevos mapeos de bloques serializados aparte
+    private final Object writeLock = new Object();
+    private final Object mapLock = new Object();
+
+    // Celdas completas en el archivo; una celda se publica en el índice después de escribirse
+    private volatile int cellCount;
+    // Bloque i: celdas [i * cellsPerChunk, ...) mapeadas; se reemplaza el arreglo entero al mapear
+    private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+
+    private ThumbnailAtlas(Path dataFile, Path indexFile, int cellSize) throws IOException {
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+        this.cellSize = cellSize;
+        this.cellBytes = cellSize * cellSize * Integer.BYTES;
+        this.cellsPerChunk = (int) Math.max(1, CHUNK_BYTES / cellBytes);
+        this.dataChannel = FileChannel.open(dataFile, StandardOpenOption.CREATE,
+                                            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.indexChannel = FileChannel.open(indexFile, StandardOpenOption.CREATE,
+                                             StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Abre (o crea) un atlas; sus celdas se mapean en memoria al leerlas
+     * Si el archivo existente tiene otro formato o lado de celda se recrea vacío
+     *
+     * @param dataFile Ruta del archivo de celdas; el índice se guarda junto a él con extensión .idx
+     * @param cellSize Lado en píxeles de cada miniatura
+     * @return El atlas abierto
+     * @throws IOException Si los archivos no se pueden crear o leer
+     */
+    public static ThumbnailAtlas open(Path dataFile, int cellSize) throws IOException {
+        Path parent = dataFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path indexFile = dataFile.resolveSibling(dataFile.getFileName() + ".idx");
+
+        ThumbnailAtlas atlas = new ThumbnailAtlas(dataFile, indexFile, cellSize);
+        try {
+            if (!atlas.loadExisting()) {
+                atlas.initializeEmpty();
+            }
+        } catch (IOException e) {
+            atlas.close();
+            throw e;
+        }
+        return atlas;
+    }
+
+    /**
+     * Lee cabeceras e índice; devuelve false si hay que recrear los archivos
+     */
+    private boolean loadExisting() throws IOException {
+        if (dataChannel.size() < DATA_HEADER_BYTES || indexChannel.size() < INDEX_HEADER_BYTES) {
+            return false;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(DATA_HEADER_BYTES);
+        dataChannel.read(header, 0);
+        header.flip();
+        if (header.getInt() != DATA_MAGIC || header.getInt() != FORMAT_VERSION || header.getInt() != cellSize) {
+            return false;
+        }
+
+        ByteBuffer index = ByteBuffer.allocate((int) indexChannel.size());
+        indexChannel.read(index, 0);
+        index.flip();
+        if (index.getInt() != INDEX_MAGIC || index.getInt() != FORMAT_VERSION || index.getInt() != cellSize) {
+            return false;
+        }
+
+        // Celdas completas escritas; entradas de índice más allá se descartan (escritura interrumpida)
+        cellCount = (int) ((dataChannel.size() - DATA_HEADER_BYTES) / cellBytes);
+        while (index.remaining() >= INDEX_ENTRY_BYTES) {
+            int cardId = index.getInt();
+            int cell = index.getInt();
+            if (cell >= 0 && cell < cellCount) {
+                cellByCardId.put(cardId, cell);
+            }
+        }
+        // index.position() ya incluye la cabecera: se corta tras la última entrada completa
+        indexChannel.truncate(index.position());
+        return true;
+    }
+
+    private void initializeEmpty() throws IOException {
+        dataChannel.truncate(0);
+        indexChannel.truncate(0);
+        cellByCardId.clear();
+        cellCount = 0;
+
+        ByteBuffer dataHeader = ByteBuffer.allocate(DATA_HEADER_BYTES);
+        dataHeader.putInt(DATA_MAGIC).putInt(FORMAT_VERSION).putInt(cellSize).putInt(0).flip();
+        dataChannel.write(dataHeader, 0);
+
+        ByteBuffer indexHeader = ByteBuffer.allocate(INDEX_HEADER_BYTES);
+        indexHeader.putInt(INDEX_MAGIC).putInt(FORMAT_VERSION).putInt(cellSize).flip();
+        indexChannel.write(indexHeader, 0);
+    }
+
+    /**
+     * Bloque mapeado que contiene la celda indicada
+     * Un bloque se mapea con las celdas escritas hasta el momento; si la
+     * celda pedida es posterior (el bloque era el último y ha crecido) se
+     * vuelve a mapear
+     */
+    private MappedByteBuffer chunkFor(int cell) throws IOException {
+        int chunkIndex = cell / cellsPerChunk;
+        long requiredBytes = (long) (cell % cellsPerChunk + 1) * cellBytes;
+        MappedByteBuffer[] current = chunks;
+        if (chunkIndex < current.length && current[chunkIndex] != null
+                && current[chunkIndex].capacity() >= requiredBytes) {
+            return current[chunkIndex];
+        }
+
+        synchronized (mapLock) {
+            current = chunks;
+            if (chunkIndex < current.length && current[chunkIndex] != null
+                    && current[chunkIndex].capacity() >= requiredBytes) {
+                return current[chunkIndex];
+            }
+            long firstCell = (long) chunkIndex * cellsPerChunk;
+            long cells = Math.min(cellsPerChunk, cellCount - firstCell);
+            MappedByteBuffer chunk = dataChannel.map(FileChannel.MapMode.READ_ONLY,
+                                                     DATA_HEADER_BYTES + firstCell * cellBytes, cells * cellBytes);
+            chunk.order(ByteOrder.BIG_ENDIAN);
+
+            MappedByteBuffer[] updated = Arrays.copyOf(current, Math.max(current.length, chunkIndex + 1));
+            updated[chunkIndex] = chunk;
+            chunks = updated;
+            return chunk;
+        }
+    }
+
+    /**
+     * Verifica si el atlas contiene la miniatura de una carta
+     */
+    public boolean contains(int cardId) {
+        return cellByCardId.containsKey(cardId);
+    }
+
+    /**
+     * Obtiene la miniatura de una carta copiando su celda desde el mapeo en memoria
+     *
+     * @param cardId Identificador de la carta
+     * @return La miniatura, o vacío si la carta no está en el atlas
+     */
+    public Optional<BufferedImage> getThumbnail(int cardId) {
+        Integer cell = cellByCardId.get(cardId);
+        if (cell == null) {
+            return Optional.empty();
+        }
+
+        MappedByteBuffer chunk;
+        try {
+            chunk = chunkFor(cell);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+
+        // Dentro de un bloque el desplazamiento cabe en un int (un bloque no pasa de CHUNK_BYTES o de una celda)
+        int offset = (cell % cellsPerChunk) * cellBytes;
+        BufferedImage image = new BufferedImage(cellSize, cellSize, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        IntBuffer cellPixels = chunk.duplicate()
+            .position(offset)
+            .limit(offset + cellBytes)
+            .slice()
+            .asIntBuffer();
+        cellPixels.get(pixels);
+        return Optional.of(image);
+    }
+
+    /**
+     * Agrega una miniatura al final del atlas si la carta aún no está presente
+     *
+     * @param cardId Identificador de la carta
+     * @param thumbnail Imagen de cellSize x cellSize (se escala si difiere)
+     * @return true si se agregó una celda nueva
+     * @throws IOException Si falla la escritura
+     */
+    public boolean put(int cardId, BufferedImage thumbnail) throws IOException {
+        if (cellByCardId.containsKey(cardId)) {
+            return false;
+        }
+
+        // Conversión fuera del cerrojo: solo la escritura a disco se serializa
+        BufferedImage cellImage = thumbnail.getWidth() == cellSize && thumbnail.getHeight() == cellSize
+                                  && thumbnail.getType() == BufferedImage.TYPE_INT_RGB
+            ? thumbnail
+            : CardImageLoader.scaleToSquare(thumbnail, cellSize);
+        int[] pixels = cellImage.getRGB(0, 0, cellSize, cellSize, null, 0, cellSize);
+
+        ByteBuffer cellData = ByteBuffer.allocate(cellBytes);
+        cellData.asIntBuffer().put(pixels);
+
+        synchronized (writeLock) {
+            if (cellByCardId.containsKey(cardId)) {
+                return false;
+            }
+            int cell = cellCount;
+            long cellOffset = DATA_HEADER_BYTES + (long) cell * cellBytes;
+            while (cellData.hasRemaining()) {
+                dataChannel.write(cellData, cellOffset + cellData.position());
+            }
+
+            // El índice se escribe después de la celda: una entrada nunca apunta a datos incompletos
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_BYTES);
+            entry.putInt(cardId).putInt(cell).flip();
+            indexChannel.write(entry, indexChannel.size());
+
+            // Publicación: primero el número de celdas (lo usa chunkFor) y después el índice
+            cellCount = cell + 1;
+            cellByCardId.put(cardId, cell);
+            return true;
+        }
+    }
+
+    /**
+     * Fuerza los datos escritos a disco
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            dataChannel.force(false);
+            indexChannel.force(false);
+        }
+    }
+
+    public int size() { return cellByCardId.size(); }
+    public int getCellSize() { return cellSize; }
+    public Path getDataFile() { return dataFile; }
+    public Path getIndexFile() { return indexFile; }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            try {
+                dataChannel.close();
+            } finally {
+                indexChannel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package duelmasters.gui;
+
+import duelmasters.entities.DuelCard;
+import duelmasters.services.DuelCardsService;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Herramienta de línea de comandos que empaqueta las miniaturas de un
+ * catálogo de cartas en el atlas usado por DuelArena al arrancar
+ * Es incremental: solo descarga y agrega las cartas cuyo id aún no está en el atlas
+ *
+ * Uso: java duelmasters.gui.ThumbnailAtlasBuilder &lt;catalogo.json|URL&gt; [atlas] [hilos]
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class ThumbnailAtlasBuilder {
+
+    private static final int THUMBNAIL_SIZE = 140;
+    private static final int DEFAULT_THREADS = 8;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+
+        if (args.length < 1) {
+            System.err.println("Uso: ThumbnailAtlasBuilder <catalogo.json|URL> [atlas] [hilos]");
+            System.exit(2);
+        }
+
+        Path atlasPath = args.length > 1
+            ? Paths.get(args[1])
+            : Paths.get(System.getProperty("user.home"), ".duelmasters", "thumbnails.atlas");
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_THREADS;
+
+        List<DuelCard> catalog = new DuelCardsService().parseCardsFromJson(readCatalog(args[0]));
+        System.out.println("📚 Cartas en el catálogo: " + catalog.size());
+
+        try (ThumbnailAtlas atlas = ThumbnailAtlas.open(atlasPath, THUMBNAIL_SIZE)) {
+            long start = System.nanoTime();
+            int added = build(atlas, catalog, threads);
+            atlas.flush();
+            System.out.printf("✅ Atlas %s: %d miniaturas (%d nuevas) en %.1f s%n",
+                              atlas.getDataFile(), atlas.size(), added, (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    /**
+     * Descarga y agrega al atlas las cartas que aún no contiene
+     *
+     * @param atlas Atlas destino
+     * @param cards Cartas conocidas
+     * @param threads Descargas en paralelo
+     * @return Número de miniaturas agregadas
+     */
+    public static int build(ThumbnailAtlas atlas, List<DuelCard> cards, int threads) throws InterruptedException {
+        ExecutorService downloadPool = Executors.newFixedThreadPool(Math.max(1, threads));
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<Future<?>> pending = new ArrayList<>();
+
+        try {
+            for (DuelCard card : cards) {
+                if (card.getImageUrl().isEmpty() || atlas.contains(card.getCardId())) {
+                    continue;
+                }
+                pending.add(downloadPool.submit(() -> {
+                    try {
+                        byte[] encoded = CardImageLoader.fetchImageBytes(card.getImageUrl());
+                        BufferedImage thumbnail = CardImageLoader.decodeThumbnail(
+                            encoded, atlas.getCellSize(), CardImageLoader.DEFAULT_OVERSAMPLING,
+                            CardImageLoader.CARD_ART_REGION);
+                        if (atlas.put(card.getCardId(), thumbnail)) {
+                            added.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        failed.incrementAndGet();
+                        System.err.println("⚠️ " + card.getCardName() + ": " + e.getMessage());
+                    }
+                }));
+            }
+
+            for (Future<?> future : pending) {
+                try {
+                    future.get();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    failed.incrementAndGet();
+                }
+            }
+        } finally {
+            downloadPool.shutdownNow();
+        }
+
+        if (failed.get() > 0) {
+            System.err.println("⚠️ Miniaturas fallidas: " + failed.get());
+        }
+        return added.get();
+    }
+
+    /**
+     * Lee el catálogo desde un archivo local o una URL
+     */
+    private static String readCatalog(String source) throws IOException {
+        if (source.startsWith("http://") || source.startsWith("https://")) {
+            try (InputStream input = URI.create(source).toURL().openStream()) {
+                return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+        return Files.readString(Paths.get(source), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,252 @@
+package duelmasters.headless;
+
+import duelmasters.engine.AiStrategy;
+import duelmasters.engine.BattleEngine;
+import duelmasters.engine.CombatEventAdapter;
+import duelmasters.engine.CombatEventListener;
+import duelmasters.engine.CombatEventMulticaster;
+import duelmasters.engine.DuelRandom;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+import duelmasters.journal.DuelJournal;
+import duelmasters.services.DuelCardsService;
+import duelmasters.simulation.AiStrategies;
+import duelmasters.simulation.MctsAiStrategy;
+import duelmasters.stats.DuelStatisticsAggregator;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Ejecutor de duelos sin interfaz gráfica
+ * Conduce BattleEngine con un jugador automático en lugar del humano, sin
+ * inicializar AWT/Swing, para servidores sin pantalla y trabajos por lotes
+ *
+ * Uso: java duelmasters.DuelMastersLauncher --headless [opciones]
+ *   --duels N        Número de duelos (por defecto 1)
+ *   --seed S         Semilla de mazos, jugadores aleatorios y motores (DuelRandom)
+ *   --player P       random | greedy | script:0:OFFENSIVE,1:DEFENSIVE,... (por defecto greedy)
+ *   --ai A           heuristic | mcts | mcts:MS | mcts:MS:HILOS | solver[:MODELO] (por defecto heuristic)
+ *   --hand N         Cartas por mano (por defecto 3)
+ *   --cards ARCHIVO  Catálogo JSON de la API en lugar de cartas sintéticas
+ *   --journal ARCHIVO Registra los duelos en un diario para DuelReplayRunner
+ *   --stats          Muestra las estadísticas agregadas de todos los duelos (posiciones, rondas y,
+ *                    con --cards, las mejores cartas)
+ *   --verbose        Imprime cada ronda
+ *   --quiet          No imprime el resultado de cada duelo
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class HeadlessDuelRunner {
+
+    private static final int DEFAULT_HAND_SIZE = 3;
+
+    /**
+     * Resultado de un duelo sin interfaz
+     */
+    public static final class DuelResult {
+        private final int playerVictories;
+        private final int aiVictories;
+        private final int roundsPlayed;
+        private final boolean completed;
+
+        DuelResult(int playerVictories, int aiVictories, int roundsPlayed, boolean completed) {
+            this.playerVictories = playerVictories;
+            this.aiVictories = aiVictories;
+            this.roundsPlayed = roundsPlayed;
+            this.completed = completed;
+        }
+
+        public int getPlayerVictories() { return playerVictories; }
+        public int getAiVictories() { return aiVictories; }
+        public int getRoundsPlayed() { return roundsPlayed; }
+        public boolean isCompleted() { return completed; }
+        public boolean isPlayerWin() { return completed && playerVictories > aiVictories; }
+        public boolean isAiWin() { return completed && aiVictories > playerVictories; }
+        public boolean isDraw() { return completed && playerVictories == aiVictories; }
+
+        @Override
+        public String toString() {
+            String winner = !completed ? "❌ Incompleto"
+                : isPlayerWin() ? "🏆 Jugador Humano"
+                : isAiWin() ? "🏆 IA Estratégica" : "🤝 Empate Final";
+            return String.format("Jugador %d - %d IA (%d rondas) → %s",
+                                 playerVictories, aiVictories, roundsPlayed, winner);
+        }
+    }
+
+    /**
+     * Juega un duelo completo con el jugador automático
+     *
+     * @param playerDeck Mazo del jugador automático
+     * @param aiDeck Mazo de la IA
+     * @param player Jugador que ocupa el lugar del humano
+     * @param listener Listener de eventos del motor (puede ser un CombatEventAdapter vacío)
+     * @return Resultado del duelo
+     */
+    public static DuelResult playDuel(List<DuelCard> playerDeck, List<DuelCard> aiDeck,
+                                      HeadlessPlayer player, CombatEventListener listener) {
+        return playDuel(new BattleEngine(playerDeck, aiDeck, listener), player);
+    }
+
+    /**
+     * Juega un duelo completo sobre un motor ya construido
+     */
+    public static DuelResult playDuel(BattleEngine engine, HeadlessPlayer player) {
+        return playDuel(engine, player, null);
+    }
+
+    /**
+     * Juega un duelo completo llamando a beforeMove en cada ronda, antes de
+     * que el jugador elija (con la apertura de la IA ya pendiente si le toca)
+     *
+     * @param beforeMove Observador de cada posición, o null
+     */
+    public static DuelResult playDuel(BattleEngine engine, HeadlessPlayer player, Consumer<BattleEngine> beforeMove) {
+        player.reset();
+        engine.commenceBattle();
+
+        while (engine.isDuelActive()) {
+            if (beforeMove != null) {
+                beforeMove.accept(engine);
+            }
+            TacticalChoice move = player.chooseMove(engine);
+            if (move == null || !engine.setPlayerTacticalChoice(move)) {
+                break;
+            }
+            engine.resolvePendingRound();
+        }
+
+        return new DuelResult(engine.getPlayerVictories(), engine.getAiVictories(),
+                              engine.getTotalRoundsPlayed(), !engine.isDuelActive() && !engine.isDuelAborted()
+                              && engine.getTotalRoundsPlayed() > 0);
+    }
+
+    public static void main(String[] args) throws IOException {
+        long startNanos = System.nanoTime();
+
+        int duels = 1;
+        long seed = System.nanoTime();
+        String playerSpec = "greedy";
+        String aiSpec = "heuristic";
+        int handSize = DEFAULT_HAND_SIZE;
+        String cardsFile = null;
+        String journalFile = null;
+        boolean verbose = false;
+        boolean quiet = false;
+        boolean stats = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--duels": duels = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--player": playerSpec = args[++i]; break;
+                case "--ai": aiSpec = args[++i]; break;
+                case "--hand": handSize = Integer.parseInt(args[++i]); break;
+                case "--cards": cardsFile = args[++i]; break;
+                case "--journal": journalFile = args[++i]; break;
+                case "--verbose": verbose = true; break;
+                case "--quiet": quiet = true; break;
+                case "--stats": stats = true; break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        Random deckRandom = new Random(seed);
+        DuelRandom engineSeeds = new DuelRandom(seed);
+        HeadlessPlayer player = HeadlessPlayers.fromSpec(playerSpec, seed);
+        AiStrategy aiStrategy = aiSpec.equals("heuristic") ? null : AiStrategies.fromSpec(aiSpec, seed);
+        DuelJournal journal = journalFile != null
+            ? DuelJournal.open(Paths.get(journalFile), DuelJournal.SyncPolicy.NONE, Long.MAX_VALUE) : null;
+        DuelStatisticsAggregator statistics = stats ? new DuelStatisticsAggregator() : null;
+        List<CombatEventListener> listeners = new ArrayList<>(3);
+        if (journal != null) listeners.add(journal);
+        if (verbose) listeners.add(new LoggingCombatListener(System.out));
+        if (statistics != null) listeners.add(statistics);
+        CombatEventListener listener = listeners.isEmpty()
+            ? new CombatEventAdapter() : CombatEventMulticaster.of(listeners.toArray(new CombatEventListener[0]));
+        List<DuelCard> catalog = cardsFile != null ? new DuelCardsService().loadBattleCards(Paths.get(cardsFile), 0) : null;
+
+        if (catalog != null && catalog.size() < handSize * 2) {
+            System.err.println("El catálogo necesita al menos " + handSize * 2 + " cartas de batalla");
+            System.exit(2);
+        }
+
+        System.out.printf("=== DUELOS SIN INTERFAZ === jugador=%s, ia=%s, duelos=%d, mano=%d, semilla=%d%n",
+                          player.getDescription(), aiStrategy == null ? "heurística" : aiStrategy.getDescription(),
+                          duels, handSize, seed);
+
+        long duelsStart = System.nanoTime();
+        int playerWins = 0;
+        int aiWins = 0;
+        int draws = 0;
+        int incomplete = 0;
+        long totalRounds = 0;
+
+        for (int duel = 1; duel <= duels; duel++) {
+            List<DuelCard> playerDeck;
+            List<DuelCard> aiDeck;
+            if (catalog != null) {
+                List<DuelCard> shuffled = new ArrayList<>(catalog);
+                Collections.shuffle(shuffled, deckRandom);
+                playerDeck = new ArrayList<>(shuffled.subList(0, handSize));
+                aiDeck = new ArrayList<>(shuffled.subList(handSize, handSize * 2));
+            } else {
+                playerDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1);
+                aiDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1 + handSize);
+            }
+
+            // Cada motor tiene su propio generador derivado de la semilla
+            DuelRandom engineRandom = engineSeeds.split();
+            if (journal != null) {
+                journal.recordDuelStart(engineRandom.getSeed(), aiStrategy == null, playerDeck, aiDeck);
+            }
+            DuelResult result = aiStrategy == null
+                ? playDuel(new BattleEngine(playerDeck, aiDeck, listener, engineRandom), player)
+                : playDuel(new BattleEngine(playerDeck, aiDeck, listener, engineRandom, aiStrategy), player);
+            totalRounds += result.getRoundsPlayed();
+            if (result.isPlayerWin()) playerWins++;
+            else if (result.isAiWin()) aiWins++;
+            else if (result.isDraw()) draws++;
+            else incomplete++;
+
+            if (!quiet) {
+                System.out.println("Duelo #" + duel + ": " + result);
+            }
+        }
+
+        long finished = System.nanoTime();
+        if (journal != null) {
+            journal.close();
+        }
+        double duelSeconds = (finished - duelsStart) / 1e9;
+        System.out.println("--------------------------------------------");
+        System.out.printf("Jugador: %d | IA: %d | Empates: %d | Incompletos: %d%n",
+                          playerWins, aiWins, draws, incomplete);
+        System.out.printf("Rondas por duelo: %.2f%n", duels == 0 ? 0.0 : (double) totalRounds / duels);
+        System.out.printf("Arranque: %.1f ms | Duelos: %.3f s | Rendimiento: %.0f duelos/s%n",
+                          (duelsStart - startNanos) / 1e6, duelSeconds,
+                          duelSeconds > 0 ? duels / duelSeconds : 0.0);
+        if (statistics != null) {
+            System.out.println("--------------------------------------------");
+            // Los mazos sintéticos se regeneran en cada duelo con los mismos identificadores:
+            // las cifras por carta mezclarían miles de cartas distintas, así que solo se
+            // muestran con un catálogo real
+            System.out.print(statistics.snapshot().summary(catalog != null ? 10 : 0, 1));
+        }
+        if (aiStrategy instanceof MctsAiStrategy) {
+            MctsAiStrategy mcts = (MctsAiStrategy) aiStrategy;
+            System.out.printf("IA MCTS: %,.0f simulaciones/s (%,d en %d movimientos)%n",
+                              mcts.getRolloutsPerSecond(), mcts.getTotalRollouts(), mcts.getMovesSearched());
+            mcts.close();
+        }
+    }
+}
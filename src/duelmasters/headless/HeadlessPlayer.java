@@ -0,0 +1,36 @@
+package duelmasters.headless;
+
+import duelmasters.engine.BattleEngine;
+import duelmasters.entities.TacticalChoice;
+
+/**
+ * Jugador automático que ocupa el lugar del humano en duelos sin interfaz
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public interface HeadlessPlayer {
+
+    /** Nombre con el que el motor identifica al jugador humano */
+    String PLAYER_NAME = "Jugador Humano";
+
+    /**
+     * Elige la carta y la posición para la ronda actual
+     * Si la IA ya eligió (turno de la IA), su elección está en
+     * engine.getPendingAiChoice()
+     *
+     * @param engine Motor del duelo en curso (solo lectura)
+     * @return Elección táctica con una carta de engine.getPlayerActiveCards()
+     */
+    TacticalChoice chooseMove(BattleEngine engine);
+
+    /**
+     * Prepara al jugador para un nuevo duelo
+     */
+    default void reset() { }
+
+    /**
+     * Nombre descriptivo para los reportes
+     */
+    String getDescription();
+}
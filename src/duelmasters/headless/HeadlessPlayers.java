@@ -0,0 +1,142 @@
+package duelmasters.headless;
+
+import duelmasters.engine.BattleEngine;
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fábrica de jugadores automáticos para duelos sin interfaz
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class HeadlessPlayers {
+
+    private HeadlessPlayers() { }
+
+    /**
+     * Crea un jugador a partir de su especificación de línea de comandos
+     *
+     * @param spec "random", "greedy" o "script:0:OFFENSIVE,1:DEFENSIVE,..."
+     * @param seed Semilla para los jugadores aleatorios
+     * @return El jugador configurado
+     * @throws IllegalArgumentException Si la especificación no es válida
+     */
+    public static HeadlessPlayer fromSpec(String spec, long seed) {
+        if (spec.equals("random")) {
+            return random(new Random(seed));
+        }
+        if (spec.equals("greedy")) {
+            return greedy();
+        }
+        if (spec.startsWith("script:")) {
+            return scripted(spec.substring("script:".length()));
+        }
+        throw new IllegalArgumentException("Jugador desconocido: " + spec);
+    }
+
+    /**
+     * Jugador que elige carta y posición al azar
+     */
+    public static HeadlessPlayer random(Random random) {
+        return new HeadlessPlayer() {
+            @Override
+            public TacticalChoice chooseMove(BattleEngine engine) {
+                List<DuelCard> cards = engine.getPlayerActiveCards();
+                DuelCard card = cards.get(random.nextInt(cards.size()));
+                BattlePosition position = BattlePosition.fromIndex(random.nextInt(BattlePosition.values().length));
+                return new TacticalChoice(card, position, PLAYER_NAME);
+            }
+
+            @Override
+            public String getDescription() { return "aleatorio"; }
+        };
+    }
+
+    /**
+     * Jugador codicioso: si conoce la elección de la IA responde con la carta
+     * más débil que la derrota; si no, juega su mejor poder efectivo
+     */
+    public static HeadlessPlayer greedy() {
+        return new HeadlessPlayer() {
+            @Override
+            public TacticalChoice chooseMove(BattleEngine engine) {
+                List<DuelCard> cards = engine.getPlayerActiveCards();
+                TacticalChoice aiChoice = engine.getPendingAiChoice();
+
+                TacticalChoice best = null;
+                for (DuelCard card : cards) {
+                    for (BattlePosition position : BattlePosition.values()) {
+                        TacticalChoice candidate = new TacticalChoice(card, position, PLAYER_NAME);
+                        if (isBetterGreedyMove(candidate, best, aiChoice)) {
+                            best = candidate;
+                        }
+                    }
+                }
+                return best;
+            }
+
+            @Override
+            public String getDescription() { return "codicioso"; }
+        };
+    }
+
+    private static boolean isBetterGreedyMove(TacticalChoice candidate, TacticalChoice best, TacticalChoice aiChoice) {
+        if (best == null) {
+            return true;
+        }
+        if (aiChoice == null) {
+            return candidate.getEffectiveBattlePower() > best.getEffectiveBattlePower();
+        }
+
+        boolean candidateWins = candidate.defeatsOpponent(aiChoice);
+        boolean bestWins = best.defeatsOpponent(aiChoice);
+        if (candidateWins != bestWins) {
+            return candidateWins;
+        }
+        // Ganando o perdiendo, gastar la carta de menor poder total
+        return candidate.getSelectedCard().getTotalBattlePower() < best.getSelectedCard().getTotalBattlePower();
+    }
+
+    /**
+     * Jugador que sigue un guion fijo de movimientos "índice:POSICIÓN"
+     * El índice se refiere a las cartas activas restantes; al agotarse el
+     * guion se repite el último movimiento
+     */
+    public static HeadlessPlayer scripted(String script) {
+        List<int[]> moves = new ArrayList<>();
+        for (String step : script.split(",")) {
+            String[] parts = step.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Paso de guion inválido: " + step);
+            }
+            moves.add(new int[] {Integer.parseInt(parts[0]), BattlePosition.valueOf(parts[1]).ordinal()});
+        }
+        if (moves.isEmpty()) {
+            throw new IllegalArgumentException("El guion está vacío");
+        }
+
+        return new HeadlessPlayer() {
+            private int nextMove;
+
+            @Override
+            public TacticalChoice chooseMove(BattleEngine engine) {
+                int[] move = moves.get(Math.min(nextMove++, moves.size() - 1));
+                List<DuelCard> cards = engine.getPlayerActiveCards();
+                DuelCard card = cards.get(Math.min(move[0], cards.size() - 1));
+                return new TacticalChoice(card, BattlePosition.values()[move[1]], PLAYER_NAME);
+            }
+
+            @Override
+            public void reset() { nextMove = 0; }
+
+            @Override
+            public String getDescription() { return "guion(" + script + ")"; }
+        };
+    }
+}
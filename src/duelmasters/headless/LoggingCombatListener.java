@@ -0,0 +1,54 @@
+package duelmasters.headless;
+
+import duelmasters.engine.CombatEventAdapter;
+import duelmasters.entities.TacticalChoice;
+
+import java.io.PrintStream;
+
+/**
+ * Listener de texto para duelos sin interfaz
+ * Imprime las rondas, el marcador y los errores en un PrintStream
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class LoggingCombatListener extends CombatEventAdapter {
+
+    private final PrintStream output;
+
+    public LoggingCombatListener(PrintStream output) {
+        this.output = output;
+    }
+
+    @Override
+    public void onDuelCommenced(String initiatingPlayer) {
+        output.println("🚀 Duelo iniciado por " + initiatingPlayer);
+    }
+
+    @Override
+    public void onAiInitialSelection(TacticalChoice aiTacticalChoice) {
+        output.println("  🤖 IA seleccionó: " + aiTacticalChoice.toCompactString());
+    }
+
+    @Override
+    public void onRoundResolved(TacticalChoice playerChoice, TacticalChoice aiChoice,
+                               String attackingPlayer, String roundVictor) {
+        output.println("  ⚔️ " + playerChoice.toCompactString() + " vs " + aiChoice.toCompactString()
+                       + " → " + roundVictor);
+    }
+
+    @Override
+    public void onScoreUpdated(int playerVictories, int aiVictories) {
+        output.println("  📊 Marcador: " + playerVictories + " - " + aiVictories);
+    }
+
+    @Override
+    public void onDuelCompleted(String finalWinner) {
+        output.println("🎊 Duelo finalizado: " + finalWinner);
+    }
+
+    @Override
+    public void onErrorOccurred(String errorMessage, Throwable exception) {
+        output.println("❌ ERROR: " + errorMessage);
+    }
+}
@@ -0,0 +1,49 @@
+package duelmasters.headless;
+
+import duelmasters.entities.DuelCard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generador de cartas sintéticas reproducibles para duelos sin red
+ * Las estadísticas siguen la distribución típica de los monstruos de la API
+ * (múltiplos de 50 entre 0 y 3000)
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class SyntheticDeckFactory {
+
+    private static final int MAX_STAT = 3000;
+    private static final int STAT_STEP = 50;
+
+    private SyntheticDeckFactory() { }
+
+    /**
+     * Genera un mazo de cartas sintéticas
+     *
+     * @param random Generador usado para las estadísticas
+     * @param size Número de cartas
+     * @param firstCardId Identificador de la primera carta (los siguientes son consecutivos)
+     * @return Lista de cartas de batalla
+     */
+    public static List<DuelCard> generateDeck(Random random, int size, int firstCardId) {
+        List<DuelCard> deck = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            deck.add(generateCard(random, firstCardId + i));
+        }
+        return deck;
+    }
+
+    /**
+     * Genera una carta sintética con el identificador indicado
+     */
+    public static DuelCard generateCard(Random random, int cardId) {
+        int attack = random.nextInt(MAX_STAT / STAT_STEP + 1) * STAT_STEP;
+        int defense = random.nextInt(MAX_STAT / STAT_STEP + 1) * STAT_STEP;
+        return new DuelCard(cardId, "Duelista Sintético #" + cardId, "Normal Monster",
+                            attack, defense, "Carta generada para simulación", "");
+    }
+}
@@ -0,0 +1,331 @@
+package duelmasters.journal;
+
+import duelmasters.engine.CombatEventAdapter;
+import duelmasters.engine.DuelRules;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Diario binario de solo anexado de los duelos
+ * Registra el inicio de cada duelo (semilla y mazos), la apertura de la IA,
+ * cada ronda resuelta y el final (o el abandono de una recuperación que no
+ * pudo reconstruirse), para reconstruir un duelo interrumpido si
+ * la JVM muere y para volver a ejecutar los duelos registrados (ver
+ * DuelJournalReader, RecordedDuel y DuelReplayRunner)
+ *
+ * Formato: cabecera de 8 bytes (magic, versión) seguida de registros
+ * [longitud int][tipo byte][datos][crc32 int], donde la longitud cuenta tipo
+ * y datos y el CRC cubre los mismos bytes. Un registro incompleto o con CRC
+ * inválido al final del archivo (escritura cortada) se descarta al abrirlo
+ *
+ * Como listener del motor acumula los registros de cada operación y los
+ * escribe con una sola llamada al FileChannel en onEngineStepCompleted; la
+ * política de sincronización decide cuándo se fuerza el disco. Se registra
+ * en AsyncCombatEventDispatcher para que la escritura no ocurra en el hilo
+ * del motor
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class DuelJournal extends CombatEventAdapter implements Closeable {
+
+    static final int MAGIC = 0x444D4A52;   // "DMJR"
+    static final int FORMAT_VERSION = 3;
+    static final int HEADER_BYTES = 8;
+
+    // Tipos de registro
+    static final byte DUEL_START = 1;
+    static final byte AI_OPENING = 2;
+    static final byte ROUND = 3;
+    static final byte DUEL_END = 4;
+    static final byte DUEL_ABANDONED = 5;
+
+    // Indicadores del inicio de duelo
+    static final byte FLAG_SEEDED_AI = 1;
+
+    /** Longitud y CRC que envuelven los datos de cada registro */
+    static final int RECORD_OVERHEAD = Integer.BYTES + Integer.BYTES;
+
+    /** Tamaño máximo por defecto: al empezar un duelo por encima de él el diario se vacía */
+    static final long MAX_JOURNAL_BYTES = 16L * 1024 * 1024;
+
+    /** Las cartas se guardan como índice de un byte en el mazo */
+    static final int MAX_DECK_SIZE = 255;
+
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+    /**
+     * Cuándo se fuerzan los datos al disco (FileChannel.force)
+     * Los registros siempre se escriben al sistema operativo al final de cada
+     * operación del motor, así que sobreviven a la caída de la JVM; forzar el
+     * disco protege además de un corte de energía
+     */
+    public enum SyncPolicy {
+        /** Nunca: el sistema operativo decide */
+        NONE,
+        /** Al iniciar y al terminar cada duelo */
+        DUEL_BOUNDARIES,
+        /** Tras cada operación del motor */
+        EVERY_STEP
+    }
+
+    private final FileChannel channel;
+    private final SyncPolicy syncPolicy;
+    private final long maxJournalBytes;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_BUFFER_BYTES);
+
+    // Mazos del duelo en curso para traducir cartas a índices
+    private List<DuelCard> playerDeck = List.of();
+    private List<DuelCard> aiDeck = List.of();
+    private long recordsWritten;
+    private boolean duelEndPending;
+
+    private DuelJournal(FileChannel channel, SyncPolicy syncPolicy, long maxJournalBytes) {
+        this.channel = channel;
+        this.syncPolicy = syncPolicy;
+        this.maxJournalBytes = maxJournalBytes;
+    }
+
+    /**
+     * Abre (o crea) un diario para anexar
+     * Si el archivo tiene otro formato se recrea vacío; si termina en un
+     * registro cortado, se trunca tras el último registro válido
+     *
+     * @throws IOException Si el archivo no se puede crear o leer
+     */
+    public static DuelJournal open(Path file, SyncPolicy syncPolicy) throws IOException {
+        return open(file, syncPolicy, MAX_JOURNAL_BYTES);
+    }
+
+    /**
+     * Abre un diario con un tamaño máximo propio
+     *
+     * @param maxJournalBytes Al empezar un duelo por encima de este tamaño el diario se vacía
+     */
+    public static DuelJournal open(Path file, SyncPolicy syncPolicy, long maxJournalBytes) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        long validLength = Files.exists(file) ? DuelJournalReader.validLength(file) : -1;
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                               StandardOpenOption.READ, StandardOpenOption.WRITE);
+        DuelJournal journal = new DuelJournal(channel, syncPolicy, maxJournalBytes);
+        if (validLength < HEADER_BYTES) {
+            journal.resetFile();
+        } else {
+            channel.truncate(validLength);
+            channel.position(validLength);
+        }
+        return journal;
+    }
+
+    private void resetFile() throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    // ==================== REGISTROS ====================
+
+    /**
+     * Registra el inicio de un duelo; debe llamarse antes de commenceBattle y
+     * después de que se entregaran los eventos del duelo anterior
+     * El registro se escribe (y sincroniza según la política) de inmediato
+     *
+     * @param seed Semilla del DuelRandom del motor
+     * @param seededAi true si la IA solo usa el generador del motor (la
+     *                 heurística): el duelo se puede re-ejecutar con la semilla
+     * @param playerDeck Mazo del jugador en el orden del motor
+     * @param aiDeck Mazo de la IA en el orden del motor
+     */
+    public synchronized void recordDuelStart(long seed, boolean seededAi,
+                                             List<DuelCard> playerDeck, List<DuelCard> aiDeck) {
+        if (playerDeck.size() > MAX_DECK_SIZE || aiDeck.size() > MAX_DECK_SIZE) {
+            throw new IllegalArgumentException("El diario admite hasta " + MAX_DECK_SIZE + " cartas por mazo");
+        }
+        writeBuffer(false);
+        try {
+            if (channel.size() > maxJournalBytes) {
+                resetFile();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo preparar el diario de duelos", e);
+        }
+        this.playerDeck = List.copyOf(playerDeck);
+        this.aiDeck = List.copyOf(aiDeck);
+
+        int start = beginRecord(DUEL_START);
+        buffer.putLong(seed);
+        buffer.put(seededAi ? FLAG_SEEDED_AI : 0);
+        putDeck(playerDeck);
+        putDeck(aiDeck);
+        endRecord(start);
+        writeBuffer(syncPolicy != SyncPolicy.NONE);
+    }
+
+    /**
+     * Cierra sin resultado el duelo en curso (por ejemplo, una recuperación
+     * que no pudo reconstruirse) para que no vuelva a ofrecerse como
+     * interrumpido; debe llamarse después de que se entregaran sus eventos
+     */
+    public synchronized void recordDuelAbandoned() {
+        int start = beginRecord(DUEL_ABANDONED);
+        endRecord(start);
+        writeBuffer(syncPolicy != SyncPolicy.NONE);
+    }
+
+    @Override
+    public synchronized void onAiInitialSelection(TacticalChoice aiTacticalChoice) {
+        int start = beginRecord(AI_OPENING);
+        buffer.put((byte) indexOf(aiDeck, aiTacticalChoice.getSelectedCard()));
+        buffer.put((byte) aiTacticalChoice.getBattlePosition().ordinal());
+        endRecord(start);
+    }
+
+    @Override
+    public synchronized void onRoundResolved(TacticalChoice playerChoice, TacticalChoice aiChoice,
+                                             String attackingPlayer, String roundVictor) {
+        int start = beginRecord(ROUND);
+        buffer.put((byte) indexOf(playerDeck, playerChoice.getSelectedCard()));
+        buffer.put((byte) playerChoice.getBattlePosition().ordinal());
+        buffer.put((byte) indexOf(aiDeck, aiChoice.getSelectedCard()));
+        buffer.put((byte) aiChoice.getBattlePosition().ordinal());
+        buffer.put((byte) DuelRules.resolveRound(
+            playerChoice.getEffectiveBattlePower(), playerChoice.getSelectedCard().getLevel(),
+            aiChoice.getEffectiveBattlePower(), aiChoice.getSelectedCard().getLevel()));
+        endRecord(start);
+    }
+
+    @Override
+    public synchronized void onDuelCompleted(String finalWinner) {
+        int start = beginRecord(DUEL_END);
+        endRecord(start);
+        duelEndPending = true;
+    }
+
+    /**
+     * Escribe los registros de la operación con una sola llamada al canal
+     */
+    @Override
+    public synchronized void onEngineStepCompleted() {
+        boolean force = syncPolicy == SyncPolicy.EVERY_STEP
+                     || (syncPolicy == SyncPolicy.DUEL_BOUNDARIES && duelEndPending);
+        duelEndPending = false;
+        writeBuffer(force);
+    }
+
+    // ==================== CODIFICACIÓN ====================
+
+    private int beginRecord(byte type) {
+        ensureCapacity(64);
+        int start = buffer.position();
+        buffer.putInt(0);
+        buffer.put(type);
+        return start;
+    }
+
+    private void endRecord(int start) {
+        int end = buffer.position();
+        int length = end - start - Integer.BYTES;
+        buffer.putInt(start, length);
+
+        crc.reset();
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(start + Integer.BYTES).limit(end);
+        crc.update(payload);
+        ensureCapacity(Integer.BYTES);
+        buffer.putInt((int) crc.getValue());
+        recordsWritten++;
+    }
+
+    private void putDeck(List<DuelCard> deck) {
+        buffer.put((byte) deck.size());
+        for (DuelCard card : deck) {
+            ensureCapacity(32);
+            buffer.putInt(card.getCardId());
+            buffer.putInt(card.getAttackPower());
+            buffer.putInt(card.getDefensePower());
+            putString(card.getCardName());
+            putString(card.getCardType());
+            putString(card.getImageUrl());
+        }
+    }
+
+    private void putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, Short.MAX_VALUE);
+        ensureCapacity(Short.BYTES + length);
+        buffer.putShort((short) length);
+        buffer.put(bytes, 0, length);
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+
+    /**
+     * Índice de la carta en el mazo (por identidad, como las listas del motor)
+     */
+    private static int indexOf(List<DuelCard> deck, DuelCard card) {
+        for (int i = 0; i < deck.size(); i++) {
+            if (deck.get(i) == card) {
+                return i;
+            }
+        }
+        return deck.indexOf(card);
+    }
+
+    private void writeBuffer(boolean force) {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (force) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el diario de duelos", e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    public synchronized long getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writeBuffer(syncPolicy != SyncPolicy.NONE);
+        channel.close();
+    }
+}
@@ -0,0 +1,307 @@
+package duelmasters.journal;
+
+import duelmasters.entities.DuelCard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Lectura del diario binario de duelos
+ * Recorre el archivo mapeado en memoria, valida longitud y CRC de cada
+ * registro y se detiene en el primero incompleto o inválido (final cortado
+ * por una caída). Las rondas se entregan como enteros, sin crear objetos, y
+ * las cartas de los mazos se decodifican solo si el receptor las consulta
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class DuelJournalReader {
+
+    /**
+     * Receptor de los registros en orden de escritura
+     */
+    public interface RecordVisitor {
+
+        /**
+         * Inicio de un duelo con la semilla del motor y los mazos en su orden
+         *
+         * @param seededAi true si la IA solo usaba el generador del motor
+         */
+        void onDuelStart(long seed, boolean seededAi, List<DuelCard> playerDeck, List<DuelCard> aiDeck);
+
+        /** Apertura de la IA (índice en su mazo y ordinal de la posición) */
+        void onAiOpening(int aiCard, int aiPosition);
+
+        /** Ronda resuelta, con el resultado en las constantes de DuelRules */
+        void onRound(int playerCard, int playerPosition, int aiCard, int aiPosition, int outcome);
+
+        /** Fin del duelo */
+        void onDuelEnd();
+
+        /** Duelo cerrado sin resultado (recuperación fallida) */
+        void onDuelAbandoned();
+    }
+
+    private DuelJournalReader() { }
+
+    /**
+     * Lee todos los registros válidos del diario
+     *
+     * @return Número de registros leídos
+     * @throws IOException Si el archivo no se puede leer o no es un diario
+     */
+    public static long read(Path file, RecordVisitor visitor) throws IOException {
+        ByteBuffer data = map(file);
+        if (!hasValidHeader(data)) {
+            throw new IOException("El archivo no es un diario de duelos: " + file);
+        }
+        long[] records = new long[1];
+        scan(data, visitor, records);
+        return records[0];
+    }
+
+    /**
+     * Longitud en bytes hasta el final del último registro válido, o -1 si
+     * el archivo no tiene una cabecera de diario
+     */
+    static long validLength(Path file) throws IOException {
+        ByteBuffer data = map(file);
+        return hasValidHeader(data) ? scan(data, null, new long[1]) : -1;
+    }
+
+    /**
+     * Último duelo del diario si no llegó a terminar
+     */
+    public static Optional<RecordedDuel> findUnfinishedDuel(Path file) throws IOException {
+        if (!Files.exists(file) || validLength(file) < 0) {
+            return Optional.empty();
+        }
+        DuelCollector collector = new DuelCollector(false);
+        read(file, collector);
+        return Optional.ofNullable(collector.unfinished());
+    }
+
+    /**
+     * Todos los duelos del diario en orden, terminados o no
+     *
+     * @throws IOException Si el archivo no se puede leer o no es un diario
+     */
+    public static List<RecordedDuel> readDuels(Path file) throws IOException {
+        DuelCollector collector = new DuelCollector(true);
+        read(file, collector);
+        return collector.duels();
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static boolean hasValidHeader(ByteBuffer data) {
+        return data.limit() >= DuelJournal.HEADER_BYTES
+            && data.getInt(0) == DuelJournal.MAGIC
+            && data.getInt(Integer.BYTES) == DuelJournal.FORMAT_VERSION;
+    }
+
+    /**
+     * Recorre los registros desde la cabecera
+     *
+     * @param visitor Receptor, o null para solo validar
+     * @param records Salida: registros válidos
+     * @return Desplazamiento del final del último registro válido
+     */
+    private static long scan(ByteBuffer data, RecordVisitor visitor, long[] records) {
+        CRC32 crc = new CRC32();
+        int offset = DuelJournal.HEADER_BYTES;
+        int limit = data.limit();
+
+        while (limit - offset >= Integer.BYTES) {
+            int length = data.getInt(offset);
+            int payloadStart = offset + Integer.BYTES;
+            if (length < 1 || length > limit - payloadStart - Integer.BYTES) {
+                break;
+            }
+            crc.reset();
+            ByteBuffer payload = data.duplicate();
+            payload.position(payloadStart).limit(payloadStart + length);
+            crc.update(payload);
+            if ((int) crc.getValue() != data.getInt(payloadStart + length)) {
+                break;
+            }
+            if (visitor != null && !dispatch(data, payloadStart, length, visitor)) {
+                break;
+            }
+            records[0]++;
+            offset = payloadStart + length + Integer.BYTES;
+        }
+        return offset;
+    }
+
+    /**
+     * Decodifica un registro; devuelve false si el tipo es desconocido
+     */
+    private static boolean dispatch(ByteBuffer data, int start, int length, RecordVisitor visitor) {
+        int p = start + 1;
+        switch (data.get(start)) {
+            case DuelJournal.DUEL_START: {
+                ByteBuffer payload = data.duplicate();
+                payload.position(p).limit(start + length);
+                long seed = payload.getLong();
+                boolean seededAi = (payload.get() & DuelJournal.FLAG_SEEDED_AI) != 0;
+                List<DuelCard> playerDeck = new RecordedDeck(payload);
+                List<DuelCard> aiDeck = new RecordedDeck(payload);
+                visitor.onDuelStart(seed, seededAi, playerDeck, aiDeck);
+                return true;
+            }
+            case DuelJournal.AI_OPENING:
+                visitor.onAiOpening(data.get(p) & 0xFF, data.get(p + 1));
+                return true;
+            case DuelJournal.ROUND:
+                visitor.onRound(data.get(p) & 0xFF, data.get(p + 1),
+                                data.get(p + 2) & 0xFF, data.get(p + 3), data.get(p + 4));
+                return true;
+            case DuelJournal.DUEL_END:
+                visitor.onDuelEnd();
+                return true;
+            case DuelJournal.DUEL_ABANDONED:
+                visitor.onDuelAbandoned();
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Mazo registrado que decodifica sus cartas en el primer acceso
+     * Al construirse solo avanza el buffer hasta el final del mazo
+     */
+    private static final class RecordedDeck extends AbstractList<DuelCard> {
+        private final ByteBuffer payload;
+        private final int size;
+        private List<DuelCard> cards;
+
+        RecordedDeck(ByteBuffer source) {
+            this.size = source.get() & 0xFF;
+            this.payload = source.slice();
+            for (int i = 0; i < size; i++) {
+                source.position(source.position() + 3 * Integer.BYTES);
+                skipString(source);
+                skipString(source);
+                skipString(source);
+            }
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public DuelCard get(int index) {
+            if (cards == null) {
+                cards = decode();
+            }
+            return cards.get(index);
+        }
+
+        private List<DuelCard> decode() {
+            ByteBuffer source = payload.duplicate();
+            List<DuelCard> deck = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                int cardId = source.getInt();
+                int attack = source.getInt();
+                int defense = source.getInt();
+                String name = getString(source);
+                String type = getString(source);
+                String imageUrl = getString(source);
+                // La descripción no se guarda en el diario
+                deck.add(new DuelCard(cardId, name, type, attack, defense, (String) null, imageUrl));
+            }
+            return deck;
+        }
+    }
+
+    private static void skipString(ByteBuffer payload) {
+        int length = payload.getShort();
+        payload.position(payload.position() + length);
+    }
+
+    private static String getString(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.getShort()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Agrupa los registros por duelo
+     * Sin conservar todos, solo guarda el último mientras no aparezca su fin
+     */
+    private static final class DuelCollector implements RecordVisitor {
+        private final boolean keepAll;
+        private final List<RecordedDuel> duels = new ArrayList<>();
+        private RecordedDuel.Builder current;
+
+        DuelCollector(boolean keepAll) {
+            this.keepAll = keepAll;
+        }
+
+        @Override
+        public void onDuelStart(long seed, boolean seededAi, List<DuelCard> playerDeck, List<DuelCard> aiDeck) {
+            closeCurrent(false);
+            current = new RecordedDuel.Builder(seed, seededAi, playerDeck, aiDeck);
+        }
+
+        @Override
+        public void onAiOpening(int aiCard, int aiPosition) {
+            if (current != null) current.aiOpening(aiCard, aiPosition);
+        }
+
+        @Override
+        public void onRound(int playerCard, int playerPosition, int aiCard, int aiPosition, int outcome) {
+            if (current != null) current.round(playerCard, playerPosition, aiCard, aiPosition, outcome);
+        }
+
+        @Override
+        public void onDuelEnd() {
+            closeCurrent(true);
+        }
+
+        @Override
+        public void onDuelAbandoned() {
+            closeCurrent(false);
+        }
+
+        /**
+         * Cierra el duelo en curso; uno sin fin seguido de otro inicio quedó abandonado
+         */
+        private void closeCurrent(boolean finished) {
+            if (current != null && keepAll) {
+                duels.add(current.build(finished));
+            }
+            current = null;
+        }
+
+        RecordedDuel unfinished() {
+            return current == null ? null : current.build(false);
+        }
+
+        List<RecordedDuel> duels() {
+            if (current != null) {
+                duels.add(current.build(false));
+                current = null;
+            }
+            return duels;
+        }
+    }
+}
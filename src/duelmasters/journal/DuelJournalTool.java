@@ -0,0 +1,291 @@
+package duelmasters.journal;
+
+import duelmasters.engine.BattleEngine;
+import duelmasters.engine.CombatEventAdapter;
+import duelmasters.engine.DuelRandom;
+import duelmasters.engine.DuelRules;
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+import duelmasters.headless.HeadlessDuelRunner;
+import duelmasters.headless.HeadlessPlayer;
+import duelmasters.headless.HeadlessPlayers;
+import duelmasters.headless.SyntheticDeckFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Herramienta de línea de comandos del diario de duelos
+ *
+ * Uso: java duelmasters.DuelMastersLauncher --journal [opciones]
+ *   --bench N        Escribe N duelos sin interfaz en un diario, lo vuelve a leer
+ *                    y comprueba la recuperación de un duelo interrumpido (por defecto)
+ *   --dump ARCHIVO   Imprime los registros de un diario
+ *   --file ARCHIVO   Diario del banco de pruebas (por defecto uno temporal)
+ *   --sync S         none | duel | step (por defecto none)
+ *   --seed S         Semilla de mazos y motores
+ *   --hand N         Cartas por mano (por defecto 3)
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class DuelJournalTool {
+
+    private static final int DEFAULT_BENCH_DUELS = 50_000;
+    private static final int READ_PASSES = 10;
+
+    public static void main(String[] args) throws IOException {
+        int duels = DEFAULT_BENCH_DUELS;
+        String dumpFile = null;
+        String benchFile = null;
+        DuelJournal.SyncPolicy syncPolicy = DuelJournal.SyncPolicy.NONE;
+        long seed = System.nanoTime();
+        int handSize = 3;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--bench": duels = Integer.parseInt(args[++i]); break;
+                case "--dump": dumpFile = args[++i]; break;
+                case "--file": benchFile = args[++i]; break;
+                case "--sync": syncPolicy = parseSyncPolicy(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--hand": handSize = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        if (dumpFile != null) {
+            dump(Paths.get(dumpFile));
+            return;
+        }
+
+        Path file = benchFile != null ? Paths.get(benchFile) : Files.createTempFile("duelmasters-", ".journal");
+        try {
+            if (!bench(file, duels, handSize, seed, syncPolicy)) {
+                System.exit(1);
+            }
+        } finally {
+            if (benchFile == null) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static DuelJournal.SyncPolicy parseSyncPolicy(String spec) {
+        switch (spec) {
+            case "none": return DuelJournal.SyncPolicy.NONE;
+            case "duel": return DuelJournal.SyncPolicy.DUEL_BOUNDARIES;
+            case "step": return DuelJournal.SyncPolicy.EVERY_STEP;
+            default: throw new IllegalArgumentException("Política de sincronización desconocida: " + spec);
+        }
+    }
+
+    // ==================== BANCO DE PRUEBAS ====================
+
+    private static boolean bench(Path file, int duels, int handSize, long seed,
+                                 DuelJournal.SyncPolicy syncPolicy) throws IOException {
+        System.out.printf("=== DIARIO DE DUELOS === duelos=%d, mano=%d, sincronización=%s, semilla=%d%n",
+                          duels, handSize, syncPolicy, seed);
+        Files.deleteIfExists(file);
+        Random deckRandom = new Random(seed);
+        HeadlessPlayer player = HeadlessPlayers.greedy();
+
+        // Escritura: el diario es el listener directo de cada motor
+        long writeStart = System.nanoTime();
+        long records;
+        try (DuelJournal journal = DuelJournal.open(file, syncPolicy, Long.MAX_VALUE)) {
+            for (int duel = 0; duel < duels; duel++) {
+                long duelSeed = deckRandom.nextLong();
+                List<DuelCard> playerDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1);
+                List<DuelCard> aiDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1 + handSize);
+                journal.recordDuelStart(duelSeed, true, playerDeck, aiDeck);
+                HeadlessDuelRunner.playDuel(new BattleEngine(playerDeck, aiDeck, journal, new DuelRandom(duelSeed)), player);
+            }
+            records = journal.getRecordsWritten();
+        }
+        double writeSeconds = (System.nanoTime() - writeStart) / 1e9;
+        long bytes = Files.size(file);
+        System.out.printf("Escritura: %,d registros, %.1f MB en %.3f s (%,.0f registros/s, %,.0f duelos/s)%n",
+                          records, bytes / 1e6, writeSeconds, records / writeSeconds, duels / writeSeconds);
+
+        // Lectura: solo se cuentan los registros; la primera pasada calienta la JVM
+        CountingVisitor counter = new CountingVisitor();
+        double bestSeconds = Double.MAX_VALUE;
+        long readRecords = 0;
+        for (int pass = 0; pass < READ_PASSES; pass++) {
+            long readStart = System.nanoTime();
+            readRecords = DuelJournalReader.read(file, counter);
+            bestSeconds = Math.min(bestSeconds, (System.nanoTime() - readStart) / 1e9);
+        }
+        System.out.printf("Lectura: %,d registros en %.1f ms (%,.1f millones de eventos/s, %.0f MB/s)%n",
+                          readRecords, bestSeconds * 1e3, readRecords / bestSeconds / 1e6, bytes / bestSeconds / 1e6);
+
+        boolean ok = readRecords == records;
+        if (!ok) {
+            System.out.println("❌ Se leyeron " + readRecords + " registros de " + records);
+        }
+        return checkRecovery(file, handSize, deckRandom) && ok;
+    }
+
+    /**
+     * Interrumpe un duelo a mitad, añade un registro cortado al final y
+     * comprueba que el motor reconstruido queda en el mismo estado
+     */
+    private static boolean checkRecovery(Path file, int handSize, Random deckRandom) throws IOException {
+        long duelSeed = deckRandom.nextLong();
+        List<DuelCard> playerDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1);
+        List<DuelCard> aiDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1 + handSize);
+        HeadlessPlayer player = HeadlessPlayers.greedy();
+        BattleEngine original;
+
+        try (DuelJournal journal = DuelJournal.open(file, DuelJournal.SyncPolicy.NONE, Long.MAX_VALUE)) {
+            journal.recordDuelStart(duelSeed, true, playerDeck, aiDeck);
+            original = new BattleEngine(playerDeck, aiDeck, journal, new DuelRandom(duelSeed));
+            original.commenceBattle();
+            // Se juegan rondas hasta que alguien quede a una victoria de ganar
+            while (original.isDuelActive() && original.getPlayerVictories() < DuelRules.WINNING_SCORE - 1
+                   && original.getAiVictories() < DuelRules.WINNING_SCORE - 1) {
+                original.setPlayerTacticalChoice(player.chooseMove(original));
+                if (original.getPendingPlayerChoice() != null && original.getPendingAiChoice() != null) {
+                    original.resolvePendingRound();
+                }
+            }
+        }
+
+        // Escritura cortada por la caída: longitud sin datos detrás
+        long validLength = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 1, 0, DuelJournal.ROUND }));
+        }
+
+        long recoverStart = System.nanoTime();
+        Optional<RecordedDuel> recovered = DuelJournalReader.findUnfinishedDuel(file);
+        if (recovered.isEmpty()) {
+            System.out.println("❌ No se encontró el duelo interrumpido");
+            return false;
+        }
+        BattleEngine rebuilt = recovered.get().rebuild(new CombatEventAdapter(), null);
+        double recoverMillis = (System.nanoTime() - recoverStart) / 1e6;
+
+        DuelJournal.open(file, DuelJournal.SyncPolicy.NONE).close();
+        boolean truncated = Files.size(file) == validLength;
+        boolean same = sameState(original, rebuilt);
+        System.out.printf("Recuperación: %d rondas en %.2f ms, estado %s, final cortado %s%n",
+                          recovered.get().getRoundsPlayed(), recoverMillis,
+                          same ? "idéntico ✅" : "distinto ❌", truncated ? "descartado ✅" : "conservado ❌");
+        return same && truncated;
+    }
+
+    private static boolean sameState(BattleEngine a, BattleEngine b) {
+        return a.isDuelActive() == b.isDuelActive()
+            && a.getPlayerVictories() == b.getPlayerVictories()
+            && a.getAiVictories() == b.getAiVictories()
+            && a.getTotalRoundsPlayed() == b.getTotalRoundsPlayed()
+            && a.getPlayerLivesRemaining() == b.getPlayerLivesRemaining()
+            && a.getAiLivesRemaining() == b.getAiLivesRemaining()
+            && sameCards(a.getPlayerActiveCards(), b.getPlayerActiveCards())
+            && sameCards(a.getAiActiveCards(), b.getAiActiveCards())
+            && sameChoice(a.getPendingAiChoice(), b.getPendingAiChoice());
+    }
+
+    private static boolean sameCards(List<DuelCard> a, List<DuelCard> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i).getCardId() != b.get(i).getCardId()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameChoice(TacticalChoice a, TacticalChoice b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.getSelectedCard().getCardId() == b.getSelectedCard().getCardId()
+            && a.getBattlePosition() == b.getBattlePosition();
+    }
+
+    // ==================== VOLCADO ====================
+
+    private static void dump(Path file) throws IOException {
+        BattlePosition[] positions = BattlePosition.values();
+        long records = DuelJournalReader.read(file, new DuelJournalReader.RecordVisitor() {
+            @Override
+            public void onDuelStart(long seed, boolean seededAi, List<DuelCard> playerDeck, List<DuelCard> aiDeck) {
+                System.out.println("INICIO semilla=" + seed + (seededAi ? " (IA sembrada)" : ""));
+                printDeck("  Jugador", playerDeck);
+                printDeck("  IA     ", aiDeck);
+            }
+
+            @Override
+            public void onAiOpening(int aiCard, int aiPosition) {
+                System.out.println("  APERTURA IA carta=" + aiCard + " " + positions[aiPosition]);
+            }
+
+            @Override
+            public void onRound(int playerCard, int playerPosition, int aiCard, int aiPosition, int outcome) {
+                System.out.printf("  RONDA jugador=%d %s | ia=%d %s | resultado=%d%n",
+                                  playerCard, positions[playerPosition], aiCard, positions[aiPosition], outcome);
+            }
+
+            @Override
+            public void onDuelEnd() {
+                System.out.println("FIN");
+            }
+
+            @Override
+            public void onDuelAbandoned() {
+                System.out.println("ABANDONADO");
+            }
+        });
+        System.out.println(records + " registros válidos");
+    }
+
+    private static void printDeck(String label, List<DuelCard> deck) {
+        StringBuilder line = new StringBuilder(label).append(':');
+        for (int i = 0; i < deck.size(); i++) {
+            DuelCard card = deck.get(i);
+            line.append(String.format(" [%d] %s (%d/%d)", i, card.getCardName(),
+                                      card.getAttackPower(), card.getDefensePower()));
+        }
+        System.out.println(line);
+    }
+
+    /**
+     * Solo cuenta: mide el coste de recorrer y validar el diario
+     */
+    private static final class CountingVisitor implements DuelJournalReader.RecordVisitor {
+        long rounds;
+
+        @Override
+        public void onDuelStart(long seed, boolean seededAi, List<DuelCard> playerDeck, List<DuelCard> aiDeck) { }
+
+        @Override
+        public void onAiOpening(int aiCard, int aiPosition) { }
+
+        @Override
+        public void onRound(int playerCard, int playerPosition, int aiCard, int aiPosition, int outcome) {
+            rounds++;
+        }
+
+        @Override
+        public void onDuelEnd() { }
+
+        @Override
+        public void onDuelAbandoned() { }
+    }
+}
@@ -0,0 +1,144 @@
+package duelmasters.journal;
+
+import duelmasters.engine.CombatEventAdapter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Re-ejecuta sin interfaz los duelos registrados en un diario y comprueba
+ * que terminan igual
+ * Cada duelo se juega en un BattleEngine nuevo con su semilla, sus mazos y
+ * las elecciones registradas del jugador. Los duelos con la IA heurística se
+ * re-ejecutan de verdad (la IA vuelve a decidir con el generador del motor y
+ * cada movimiento se compara con el registrado); los de otras IAs usan los
+ * movimientos registrados y comprueban las reglas y el marcador. Los duelos
+ * se reparten entre los hilos de un ForkJoinPool
+ *
+ * Uso: java duelmasters.DuelMastersLauncher --replay [opciones]
+ *   --file ARCHIVO   Diario a re-ejecutar (por defecto ~/.duelmasters/duels.journal)
+ *   --threads N      Hilos del pool (por defecto todos los núcleos)
+ *   --passes N       Repeticiones para medir el rendimiento (por defecto 3)
+ *
+ * Los diarios se generan desde la interfaz o con
+ * --headless --journal ARCHIVO. Termina con código 1 si algún duelo no coincide
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class DuelReplayRunner {
+
+    private static final int MAX_REPORTED_MISMATCHES = 10;
+
+    /**
+     * Resultado de re-ejecutar un diario
+     */
+    public static final class ReplaySummary {
+        private final long duels;
+        private final long reexecuted;
+        private final long rounds;
+        private final long mismatches;
+        private final long elapsedNanos;
+
+        ReplaySummary(long duels, long reexecuted, long rounds, long mismatches, long elapsedNanos) {
+            this.duels = duels;
+            this.reexecuted = reexecuted;
+            this.rounds = rounds;
+            this.mismatches = mismatches;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getDuels() { return duels; }
+        /** Duelos con la IA heurística, re-ejecutados solo desde la semilla */
+        public long getReexecuted() { return reexecuted; }
+        public long getRounds() { return rounds; }
+        public long getMismatches() { return mismatches; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        public double getDuelsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : duels * 1e9 / elapsedNanos;
+        }
+    }
+
+    /**
+     * Re-ejecuta los duelos y cuenta las diferencias
+     *
+     * @param verbose true para imprimir las primeras diferencias
+     */
+    public static ReplaySummary replay(List<RecordedDuel> duels, ForkJoinPool pool, boolean verbose) {
+        LongAdder reexecuted = new LongAdder();
+        LongAdder rounds = new LongAdder();
+        LongAdder mismatches = new LongAdder();
+
+        long start = System.nanoTime();
+        pool.submit(() -> duels.parallelStream().forEach(duel -> {
+            if (duel.isSeededAi()) {
+                reexecuted.increment();
+            }
+            try {
+                duel.replay(new CombatEventAdapter());
+                rounds.add(duel.getRoundsPlayed());
+            } catch (IllegalStateException e) {
+                mismatches.increment();
+                if (verbose && mismatches.sum() <= MAX_REPORTED_MISMATCHES) {
+                    System.out.println("❌ Duelo con semilla " + duel.getSeed() + ": " + e.getMessage());
+                }
+            }
+        })).join();
+        long elapsed = System.nanoTime() - start;
+
+        return new ReplaySummary(duels.size(), reexecuted.sum(), rounds.sum(), mismatches.sum(), elapsed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(System.getProperty("user.home"), ".duelmasters", "duels.journal");
+        int threads = Runtime.getRuntime().availableProcessors();
+        int passes = 3;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--file": file = Paths.get(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--passes": passes = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        long readStart = System.nanoTime();
+        List<RecordedDuel> duels = DuelJournalReader.readDuels(file);
+        double readMillis = (System.nanoTime() - readStart) / 1e6;
+        System.out.printf("=== RE-EJECUCIÓN DE DUELOS === %s: %,d duelos leídos en %.1f ms, hilos=%d%n",
+                          file, duels.size(), readMillis, threads);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        ReplaySummary summary = null;
+        double bestSeconds = Double.MAX_VALUE;
+        try {
+            for (int pass = 0; pass < Math.max(1, passes); pass++) {
+                summary = replay(duels, pool, pass == 0);
+                bestSeconds = Math.min(bestSeconds, summary.getElapsedNanos() / 1e9);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        System.out.printf("Duelos: %,d (%,d re-ejecutados desde la semilla, %,d con movimientos registrados)%n",
+                          summary.getDuels(), summary.getReexecuted(), summary.getDuels() - summary.getReexecuted());
+        System.out.printf("Rondas: %,d | Diferencias: %,d%n", summary.getRounds(), summary.getMismatches());
+        System.out.printf("Rendimiento: %,.0f duelos/s, %,.0f rondas/s%n",
+                          bestSeconds > 0 ? summary.getDuels() / bestSeconds : 0.0,
+                          bestSeconds > 0 ? summary.getRounds() / bestSeconds : 0.0);
+
+        if (summary.getMismatches() > 0) {
+            System.out.println("❌ Hay duelos que no se reproducen igual");
+            System.exit(1);
+        }
+        System.out.println("✅ Todos los duelos se reproducen igual");
+    }
+}
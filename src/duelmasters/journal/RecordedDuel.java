@@ -0,0 +1,223 @@
+package duelmasters.journal;
+
+import duelmasters.engine.AiStrategy;
+import duelmasters.engine.BattleEngine;
+import duelmasters.engine.CombatEventListener;
+import duelmasters.engine.DuelRandom;
+import duelmasters.engine.DuelRules;
+import duelmasters.engine.DuelView;
+import duelmasters.engine.HeuristicAiStrategy;
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Duelo leído del diario, listo para reconstruirse o volver a ejecutarse
+ * El motor se crea con la misma semilla y los mismos mazos y el jugador
+ * repite sus elecciones registradas. Si la IA era la heurística (solo usa el
+ * generador del motor), vuelve a decidir y sus movimientos se comparan con
+ * los registrados; si no, devuelve los movimientos registrados. Tras cada
+ * ronda se comprueba el marcador
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class RecordedDuel {
+
+    private static final BattlePosition[] POSITIONS = BattlePosition.values();
+
+    // Campos por ronda en el arreglo empaquetado
+    private static final int ROUND_FIELDS = 5;
+
+    private final long seed;
+    private final boolean seededAi;
+    private final boolean finished;
+    private final List<DuelCard> playerDeck;
+    private final List<DuelCard> aiDeck;
+    private final int[] rounds;
+    private final int roundCount;
+    private final int pendingAiCard;
+    private final int pendingAiPosition;
+
+    private RecordedDuel(Builder builder, boolean finished) {
+        this.seed = builder.seed;
+        this.seededAi = builder.seededAi;
+        this.finished = finished;
+        this.playerDeck = List.copyOf(builder.playerDeck);
+        this.aiDeck = List.copyOf(builder.aiDeck);
+        this.rounds = Arrays.copyOf(builder.rounds, builder.roundCount * ROUND_FIELDS);
+        this.roundCount = builder.roundCount;
+        this.pendingAiCard = builder.pendingAiCard;
+        this.pendingAiPosition = builder.pendingAiPosition;
+    }
+
+    /**
+     * Acumula los registros de un duelo mientras se lee el diario
+     */
+    static final class Builder {
+        private final long seed;
+        private final boolean seededAi;
+        // Los mazos se copian al construir: solo se decodifican los duelos que se conservan
+        private final List<DuelCard> playerDeck;
+        private final List<DuelCard> aiDeck;
+        private int[] rounds = new int[8 * ROUND_FIELDS];
+        private int roundCount;
+        private int pendingAiCard = -1;
+        private int pendingAiPosition = -1;
+
+        Builder(long seed, boolean seededAi, List<DuelCard> playerDeck, List<DuelCard> aiDeck) {
+            this.seed = seed;
+            this.seededAi = seededAi;
+            this.playerDeck = playerDeck;
+            this.aiDeck = aiDeck;
+        }
+
+        void aiOpening(int aiCard, int aiPosition) {
+            pendingAiCard = aiCard;
+            pendingAiPosition = aiPosition;
+        }
+
+        void round(int playerCard, int playerPosition, int aiCard, int aiPosition, int outcome) {
+            if ((roundCount + 1) * ROUND_FIELDS > rounds.length) {
+                rounds = Arrays.copyOf(rounds, rounds.length * 2);
+            }
+            int base = roundCount++ * ROUND_FIELDS;
+            rounds[base] = playerCard;
+            rounds[base + 1] = playerPosition;
+            rounds[base + 2] = aiCard;
+            rounds[base + 3] = aiPosition;
+            rounds[base + 4] = outcome;
+            pendingAiCard = -1;
+            pendingAiPosition = -1;
+        }
+
+        RecordedDuel build(boolean finished) {
+            return new RecordedDuel(this, finished);
+        }
+    }
+
+    public long getSeed() { return seed; }
+    public boolean isSeededAi() { return seededAi; }
+    public boolean isFinished() { return finished; }
+    public List<DuelCard> getPlayerDeck() { return playerDeck; }
+    public List<DuelCard> getAiDeck() { return aiDeck; }
+    public int getRoundsPlayed() { return roundCount; }
+    public boolean hasPendingAiOpening() { return pendingAiCard >= 0; }
+
+    /**
+     * Reconstruye el motor jugando de nuevo las rondas registradas, para
+     * continuar un duelo interrumpido
+     * Los eventos de la reconstrucción llegan al listener como en el duelo original
+     *
+     * @param listener Listener del motor reconstruido
+     * @param liveStrategy Estrategia de la IA para el resto del duelo, o null
+     *                     para la heurística con el generador del motor (si el
+     *                     duelo se jugó con ella, continúa exactamente igual)
+     * @return El motor en el estado en que quedó el duelo
+     * @throws IllegalStateException Si el diario no coincide con lo que produce el motor
+     */
+    public BattleEngine rebuild(CombatEventListener listener, AiStrategy liveStrategy) {
+        DuelRandom random = new DuelRandom(seed);
+        AiStrategy aiStrategy = seededAi && liveStrategy == null
+            ? new HeuristicAiStrategy(random)
+            : new RecordedAiStrategy(liveStrategy != null ? liveStrategy : new HeuristicAiStrategy(random));
+        BattleEngine engine = new BattleEngine(playerDeck, aiDeck, listener, random, aiStrategy);
+        engine.commenceBattle();
+
+        int playerVictories = 0;
+        int aiVictories = 0;
+        for (int round = 0; round < roundCount; round++) {
+            int base = round * ROUND_FIELDS;
+            engine.setPlayerTacticalChoice(new TacticalChoice(playerDeck.get(rounds[base]),
+                                                              POSITIONS[rounds[base + 1]], "Jugador Humano"));
+            if (engine.getPendingPlayerChoice() == null
+                || !isRecordedAiMove(engine.getPendingAiChoice(), rounds[base + 2], rounds[base + 3])) {
+                throw new IllegalStateException("El diario no coincide con el motor en la ronda " + (round + 1));
+            }
+            engine.resolvePendingRound();
+
+            int outcome = rounds[base + 4];
+            if (outcome == DuelRules.ROUND_PLAYER_WINS) playerVictories++;
+            if (outcome == DuelRules.ROUND_AI_WINS) aiVictories++;
+            if (engine.getPlayerVictories() != playerVictories || engine.getAiVictories() != aiVictories) {
+                throw new IllegalStateException("El resultado de la ronda " + (round + 1) + " no coincide con el diario");
+            }
+        }
+
+        if (pendingAiCard >= 0 && !isRecordedAiMove(engine.getPendingAiChoice(), pendingAiCard, pendingAiPosition)) {
+            throw new IllegalStateException("La apertura pendiente de la IA no coincide con el diario");
+        }
+        return engine;
+    }
+
+    /**
+     * Vuelve a ejecutar el duelo completo y comprueba que termina igual que
+     * el registrado
+     *
+     * @param listener Listener del motor (por ejemplo un CombatEventAdapter)
+     * @return El motor al final del duelo
+     * @throws IllegalStateException Si algún movimiento o resultado no coincide
+     */
+    public BattleEngine replay(CombatEventListener listener) {
+        BattleEngine engine = rebuild(listener, null);
+        if (engine.isDuelActive() == finished) {
+            throw new IllegalStateException(finished
+                ? "El duelo registrado terminó pero el motor sigue activo"
+                : "El motor terminó un duelo que el diario no cierra");
+        }
+        return engine;
+    }
+
+    private boolean isRecordedAiMove(TacticalChoice aiChoice, int aiCard, int aiPosition) {
+        return aiChoice != null
+            && aiChoice.getSelectedCard() == aiDeck.get(aiCard)
+            && aiChoice.getBattlePosition() == POSITIONS[aiPosition];
+    }
+
+    /**
+     * Movimiento registrado de la IA para la ronda indicada, o null si el
+     * diario no lo tiene (después de la última ronda registrada)
+     */
+    private TacticalChoice recordedAiMove(int round) {
+        if (round < roundCount) {
+            int base = round * ROUND_FIELDS;
+            return new TacticalChoice(aiDeck.get(rounds[base + 2]), POSITIONS[rounds[base + 3]], "IA Estratégica");
+        }
+        if (round == roundCount && pendingAiCard >= 0) {
+            return new TacticalChoice(aiDeck.get(pendingAiCard), POSITIONS[pendingAiPosition], "IA Estratégica");
+        }
+        return null;
+    }
+
+    /**
+     * Devuelve los movimientos registrados de la IA (la ronda sale de las ya
+     * jugadas) y, después de ellos, delega en la estrategia real
+     */
+    private final class RecordedAiStrategy implements AiStrategy {
+        private final AiStrategy live;
+
+        RecordedAiStrategy(AiStrategy live) {
+            this.live = live;
+        }
+
+        @Override
+        public TacticalChoice chooseOpeningMove(DuelView view) {
+            TacticalChoice move = recordedAiMove(view.getTotalRoundsPlayed());
+            return move != null ? move : live.chooseOpeningMove(view);
+        }
+
+        @Override
+        public TacticalChoice chooseResponse(DuelView view, TacticalChoice playerChoice) {
+            TacticalChoice move = recordedAiMove(view.getTotalRoundsPlayed());
+            return move != null ? move : live.chooseResponse(view, playerChoice);
+        }
+
+        @Override
+        public String getDescription() {
+            return live.getDescription();
+        }
+    }
+}
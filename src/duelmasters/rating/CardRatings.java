@@ -0,0 +1,181 @@
+package duelmasters.rating;
+
+import duelmasters.engine.CombatEventAdapter;
+import duelmasters.engine.DuelRules;
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ratings Elo de cartas y de carta×posición a partir de las rondas resueltas
+ * Cada ronda es una partida entre la carta del jugador y la de la IA: se
+ * actualiza el rating de ambas cartas y el de ambas cartas en la posición en
+ * que jugaron. Sustituye a las bandas estáticas de poder (nivel, rareza) por
+ * una fuerza medida en duelos reales
+ *
+ * Como listener se comparte entre todos los motores de un proceso, en
+ * cualquier hilo. Los ratings viven en un ConcurrentHashMap y cada
+ * actualización bloquea solo las franjas de sus dos claves (en orden fijo,
+ * sin interbloqueos), así que los hilos que juegan otras cartas no esperan
+ *
+ * El factor K empieza en K_PROVISIONAL y baja a K_ESTABLISHED cuando la
+ * entrada acumula PROVISIONAL_ROUNDS rondas
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class CardRatings extends CombatEventAdapter {
+
+    public static final double INITIAL_RATING = 1500.0;
+    public static final double K_PROVISIONAL = 32.0;
+    public static final double K_ESTABLISHED = 16.0;
+    public static final int PROVISIONAL_ROUNDS = 30;
+
+    private static final int POSITION_COUNT = BattlePosition.values().length;
+    private static final BattlePosition[] POSITIONS = BattlePosition.values();
+
+    // La clave de la carta en general usa el hueco siguiente a las posiciones
+    private static final int CARD_SLOT = POSITION_COUNT;
+    private static final int SLOTS = POSITION_COUNT + 1;
+
+    private static final int STRIPES = 64;
+
+    private final Map<Long, Rating> ratings = new ConcurrentHashMap<>();
+    private final Map<Integer, String> cardNames = new ConcurrentHashMap<>();
+    private final Object[] stripes = new Object[STRIPES];
+
+    /**
+     * Rating de una entrada; se modifica solo con la franja de su clave bloqueada
+     */
+    private static final class Rating {
+        double value = INITIAL_RATING;
+        long rounds;
+        long wins;
+        long ties;
+    }
+
+    public CardRatings() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    @Override
+    public void onRoundResolved(TacticalChoice playerChoice, TacticalChoice aiChoice,
+                                String attackingPlayer, String roundVictor) {
+        DuelCard playerCard = playerChoice.getSelectedCard();
+        DuelCard aiCard = aiChoice.getSelectedCard();
+        cardNames.putIfAbsent(playerCard.getCardId(), playerCard.getCardName());
+        cardNames.putIfAbsent(aiCard.getCardId(), aiCard.getCardName());
+        recordRound(playerCard.getCardId(), playerChoice.getBattlePosition().ordinal(),
+                    aiCard.getCardId(), aiChoice.getBattlePosition().ordinal(),
+                    DuelRules.resolveRound(playerChoice.getEffectiveBattlePower(), playerCard.getLevel(),
+                                           aiChoice.getEffectiveBattlePower(), aiCard.getLevel()));
+    }
+
+    /**
+     * Registra una ronda por identificadores, para simulaciones que no usan
+     * TacticalChoice
+     *
+     * @param outcome DuelRules.ROUND_PLAYER_WINS, ROUND_AI_WINS o ROUND_TIE
+     */
+    public void recordRound(int playerCardId, int playerPosition, int aiCardId, int aiPosition, int outcome) {
+        double playerScore = outcome == DuelRules.ROUND_PLAYER_WINS ? 1.0
+                           : outcome == DuelRules.ROUND_AI_WINS ? 0.0 : 0.5;
+        update(key(playerCardId, CARD_SLOT), key(aiCardId, CARD_SLOT), playerScore);
+        update(key(playerCardId, playerPosition), key(aiCardId, aiPosition), playerScore);
+    }
+
+    /**
+     * Actualización Elo de una partida entre dos entradas
+     * Una carta contra sí misma (misma clave) no cambia su rating
+     */
+    private void update(long keyA, long keyB, double scoreA) {
+        if (keyA == keyB) {
+            return;
+        }
+        Rating a = ratings.computeIfAbsent(keyA, k -> new Rating());
+        Rating b = ratings.computeIfAbsent(keyB, k -> new Rating());
+        int stripeA = stripe(keyA);
+        int stripeB = stripe(keyB);
+        Object first = stripes[Math.min(stripeA, stripeB)];
+        Object second = stripes[Math.max(stripeA, stripeB)];
+
+        synchronized (first) {
+            synchronized (second) {
+                double expectedA = 1.0 / (1.0 + Math.pow(10.0, (b.value - a.value) / 400.0));
+                double deltaA = kFactor(a) * (scoreA - expectedA);
+                double deltaB = kFactor(b) * (expectedA - scoreA);
+                a.value += deltaA;
+                b.value += deltaB;
+                record(a, scoreA);
+                record(b, 1.0 - scoreA);
+            }
+        }
+    }
+
+    private static void record(Rating rating, double score) {
+        rating.rounds++;
+        if (score == 1.0) rating.wins++;
+        else if (score == 0.5) rating.ties++;
+    }
+
+    private static double kFactor(Rating rating) {
+        return rating.rounds < PROVISIONAL_ROUNDS ? K_PROVISIONAL : K_ESTABLISHED;
+    }
+
+    private static long key(int cardId, int slot) {
+        return (long) cardId * SLOTS + slot;
+    }
+
+    private static int stripe(long key) {
+        long z = key * 0x9E3779B97F4A7C15L;
+        return (int) (z >>> 58) & (STRIPES - 1);
+    }
+
+    /**
+     * Rating actual de una carta (INITIAL_RATING si no ha jugado)
+     */
+    public double getCardRating(int cardId) {
+        return read(key(cardId, CARD_SLOT)).getRating();
+    }
+
+    /**
+     * Rating actual de una carta en una posición
+     */
+    public double getPositionRating(int cardId, BattlePosition position) {
+        return read(key(cardId, position.ordinal())).getRating();
+    }
+
+    private RatingSnapshot.Entry read(long key) {
+        int cardId = (int) Math.floorDiv(key, SLOTS);
+        int slot = Math.floorMod(key, SLOTS);
+        BattlePosition position = slot == CARD_SLOT ? null : POSITIONS[slot];
+        Rating rating = ratings.get(key);
+        if (rating == null) {
+            return new RatingSnapshot.Entry(cardId, cardNames.get(cardId), position, INITIAL_RATING, 0, 0, 0);
+        }
+        synchronized (stripes[stripe(key)]) {
+            return new RatingSnapshot.Entry(cardId, cardNames.get(cardId), position,
+                                            rating.value, rating.rounds, rating.wins, rating.ties);
+        }
+    }
+
+    /**
+     * Copia de todos los ratings, de mayor a menor
+     * Cada entrada es coherente por sí misma; con duelos en curso, entradas
+     * distintas pueden reflejar momentos ligeramente distintos
+     */
+    public RatingSnapshot snapshot() {
+        List<RatingSnapshot.Entry> entries = new ArrayList<>(ratings.size());
+        for (Long key : ratings.keySet()) {
+            entries.add(read(key));
+        }
+        return new RatingSnapshot(entries);
+    }
+}
@@ -0,0 +1,112 @@
+package duelmasters.rating;
+
+import duelmasters.entities.BattlePosition;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Copia inmutable de los ratings de CardRatings, de mayor a menor rating
+ * Se puede consultar o exportar a CSV mientras los duelos siguen
+ * actualizando los ratings originales
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class RatingSnapshot {
+
+    /**
+     * Rating de una carta (posición null) o de una carta en una posición
+     */
+    public static final class Entry {
+        private final int cardId;
+        private final String cardName;
+        private final BattlePosition position;
+        private final double rating;
+        private final long rounds;
+        private final long wins;
+        private final long ties;
+
+        Entry(int cardId, String cardName, BattlePosition position, double rating,
+              long rounds, long wins, long ties) {
+            this.cardId = cardId;
+            this.cardName = cardName;
+            this.position = position;
+            this.rating = rating;
+            this.rounds = rounds;
+            this.wins = wins;
+            this.ties = ties;
+        }
+
+        public int getCardId() { return cardId; }
+        /** Nombre de la carta, o null si solo se registró por identificador */
+        public String getCardName() { return cardName; }
+        /** Posición, o null para el rating de la carta en cualquier posición */
+        public BattlePosition getPosition() { return position; }
+        public double getRating() { return rating; }
+        public long getRounds() { return rounds; }
+        public long getWins() { return wins; }
+        public long getTies() { return ties; }
+        public long getLosses() { return rounds - wins - ties; }
+    }
+
+    private final List<Entry> entries;
+
+    RatingSnapshot(List<Entry> entries) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingDouble((Entry entry) -> -entry.getRating())
+                              .thenComparingInt(Entry::getCardId)
+                              .thenComparingInt(entry -> entry.getPosition() == null ? -1 : entry.getPosition().ordinal()));
+        this.entries = List.copyOf(sorted);
+    }
+
+    /** Todas las entradas, de mayor a menor rating */
+    public List<Entry> getEntries() { return entries; }
+
+    /** Ratings de carta en cualquier posición, de mayor a menor */
+    public List<Entry> getCardEntries() {
+        return entries.stream().filter(entry -> entry.getPosition() == null).collect(Collectors.toList());
+    }
+
+    /** Ratings de carta en una posición, de mayor a menor */
+    public List<Entry> getPositionEntries(BattlePosition position) {
+        return entries.stream().filter(entry -> entry.getPosition() == position).collect(Collectors.toList());
+    }
+
+    /**
+     * Exporta la instantánea a CSV (una fila por entrada; posición vacía
+     * para el rating de la carta)
+     */
+    public void writeCsv(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("card_id,nombre,posicion,rating,rondas,victorias,empates,derrotas");
+            writer.newLine();
+            for (Entry entry : entries) {
+                writer.write(String.format(Locale.ROOT, "%d,%s,%s,%.2f,%d,%d,%d,%d",
+                                           entry.getCardId(), csvField(entry.getCardName()),
+                                           entry.getPosition() == null ? "" : entry.getPosition().name(),
+                                           entry.getRating(), entry.getRounds(), entry.getWins(),
+                                           entry.getTies(), entry.getLosses()));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,5 +1,6 @@
 package duelmasters.services;
 
+import duelmasters.entities.CardDescription;
 import duelmasters.entities.DuelCard;
 
 import java.io.IOException;
@@ -9,6 +10,8 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -162,10 +165,35 @@ public class DuelCardsService {
         throw new IOException("No se pudo completar la petición HTTP");
     }
 
+    /**
+     * Carga las cartas de batalla de un catálogo JSON guardado localmente
+     *
+     * @param cardsFile Archivo con la respuesta de cardinfo.php
+     * @param requiredTypes Tipos que deben tener todas las cartas (bits de
+     *                      CardTypeFlags; 0 para no filtrar)
+     * @return Cartas de batalla del catálogo, en su orden
+     * @throws IOException Si el archivo no se puede leer o procesar
+     */
+    public List<DuelCard> loadBattleCards(Path cardsFile, int requiredTypes) throws IOException {
+        String json = Files.readString(cardsFile, StandardCharsets.UTF_8);
+        List<DuelCard> battleCards = new ArrayList<>();
+        for (DuelCard card : parseCardsFromJson(json)) {
+            if (card.isBattleCreature() && card.hasTypes(requiredTypes)) {
+                battleCards.add(card);
+            }
+        }
+        return battleCards;
+    }
+
     /**
      * Parsea las cartas desde una respuesta JSON de la API
+     * También sirve para catálogos guardados localmente (respuesta de cardinfo.php)
+     *
+     * @param jsonResponse Cuerpo JSON con el array "data"
+     * @return Lista de cartas parseadas (vacía si no hay array "data")
+     * @throws IOException Si el contenido no se puede procesar
      */
-    private List<DuelCard> parseCardsFromJson(String jsonResponse) throws IOException {
+    public List<DuelCard> parseCardsFromJson(String jsonResponse) throws IOException {
         // Buscar el array "data" en la respuesta
         int dataIndex = jsonResponse.indexOf("\"data\"");
         if (dataIndex < 0) {
@@ -244,7 +272,11 @@ public class DuelCardsService {
             String cardType = extractStringValue(cardJson, "\"type\"\\s*:\\s*\"([^\"]+)\"");
             int attackPower = extractIntegerValue(cardJson, "\"atk\"\\s*:\\s*(null|\\d+)", 0);
             int defensePower = extractIntegerValue(cardJson, "\"def\"\\s*:\\s*(null|\\d+)", 0);
-            String description = extractStringValue(cardJson, "\"desc\"\\s*:\\s*\"([^\"]+)\"");
+            // La descripción se guarda comprimida y con los escapes JSON; se decodifica al leerla.
+            // Las comillas escapadas (\") no cortan el texto
+            String rawDescription = extractRawValue(cardJson, "\"desc\"\\s*:\\s*\"([^\"\\\\]*+(?:\\\\.[^\"\\\\]*+)*+)\"");
+            CardDescription description = rawDescription != null && !rawDescription.isEmpty()
+                ? CardDescription.of(rawDescription, DuelCardsService::unescapeJsonString) : null;
             String imageUrl = extractCardImageUrl(cardJson);
 
             return new DuelCard(cardId, cardName, cardType, attackPower, 
@@ -279,12 +311,18 @@ public class DuelCardsService {
      * Extrae un valor de texto usando expresión regular
      */
     private String extractStringValue(String json, String regex) {
+        return unescapeJsonString(extractRawValue(json, regex));
+    }
+
+    /**
+     * Extrae un valor de texto sin decodificar los escapes JSON
+     */
+    private String extractRawValue(String json, String regex) {
         Pattern pattern = Pattern.compile(regex, Pattern.DOTALL);
         Matcher matcher = pattern.matcher(json);
         
         if (matcher.find()) {
-            String value = matcher.group(1);
-            return unescapeJsonString(value);
+            return matcher.group(1);
         }
         return null;
     }
@@ -333,15 +371,54 @@ public class DuelCardsService {
 
     /**
      * Decodifica caracteres escapados en strings JSON
+     * Un solo recorrido sin expresiones regulares; los escapes desconocidos o
+     * incompletos se dejan tal cual
+     * Estática y pública para poder medirla por separado (CardParsingBenchmark, en jmh/)
      */
-    private String unescapeJsonString(String input) {
+    public static String unescapeJsonString(String input) {
         if (input == null) return null;
-        
-        return input.replaceAll("\\\\\"", "\"")
-                   .replaceAll("\\\\/", "/")
-                   .replaceAll("\\\\n", "\n")
-                   .replaceAll("\\\\r", "\r")
-                   .replaceAll("\\\\t", "\t")
-                   .replaceAll("\\\\\\\\", "\\\\");
+        int backslash = input.indexOf('\\');
+        if (backslash < 0) {
+            return input;
+        }
+
+        int length = input.length();
+        StringBuilder text = new StringBuilder(length);
+        text.append(input, 0, backslash);
+        for (int i = backslash; i < length; i++) {
+            char c = input.charAt(i);
+            if (c != '\\' || i + 1 == length) {
+                text.append(c);
+                continue;
+            }
+            char escaped = input.charAt(i + 1);
+            switch (escaped) {
+                case '"': case '/': case '\\': text.append(escaped); i++; break;
+                case 'n': text.append('\n'); i++; break;
+                case 'r': text.append('\r'); i++; break;
+                case 't': text.append('\t'); i++; break;
+                case 'b': text.append('\b'); i++; break;
+                case 'f': text.append('\f'); i++; break;
+                case 'u':
+                    if (i + 6 <= length && isHex(input, i + 2, i + 6)) {
+                        text.append((char) Integer.parseInt(input, i + 2, i + 6, 16));
+                        i += 5;
+                    } else {
+                        text.append(c);
+                    }
+                    break;
+                default: text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    private static boolean isHex(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (Character.digit(text.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
     }
 }
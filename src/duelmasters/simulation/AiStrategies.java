@@ -0,0 +1,47 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.AiStrategy;
+import duelmasters.engine.HeuristicAiStrategy;
+
+import java.util.Random;
+
+/**
+ * Fábrica de estrategias de IA a partir de su especificación de texto
+ * (línea de comandos y propiedad -Dduelmasters.ai)
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class AiStrategies {
+
+    private AiStrategies() { }
+
+    /**
+     * Crea una estrategia
+     *
+     * @param spec "heuristic", "mcts", "mcts:MS", "mcts:MS:HILOS", "solver" o "solver:MODELO"
+     *             (MODELO: random | greedy | mirror | adversarial)
+     * @param seed Semilla de los generadores de la estrategia
+     * @return La estrategia configurada
+     * @throws IllegalArgumentException Si la especificación no es válida
+     */
+    public static AiStrategy fromSpec(String spec, long seed) {
+        if (spec.equals("heuristic")) {
+            return new HeuristicAiStrategy(new Random(seed));
+        }
+        if (spec.equals("mcts") || spec.startsWith("mcts:")) {
+            String[] parts = spec.split(":");
+            long budgetMillis = parts.length > 1 ? Long.parseLong(parts[1]) : MctsAiStrategy.DEFAULT_BUDGET_MILLIS;
+            int threads = parts.length > 2 ? Integer.parseInt(parts[2]) : Runtime.getRuntime().availableProcessors();
+            return new MctsAiStrategy(budgetMillis, threads, PlayerPolicy.GREEDY, 0, seed);
+        }
+        if (spec.equals("solver") || spec.startsWith("solver:")) {
+            String[] parts = spec.split(":");
+            String model = parts.length > 1 ? parts[1] : "greedy";
+            PlayerPolicy opponentModel = model.equals("adversarial") ? null : PlayerPolicy.valueOf(model.toUpperCase());
+            return new SolverAiStrategy(opponentModel, new HeuristicAiStrategy(new Random(seed)),
+                                        SolverAiStrategy.DEFAULT_EXACT_HAND_LIMIT);
+        }
+        throw new IllegalArgumentException("Estrategia de IA desconocida: " + spec);
+    }
+}
@@ -0,0 +1,126 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.AiStrategy;
+import duelmasters.engine.BattleEngine;
+import duelmasters.engine.CombatEventAdapter;
+import duelmasters.engine.HeuristicAiStrategy;
+import duelmasters.entities.DuelCard;
+import duelmasters.headless.HeadlessDuelRunner;
+import duelmasters.headless.HeadlessPlayers;
+import duelmasters.headless.SyntheticDeckFactory;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compara la IA heurística con la IA Monte Carlo (MctsAiStrategy) sobre BattleEngine
+ * Cada duelo se juega dos veces con las mismas manos, el mismo jugador
+ * automático y la misma elección de quién inicia; solo cambia la estrategia.
+ * Informa la puntuación de cada IA (victoria 1, empate 0.5) con su intervalo
+ * de confianza del 95% y la diferencia pareada
+ *
+ * Uso: java duelmasters.simulation.AiStrategyComparison [opciones]
+ *   --duels N      Duelos por estrategia (por defecto 500)
+ *   --seed S       Semilla de manos, jugadores y estrategias
+ *   --budget MS    Presupuesto de la MCTS por movimiento (por defecto 20)
+ *   --threads N    Hilos de la MCTS (por defecto todos los núcleos)
+ *   --player P     random | greedy (por defecto greedy)
+ *   --model P      Modelo del jugador dentro de la MCTS: random | greedy | mirror (por defecto greedy)
+ *   --hand N       Cartas por mano (por defecto 5)
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class AiStrategyComparison {
+
+    public static void main(String[] args) {
+        int duels = 500;
+        long seed = 42;
+        long budgetMillis = MctsAiStrategy.DEFAULT_BUDGET_MILLIS;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String playerSpec = "greedy";
+        PlayerPolicy model = PlayerPolicy.GREEDY;
+        int handSize = 5;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--duels": duels = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--budget": budgetMillis = Long.parseLong(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--player": playerSpec = args[++i]; break;
+                case "--model": model = PlayerPolicy.valueOf(args[++i].toUpperCase()); break;
+                case "--hand": handSize = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        System.out.printf("=== HEURÍSTICA vs MCTS === duelos=%d, jugador=%s, mano=%d, presupuesto=%d ms, hilos=%d, semilla=%d%n",
+                          duels, playerSpec, handSize, budgetMillis, threads, seed);
+
+        Random deckRandom = new Random(seed);
+        double heuristicTotal = 0;
+        double mctsTotal = 0;
+        double differenceSquares = 0;
+        double heuristicSquares = 0;
+        double mctsSquares = 0;
+
+        try (MctsAiStrategy mcts = new MctsAiStrategy(budgetMillis, threads, model, 0, seed)) {
+            for (int duel = 0; duel < duels; duel++) {
+                List<DuelCard> playerDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1);
+                List<DuelCard> aiDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1 + handSize);
+                long duelSeed = deckRandom.nextLong();
+
+                double heuristicScore = playDuel(playerDeck, aiDeck, playerSpec, duelSeed,
+                                                 new HeuristicAiStrategy(new Random(duelSeed ^ 0x5DEECE66DL)));
+                double mctsScore = playDuel(playerDeck, aiDeck, playerSpec, duelSeed, mcts);
+
+                heuristicTotal += heuristicScore;
+                mctsTotal += mctsScore;
+                heuristicSquares += heuristicScore * heuristicScore;
+                mctsSquares += mctsScore * mctsScore;
+                differenceSquares += (mctsScore - heuristicScore) * (mctsScore - heuristicScore);
+            }
+
+            System.out.println("--------------------------------------------");
+            printScore("Heurística", heuristicTotal, heuristicSquares, duels);
+            printScore("MCTS      ", mctsTotal, mctsSquares, duels);
+            double meanDifference = (mctsTotal - heuristicTotal) / duels;
+            double differenceError = standardError(mctsTotal - heuristicTotal, differenceSquares, duels);
+            System.out.printf("Diferencia pareada: %+.3f ± %.3f%n", meanDifference, 1.96 * differenceError);
+            System.out.printf("MCTS: %,d simulaciones en %d movimientos (%,.0f por movimiento), %,.0f simulaciones/s%n",
+                              mcts.getTotalRollouts(), mcts.getMovesSearched(),
+                              mcts.getMovesSearched() == 0 ? 0.0 : (double) mcts.getTotalRollouts() / mcts.getMovesSearched(),
+                              mcts.getRolloutsPerSecond());
+        }
+    }
+
+    /**
+     * Juega un duelo y devuelve la puntuación de la IA
+     */
+    private static double playDuel(List<DuelCard> playerDeck, List<DuelCard> aiDeck, String playerSpec,
+                                   long duelSeed, AiStrategy strategy) {
+        BattleEngine engine = new BattleEngine(playerDeck, aiDeck, new CombatEventAdapter(),
+                                               new Random(duelSeed), strategy);
+        HeadlessDuelRunner.DuelResult result =
+            HeadlessDuelRunner.playDuel(engine, HeadlessPlayers.fromSpec(playerSpec, duelSeed));
+        if (result.isAiWin()) return 1.0;
+        if (result.isDraw()) return 0.5;
+        return 0.0;
+    }
+
+    private static void printScore(String label, double total, double squares, int duels) {
+        System.out.printf("%s: %.3f ± %.3f%n", label, total / duels, 1.96 * standardError(total, squares, duels));
+    }
+
+    private static double standardError(double total, double squares, int samples) {
+        if (samples < 2) {
+            return 0.0;
+        }
+        double mean = total / samples;
+        double variance = (squares - samples * mean * mean) / (samples - 1);
+        return Math.sqrt(Math.max(0.0, variance) / samples);
+    }
+}
@@ -0,0 +1,309 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.DuelRules;
+import duelmasters.engine.DuelView;
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Estado compacto de un duelo para los caminos críticos de simulación
+ * Las manos restantes son máscaras de bits sobre el índice de la carta en el
+ * mazo, las posiciones son ordinales de BattlePosition y los resultados son
+ * las constantes enteras de DuelRules. Resolver una ronda no crea objetos
+ *
+ * Como BattleEngine restaura las cartas en el orden del mazo y List.remove
+ * conserva el orden, la k-ésima carta activa del motor es el k-ésimo bit
+ * encendido de la máscara: los índices aleatorios de la IA coinciden
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class CompactDuelState {
+
+    /** Máximo de cartas por mano (bits de un long) */
+    public static final int MAX_HAND_SIZE = 64;
+
+    public static final int OFFENSIVE = BattlePosition.OFFENSIVE.ordinal();
+    public static final int DEFENSIVE = BattlePosition.DEFENSIVE.ordinal();
+    public static final int TACTICAL = BattlePosition.TACTICAL.ordinal();
+    public static final int POSITION_COUNT = BattlePosition.values().length;
+
+    // values() copia el arreglo en cada llamada
+    private static final BattlePosition[] POSITIONS = BattlePosition.values();
+
+    // Cartas en arreglos paralelos, compartidos entre copias del estado
+    private final int[] playerAttack;
+    private final int[] playerDefense;
+    private final int[] playerLevel;
+    private final int[] playerTotal;
+    private final int[] aiAttack;
+    private final int[] aiDefense;
+    private final int[] aiLevel;
+    private final int[] aiTotal;
+    private final long playerFullHand;
+    private final long aiFullHand;
+    private final MatchupTable matchups;
+
+    // Estado del duelo
+    private long playerHand;
+    private long aiHand;
+    private int playerVictories;
+    private int aiVictories;
+    private int playerLives;
+    private int aiLives;
+    private int roundsPlayed;
+    private int tiedRounds;
+    private boolean playerTurn;
+
+    /**
+     * Crea el estado a partir de los mazos, en el orden en que los usa BattleEngine
+     *
+     * @throws IllegalArgumentException Si alguna mano supera MAX_HAND_SIZE cartas
+     */
+    public CompactDuelState(List<DuelCard> playerDeck, List<DuelCard> aiDeck) {
+        if (playerDeck.size() > MAX_HAND_SIZE || aiDeck.size() > MAX_HAND_SIZE) {
+            throw new IllegalArgumentException("El estado compacto admite hasta " + MAX_HAND_SIZE + " cartas por mano");
+        }
+        this.playerAttack = new int[playerDeck.size()];
+        this.playerDefense = new int[playerDeck.size()];
+        this.playerLevel = new int[playerDeck.size()];
+        this.playerTotal = new int[playerDeck.size()];
+        copyStats(playerDeck, playerAttack, playerDefense, playerLevel, playerTotal);
+
+        this.aiAttack = new int[aiDeck.size()];
+        this.aiDefense = new int[aiDeck.size()];
+        this.aiLevel = new int[aiDeck.size()];
+        this.aiTotal = new int[aiDeck.size()];
+        copyStats(aiDeck, aiAttack, aiDefense, aiLevel, aiTotal);
+
+        this.playerFullHand = fullMask(playerDeck.size());
+        this.aiFullHand = fullMask(aiDeck.size());
+        this.matchups = new MatchupTable(playerDeck, aiDeck);
+        reset(true);
+    }
+
+    /**
+     * Copia con las mismas cartas y el mismo estado (para exploraciones que
+     * modifican su propia copia)
+     */
+    public CompactDuelState(CompactDuelState other) {
+        this.playerAttack = other.playerAttack;
+        this.playerDefense = other.playerDefense;
+        this.playerLevel = other.playerLevel;
+        this.playerTotal = other.playerTotal;
+        this.aiAttack = other.aiAttack;
+        this.aiDefense = other.aiDefense;
+        this.aiLevel = other.aiLevel;
+        this.aiTotal = other.aiTotal;
+        this.playerFullHand = other.playerFullHand;
+        this.aiFullHand = other.aiFullHand;
+        this.matchups = other.matchups;
+        copyFrom(other);
+    }
+
+    /**
+     * Estado compacto de la posición actual de un duelo en curso: las manos
+     * son las cartas activas de la vista, con el marcador, las vidas y las
+     * rondas ya jugadas y empatadas
+     *
+     * @param playerTurn true si el jugador abre la ronda actual
+     */
+    public static CompactDuelState fromView(DuelView view, boolean playerTurn) {
+        CompactDuelState state = new CompactDuelState(view.getPlayerActiveCards(), view.getAiActiveCards());
+        state.playerVictories = view.getPlayerVictories();
+        state.aiVictories = view.getAiVictories();
+        state.playerLives = view.getPlayerLivesRemaining();
+        state.aiLives = view.getAiLivesRemaining();
+        state.roundsPlayed = view.getTotalRoundsPlayed();
+        state.tiedRounds = view.getTiedRounds();
+        state.playerTurn = playerTurn;
+        return state;
+    }
+
+    private static void copyStats(List<DuelCard> deck, int[] attack, int[] defense, int[] level, int[] total) {
+        for (int i = 0; i < deck.size(); i++) {
+            DuelCard card = deck.get(i);
+            attack[i] = card.getAttackPower();
+            defense[i] = card.getDefensePower();
+            level[i] = card.getLevel();
+            total[i] = card.getTotalBattlePower();
+        }
+    }
+
+    private static long fullMask(int size) {
+        return size == MAX_HAND_SIZE ? -1L : (1L << size) - 1;
+    }
+
+    /**
+     * Restaura el estado de otra instancia con las mismas cartas, sin crear objetos
+     */
+    public void copyFrom(CompactDuelState other) {
+        this.playerHand = other.playerHand;
+        this.aiHand = other.aiHand;
+        this.playerVictories = other.playerVictories;
+        this.aiVictories = other.aiVictories;
+        this.playerLives = other.playerLives;
+        this.aiLives = other.aiLives;
+        this.roundsPlayed = other.roundsPlayed;
+        this.tiedRounds = other.tiedRounds;
+        this.playerTurn = other.playerTurn;
+    }
+
+    /**
+     * Equivalente a resetDuelState más la elección de quién inicia
+     */
+    public void reset(boolean playerStarts) {
+        playerHand = playerFullHand;
+        aiHand = aiFullHand;
+        playerVictories = 0;
+        aiVictories = 0;
+        playerLives = DuelRules.INITIAL_LIVES;
+        aiLives = DuelRules.INITIAL_LIVES;
+        roundsPlayed = 0;
+        tiedRounds = 0;
+        playerTurn = playerStarts;
+    }
+
+    /**
+     * Resuelve una ronda como BattleEngine.resolvePendingRound: actualiza
+     * marcador y vidas, retira ambas cartas y alterna el turno si el duelo sigue.
+     * El resultado sale de la tabla de enfrentamientos del par de mazos
+     *
+     * @param playerCard Índice en el mazo de la carta del jugador (debe seguir en la mano)
+     * @param playerPosition Ordinal de la posición del jugador
+     * @param aiCard Índice en el mazo de la carta de la IA (debe seguir en la mano)
+     * @param aiPosition Ordinal de la posición de la IA
+     * @return DuelRules.ROUND_PLAYER_WINS, ROUND_AI_WINS o ROUND_TIE
+     */
+    public int resolveRound(int playerCard, int playerPosition, int aiCard, int aiPosition) {
+        int outcome = matchups.outcome(playerCard, playerPosition, aiCard, aiPosition);
+
+        if (outcome == DuelRules.ROUND_PLAYER_WINS) {
+            playerVictories++;
+            aiLives = Math.max(0, aiLives - 1);
+        } else if (outcome == DuelRules.ROUND_AI_WINS) {
+            aiVictories++;
+            playerLives = Math.max(0, playerLives - 1);
+        } else {
+            tiedRounds++;
+        }
+
+        playerHand &= ~(1L << playerCard);
+        aiHand &= ~(1L << aiCard);
+        roundsPlayed++;
+
+        if (!isFinished()) {
+            playerTurn = !playerTurn;
+        }
+        return outcome;
+    }
+
+    /**
+     * Mismo criterio que DuelRules.shouldEndDuel
+     */
+    public boolean isFinished() {
+        return DuelRules.shouldEndDuel(playerVictories, aiVictories,
+                                       Long.bitCount(playerHand), Long.bitCount(aiHand),
+                                       playerLives, aiLives);
+    }
+
+    /**
+     * Ganador final del duelo con las constantes de ronda de DuelRules
+     * (ROUND_TIE para el empate final)
+     */
+    public int getDuelOutcome() {
+        if (playerVictories > aiVictories) return DuelRules.ROUND_PLAYER_WINS;
+        if (aiVictories > playerVictories) return DuelRules.ROUND_AI_WINS;
+        return DuelRules.ROUND_TIE;
+    }
+
+    /**
+     * Poder efectivo por ordinal de posición, igual que BattlePosition.getEffectivePower
+     */
+    public static int effectivePower(int position, int attack, int defense) {
+        if (position == OFFENSIVE) return attack;
+        if (position == TACTICAL) return (attack + defense) / 2;
+        return defense;
+    }
+
+    // ==================== SELECCIÓN DE LA IA ====================
+
+    /**
+     * Carta de la IA como selectOptimalAiCard, consumiendo el generador en el
+     * mismo orden: nextDouble y, en el 30% aleatorio, nextInt(cartas restantes)
+     *
+     * @return Índice en el mazo de la carta elegida
+     */
+    public int selectAiCard(SplittableRandom random) {
+        if (random.nextDouble() < DuelRules.OPTIMAL_CARD_PROBABILITY) {
+            return strongestCard(aiHand, aiTotal);
+        }
+        return nthCard(aiHand, random.nextInt(Long.bitCount(aiHand)));
+    }
+
+    /**
+     * Posición de la IA: apertura si mueve primero, contra-estrategia si responde
+     *
+     * @param playerPosition Ordinal de la posición del jugador, o -1 si la IA abre la ronda
+     */
+    public static int selectAiPosition(SplittableRandom random, int playerPosition) {
+        if (playerPosition < 0) {
+            return DuelRules.openingPosition(random.nextDouble()).ordinal();
+        }
+        return DuelRules.counterPosition(POSITIONS[playerPosition], random.nextDouble()).ordinal();
+    }
+
+    /**
+     * Carta de mayor poder total de una mano; en empate la de menor índice,
+     * como Stream.max sobre la lista ordenada
+     */
+    public static int strongestCard(long hand, int[] total) {
+        int best = Long.numberOfTrailingZeros(hand);
+        for (long rest = hand & (hand - 1); rest != 0; rest &= rest - 1) {
+            int card = Long.numberOfTrailingZeros(rest);
+            if (total[card] > total[best]) {
+                best = card;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Índice en el mazo de la n-ésima carta restante (equivale a List.get(n))
+     */
+    public static int nthCard(long hand, int n) {
+        for (int i = 0; i < n; i++) {
+            hand &= hand - 1;
+        }
+        return Long.numberOfTrailingZeros(hand);
+    }
+
+    // ==================== CONSULTAS ====================
+
+    public int playerPower(int card, int position) { return effectivePower(position, playerAttack[card], playerDefense[card]); }
+    public int aiPower(int card, int position) { return effectivePower(position, aiAttack[card], aiDefense[card]); }
+    public int getPlayerLevel(int card) { return playerLevel[card]; }
+    public int getAiLevel(int card) { return aiLevel[card]; }
+    public int getPlayerTotal(int card) { return playerTotal[card]; }
+    public int getAiTotal(int card) { return aiTotal[card]; }
+    int[] playerTotals() { return playerTotal; }
+    int[] aiTotals() { return aiTotal; }
+    public MatchupTable getMatchups() { return matchups; }
+
+    public int getPlayerDeckSize() { return playerAttack.length; }
+    public int getAiDeckSize() { return aiAttack.length; }
+    public long getPlayerHand() { return playerHand; }
+    public long getAiHand() { return aiHand; }
+    public int getPlayerCardCount() { return Long.bitCount(playerHand); }
+    public int getAiCardCount() { return Long.bitCount(aiHand); }
+    public int getPlayerVictories() { return playerVictories; }
+    public int getAiVictories() { return aiVictories; }
+    public int getPlayerLives() { return playerLives; }
+    public int getAiLives() { return aiLives; }
+    public int getRoundsPlayed() { return roundsPlayed; }
+    public int getTiedRounds() { return tiedRounds; }
+    public boolean isPlayerTurn() { return playerTurn; }
+}
@@ -0,0 +1,126 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.DuelRules;
+
+import java.util.SplittableRandom;
+
+/**
+ * Rondas simuladas sobre CompactDuelState con la IA heurística del motor y
+ * una política para el jugador. Lo comparten el simulador Monte Carlo y las
+ * simulaciones de las estrategias de búsqueda
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+final class DuelPlayout {
+
+    private DuelPlayout() { }
+
+    /**
+     * Juega rondas hasta que el duelo termine
+     */
+    static void playToEnd(PlayerPolicy policy, SplittableRandom random, CompactDuelState state) {
+        while (!state.isFinished()) {
+            playRound(policy, random, state);
+        }
+    }
+
+    /**
+     * Juega una ronda en el orden de BattleEngine: quien tiene el turno elige
+     * primero y el otro responde conociendo su elección
+     *
+     * @return DuelRules.ROUND_PLAYER_WINS, ROUND_AI_WINS o ROUND_TIE
+     */
+    static int playRound(PlayerPolicy policy, SplittableRandom random, CompactDuelState state) {
+        int playerMove;
+        int aiCard;
+        int aiPosition;
+
+        if (!state.isPlayerTurn()) {
+            // La IA elige primero y el jugador responde conociendo su elección
+            aiCard = state.selectAiCard(random);
+            aiPosition = CompactDuelState.selectAiPosition(random, -1);
+            playerMove = choosePlayerMove(policy, random, state, aiCard, aiPosition);
+        } else {
+            playerMove = choosePlayerMove(policy, random, state, -1, -1);
+            aiCard = state.selectAiCard(random);
+            aiPosition = CompactDuelState.selectAiPosition(random, movePosition(playerMove));
+        }
+
+        return state.resolveRound(moveCard(playerMove), movePosition(playerMove), aiCard, aiPosition);
+    }
+
+    // Movimiento del jugador empaquetado en un int: carta * POSITION_COUNT + posición
+    static int packMove(int card, int position) { return card * CompactDuelState.POSITION_COUNT + position; }
+    static int moveCard(int move) { return move / CompactDuelState.POSITION_COUNT; }
+    static int movePosition(int move) { return move % CompactDuelState.POSITION_COUNT; }
+
+    /**
+     * Elige el movimiento del jugador según la política configurada
+     *
+     * @param aiCard Carta elegida por la IA, o -1 si el jugador mueve primero
+     * @param aiPosition Posición elegida por la IA, o -1 si el jugador mueve primero
+     * @return Movimiento empaquetado
+     */
+    static int choosePlayerMove(PlayerPolicy policy, SplittableRandom random, CompactDuelState state,
+                                int aiCard, int aiPosition) {
+        long hand = state.getPlayerHand();
+        switch (policy) {
+            case RANDOM:
+                return packMove(CompactDuelState.nthCard(hand, random.nextInt(Long.bitCount(hand))),
+                                random.nextInt(CompactDuelState.POSITION_COUNT));
+
+            case MIRROR: {
+                int card = random.nextDouble() < DuelRules.OPTIMAL_CARD_PROBABILITY
+                    ? CompactDuelState.strongestCard(hand, state.playerTotals())
+                    : CompactDuelState.nthCard(hand, random.nextInt(Long.bitCount(hand)));
+                return packMove(card, CompactDuelState.selectAiPosition(random, aiPosition));
+            }
+
+            case GREEDY:
+            default:
+                return chooseGreedyMove(state, aiCard, aiPosition);
+        }
+    }
+
+    /**
+     * Misma regla que HeadlessPlayers.greedy: sin información juega el mayor
+     * poder efectivo; conociendo la elección de la IA, la carta de menor poder
+     * total que la derrota
+     */
+    static int chooseGreedyMove(CompactDuelState state, int aiCard, int aiPosition) {
+        MatchupTable matchups = state.getMatchups();
+        int bestCard = -1;
+        int bestPosition = -1;
+        int bestPower = 0;
+        boolean bestWins = false;
+
+        for (long hand = state.getPlayerHand(); hand != 0; hand &= hand - 1) {
+            int card = Long.numberOfTrailingZeros(hand);
+            for (int position = 0; position < CompactDuelState.POSITION_COUNT; position++) {
+                int power = state.playerPower(card, position);
+                boolean wins = aiCard >= 0
+                    && matchups.outcome(card, position, aiCard, aiPosition) == DuelRules.ROUND_PLAYER_WINS;
+
+                boolean better;
+                if (bestCard < 0) {
+                    better = true;
+                } else if (aiCard < 0) {
+                    better = power > bestPower;
+                } else {
+                    better = wins != bestWins
+                        ? wins
+                        : state.getPlayerTotal(card) < state.getPlayerTotal(bestCard);
+                }
+
+                if (better) {
+                    bestCard = card;
+                    bestPosition = position;
+                    bestPower = power;
+                    bestWins = wins;
+                }
+            }
+        }
+        return packMove(bestCard, bestPosition);
+    }
+}
@@ -0,0 +1,614 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.DuelRules;
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.headless.SyntheticDeckFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Solucionador exacto de duelos por expectiminimax
+ * Recorre el árbol completo del duelo sobre CompactDuelState: la IA maximiza
+ * su puntuación esperada (victoria 1, empate 0.5) y el jugador sigue una
+ * política dada, cuyas probabilidades se promedian, o juega en contra de la
+ * IA (adversario). Los estados se memorizan en una tabla de transposición
+ * con clave = manos restantes + marcador + vidas + turno, y la raíz se
+ * reparte entre los hilos del ForkJoinPool
+ *
+ * También evalúa de forma exacta la IA heurística del motor, lo que permite
+ * contrastar al simulador Monte Carlo con valores sin ruido
+ *
+ * Uso: java duelmasters.simulation.DuelSolver [--hand N] [--seed S] [--model P] [--check N]
+ *   --model P   random | greedy | mirror | adversarial (por defecto greedy)
+ *   --check N   Contrasta la evaluación de la heurística con N duelos simulados
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class DuelSolver {
+
+    /** Máximo de cartas por mano que se resuelven de forma exacta */
+    public static final int MAX_HAND_SIZE = 12;
+
+    private static final int POSITIONS = CompactDuelState.POSITION_COUNT;
+    private static final BattlePosition[] POSITION_VALUES = BattlePosition.values();
+    private static final Outcome AI_WINS = new Outcome(1.0, 0.0);
+    private static final Outcome DRAW = new Outcome(0.0, 1.0);
+    private static final Outcome PLAYER_WINS = new Outcome(0.0, 0.0);
+
+    private final PlayerPolicy opponentModel;
+    private final boolean aiOptimal;
+    private final ForkJoinPool pool;
+
+    /**
+     * Probabilidades de un resultado final desde un estado
+     */
+    public static final class Outcome {
+        private final double aiWin;
+        private final double draw;
+
+        Outcome(double aiWin, double draw) {
+            this.aiWin = aiWin;
+            this.draw = draw;
+        }
+
+        public double getAiWinProbability() { return aiWin; }
+        public double getDrawProbability() { return draw; }
+        public double getPlayerWinProbability() { return Math.max(0.0, 1.0 - aiWin - draw); }
+
+        /** Puntuación esperada de la IA */
+        public double getExpectedScore() { return aiWin + 0.5 * draw; }
+
+        @Override
+        public String toString() {
+            return String.format("IA %.2f%% | Empate %.2f%% | Jugador %.2f%%",
+                                 aiWin * 100, draw * 100, getPlayerWinProbability() * 100);
+        }
+    }
+
+    /**
+     * Resultado de resolver una posición con la IA por mover
+     */
+    public static final class Solution {
+        private final int bestCard;
+        private final int bestPosition;
+        private final Outcome[] moveOutcomes;
+        private final int statesSolved;
+        private final long elapsedNanos;
+
+        Solution(int bestCard, int bestPosition, Outcome[] moveOutcomes, int statesSolved, long elapsedNanos) {
+            this.bestCard = bestCard;
+            this.bestPosition = bestPosition;
+            this.moveOutcomes = moveOutcomes;
+            this.statesSolved = statesSolved;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /** Índice de la mejor carta en la mano del estado resuelto */
+        public int getBestCard() { return bestCard; }
+        public BattlePosition getBestPosition() { return POSITION_VALUES[bestPosition]; }
+        public Outcome getBestOutcome() { return moveOutcomes[bestCard * POSITIONS + bestPosition]; }
+
+        /** Resultado de jugar la carta card en la posición dada (null si la carta ya no está) */
+        public Outcome getMoveOutcome(int card, BattlePosition position) {
+            return moveOutcomes[card * POSITIONS + position.ordinal()];
+        }
+
+        public int getStatesSolved() { return statesSolved; }
+        public long getElapsedNanos() { return elapsedNanos; }
+    }
+
+    /**
+     * Resultado de evaluar una posición con el jugador por mover
+     */
+    public static final class PlayerMoves {
+        private final Outcome expected;
+        private final Outcome[] moveOutcomes;
+        private final int bestCard;
+        private final int bestPosition;
+        private final int statesSolved;
+
+        PlayerMoves(Outcome expected, Outcome[] moveOutcomes, int bestCard, int bestPosition, int statesSolved) {
+            this.expected = expected;
+            this.moveOutcomes = moveOutcomes;
+            this.bestCard = bestCard;
+            this.bestPosition = bestPosition;
+            this.statesSolved = statesSolved;
+        }
+
+        /** Resultado si el jugador mueve según el modelo del solucionador */
+        public Outcome getExpectedOutcome() { return expected; }
+
+        /** Resultado de jugar la carta card en la posición dada (null si la carta ya no está) */
+        public Outcome getMoveOutcome(int card, BattlePosition position) {
+            return moveOutcomes[card * POSITIONS + position.ordinal()];
+        }
+
+        /** Índice de la carta con menor puntuación esperada de la IA */
+        public int getBestCard() { return bestCard; }
+        public BattlePosition getBestPosition() { return POSITION_VALUES[bestPosition]; }
+        public int getStatesSolved() { return statesSolved; }
+    }
+
+    /**
+     * Búsqueda abandonada al vencer el plazo (sin traza, se lanza en el camino normal)
+     */
+    private static final class SearchTimeout extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        SearchTimeout() {
+            super("Plazo de búsqueda vencido", null, false, false);
+        }
+    }
+
+    private DuelSolver(PlayerPolicy opponentModel, boolean aiOptimal, ForkJoinPool pool) {
+        this.opponentModel = opponentModel;
+        this.aiOptimal = aiOptimal;
+        this.pool = pool;
+    }
+
+    /**
+     * IA óptima contra un jugador que sigue la política dada
+     */
+    public static DuelSolver optimalAgainst(PlayerPolicy opponentModel) {
+        return new DuelSolver(opponentModel, true, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * IA óptima contra un jugador que también juega de forma óptima (minimax)
+     */
+    public static DuelSolver optimalAgainstAdversary() {
+        return new DuelSolver(null, true, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Evaluación exacta de la IA heurística del motor contra la política dada
+     */
+    public static DuelSolver heuristicAgainst(PlayerPolicy opponentModel) {
+        return new DuelSolver(opponentModel, false, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Probabilidades de un duelo nuevo con esas manos (50% inicia cada uno)
+     */
+    public Outcome evaluateDuel(List<DuelCard> playerDeck, List<DuelCard> aiDeck) {
+        CompactDuelState playerFirst = new CompactDuelState(playerDeck, aiDeck);
+        checkHandSize(playerFirst);
+        CompactDuelState aiFirst = new CompactDuelState(playerFirst);
+        aiFirst.reset(false);
+
+        Search search = new Search();
+        List<Callable<Outcome>> halves = List.of(() -> search.value(playerFirst), () -> search.value(aiFirst));
+        List<Outcome> results = invokeAll(halves);
+        return mix(results.get(0), 0.5, results.get(1), 0.5);
+    }
+
+    /**
+     * Resuelve la jugada de la IA en una posición
+     *
+     * @param state Estado con la IA por mover (abre la ronda o responde)
+     * @param playerCard Carta ya elegida por el jugador, o -1 si la IA abre la ronda
+     * @param playerPosition Ordinal de la posición del jugador, o -1 si la IA abre la ronda
+     * @return Valor de cada movimiento de la IA y el mejor
+     */
+    public Solution solve(CompactDuelState state, int playerCard, int playerPosition) {
+        checkHandSize(state);
+        if (state.isFinished() || state.getAiCardCount() == 0) {
+            throw new IllegalArgumentException("El duelo ya terminó");
+        }
+        long start = System.nanoTime();
+        Search search = new Search();
+
+        // Paralelismo en la raíz: un subárbol por movimiento de la IA
+        int candidates = state.getAiDeckSize() * POSITIONS;
+        List<Callable<Outcome>> tasks = new ArrayList<>();
+        List<Integer> moves = new ArrayList<>();
+        for (long hand = state.getAiHand(); hand != 0; hand &= hand - 1) {
+            int aiCard = Long.numberOfTrailingZeros(hand);
+            for (int aiPosition = 0; aiPosition < POSITIONS; aiPosition++) {
+                int card = aiCard;
+                int position = aiPosition;
+                moves.add(card * POSITIONS + position);
+                tasks.add(playerCard < 0
+                    ? () -> search.afterAiOpening(state, card, position)
+                    : () -> search.afterRound(state, playerCard, playerPosition, card, position));
+            }
+        }
+        List<Outcome> results = invokeAll(tasks);
+
+        Outcome[] outcomes = new Outcome[candidates];
+        int best = moves.get(0);
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            outcomes[move] = results.get(i);
+            if (results.get(i).getExpectedScore() > outcomes[best].getExpectedScore()) {
+                best = move;
+            }
+        }
+        return new Solution(best / POSITIONS, best % POSITIONS, outcomes, search.table.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Evalúa los movimientos del jugador en una posición, en el hilo que llama
+     * y con un plazo: pensado para estimaciones en vivo de pocos milisegundos.
+     * Tras el movimiento evaluado el jugador sigue el modelo del solucionador
+     *
+     * @param state Estado con el jugador por mover (abre la ronda o responde)
+     * @param aiCard Carta ya elegida por la IA, o -1 si el jugador abre la ronda
+     * @param aiPosition Ordinal de la posición de la IA, o -1 si el jugador abre la ronda
+     * @param deadlineNanos Instante (System.nanoTime) en que se abandona la búsqueda
+     * @return Valor de cada movimiento del jugador, o null si el plazo venció antes
+     */
+    public PlayerMoves evaluatePlayerMoves(CompactDuelState state, int aiCard, int aiPosition, long deadlineNanos) {
+        checkHandSize(state);
+        if (state.isFinished() || state.getPlayerCardCount() == 0) {
+            throw new IllegalArgumentException("El duelo ya terminó");
+        }
+        Search search = new Search(deadlineNanos);
+        try {
+            Outcome[] outcomes = new Outcome[state.getPlayerDeckSize() * POSITIONS];
+            int best = -1;
+            for (long hand = state.getPlayerHand(); hand != 0; hand &= hand - 1) {
+                int playerCard = Long.numberOfTrailingZeros(hand);
+                for (int playerPosition = 0; playerPosition < POSITIONS; playerPosition++) {
+                    int move = playerCard * POSITIONS + playerPosition;
+                    outcomes[move] = aiCard < 0
+                        ? search.aiResponds(state, playerCard, playerPosition)
+                        : search.afterRound(state, playerCard, playerPosition, aiCard, aiPosition);
+                    if (best < 0 || outcomes[move].getExpectedScore() < outcomes[best].getExpectedScore()) {
+                        best = move;
+                    }
+                }
+            }
+            // Los subárboles ya están en la tabla: el valor esperado sale casi gratis
+            Outcome expected = aiCard < 0 ? search.value(state) : search.afterAiOpening(state, aiCard, aiPosition);
+            return new PlayerMoves(expected, outcomes, best / POSITIONS, best % POSITIONS, search.table.size());
+        } catch (SearchTimeout timeout) {
+            return null;
+        }
+    }
+
+    private static void checkHandSize(CompactDuelState state) {
+        if (state.getPlayerDeckSize() > MAX_HAND_SIZE || state.getAiDeckSize() > MAX_HAND_SIZE) {
+            throw new IllegalArgumentException("El solucionador admite hasta " + MAX_HAND_SIZE + " cartas por mano");
+        }
+    }
+
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Búsqueda interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error en la búsqueda", e.getCause());
+        }
+        return results;
+    }
+
+    private static Outcome mix(Outcome first, double firstWeight, Outcome second, double secondWeight) {
+        return new Outcome(first.aiWin * firstWeight + second.aiWin * secondWeight,
+                           first.draw * firstWeight + second.draw * secondWeight);
+    }
+
+    /**
+     * Una búsqueda con su tabla de transposición, compartida por los hilos de la raíz
+     * La tabla es válida solo para las manos del estado resuelto
+     */
+    private final class Search {
+        final ConcurrentHashMap<Long, Outcome> table = new ConcurrentHashMap<>();
+        final long deadlineNanos;
+        final boolean bounded;
+
+        Search() {
+            this.deadlineNanos = 0;
+            this.bounded = false;
+        }
+
+        Search(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+            this.bounded = true;
+        }
+
+        /**
+         * Valor de un estado al inicio de una ronda
+         */
+        Outcome value(CompactDuelState state) {
+            if (state.isFinished()) {
+                int outcome = state.getDuelOutcome();
+                return outcome == DuelRules.ROUND_AI_WINS ? AI_WINS
+                     : outcome == DuelRules.ROUND_TIE ? DRAW : PLAYER_WINS;
+            }
+            long key = encode(state);
+            Outcome cached = table.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            if (bounded && System.nanoTime() - deadlineNanos > 0) {
+                throw new SearchTimeout();
+            }
+            Outcome result = state.isPlayerTurn() ? playerOpens(state) : aiOpens(state);
+            table.putIfAbsent(key, result);
+            return result;
+        }
+
+        /**
+         * La IA abre la ronda: máximo (o promedio de la heurística) sobre sus movimientos
+         */
+        private Outcome aiOpens(CompactDuelState state) {
+            if (aiOptimal) {
+                Outcome best = null;
+                for (long hand = state.getAiHand(); hand != 0; hand &= hand - 1) {
+                    int aiCard = Long.numberOfTrailingZeros(hand);
+                    for (int aiPosition = 0; aiPosition < POSITIONS; aiPosition++) {
+                        best = better(best, afterAiOpening(state, aiCard, aiPosition));
+                    }
+                }
+                return best;
+            }
+
+            double aiWin = 0;
+            double draw = 0;
+            double[] cardProbabilities = heuristicCardProbabilities(state.getAiHand(), state.aiTotals());
+            for (long hand = state.getAiHand(); hand != 0; hand &= hand - 1) {
+                int aiCard = Long.numberOfTrailingZeros(hand);
+                for (int aiPosition = 0; aiPosition < POSITIONS; aiPosition++) {
+                    double probability = cardProbabilities[aiCard]
+                                       * DuelRules.openingProbability(POSITION_VALUES[aiPosition]);
+                    if (probability > 0) {
+                        Outcome outcome = afterAiOpening(state, aiCard, aiPosition);
+                        aiWin += probability * outcome.aiWin;
+                        draw += probability * outcome.draw;
+                    }
+                }
+            }
+            return new Outcome(aiWin, draw);
+        }
+
+        /**
+         * El jugador responde a la apertura de la IA
+         */
+        Outcome afterAiOpening(CompactDuelState state, int aiCard, int aiPosition) {
+            if (opponentModel == null) {
+                Outcome worst = null;
+                for (long hand = state.getPlayerHand(); hand != 0; hand &= hand - 1) {
+                    int playerCard = Long.numberOfTrailingZeros(hand);
+                    for (int playerPosition = 0; playerPosition < POSITIONS; playerPosition++) {
+                        worst = worse(worst, afterRound(state, playerCard, playerPosition, aiCard, aiPosition));
+                    }
+                }
+                return worst;
+            }
+            if (opponentModel == PlayerPolicy.GREEDY) {
+                int move = DuelPlayout.chooseGreedyMove(state, aiCard, aiPosition);
+                return afterRound(state, DuelPlayout.moveCard(move), DuelPlayout.movePosition(move), aiCard, aiPosition);
+            }
+
+            double aiWin = 0;
+            double draw = 0;
+            double[] cardProbabilities = playerCardProbabilities(state);
+            for (long hand = state.getPlayerHand(); hand != 0; hand &= hand - 1) {
+                int playerCard = Long.numberOfTrailingZeros(hand);
+                for (int playerPosition = 0; playerPosition < POSITIONS; playerPosition++) {
+                    double probability = cardProbabilities[playerCard] * playerPositionProbability(playerPosition, aiPosition);
+                    if (probability > 0) {
+                        Outcome outcome = afterRound(state, playerCard, playerPosition, aiCard, aiPosition);
+                        aiWin += probability * outcome.aiWin;
+                        draw += probability * outcome.draw;
+                    }
+                }
+            }
+            return new Outcome(aiWin, draw);
+        }
+
+        /**
+         * El jugador abre la ronda y la IA responde conociendo su elección
+         */
+        private Outcome playerOpens(CompactDuelState state) {
+            if (opponentModel == null) {
+                Outcome worst = null;
+                for (long hand = state.getPlayerHand(); hand != 0; hand &= hand - 1) {
+                    int playerCard = Long.numberOfTrailingZeros(hand);
+                    for (int playerPosition = 0; playerPosition < POSITIONS; playerPosition++) {
+                        worst = worse(worst, aiResponds(state, playerCard, playerPosition));
+                    }
+                }
+                return worst;
+            }
+            if (opponentModel == PlayerPolicy.GREEDY) {
+                int move = DuelPlayout.chooseGreedyMove(state, -1, -1);
+                return aiResponds(state, DuelPlayout.moveCard(move), DuelPlayout.movePosition(move));
+            }
+
+            double aiWin = 0;
+            double draw = 0;
+            double[] cardProbabilities = playerCardProbabilities(state);
+            for (long hand = state.getPlayerHand(); hand != 0; hand &= hand - 1) {
+                int playerCard = Long.numberOfTrailingZeros(hand);
+                for (int playerPosition = 0; playerPosition < POSITIONS; playerPosition++) {
+                    double probability = cardProbabilities[playerCard] * playerPositionProbability(playerPosition, -1);
+                    if (probability > 0) {
+                        Outcome outcome = aiResponds(state, playerCard, playerPosition);
+                        aiWin += probability * outcome.aiWin;
+                        draw += probability * outcome.draw;
+                    }
+                }
+            }
+            return new Outcome(aiWin, draw);
+        }
+
+        /**
+         * La IA responde a la elección del jugador
+         */
+        private Outcome aiResponds(CompactDuelState state, int playerCard, int playerPosition) {
+            if (aiOptimal) {
+                Outcome best = null;
+                for (long hand = state.getAiHand(); hand != 0; hand &= hand - 1) {
+                    int aiCard = Long.numberOfTrailingZeros(hand);
+                    for (int aiPosition = 0; aiPosition < POSITIONS; aiPosition++) {
+                        best = better(best, afterRound(state, playerCard, playerPosition, aiCard, aiPosition));
+                    }
+                }
+                return best;
+            }
+
+            double aiWin = 0;
+            double draw = 0;
+            double[] cardProbabilities = heuristicCardProbabilities(state.getAiHand(), state.aiTotals());
+            for (long hand = state.getAiHand(); hand != 0; hand &= hand - 1) {
+                int aiCard = Long.numberOfTrailingZeros(hand);
+                for (int aiPosition = 0; aiPosition < POSITIONS; aiPosition++) {
+                    double probability = cardProbabilities[aiCard] * DuelRules.counterProbability(
+                        POSITION_VALUES[playerPosition], POSITION_VALUES[aiPosition]);
+                    if (probability > 0) {
+                        Outcome outcome = afterRound(state, playerCard, playerPosition, aiCard, aiPosition);
+                        aiWin += probability * outcome.aiWin;
+                        draw += probability * outcome.draw;
+                    }
+                }
+            }
+            return new Outcome(aiWin, draw);
+        }
+
+        /**
+         * Resuelve la ronda en una copia del estado y continúa la búsqueda
+         */
+        Outcome afterRound(CompactDuelState state, int playerCard, int playerPosition, int aiCard, int aiPosition) {
+            CompactDuelState next = new CompactDuelState(state);
+            next.resolveRound(playerCard, playerPosition, aiCard, aiPosition);
+            return value(next);
+        }
+
+        private double[] playerCardProbabilities(CompactDuelState state) {
+            if (opponentModel == PlayerPolicy.MIRROR) {
+                return heuristicCardProbabilities(state.getPlayerHand(), state.playerTotals());
+            }
+            double[] probabilities = new double[state.getPlayerDeckSize()];
+            double uniform = 1.0 / state.getPlayerCardCount();
+            for (long hand = state.getPlayerHand(); hand != 0; hand &= hand - 1) {
+                probabilities[Long.numberOfTrailingZeros(hand)] = uniform;
+            }
+            return probabilities;
+        }
+
+        /**
+         * Probabilidad de la posición del jugador (RANDOM uniforme, MIRROR con las tablas de la IA)
+         */
+        private double playerPositionProbability(int playerPosition, int aiPosition) {
+            if (opponentModel == PlayerPolicy.MIRROR) {
+                return aiPosition < 0
+                    ? DuelRules.openingProbability(POSITION_VALUES[playerPosition])
+                    : DuelRules.counterProbability(POSITION_VALUES[aiPosition], POSITION_VALUES[playerPosition]);
+            }
+            return 1.0 / POSITIONS;
+        }
+    }
+
+    /**
+     * Distribución de la elección de carta de la heurística: 70% la más fuerte
+     * (la primera en empate) y 30% repartido entre todas
+     */
+    private static double[] heuristicCardProbabilities(long hand, int[] totals) {
+        double[] probabilities = new double[totals.length];
+        double uniform = (1.0 - DuelRules.OPTIMAL_CARD_PROBABILITY) / Long.bitCount(hand);
+        for (long rest = hand; rest != 0; rest &= rest - 1) {
+            probabilities[Long.numberOfTrailingZeros(rest)] = uniform;
+        }
+        probabilities[CompactDuelState.strongestCard(hand, totals)] += DuelRules.OPTIMAL_CARD_PROBABILITY;
+        return probabilities;
+    }
+
+    private static Outcome better(Outcome current, Outcome candidate) {
+        return current == null || candidate.getExpectedScore() > current.getExpectedScore() ? candidate : current;
+    }
+
+    private static Outcome worse(Outcome current, Outcome candidate) {
+        return current == null || candidate.getExpectedScore() < current.getExpectedScore() ? candidate : current;
+    }
+
+    /**
+     * Clave de transposición: manos (12 bits cada una), victorias, vidas y turno
+     */
+    private static long encode(CompactDuelState state) {
+        return state.getPlayerHand()
+             | state.getAiHand() << 12
+             | (long) state.getPlayerVictories() << 24
+             | (long) state.getAiVictories() << 28
+             | (long) state.getPlayerLives() << 32
+             | (long) state.getAiLives() << 36
+             | (state.isPlayerTurn() ? 1L << 40 : 0L);
+    }
+
+    public static void main(String[] args) {
+        int handSize = 3;
+        long seed = 42;
+        String model = "greedy";
+        long checkDuels = 0;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--hand": handSize = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--model": model = args[++i]; break;
+                case "--check": checkDuels = Long.parseLong(args[++i]); break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        Random deckRandom = new Random(seed);
+        List<DuelCard> playerDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1);
+        List<DuelCard> aiDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1 + handSize);
+        boolean adversarial = model.equals("adversarial");
+        PlayerPolicy policy = adversarial ? null : PlayerPolicy.valueOf(model.toUpperCase());
+
+        System.out.printf("=== SOLUCIONADOR EXACTO === mano=%d, jugador=%s, semilla=%d%n", handSize, model, seed);
+
+        DuelSolver optimal = adversarial ? optimalAgainstAdversary() : optimalAgainst(policy);
+        // La primera resolución calienta el JIT; se mide la segunda
+        optimal.evaluateDuel(playerDeck, aiDeck);
+        long start = System.nanoTime();
+        Outcome optimalOutcome = optimal.evaluateDuel(playerDeck, aiDeck);
+        double optimalMillis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("IA óptima:     %s (%.2f ms)%n", optimalOutcome, optimalMillis);
+
+        if (!adversarial) {
+            Outcome heuristic = heuristicAgainst(policy).evaluateDuel(playerDeck, aiDeck);
+            System.out.printf("IA heurística: %s%n", heuristic);
+
+            if (checkDuels > 0) {
+                SimulationStats stats = new MonteCarloDuelSimulator(playerDeck, aiDeck, policy).simulate(checkDuels, seed);
+                System.out.printf("Simulación (%d duelos): IA %.2f%% | Empate %.2f%% | Jugador %.2f%%%n", checkDuels,
+                                  stats.getAiWinRate() * 100, stats.getDrawRate() * 100, stats.getPlayerWinRate() * 100);
+            }
+        }
+
+        CompactDuelState opening = new CompactDuelState(playerDeck, aiDeck);
+        opening.reset(false);
+        Solution solution = optimal.solve(opening, -1, -1);
+        System.out.printf("Mejor apertura de la IA: carta %d en %s → %s (%d estados, %.2f ms)%n",
+                          solution.getBestCard(), solution.getBestPosition().getDisplayName(),
+                          solution.getBestOutcome(), solution.getStatesSolved(), solution.getElapsedNanos() / 1e6);
+        for (int card = 0; card < aiDeck.size(); card++) {
+            DuelCard aiCard = aiDeck.get(card);
+            StringBuilder line = new StringBuilder(String.format("  %4d/%-4d", aiCard.getAttackPower(), aiCard.getDefensePower()));
+            for (BattlePosition position : POSITION_VALUES) {
+                line.append(String.format("  %s %.3f", position.getSymbol(),
+                                          solution.getMoveOutcome(card, position).getExpectedScore()));
+            }
+            System.out.println(line);
+        }
+    }
+}
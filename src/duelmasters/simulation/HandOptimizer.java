@@ -0,0 +1,530 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.DuelRules;
+import duelmasters.entities.CardTypeFlags;
+import duelmasters.entities.DuelCard;
+import duelmasters.headless.SyntheticDeckFactory;
+import duelmasters.services.DuelCardsService;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Optimizador genético de manos sobre un catálogo de cartas
+ * Busca la mano más fuerte para el lado del jugador con las reglas de
+ * BattleEngine: la aptitud de una mano es su puntuación media (victoria 1,
+ * empate 0.5) en duelos simulados sobre CompactDuelState contra un conjunto
+ * fijo de manos de referencia que juega la IA heurística
+ *
+ * - Todas las manos se miden con las mismas semillas por referencia (números
+ *   aleatorios comunes), así que la aptitud depende solo de la mano y las
+ *   diferencias entre manos no son ruido de muestreo
+ * - Las aptitudes se guardan en una caché por mano: una mano repetida por
+ *   la búsqueda no se vuelve a simular
+ * - Una mano deja de evaluarse en cuanto su cota superior (media + 3 errores
+ *   estándar) queda por debajo del corte de la élite: ya no puede sobrevivir
+ * - Las manos nuevas de cada generación se evalúan en paralelo en un
+ *   ForkJoinPool; el corte se fija antes de cada generación, de modo que el
+ *   resultado no depende del número de hilos
+ * - La búsqueda termina tras --patience generaciones sin mejorar
+ *
+ * Uso: java duelmasters.simulation.HandOptimizer [opciones]
+ *   --hand N          Cartas por mano (por defecto 5)
+ *   --pool N          Cartas sintéticas del catálogo (por defecto 300)
+ *   --cards ARCHIVO   Catálogo JSON de la API en lugar de cartas sintéticas
+ *   --type TIPOS      Con --cards, solo cartas con todos estos tipos (p. ej. effect o synchro,tuner)
+ *   --references N    Manos de referencia (por defecto 32)
+ *   --duels N         Duelos contra cada referencia (por defecto 64)
+ *   --population N    Tamaño de la población (por defecto 48)
+ *   --elite N         Manos que pasan intactas a la generación siguiente (por defecto 8)
+ *   --generations N   Máximo de generaciones (por defecto 60)
+ *   --patience N      Generaciones sin mejora antes de parar (por defecto 12)
+ *   --policy P        Política del jugador: random | greedy | mirror (por defecto mirror;
+ *                     greedy conoce la elección de la IA y satura en 1.0 con cualquier mano fuerte)
+ *   --seed S          Semilla del catálogo, las referencias, la búsqueda y los duelos
+ *   --threads N       Hilos del pool (por defecto todos los núcleos)
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class HandOptimizer {
+
+    /** Errores estándar de margen para descartar una mano: "claramente peor" */
+    private static final double EARLY_STOP_SIGMAS = 3.0;
+
+    /** Fracción mínima de referencias jugadas antes de poder descartar */
+    private static final double MIN_REFERENCE_FRACTION = 0.25;
+
+    private static final int TOURNAMENT_SIZE = 3;
+
+    private final List<DuelCard> catalog;
+    private final List<List<DuelCard>> references;
+    private final int handSize;
+    private final int duelsPerReference;
+    private final PlayerPolicy policy;
+    private final long seed;
+
+    private final Map<HandKey, Fitness> cache = new ConcurrentHashMap<>();
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder earlyStops = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder duelsPlayed = new LongAdder();
+
+    /**
+     * Aptitud de una mano
+     */
+    public static final class Fitness {
+        private final double score;
+        private final long duels;
+        private final boolean complete;
+
+        Fitness(double score, long duels, boolean complete) {
+            this.score = score;
+            this.duels = duels;
+            this.complete = complete;
+        }
+
+        /** Puntuación media del jugador (estimación parcial si se descartó) */
+        public double getScore() { return score; }
+        public long getDuels() { return duels; }
+        /** false si la evaluación se detuvo antes de jugar todas las referencias */
+        public boolean isComplete() { return complete; }
+    }
+
+    /**
+     * Mano candidata: índices del catálogo ordenados, para que la misma mano
+     * tenga siempre la misma clave en la caché
+     */
+    private static final class HandKey {
+        private final int[] cards;
+        private final int hash;
+
+        HandKey(int[] cards) {
+            this.cards = cards.clone();
+            Arrays.sort(this.cards);
+            this.hash = Arrays.hashCode(this.cards);
+        }
+
+        boolean contains(int card) {
+            return Arrays.binarySearch(cards, card) >= 0;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof HandKey && Arrays.equals(cards, ((HandKey) obj).cards);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Resultado de la búsqueda
+     */
+    public static final class Result {
+        private final List<DuelCard> bestHand;
+        private final Fitness bestFitness;
+        private final int generations;
+
+        Result(List<DuelCard> bestHand, Fitness bestFitness, int generations) {
+            this.bestHand = bestHand;
+            this.bestFitness = bestFitness;
+            this.generations = generations;
+        }
+
+        public List<DuelCard> getBestHand() { return bestHand; }
+        public Fitness getBestFitness() { return bestFitness; }
+        public int getGenerations() { return generations; }
+    }
+
+    /**
+     * Crea un optimizador
+     *
+     * @param catalog Cartas disponibles
+     * @param references Manos rivales con las que se mide cada candidata
+     * @param handSize Cartas de cada mano candidata
+     * @param duelsPerReference Duelos contra cada referencia
+     * @param policy Política del jugador que juega la mano candidata
+     * @param seed Semilla de los duelos
+     * @throws IllegalArgumentException Si el catálogo no alcanza para una mano o la mano es inválida
+     */
+    public HandOptimizer(List<DuelCard> catalog, List<List<DuelCard>> references, int handSize,
+                         int duelsPerReference, PlayerPolicy policy, long seed) {
+        if (handSize < DuelRules.MIN_DECK_SIZE || handSize > CompactDuelState.MAX_HAND_SIZE) {
+            throw new IllegalArgumentException(String.format("La mano debe tener entre %d y %d cartas",
+                                                             DuelRules.MIN_DECK_SIZE, CompactDuelState.MAX_HAND_SIZE));
+        }
+        if (catalog.size() <= handSize) {
+            throw new IllegalArgumentException("El catálogo necesita más de " + handSize + " cartas de batalla");
+        }
+        if (references.isEmpty() || duelsPerReference < 1) {
+            throw new IllegalArgumentException("Se necesita al menos una referencia y un duelo por referencia");
+        }
+        this.catalog = List.copyOf(catalog);
+        this.references = List.copyOf(references);
+        this.handSize = handSize;
+        this.duelsPerReference = duelsPerReference;
+        this.policy = policy;
+        this.seed = seed;
+    }
+
+    public long getEvaluations() { return evaluations.sum(); }
+    public long getEarlyStops() { return earlyStops.sum(); }
+    public long getCacheHits() { return cacheHits.sum(); }
+    public long getDuelsPlayed() { return duelsPlayed.sum(); }
+
+    /**
+     * Aptitud de una mano con todas las referencias (usa la caché)
+     */
+    public Fitness evaluate(List<DuelCard> hand) {
+        int[] cards = new int[hand.size()];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = catalog.indexOf(hand.get(i));
+            if (cards[i] < 0) {
+                throw new IllegalArgumentException("La carta no está en el catálogo: " + hand.get(i).getCardName());
+            }
+        }
+        return fitness(new HandKey(cards), Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Evoluciona la población hasta agotar las generaciones o la paciencia
+     *
+     * @param listener Recibe cada generación terminada (puede ser null)
+     */
+    public Result optimize(int populationSize, int eliteSize, int maxGenerations, int patience,
+                           ForkJoinPool pool, GenerationListener listener) {
+        if (eliteSize < 1 || eliteSize >= populationSize) {
+            throw new IllegalArgumentException("La élite debe tener entre 1 y población-1 manos");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+
+        // Con catálogos muy pequeños puede no haber manos distintas suficientes
+        int maxAttempts = populationSize * 100;
+        List<HandKey> population = new ArrayList<>();
+        for (int attempt = 0; population.size() < populationSize && attempt < maxAttempts; attempt++) {
+            HandKey hand = randomHand(random);
+            if (!population.contains(hand)) {
+                population.add(hand);
+            }
+        }
+        Map<HandKey, Fitness> scored = evaluateAll(population, Double.NEGATIVE_INFINITY, pool);
+        population = rank(scored, populationSize);
+
+        double bestScore = scored.get(population.get(0)).getScore();
+        int stale = 0;
+        int generation = 0;
+        while (generation < maxGenerations && stale < patience) {
+            generation++;
+            double eliteCut = scored.get(population.get(Math.min(eliteSize, population.size()) - 1)).getScore();
+
+            List<HandKey> next = new ArrayList<>(population.subList(0, Math.min(eliteSize, population.size())));
+            List<HandKey> parents = population;
+            Map<HandKey, Fitness> parentScores = scored;
+            for (int attempt = 0; next.size() < populationSize && attempt < maxAttempts; attempt++) {
+                HandKey child = mutate(crossover(select(parents, parentScores, random),
+                                                 select(parents, parentScores, random), random), random);
+                if (!next.contains(child)) {
+                    next.add(child);
+                }
+            }
+
+            scored = evaluateAll(next, eliteCut, pool);
+            population = rank(scored, populationSize);
+            double generationBest = scored.get(population.get(0)).getScore();
+            if (generationBest > bestScore) {
+                bestScore = generationBest;
+                stale = 0;
+            } else {
+                stale++;
+            }
+            if (listener != null) {
+                listener.onGeneration(generation, toCards(population.get(0)), scored.get(population.get(0)));
+            }
+        }
+
+        HandKey best = population.get(0);
+        return new Result(toCards(best), scored.get(best), generation);
+    }
+
+    /**
+     * Recibe el progreso de la búsqueda
+     */
+    public interface GenerationListener {
+        void onGeneration(int generation, List<DuelCard> bestHand, Fitness bestFitness);
+    }
+
+    // ==================== OPERADORES GENÉTICOS ====================
+
+    private HandKey randomHand(SplittableRandom random) {
+        int[] cards = new int[handSize];
+        for (int i = 0; i < handSize; i++) {
+            cards[i] = randomCardNotIn(cards, i, random);
+        }
+        return new HandKey(cards);
+    }
+
+    /**
+     * Selección por torneo: la mejor de TOURNAMENT_SIZE manos al azar
+     */
+    private HandKey select(List<HandKey> population, Map<HandKey, Fitness> scores, SplittableRandom random) {
+        HandKey best = null;
+        for (int i = 0; i < TOURNAMENT_SIZE; i++) {
+            HandKey candidate = population.get(random.nextInt(population.size()));
+            if (best == null || scores.get(candidate).getScore() > scores.get(best).getScore()) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Hijo con cartas de los dos padres: primero las comunes y después, al
+     * azar, de la unión
+     */
+    private HandKey crossover(HandKey first, HandKey second, SplittableRandom random) {
+        int[] cards = new int[handSize];
+        int count = 0;
+        int[] others = new int[2 * handSize];
+        int otherCount = 0;
+        for (int card : first.cards) {
+            if (second.contains(card)) {
+                cards[count++] = card;
+            } else {
+                others[otherCount++] = card;
+            }
+        }
+        for (int card : second.cards) {
+            if (!first.contains(card)) {
+                others[otherCount++] = card;
+            }
+        }
+        while (count < handSize) {
+            int pick = random.nextInt(otherCount);
+            cards[count++] = others[pick];
+            others[pick] = others[--otherCount];
+        }
+        return new HandKey(cards);
+    }
+
+    /**
+     * Cambia una carta por otra del catálogo (y con probabilidad 1/2, otra más)
+     */
+    private HandKey mutate(HandKey hand, SplittableRandom random) {
+        int[] cards = hand.cards.clone();
+        do {
+            int slot = random.nextInt(handSize);
+            cards[slot] = cards[handSize - 1];
+            cards[handSize - 1] = randomCardNotIn(cards, handSize - 1, random);
+        } while (random.nextBoolean());
+        return new HandKey(cards);
+    }
+
+    private int randomCardNotIn(int[] cards, int count, SplittableRandom random) {
+        while (true) {
+            int card = random.nextInt(catalog.size());
+            boolean repeated = false;
+            for (int i = 0; i < count && !repeated; i++) {
+                repeated = cards[i] == card;
+            }
+            if (!repeated) {
+                return card;
+            }
+        }
+    }
+
+    /**
+     * Las populationSize mejores manos, de mayor a menor aptitud
+     */
+    private static List<HandKey> rank(Map<HandKey, Fitness> scored, int populationSize) {
+        List<HandKey> ranked = new ArrayList<>(scored.keySet());
+        ranked.sort(Comparator.comparingDouble((HandKey hand) -> -scored.get(hand).getScore())
+                              .thenComparing(hand -> Arrays.toString(hand.cards)));
+        return new ArrayList<>(ranked.subList(0, Math.min(populationSize, ranked.size())));
+    }
+
+    // ==================== APTITUD ====================
+
+    /**
+     * Evalúa las manos en paralelo, conservando el orden de la lista
+     */
+    private Map<HandKey, Fitness> evaluateAll(List<HandKey> hands, double eliteCut, ForkJoinPool pool) {
+        Fitness[] results = new Fitness[hands.size()];
+        pool.submit(() -> IntStream.range(0, hands.size()).parallel()
+                          .forEach(i -> results[i] = fitness(hands.get(i), eliteCut))).join();
+        Map<HandKey, Fitness> scored = new LinkedHashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            scored.put(hands.get(i), results[i]);
+        }
+        return scored;
+    }
+
+    /**
+     * Aptitud de una mano, desde la caché o simulando
+     * Un resultado parcial de la caché se vuelve a simular si el corte
+     * actual es más bajo que el que lo descartó
+     */
+    private Fitness fitness(HandKey hand, double eliteCut) {
+        Fitness cached = cache.get(hand);
+        if (cached != null && (cached.isComplete() || cached.getScore() < eliteCut)) {
+            cacheHits.increment();
+            return cached;
+        }
+        Fitness fitness = simulate(hand, eliteCut);
+        cache.put(hand, fitness);
+        return fitness;
+    }
+
+    /**
+     * Juega la mano contra las referencias en orden y se detiene si su cota
+     * superior cae por debajo del corte
+     */
+    private Fitness simulate(HandKey hand, double eliteCut) {
+        List<DuelCard> cards = toCards(hand);
+        double total = 0;
+        double squares = 0;
+        long duels = 0;
+        int minReferences = Math.max(1, (int) Math.ceil(references.size() * MIN_REFERENCE_FRACTION));
+
+        for (int reference = 0; reference < references.size(); reference++) {
+            CompactDuelState state = new CompactDuelState(cards, references.get(reference));
+            SplittableRandom random = new SplittableRandom(MonteCarloDuelSimulator.taskSeed(seed, reference));
+            for (int duel = 0; duel < duelsPerReference; duel++) {
+                state.reset(random.nextBoolean());
+                DuelPlayout.playToEnd(policy, random, state);
+                int outcome = state.getDuelOutcome();
+                double score = outcome == DuelRules.ROUND_PLAYER_WINS ? 1.0
+                             : outcome == DuelRules.ROUND_TIE ? 0.5 : 0.0;
+                total += score;
+                squares += score * score;
+            }
+            duels += duelsPerReference;
+
+            if (reference + 1 >= minReferences && reference + 1 < references.size()
+                && upperBound(total, squares, duels) < eliteCut) {
+                duelsPlayed.add(duels);
+                evaluations.increment();
+                earlyStops.increment();
+                return new Fitness(total / duels, duels, false);
+            }
+        }
+        duelsPlayed.add(duels);
+        evaluations.increment();
+        return new Fitness(total / duels, duels, true);
+    }
+
+    private static double upperBound(double total, double squares, long samples) {
+        double mean = total / samples;
+        double variance = samples < 2 ? 0.25 : Math.max(0.0, (squares - samples * mean * mean) / (samples - 1));
+        return mean + EARLY_STOP_SIGMAS * Math.sqrt(variance / samples);
+    }
+
+    private List<DuelCard> toCards(HandKey hand) {
+        List<DuelCard> cards = new ArrayList<>(hand.cards.length);
+        for (int card : hand.cards) {
+            cards.add(catalog.get(card));
+        }
+        return cards;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int handSize = 5;
+        int poolSize = 300;
+        String cardsFile = null;
+        int requiredTypes = 0;
+        int referenceCount = 32;
+        int duelsPerReference = 64;
+        int populationSize = 48;
+        int eliteSize = 8;
+        int generations = 60;
+        int patience = 12;
+        PlayerPolicy policy = PlayerPolicy.MIRROR;
+        long seed = System.nanoTime();
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--hand": handSize = Integer.parseInt(args[++i]); break;
+                case "--pool": poolSize = Integer.parseInt(args[++i]); break;
+                case "--cards": cardsFile = args[++i]; break;
+                case "--type": requiredTypes = CardTypeFlags.fromNames(args[++i]); break;
+                case "--references": referenceCount = Integer.parseInt(args[++i]); break;
+                case "--duels": duelsPerReference = Integer.parseInt(args[++i]); break;
+                case "--population": populationSize = Integer.parseInt(args[++i]); break;
+                case "--elite": eliteSize = Integer.parseInt(args[++i]); break;
+                case "--generations": generations = Integer.parseInt(args[++i]); break;
+                case "--patience": patience = Integer.parseInt(args[++i]); break;
+                case "--policy": policy = PlayerPolicy.valueOf(args[++i].toUpperCase()); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        Random setupRandom = new Random(seed);
+        List<DuelCard> catalog = cardsFile != null
+            ? new DuelCardsService().loadBattleCards(Paths.get(cardsFile), requiredTypes) : SyntheticDeckFactory.generateDeck(setupRandom, poolSize, 1);
+        if (catalog.size() <= handSize) {
+            System.err.println("El catálogo necesita más de " + handSize + " cartas de batalla");
+            System.exit(2);
+        }
+
+        // Referencias: manos al azar del mismo catálogo
+        List<List<DuelCard>> references = new ArrayList<>();
+        for (int reference = 0; reference < referenceCount; reference++) {
+            List<DuelCard> shuffled = new ArrayList<>(catalog);
+            Collections.shuffle(shuffled, setupRandom);
+            references.add(new ArrayList<>(shuffled.subList(0, handSize)));
+        }
+
+        HandOptimizer optimizer = new HandOptimizer(catalog, references, handSize, duelsPerReference, policy, seed);
+        System.out.printf("=== OPTIMIZADOR DE MANOS === catálogo=%d, mano=%d, referencias=%d x %d duelos, "
+                          + "población=%d, élite=%d, política=%s, hilos=%d, semilla=%d%n",
+                          catalog.size(), handSize, referenceCount, duelsPerReference, populationSize, eliteSize,
+                          policy.name().toLowerCase(), threads, seed);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        Result result;
+        try {
+            result = optimizer.optimize(populationSize, eliteSize, generations, patience, pool,
+                (generation, hand, fitness) -> System.out.printf(
+                    "Generación %3d: mejor %.4f | evaluaciones %,d (descartadas %,d, caché %,d)%n",
+                    generation, fitness.getScore(), optimizer.getEvaluations(),
+                    optimizer.getEarlyStops(), optimizer.getCacheHits()));
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("--------------------------------------------");
+        System.out.printf("Mejor mano (%.4f de puntuación, %d generaciones):%n",
+                          result.getBestFitness().getScore(), result.getGenerations());
+        for (DuelCard card : result.getBestHand()) {
+            System.out.printf("  %-40s ATK %4d  DEF %4d  L%d%n", card.getCardName(),
+                              card.getAttackPower(), card.getDefensePower(), card.getLevel());
+        }
+        System.out.printf("Evaluaciones: %,d (%,d descartadas antes de terminar) | Aciertos de caché: %,d%n",
+                          optimizer.getEvaluations(), optimizer.getEarlyStops(), optimizer.getCacheHits());
+        System.out.printf("Tiempo: %.2f s | Rendimiento: %,.0f evaluaciones/s, %,.0f duelos/s%n", seconds,
+                          seconds > 0 ? optimizer.getEvaluations() / seconds : 0.0,
+                          seconds > 0 ? optimizer.getDuelsPlayed() / seconds : 0.0);
+    }
+}
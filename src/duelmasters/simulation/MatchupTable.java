@@ -0,0 +1,66 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.DuelRules;
+import duelmasters.entities.DuelCard;
+
+import java.util.List;
+
+/**
+ * Tabla precalculada de enfrentamientos para un par de manos
+ * Guarda el resultado de cada combinación (carta y posición del jugador,
+ * carta y posición de la IA), con el desempate por nivel ya aplicado, en un
+ * arreglo de bytes. El índice es movimiento del jugador * movimientos de la
+ * IA + movimiento de la IA, con movimiento = carta * 3 + posición, así que
+ * las respuestas de la IA a un mismo movimiento del jugador son contiguas
+ *
+ * Se construye una vez al empezar el duelo y es inmutable: la comparten
+ * todas las copias del estado y todos los hilos
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class MatchupTable {
+
+    private static final int POSITIONS = CompactDuelState.POSITION_COUNT;
+
+    private final byte[] outcomes;
+    private final int aiMoves;
+
+    /**
+     * Calcula todos los enfrentamientos de los dos mazos, en el orden de BattleEngine
+     */
+    public MatchupTable(List<DuelCard> playerDeck, List<DuelCard> aiDeck) {
+        this.aiMoves = aiDeck.size() * POSITIONS;
+        this.outcomes = new byte[playerDeck.size() * POSITIONS * aiMoves];
+
+        int index = 0;
+        for (DuelCard playerCard : playerDeck) {
+            for (int playerPosition = 0; playerPosition < POSITIONS; playerPosition++) {
+                int playerPower = CompactDuelState.effectivePower(playerPosition,
+                    playerCard.getAttackPower(), playerCard.getDefensePower());
+                for (DuelCard aiCard : aiDeck) {
+                    for (int aiPosition = 0; aiPosition < POSITIONS; aiPosition++) {
+                        int aiPower = CompactDuelState.effectivePower(aiPosition,
+                            aiCard.getAttackPower(), aiCard.getDefensePower());
+                        outcomes[index++] = (byte) DuelRules.resolveRound(
+                            playerPower, playerCard.getLevel(), aiPower, aiCard.getLevel());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Resultado de la ronda en O(1)
+     *
+     * @return DuelRules.ROUND_PLAYER_WINS, ROUND_AI_WINS o ROUND_TIE
+     */
+    public int outcome(int playerCard, int playerPosition, int aiCard, int aiPosition) {
+        return outcomes[(playerCard * POSITIONS + playerPosition) * aiMoves + aiCard * POSITIONS + aiPosition];
+    }
+
+    /** Tamaño de la tabla en bytes */
+    public int size() {
+        return outcomes.length;
+    }
+}
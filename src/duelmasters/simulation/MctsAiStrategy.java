@@ -0,0 +1,334 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.AiStrategy;
+import duelmasters.engine.DuelRules;
+import duelmasters.engine.DuelView;
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estrategia de IA por búsqueda Monte Carlo plana en la raíz
+ * No es un MCTS completo: no construye árbol. Cada movimiento candidato
+ * (carta × posición) es un brazo de un bandido UCB1 en la raíz, y cada
+ * visita juega el resto del duelo sobre CompactDuelState con simulaciones
+ * heurísticas (un modelo del jugador y la IA heurística), sin expandir los
+ * turnos siguientes. Los hilos buscan de forma independiente durante el
+ * presupuesto de tiempo y sus estadísticas se suman al final; gana el
+ * candidato más visitado. El nombre (y la opción "mcts" de AiStrategies)
+ * se mantiene por compatibilidad
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class MctsAiStrategy implements AiStrategy, AutoCloseable {
+
+    public static final long DEFAULT_BUDGET_MILLIS = 20;
+
+    private static final String AI_NAME = "IA Estratégica";
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int DEADLINE_CHECK_INTERVAL = 32;
+    private static final BattlePosition[] POSITIONS = BattlePosition.values();
+
+    // Recompensas en medios puntos para acumular en enteros
+    private static final int REWARD_WIN = 2;
+    private static final int REWARD_DRAW = 1;
+
+    private final long budgetNanos;
+    private final long maxRolloutsPerMove;
+    private final int threads;
+    private final PlayerPolicy opponentModel;
+    private final ExecutorService workers;
+    private final SplittableRandom seedSource;
+
+    // Estadísticas acumuladas
+    private final LongAdder totalRollouts = new LongAdder();
+    private final LongAdder totalSearchNanos = new LongAdder();
+    private final LongAdder movesSearched = new LongAdder();
+    private volatile SearchReport lastReport;
+
+    /**
+     * Resumen de una búsqueda
+     */
+    public static final class SearchReport {
+        private final long rollouts;
+        private final long elapsedNanos;
+        private final int candidates;
+        private final double expectedScore;
+
+        SearchReport(long rollouts, long elapsedNanos, int candidates, double expectedScore) {
+            this.rollouts = rollouts;
+            this.elapsedNanos = elapsedNanos;
+            this.candidates = candidates;
+            this.expectedScore = expectedScore;
+        }
+
+        public long getRollouts() { return rollouts; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        public int getCandidates() { return candidates; }
+
+        /** Puntuación esperada del movimiento elegido (1 victoria, 0.5 empate, 0 derrota) */
+        public double getExpectedScore() { return expectedScore; }
+
+        public double getRolloutsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : rollouts * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d simulaciones en %.1f ms (%,.0f/s), %d candidatos, puntuación esperada %.3f",
+                                 rollouts, elapsedNanos / 1e6, getRolloutsPerSecond(), candidates, expectedScore);
+        }
+    }
+
+    /**
+     * Estrategia con el presupuesto por defecto, todos los núcleos y un
+     * jugador modelado como codicioso
+     */
+    public MctsAiStrategy() {
+        this(DEFAULT_BUDGET_MILLIS, Runtime.getRuntime().availableProcessors(), PlayerPolicy.GREEDY, 0, System.nanoTime());
+    }
+
+    /**
+     * @param budgetMillis Tiempo de búsqueda por movimiento
+     * @param threads Hilos de búsqueda (incluido el que llama)
+     * @param opponentModel Política con la que se simula al jugador
+     * @param maxRolloutsPerMove Límite de simulaciones por movimiento (0 = solo el tiempo)
+     * @param seed Semilla de los generadores de cada hilo
+     */
+    public MctsAiStrategy(long budgetMillis, int threads, PlayerPolicy opponentModel,
+                          long maxRolloutsPerMove, long seed) {
+        if (budgetMillis <= 0 || threads <= 0) {
+            throw new IllegalArgumentException("El presupuesto y los hilos deben ser positivos");
+        }
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.threads = threads;
+        this.opponentModel = opponentModel;
+        this.maxRolloutsPerMove = maxRolloutsPerMove;
+        this.seedSource = new SplittableRandom(seed);
+        this.workers = threads > 1
+            ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+                Thread thread = new Thread(runnable, "mcts-ai");
+                thread.setDaemon(true);
+                return thread;
+            })
+            : null;
+    }
+
+    @Override
+    public TacticalChoice chooseOpeningMove(DuelView view) {
+        return search(view, null);
+    }
+
+    @Override
+    public TacticalChoice chooseResponse(DuelView view, TacticalChoice playerChoice) {
+        return search(view, playerChoice);
+    }
+
+    /**
+     * Busca el mejor movimiento para la posición actual
+     *
+     * @param playerChoice Elección ya hecha por el jugador, o null si la IA abre la ronda
+     */
+    private TacticalChoice search(DuelView view, TacticalChoice playerChoice) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+
+        List<DuelCard> aiCards = view.getAiActiveCards();
+        CompactDuelState root = CompactDuelState.fromView(view, playerChoice != null);
+        int playerCard = playerChoice == null ? -1 : view.getPlayerActiveCards().indexOf(playerChoice.getSelectedCard());
+        int playerPosition = playerChoice == null ? -1 : playerChoice.getBattlePosition().ordinal();
+        int candidates = aiCards.size() * POSITIONS.length;
+
+        // Un buscador por hilo, cada uno con su generador y sus estadísticas
+        List<RootSearch> searches = new ArrayList<>(threads);
+        synchronized (seedSource) {
+            for (int i = 0; i < threads; i++) {
+                searches.add(new RootSearch(root, candidates, playerCard, playerPosition, seedSource.split(), deadline));
+            }
+        }
+
+        List<Future<?>> pending = new ArrayList<>(threads - 1);
+        for (int i = 1; i < threads; i++) {
+            pending.add(workers.submit(searches.get(i)));
+        }
+        searches.get(0).run();
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                // Los buscadores que siguen en marcha se cancelan (comprueban la interrupción)
+                // y no se combinan: sus contadores aún se están escribiendo
+                Thread.currentThread().interrupt();
+                pending.forEach(running -> running.cancel(true));
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error en la búsqueda de la IA", e.getCause());
+            }
+        }
+
+        // Combinar las estadísticas de los hilos que terminaron: el del llamador y los
+        // trabajos completados (el estado de la Future publica sus escrituras)
+        long[] visits = new long[candidates];
+        long[] rewards = new long[candidates];
+        long rollouts = 0;
+        for (int i = 0; i < threads; i++) {
+            if (i > 0 && (pending.get(i - 1).isCancelled() || !pending.get(i - 1).isDone())) {
+                continue;
+            }
+            RootSearch rootSearch = searches.get(i);
+            for (int move = 0; move < candidates; move++) {
+                visits[move] += rootSearch.visits[move];
+                rewards[move] += rootSearch.rewards[move];
+            }
+            rollouts += rootSearch.rollouts;
+        }
+
+        // Hijo más visitado; en empate, la mejor media
+        int best = 0;
+        for (int move = 1; move < candidates; move++) {
+            if (visits[move] > visits[best]
+                || (visits[move] == visits[best] && rewards[move] > rewards[best])) {
+                best = move;
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        double expectedScore = visits[best] == 0 ? 0.0 : rewards[best] / (2.0 * visits[best]);
+        lastReport = new SearchReport(rollouts, elapsed, candidates, expectedScore);
+        totalRollouts.add(rollouts);
+        totalSearchNanos.add(elapsed);
+        movesSearched.increment();
+
+        return new TacticalChoice(aiCards.get(best / POSITIONS.length), POSITIONS[best % POSITIONS.length], AI_NAME);
+    }
+
+    /**
+     * Bandido UCB1 sobre los movimientos de la raíz en un solo hilo
+     */
+    private final class RootSearch implements Runnable {
+        private final CompactDuelState root;
+        private final CompactDuelState scratch;
+        private final int playerCard;
+        private final int playerPosition;
+        private final SplittableRandom random;
+        private final long deadline;
+        final long[] visits;
+        final long[] rewards;
+        long rollouts;
+
+        RootSearch(CompactDuelState root, int candidates, int playerCard, int playerPosition,
+                   SplittableRandom random, long deadline) {
+            this.root = root;
+            this.scratch = new CompactDuelState(root);
+            this.playerCard = playerCard;
+            this.playerPosition = playerPosition;
+            this.random = random;
+            this.deadline = deadline;
+            this.visits = new long[candidates];
+            this.rewards = new long[candidates];
+        }
+
+        @Override
+        public void run() {
+            long limit = maxRolloutsPerMove > 0 ? Math.max(1, maxRolloutsPerMove / threads) : Long.MAX_VALUE;
+            while (rollouts < limit) {
+                if (rollouts % DEADLINE_CHECK_INTERVAL == 0 && rollouts > 0
+                    && (System.nanoTime() >= deadline || Thread.currentThread().isInterrupted())) {
+                    break;
+                }
+                int move = selectMove();
+                visits[move]++;
+                rewards[move] += rollout(move);
+                rollouts++;
+            }
+        }
+
+        /**
+         * UCB1: primero cada hijo una vez, después media + exploración
+         */
+        private int selectMove() {
+            if (rollouts < visits.length) {
+                return (int) rollouts;
+            }
+            double logTotal = Math.log(rollouts);
+            int best = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int move = 0; move < visits.length; move++) {
+                double mean = rewards[move] / (2.0 * visits[move]);
+                double value = mean + EXPLORATION * Math.sqrt(logTotal / visits[move]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = move;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Aplica el movimiento candidato y juega el resto del duelo
+         *
+         * @return Recompensa en medios puntos para la IA
+         */
+        private int rollout(int move) {
+            // La raíz se construye con las cartas activas: índice en la lista = índice en el mazo
+            int aiCard = move / POSITIONS.length;
+            int aiPosition = move % POSITIONS.length;
+
+            scratch.copyFrom(root);
+            if (playerCard < 0) {
+                int playerMove = DuelPlayout.choosePlayerMove(opponentModel, random, scratch, aiCard, aiPosition);
+                scratch.resolveRound(DuelPlayout.moveCard(playerMove), DuelPlayout.movePosition(playerMove),
+                                     aiCard, aiPosition);
+            } else {
+                scratch.resolveRound(playerCard, playerPosition, aiCard, aiPosition);
+            }
+            DuelPlayout.playToEnd(opponentModel, random, scratch);
+
+            int outcome = scratch.getDuelOutcome();
+            if (outcome == DuelRules.ROUND_AI_WINS) return REWARD_WIN;
+            if (outcome == DuelRules.ROUND_TIE) return REWARD_DRAW;
+            return 0;
+        }
+    }
+
+    /**
+     * Resumen de la última búsqueda, o null si aún no hubo ninguna
+     */
+    public SearchReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Simulaciones por segundo acumuladas en todas las búsquedas
+     */
+    public double getRolloutsPerSecond() {
+        long nanos = totalSearchNanos.sum();
+        return nanos == 0 ? 0.0 : totalRollouts.sum() * 1e9 / nanos;
+    }
+
+    public long getTotalRollouts() { return totalRollouts.sum(); }
+    public long getMovesSearched() { return movesSearched.sum(); }
+
+    @Override
+    public String getDescription() {
+        return String.format("mcts(%d ms, %d hilos, modelo %s)",
+                             budgetNanos / 1_000_000, threads, opponentModel.name().toLowerCase());
+    }
+
+    @Override
+    public void close() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+}
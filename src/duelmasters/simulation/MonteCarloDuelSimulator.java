@@ -0,0 +1,255 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.DuelRandom;
+import duelmasters.engine.DuelRules;
+import duelmasters.entities.DuelCard;
+import duelmasters.headless.SyntheticDeckFactory;
+import duelmasters.services.DuelCardsService;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulador Monte Carlo de duelos en paralelo
+ * Juega duelos independientes con las mismas reglas que BattleEngine
+ * (DuelRules) sobre un ForkJoinPool. Cada tarea hoja tiene su propio
+ * SplittableRandom derivado de la semilla y su propio acumulador, que se
+ * combinan al unir las tareas: no hay estado compartido entre hilos
+ *
+ * El resultado depende solo de la semilla y no del número de hilos
+ *
+ * Uso: java duelmasters.DuelMastersLauncher --simulate [opciones]
+ *   --duels N        Número de duelos (por defecto 1000000)
+ *   --seed S         Semilla de las manos y de la simulación
+ *   --threads N      Hilos del pool (por defecto todos los núcleos)
+ *   --policy P       random | greedy | mirror (por defecto greedy)
+ *   --hand N         Cartas por mano (por defecto 3)
+ *   --cards ARCHIVO  Catálogo JSON de la API en lugar de cartas sintéticas
+ *   --scaling        Repite la simulación con 1, 2, 4... hilos y muestra la aceleración
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class MonteCarloDuelSimulator {
+
+    private static final int DEFAULT_HAND_SIZE = 3;
+    private static final long DEFAULT_DUELS = 1_000_000L;
+
+    /** Duelos por tarea hoja: suficiente para amortizar el coste del fork */
+    private static final int DUELS_PER_TASK = 4096;
+
+    /** Estado inicial compartido; cada tarea hoja trabaja sobre su propia copia */
+    private final CompactDuelState template;
+    private final PlayerPolicy policy;
+
+    /**
+     * Crea un simulador para un enfrentamiento de manos fijo
+     *
+     * @param playerDeck Mano del jugador, en el orden en que BattleEngine la restaura
+     * @param aiDeck Mano de la IA
+     * @param policy Política del lado del jugador
+     * @throws IllegalArgumentException Si alguna mano tiene menos cartas de las requeridas
+     */
+    public MonteCarloDuelSimulator(List<DuelCard> playerDeck, List<DuelCard> aiDeck, PlayerPolicy policy) {
+        if (playerDeck.size() < DuelRules.MIN_DECK_SIZE || aiDeck.size() < DuelRules.MIN_DECK_SIZE) {
+            throw new IllegalArgumentException(
+                String.format("Ambos duelistas necesitan al menos %d cartas para iniciar", DuelRules.MIN_DECK_SIZE));
+        }
+        this.template = new CompactDuelState(playerDeck, aiDeck);
+        this.policy = policy;
+    }
+
+    /**
+     * Simula duelos en el pool común
+     */
+    public SimulationStats simulate(long duels, long seed) {
+        return simulate(duels, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Simula duelos en el pool indicado
+     *
+     * @param duels Número de duelos
+     * @param seed Semilla; la misma semilla produce las mismas estadísticas con cualquier número de hilos
+     * @param pool Pool donde se ejecutan las tareas
+     * @return Estadísticas combinadas de todos los duelos
+     */
+    public SimulationStats simulate(long duels, long seed, ForkJoinPool pool) {
+        if (duels <= 0) {
+            return new SimulationStats();
+        }
+        long tasks = (duels + DUELS_PER_TASK - 1) / DUELS_PER_TASK;
+        return pool.invoke(new SimulationTask(0, tasks, duels, seed));
+    }
+
+    /**
+     * Tarea que divide el rango de tareas hoja por la mitad hasta llegar a una
+     */
+    private final class SimulationTask extends RecursiveTask<SimulationStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final long firstTask;
+        private final long lastTask;
+        private final long totalDuels;
+        private final long seed;
+
+        SimulationTask(long firstTask, long lastTask, long totalDuels, long seed) {
+            this.firstTask = firstTask;
+            this.lastTask = lastTask;
+            this.totalDuels = totalDuels;
+            this.seed = seed;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (lastTask - firstTask == 1) {
+                return runLeaf(firstTask);
+            }
+            long middle = (firstTask + lastTask) >>> 1;
+            SimulationTask left = new SimulationTask(firstTask, middle, totalDuels, seed);
+            left.fork();
+            SimulationStats right = new SimulationTask(middle, lastTask, totalDuels, seed).compute();
+            return left.join().merge(right);
+        }
+
+        private SimulationStats runLeaf(long taskIndex) {
+            long firstDuel = taskIndex * DUELS_PER_TASK;
+            long duels = Math.min(DUELS_PER_TASK, totalDuels - firstDuel);
+
+            SplittableRandom random = new SplittableRandom(taskSeed(seed, taskIndex));
+            CompactDuelState state = new CompactDuelState(template);
+            SimulationStats stats = new SimulationStats();
+            for (long duel = 0; duel < duels; duel++) {
+                boolean playerStarted = playDuel(random, state);
+                stats.recordDuel(state.getPlayerVictories(), state.getAiVictories(),
+                                 state.getRoundsPlayed(), state.getTiedRounds(), playerStarted);
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Juega un duelo completo siguiendo el flujo de BattleEngine:
+     * commenceBattle → selección de quien inicia → rondas hasta el final
+     *
+     * @return true si el jugador hizo el primer movimiento
+     */
+    private boolean playDuel(SplittableRandom random, CompactDuelState state) {
+        boolean playerStarted = random.nextBoolean();
+        state.reset(playerStarted);
+        DuelPlayout.playToEnd(policy, random, state);
+        return playerStarted;
+    }
+
+    /**
+     * Semilla de una tarea hoja. SplittableRandom avanza su estado sumando la
+     * misma constante que separa las semillas de DuelRandom.mix, así que las
+     * semillas van mezcladas para que los flujos de tareas vecinas no se solapen
+     */
+    static long taskSeed(long seed, long taskIndex) {
+        return DuelRandom.mix(seed, taskIndex);
+    }
+
+    public static void main(String[] args) throws IOException {
+        long duels = DEFAULT_DUELS;
+        long seed = System.nanoTime();
+        int threads = Runtime.getRuntime().availableProcessors();
+        PlayerPolicy policy = PlayerPolicy.GREEDY;
+        int handSize = DEFAULT_HAND_SIZE;
+        String cardsFile = null;
+        boolean scaling = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--duels": duels = Long.parseLong(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--policy": policy = PlayerPolicy.valueOf(args[++i].toUpperCase()); break;
+                case "--hand": handSize = Integer.parseInt(args[++i]); break;
+                case "--cards": cardsFile = args[++i]; break;
+                case "--scaling": scaling = true; break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        List<DuelCard> playerDeck;
+        List<DuelCard> aiDeck;
+        Random deckRandom = new Random(seed);
+        if (cardsFile != null) {
+            List<DuelCard> catalog = new DuelCardsService().loadBattleCards(Paths.get(cardsFile), 0);
+            if (catalog.size() < handSize * 2) {
+                System.err.println("El catálogo necesita al menos " + handSize * 2 + " cartas de batalla");
+                System.exit(2);
+            }
+            Collections.shuffle(catalog, deckRandom);
+            playerDeck = new ArrayList<>(catalog.subList(0, handSize));
+            aiDeck = new ArrayList<>(catalog.subList(handSize, handSize * 2));
+        } else {
+            playerDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1);
+            aiDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1 + handSize);
+        }
+
+        MonteCarloDuelSimulator simulator = new MonteCarloDuelSimulator(playerDeck, aiDeck, policy);
+
+        System.out.printf("=== SIMULACIÓN MONTE CARLO === política=%s, duelos=%d, hilos=%d, semilla=%d%n",
+                          policy.name().toLowerCase(), duels, threads, seed);
+        System.out.println("Jugador: " + describeDeck(playerDeck));
+        System.out.println("IA:      " + describeDeck(aiDeck));
+
+        // Calentamiento para que el JIT compile el bucle del duelo antes de medir
+        simulator.simulate(Math.min(duels, 200_000L), DuelRandom.mix(seed, -1), ForkJoinPool.commonPool());
+
+        if (scaling) {
+            double baseline = 0;
+            for (int workers = 1; ; workers = Math.min(workers * 2, threads)) {
+                double rate = timedRun(simulator, duels, seed, workers, null);
+                if (workers == 1) baseline = rate;
+                System.out.printf("  %2d hilos: %,.0f duelos/s (x%.2f)%n", workers, rate, rate / baseline);
+                if (workers >= threads) break;
+            }
+        }
+
+        SimulationStats[] result = new SimulationStats[1];
+        double rate = timedRun(simulator, duels, seed, threads, result);
+        System.out.println("--------------------------------------------");
+        System.out.println(result[0].summary());
+        System.out.printf("Rendimiento: %,.0f duelos/s con %d hilos%n", rate, threads);
+    }
+
+    /**
+     * Ejecuta una simulación en un pool propio y devuelve los duelos por segundo
+     */
+    private static double timedRun(MonteCarloDuelSimulator simulator, long duels, long seed,
+                                   int threads, SimulationStats[] result) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long start = System.nanoTime();
+            SimulationStats stats = simulator.simulate(duels, seed, pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            if (result != null) {
+                result[0] = stats;
+            }
+            return seconds > 0 ? duels / seconds : 0.0;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String describeDeck(List<DuelCard> deck) {
+        StringBuilder text = new StringBuilder();
+        for (DuelCard card : deck) {
+            if (text.length() > 0) text.append(", ");
+            text.append(String.format("%d/%d L%d", card.getAttackPower(), card.getDefensePower(), card.getLevel()));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package duelmasters.simulation;
+
+/**
+ * Política del lado del jugador en los duelos simulados
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public enum PlayerPolicy {
+
+    /** Carta y posición al azar */
+    RANDOM,
+
+    /** Igual que HeadlessPlayers.greedy: la carta más débil que gana, o el mayor poder */
+    GREEDY,
+
+    /** Las mismas tablas de probabilidad que la IA del motor (IA contra IA) */
+    MIRROR
+}
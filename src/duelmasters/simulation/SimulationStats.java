@@ -0,0 +1,112 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.DuelRules;
+
+/**
+ * Acumulador de estadísticas de simulación
+ * Cada tarea del simulador escribe en su propia instancia sin sincronización
+ * y los acumuladores se combinan con merge al terminar
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class SimulationStats {
+
+    /** Máximo de rondas posible: una carta por ronda de la mano más grande simulada */
+    public static final int MAX_TRACKED_ROUNDS = 64;
+
+    private long duels;
+    private long playerWins;
+    private long aiWins;
+    private long draws;
+    private long totalRounds;
+    private long tiedRounds;
+    private long playerFirstDuels;
+    private long firstMoverWins;
+    private final long[] roundHistogram = new long[MAX_TRACKED_ROUNDS + 1];
+
+    /**
+     * Registra el resultado de un duelo
+     *
+     * @param playerVictories Rondas ganadas por el jugador
+     * @param aiVictories Rondas ganadas por la IA
+     * @param rounds Rondas jugadas
+     * @param ties Rondas empatadas
+     * @param playerStarted true si el jugador hizo el primer movimiento
+     */
+    public void recordDuel(int playerVictories, int aiVictories, int rounds, int ties, boolean playerStarted) {
+        duels++;
+        totalRounds += rounds;
+        tiedRounds += ties;
+        roundHistogram[Math.min(rounds, MAX_TRACKED_ROUNDS)]++;
+
+        if (playerStarted) {
+            playerFirstDuels++;
+        }
+        if (playerVictories > aiVictories) {
+            playerWins++;
+            if (playerStarted) firstMoverWins++;
+        } else if (aiVictories > playerVictories) {
+            aiWins++;
+            if (!playerStarted) firstMoverWins++;
+        } else {
+            draws++;
+        }
+    }
+
+    /**
+     * Combina las estadísticas de otro acumulador en este
+     *
+     * @return this, para encadenar en reducciones
+     */
+    public SimulationStats merge(SimulationStats other) {
+        duels += other.duels;
+        playerWins += other.playerWins;
+        aiWins += other.aiWins;
+        draws += other.draws;
+        totalRounds += other.totalRounds;
+        tiedRounds += other.tiedRounds;
+        playerFirstDuels += other.playerFirstDuels;
+        firstMoverWins += other.firstMoverWins;
+        for (int i = 0; i < roundHistogram.length; i++) {
+            roundHistogram[i] += other.roundHistogram[i];
+        }
+        return this;
+    }
+
+    // Getters
+    public long getDuels() { return duels; }
+    public long getPlayerWins() { return playerWins; }
+    public long getAiWins() { return aiWins; }
+    public long getDraws() { return draws; }
+    public long getTotalRounds() { return totalRounds; }
+    public long getTiedRounds() { return tiedRounds; }
+    public long getPlayerFirstDuels() { return playerFirstDuels; }
+    public long getFirstMoverWins() { return firstMoverWins; }
+    public long getDuelsWithRounds(int rounds) { return roundHistogram[Math.min(rounds, MAX_TRACKED_ROUNDS)]; }
+
+    public double getPlayerWinRate() { return duels == 0 ? 0 : (double) playerWins / duels; }
+    public double getAiWinRate() { return duels == 0 ? 0 : (double) aiWins / duels; }
+    public double getDrawRate() { return duels == 0 ? 0 : (double) draws / duels; }
+
+    /**
+     * Resumen legible de las estadísticas
+     */
+    public String summary() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Duelos: %d | Jugador: %.2f%% | IA: %.2f%% | Empates: %.2f%%%n",
+                                  duels, getPlayerWinRate() * 100, getAiWinRate() * 100, getDrawRate() * 100));
+        text.append(String.format("Rondas por duelo: %.3f | Rondas empatadas: %.2f%% | Victorias del primero en mover: %.2f%%%n",
+                                  duels == 0 ? 0.0 : (double) totalRounds / duels,
+                                  totalRounds == 0 ? 0.0 : 100.0 * tiedRounds / totalRounds,
+                                  duels == 0 ? 0.0 : 100.0 * firstMoverWins / duels));
+        text.append("Distribución de rondas:");
+        for (int rounds = 1; rounds <= MAX_TRACKED_ROUNDS; rounds++) {
+            if (roundHistogram[rounds] > 0) {
+                text.append(String.format(" %d→%.2f%%", rounds, 100.0 * roundHistogram[rounds] / duels));
+            }
+        }
+        text.append(String.format("%nRequisito de victoria: %d rondas", DuelRules.WINNING_SCORE));
+        return text.toString();
+    }
+}
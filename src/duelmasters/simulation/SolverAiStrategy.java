@@ -0,0 +1,89 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.AiStrategy;
+import duelmasters.engine.DuelView;
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.TacticalChoice;
+
+/**
+ * Estrategia de IA que juega el movimiento óptimo según DuelSolver
+ * Cuando alguna mano restante supera el límite de resolución exacta delega
+ * en otra estrategia; a medida que el duelo avanza las manos se reducen y
+ * el resto del duelo se resuelve de forma exacta
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class SolverAiStrategy implements AiStrategy {
+
+    /** Cartas por mano a partir de las cuales se usa la estrategia de respaldo */
+    public static final int DEFAULT_EXACT_HAND_LIMIT = 6;
+
+    private static final String AI_NAME = "IA Estratégica";
+
+    private final DuelSolver solver;
+    private final String modelName;
+    private final AiStrategy fallback;
+    private final int exactHandLimit;
+    private volatile DuelSolver.Solution lastSolution;
+
+    /**
+     * @param opponentModel Política del jugador, o null para suponer un jugador óptimo
+     * @param fallback Estrategia para manos mayores que exactHandLimit
+     * @param exactHandLimit Máximo de cartas por mano que se resuelven (hasta DuelSolver.MAX_HAND_SIZE)
+     */
+    public SolverAiStrategy(PlayerPolicy opponentModel, AiStrategy fallback, int exactHandLimit) {
+        if (exactHandLimit < 1 || exactHandLimit > DuelSolver.MAX_HAND_SIZE) {
+            throw new IllegalArgumentException("Límite de resolución exacta fuera de rango: " + exactHandLimit);
+        }
+        this.solver = opponentModel == null
+            ? DuelSolver.optimalAgainstAdversary()
+            : DuelSolver.optimalAgainst(opponentModel);
+        this.modelName = opponentModel == null ? "adversarial" : opponentModel.name().toLowerCase();
+        this.fallback = fallback;
+        this.exactHandLimit = exactHandLimit;
+    }
+
+    @Override
+    public TacticalChoice chooseOpeningMove(DuelView view) {
+        if (!canSolve(view)) {
+            return fallback.chooseOpeningMove(view);
+        }
+        return toChoice(view, solver.solve(CompactDuelState.fromView(view, false), -1, -1));
+    }
+
+    @Override
+    public TacticalChoice chooseResponse(DuelView view, TacticalChoice playerChoice) {
+        if (!canSolve(view)) {
+            return fallback.chooseResponse(view, playerChoice);
+        }
+        int playerCard = view.getPlayerActiveCards().indexOf(playerChoice.getSelectedCard());
+        BattlePosition playerPosition = playerChoice.getBattlePosition();
+        return toChoice(view, solver.solve(CompactDuelState.fromView(view, true), playerCard, playerPosition.ordinal()));
+    }
+
+    private boolean canSolve(DuelView view) {
+        return view.getPlayerActiveCards().size() <= exactHandLimit
+            && view.getAiActiveCards().size() <= exactHandLimit;
+    }
+
+    private TacticalChoice toChoice(DuelView view, DuelSolver.Solution solution) {
+        lastSolution = solution;
+        // El estado se construye con las cartas activas: índice en la lista = índice en el mazo
+        return new TacticalChoice(view.getAiActiveCards().get(solution.getBestCard()),
+                                  solution.getBestPosition(), AI_NAME);
+    }
+
+    /**
+     * Última resolución exacta, o null si aún no hubo ninguna
+     */
+    public DuelSolver.Solution getLastSolution() {
+        return lastSolution;
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format("solver(modelo %s, exacto hasta %d cartas, respaldo %s)",
+                             modelName, exactHandLimit, fallback.getDescription());
+    }
+}
@@ -0,0 +1,386 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.BattleEngine;
+import duelmasters.engine.CombatEventAdapter;
+import duelmasters.engine.DuelRandom;
+import duelmasters.engine.DuelRules;
+import duelmasters.engine.DuelView;
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+import duelmasters.headless.HeadlessDuelRunner;
+import duelmasters.headless.HeadlessPlayer;
+import duelmasters.headless.HeadlessPlayers;
+import duelmasters.headless.SyntheticDeckFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Estimador en vivo de la probabilidad de victoria del jugador
+ * A partir de la posición actual de un duelo calcula la probabilidad de que
+ * gane el jugador y el valor esperado de cada carta y posición que puede
+ * jugar, dentro de un presupuesto de tiempo por actualización (5 ms por
+ * defecto). Primero intenta la búsqueda exacta memorizada de DuelSolver con
+ * la mitad del presupuesto; si la mano supera DuelSolver.MAX_HAND_SIZE o la
+ * búsqueda no termina a tiempo, reparte el resto en duelos simulados con
+ * DuelPlayout
+ *
+ * El modelo es la IA heurística del motor contra un jugador que, después
+ * del movimiento evaluado, sigue la política dada (greedy por defecto). Con
+ * otra estrategia de IA configurada la estimación es una aproximación
+ *
+ * La posición se captura en el hilo de duelo (capture, microsegundos) y se
+ * estima en cualquier otro hilo; cada instancia admite un solo hilo a la vez
+ *
+ * Uso: java duelmasters.simulation.WinProbabilityEstimator [opciones]
+ *   --duels N     Duelos de prueba (por defecto 200)
+ *   --player P    Jugador de los duelos de prueba, como en HeadlessDuelRunner (por defecto greedy)
+ *   --hand N      Cartas por mano (por defecto 3)
+ *   --budget MS   Presupuesto por estimación en milisegundos (por defecto 5)
+ *   --model P     random | greedy | mirror (por defecto greedy)
+ *   --seed S      Semilla de mazos y duelos
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class WinProbabilityEstimator {
+
+    /** Presupuesto por defecto de cada estimación */
+    public static final long DEFAULT_BUDGET_MILLIS = 5;
+
+    private static final int POSITIONS = CompactDuelState.POSITION_COUNT;
+    private static final BattlePosition[] POSITION_VALUES = BattlePosition.values();
+    private static final int MAX_SAMPLES_PER_DEADLINE_CHECK = 16;
+
+    /** Un lote crece mientras dure menos que esta fracción del presupuesto */
+    private static final int BATCH_BUDGET_FRACTION = 64;
+
+    private final PlayerPolicy playerModel;
+    private final DuelSolver solver;
+    private final long budgetNanos;
+    private final SplittableRandom random;
+
+    /**
+     * Posición de un duelo en curso, independiente del motor
+     */
+    public static final class Position {
+        private final CompactDuelState state;
+        private final List<DuelCard> playerCards;
+        private final int aiCard;
+        private final int aiPosition;
+
+        private Position(CompactDuelState state, List<DuelCard> playerCards, int aiCard, int aiPosition) {
+            this.state = state;
+            this.playerCards = playerCards;
+            this.aiCard = aiCard;
+            this.aiPosition = aiPosition;
+        }
+
+        /** Cartas que puede jugar el jugador, en el orden de los índices de Estimate */
+        public List<DuelCard> getPlayerCards() { return playerCards; }
+
+        /** true si la IA ya abrió la ronda y el jugador responde */
+        public boolean isAiOpened() { return aiCard >= 0; }
+    }
+
+    /**
+     * Resultado de una estimación
+     */
+    public static final class Estimate {
+        private final List<DuelCard> playerCards;
+        private final DuelSolver.Outcome expected;
+        private final DuelSolver.Outcome[] moveOutcomes;
+        private final int bestMove;
+        private final boolean exact;
+        private final long samples;
+        private final long elapsedNanos;
+
+        Estimate(List<DuelCard> playerCards, DuelSolver.Outcome expected, DuelSolver.Outcome[] moveOutcomes,
+                 int bestMove, boolean exact, long samples, long elapsedNanos) {
+            this.playerCards = playerCards;
+            this.expected = expected;
+            this.moveOutcomes = moveOutcomes;
+            this.bestMove = bestMove;
+            this.exact = exact;
+            this.samples = samples;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public double getPlayerWinProbability() { return expected.getPlayerWinProbability(); }
+        public double getDrawProbability() { return expected.getDrawProbability(); }
+        public double getAiWinProbability() { return expected.getAiWinProbability(); }
+
+        /** Cartas del jugador a las que se refieren los índices de los movimientos */
+        public List<DuelCard> getPlayerCards() { return playerCards; }
+
+        /** Resultado de jugar la carta de índice card en la posición dada */
+        public DuelSolver.Outcome getMoveOutcome(int card, BattlePosition position) {
+            return moveOutcomes[card * POSITIONS + position.ordinal()];
+        }
+
+        /** Puntuación esperada del jugador (victoria 1, empate 0.5) con ese movimiento */
+        public double getMoveScore(int card, BattlePosition position) {
+            return 1.0 - getMoveOutcome(card, position).getExpectedScore();
+        }
+
+        public DuelCard getBestCard() { return playerCards.get(bestMove / POSITIONS); }
+        public BattlePosition getBestPosition() { return POSITION_VALUES[bestMove % POSITIONS]; }
+
+        /** true si viene de la búsqueda exacta; false si de duelos simulados */
+        public boolean isExact() { return exact; }
+        public long getSampleCount() { return samples; }
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        @Override
+        public String toString() {
+            return String.format("Jugador %.1f%% | Empate %.1f%% | IA %.1f%% | mejor: %s %s (%s, %.2f ms)",
+                                 100 * getPlayerWinProbability(), 100 * getDrawProbability(),
+                                 100 * getAiWinProbability(), getBestCard().getCardName(),
+                                 getBestPosition().getSymbol(),
+                                 exact ? "exacto" : samples + " simulaciones", elapsedNanos / 1e6);
+        }
+    }
+
+    public WinProbabilityEstimator() {
+        this(PlayerPolicy.GREEDY, DEFAULT_BUDGET_MILLIS, System.nanoTime());
+    }
+
+    /**
+     * @param playerModel Política del jugador después del movimiento evaluado
+     * @param budgetMillis Presupuesto de cada estimación
+     * @param seed Semilla de los duelos simulados
+     */
+    public WinProbabilityEstimator(PlayerPolicy playerModel, long budgetMillis, long seed) {
+        this.playerModel = playerModel;
+        this.solver = DuelSolver.heuristicAgainst(playerModel);
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Captura la posición actual de un duelo; se llama en el hilo del motor
+     *
+     * @param view Vista del duelo (normalmente el BattleEngine)
+     * @param pendingAiChoice Apertura de la IA ya elegida, o null si el jugador abre la ronda
+     * @return La posición, o null si el duelo terminó o el jugador no tiene cartas
+     */
+    public static Position capture(DuelView view, TacticalChoice pendingAiChoice) {
+        List<DuelCard> playerCards = List.copyOf(view.getPlayerActiveCards());
+        List<DuelCard> aiCards = view.getAiActiveCards();
+        if (playerCards.isEmpty() || aiCards.isEmpty()
+                || playerCards.size() > CompactDuelState.MAX_HAND_SIZE
+                || aiCards.size() > CompactDuelState.MAX_HAND_SIZE) {
+            return null;
+        }
+
+        int aiCard = -1;
+        int aiPosition = -1;
+        if (pendingAiChoice != null) {
+            aiCard = aiCards.indexOf(pendingAiChoice.getSelectedCard());
+            if (aiCard < 0) {
+                return null;
+            }
+            aiPosition = pendingAiChoice.getBattlePosition().ordinal();
+        }
+        CompactDuelState state = CompactDuelState.fromView(view, pendingAiChoice == null);
+        if (state.isFinished()) {
+            return null;
+        }
+        return new Position(state, playerCards, aiCard, aiPosition);
+    }
+
+    /**
+     * Estima la posición dentro del presupuesto
+     */
+    public Estimate estimate(Position position) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        CompactDuelState state = position.state;
+
+        if (state.getPlayerDeckSize() <= DuelSolver.MAX_HAND_SIZE && state.getAiDeckSize() <= DuelSolver.MAX_HAND_SIZE) {
+            DuelSolver.PlayerMoves moves = solver.evaluatePlayerMoves(state, position.aiCard, position.aiPosition,
+                                                                      start + budgetNanos / 2);
+            if (moves != null) {
+                DuelSolver.Outcome[] outcomes = new DuelSolver.Outcome[state.getPlayerDeckSize() * POSITIONS];
+                for (long hand = state.getPlayerHand(); hand != 0; hand &= hand - 1) {
+                    int card = Long.numberOfTrailingZeros(hand);
+                    for (BattlePosition battlePosition : POSITION_VALUES) {
+                        outcomes[card * POSITIONS + battlePosition.ordinal()] = moves.getMoveOutcome(card, battlePosition);
+                    }
+                }
+                int bestMove = moves.getBestCard() * POSITIONS + moves.getBestPosition().ordinal();
+                return new Estimate(position.playerCards, moves.getExpectedOutcome(), outcomes, bestMove,
+                                    true, 0, System.nanoTime() - start);
+            }
+        }
+        return sample(position, deadline, start);
+    }
+
+    /**
+     * Duelos simulados hasta el plazo, repartidos por igual entre los
+     * movimientos del jugador y el movimiento del modelo (el valor esperado)
+     */
+    private Estimate sample(Position position, long deadline, long start) {
+        CompactDuelState state = position.state;
+        int moveCount = state.getPlayerDeckSize() * POSITIONS;
+        int[] moves = new int[state.getPlayerCardCount() * POSITIONS + 1];
+        int buckets = 0;
+        for (long hand = state.getPlayerHand(); hand != 0; hand &= hand - 1) {
+            int card = Long.numberOfTrailingZeros(hand);
+            for (int playerPosition = 0; playerPosition < POSITIONS; playerPosition++) {
+                moves[buckets++] = DuelPlayout.packMove(card, playerPosition);
+            }
+        }
+        moves[buckets++] = -1; // Movimiento elegido por el modelo
+
+        long[] aiWins = new long[buckets];
+        long[] draws = new long[buckets];
+        long[] counts = new long[buckets];
+        CompactDuelState scratch = new CompactDuelState(state);
+        long samples = 0;
+
+        // El plazo se comprueba tras cada lote; el lote empieza en un duelo y
+        // se duplica mientras sea corto frente al presupuesto, así una mano
+        // grande (o código aún sin compilar) no se pasa del plazo
+        int batch = 1;
+        long now = System.nanoTime();
+        do {
+            long batchStart = now;
+            for (int i = 0; i < batch; i++, samples++) {
+                int bucket = (int) (samples % buckets);
+                scratch.copyFrom(state);
+                int move = moves[bucket] >= 0 ? moves[bucket]
+                    : DuelPlayout.choosePlayerMove(playerModel, random, scratch, position.aiCard, position.aiPosition);
+                int playerCard = DuelPlayout.moveCard(move);
+                int playerPosition = DuelPlayout.movePosition(move);
+                int aiCard = position.aiCard;
+                int aiPosition = position.aiPosition;
+                if (aiCard < 0) {
+                    aiCard = scratch.selectAiCard(random);
+                    aiPosition = CompactDuelState.selectAiPosition(random, playerPosition);
+                }
+                scratch.resolveRound(playerCard, playerPosition, aiCard, aiPosition);
+                DuelPlayout.playToEnd(playerModel, random, scratch);
+
+                int outcome = scratch.getDuelOutcome();
+                counts[bucket]++;
+                if (outcome == DuelRules.ROUND_AI_WINS) aiWins[bucket]++;
+                else if (outcome == DuelRules.ROUND_TIE) draws[bucket]++;
+            }
+            now = System.nanoTime();
+            if (batch < MAX_SAMPLES_PER_DEADLINE_CHECK && (now - batchStart) * BATCH_BUDGET_FRACTION < budgetNanos) {
+                batch *= 2;
+            }
+        } while (now - deadline < 0);
+
+        DuelSolver.Outcome[] outcomes = new DuelSolver.Outcome[moveCount];
+        int bestMove = -1;
+        for (int bucket = 0; bucket < buckets - 1; bucket++) {
+            int move = moves[bucket];
+            outcomes[move] = frequencies(aiWins[bucket], draws[bucket], counts[bucket]);
+            if (bestMove < 0 || outcomes[move].getExpectedScore() < outcomes[bestMove].getExpectedScore()) {
+                bestMove = move;
+            }
+        }
+        DuelSolver.Outcome expected = frequencies(aiWins[buckets - 1], draws[buckets - 1], counts[buckets - 1]);
+        return new Estimate(position.playerCards, expected, outcomes, bestMove, false, samples, System.nanoTime() - start);
+    }
+
+    private static DuelSolver.Outcome frequencies(long aiWins, long draws, long count) {
+        return count == 0 ? new DuelSolver.Outcome(0.5, 0.0)
+                          : new DuelSolver.Outcome((double) aiWins / count, (double) draws / count);
+    }
+
+    /**
+     * Juega duelos de prueba, estima cada posición y mide el tiempo por
+     * estimación y la calibración (puntuación de Brier frente al resultado
+     * real de cada duelo; solo es significativa si el jugador sigue el modelo)
+     */
+    public static void main(String[] args) {
+        int duels = 200;
+        int handSize = 3;
+        long budgetMillis = DEFAULT_BUDGET_MILLIS;
+        String model = "greedy";
+        String playerSpec = "greedy";
+        long seed = 42;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--duels": duels = Integer.parseInt(args[++i]); break;
+                case "--hand": handSize = Integer.parseInt(args[++i]); break;
+                case "--budget": budgetMillis = Long.parseLong(args[++i]); break;
+                case "--model": model = args[++i]; break;
+                case "--player": playerSpec = args[++i]; break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        WinProbabilityEstimator estimator = new WinProbabilityEstimator(
+            PlayerPolicy.valueOf(model.toUpperCase()), budgetMillis, seed);
+        Random deckRandom = new Random(seed);
+        DuelRandom engineSeeds = new DuelRandom(seed);
+        HeadlessPlayer player = HeadlessPlayers.fromSpec(playerSpec, seed);
+
+        System.out.printf("=== ESTIMADOR DE VICTORIA === mano=%d, modelo=%s, jugador=%s, presupuesto=%d ms, duelos=%d%n",
+                          handSize, model, player.getDescription(), budgetMillis, duels);
+
+        List<Long> times = new ArrayList<>();
+        long[] exactCount = new long[1];
+        double brier = 0;
+        long predictions = 0;
+        for (int duel = 0; duel < duels; duel++) {
+            List<DuelCard> playerDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1);
+            List<DuelCard> aiDeck = SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1 + handSize);
+            BattleEngine engine = new BattleEngine(playerDeck, aiDeck, new CombatEventAdapter(),
+                                                   engineSeeds.split());
+
+            List<Double> duelPredictions = new ArrayList<>();
+            HeadlessDuelRunner.DuelResult result = HeadlessDuelRunner.playDuel(engine, player, view -> {
+                Position position = capture(view, view.getPendingAiChoice());
+                if (position != null) {
+                    Estimate estimate = estimator.estimate(position);
+                    times.add(estimate.getElapsedNanos());
+                    if (estimate.isExact()) exactCount[0]++;
+                    duelPredictions.add(estimate.getPlayerWinProbability());
+                }
+            });
+            if (!result.isCompleted()) {
+                continue;
+            }
+            double won = result.isPlayerWin() ? 1.0 : 0.0;
+            for (double prediction : duelPredictions) {
+                brier += (prediction - won) * (prediction - won);
+                predictions++;
+            }
+        }
+
+        if (times.isEmpty()) {
+            System.out.println("Sin posiciones que estimar");
+            return;
+        }
+        Collections.sort(times);
+        long total = 0;
+        for (long time : times) {
+            total += time;
+        }
+        System.out.printf("Estimaciones: %,d (%.1f%% exactas)%n", times.size(), 100.0 * exactCount[0] / times.size());
+        long budgetNanos = budgetMillis * 1_000_000L;
+        int overBudget = 0;
+        for (int i = times.size() - 1; i >= 0 && times.get(i) > budgetNanos + budgetNanos / 10; i--) {
+            overBudget++;
+        }
+        System.out.printf("Tiempo: media %.3f ms | p50 %.3f ms | p99 %.3f ms | máx %.3f ms%n",
+                          total / 1e6 / times.size(), times.get(times.size() / 2) / 1e6,
+                          times.get((int) (times.size() * 0.99)) / 1e6, times.get(times.size() - 1) / 1e6);
+        System.out.printf("Más del 110%% del presupuesto: %d (%.2f%%)%n",
+                          overBudget, 100.0 * overBudget / times.size());
+        System.out.printf("Puntuación de Brier (victoria del jugador): %.4f%n", brier / predictions);
+    }
+}
@@ -0,0 +1,199 @@
+package duelmasters.stats;
+
+import duelmasters.engine.CombatEventAdapter;
+import duelmasters.engine.DuelRules;
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estadísticas agregadas de todos los duelos del proceso
+ * Acumula, desde cualquier hilo, porcentajes de victoria por carta, por
+ * posición y por quién mueve primero, la distribución de rondas por duelo y
+ * la tasa de empates. BattleEngine.getDuelStatistics solo describe el duelo
+ * en curso; este agregador suma todos
+ *
+ * Los contadores son LongAdder (franjas por hilo, sin bloqueos) y la
+ * distribución de rondas es un histograma de cubos fijos, así que registrar
+ * una ronda cuesta unos nanosegundos y snapshot() se puede consultar en vivo
+ *
+ * Como listener se comparte entre motores de distintos hilos: el estado del
+ * duelo en curso (quién empezó, rondas, victorias) se lleva por hilo, lo
+ * que exige que los eventos de un duelo lleguen siempre por el mismo hilo
+ * (el del motor, o el del despachador asíncrono). Los duelos sin
+ * onDuelCommenced (por ejemplo restaurados de una instantánea) cuentan sus
+ * rondas pero no el resultado del duelo
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class DuelStatisticsAggregator extends CombatEventAdapter {
+
+    /** Último cubo del histograma de rondas; agrupa los duelos más largos */
+    public static final int MAX_TRACKED_ROUNDS = 32;
+
+    private static final int POSITION_COUNT = BattlePosition.values().length;
+    private static final String PLAYER_NAME = "Jugador Humano";
+
+    // Duelos
+    final LongAdder duels = new LongAdder();
+    final LongAdder playerWins = new LongAdder();
+    final LongAdder aiWins = new LongAdder();
+    final LongAdder playerFirstDuels = new LongAdder();
+    final LongAdder playerFirstWins = new LongAdder();
+    final LongAdder aiFirstWins = new LongAdder();
+    final LongAdder[] roundHistogram = adders(MAX_TRACKED_ROUNDS + 1);
+
+    // Rondas (cada ronda cuenta una vez por carta y por posición de cada lado)
+    final LongAdder rounds = new LongAdder();
+    final LongAdder tiedRounds = new LongAdder();
+    final LongAdder[] positionRounds = adders(POSITION_COUNT);
+    final LongAdder[] positionWins = adders(POSITION_COUNT);
+    final LongAdder[] positionTies = adders(POSITION_COUNT);
+    final Map<Integer, CardCounters> cards = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<DuelTally> currentDuel = ThreadLocal.withInitial(DuelTally::new);
+
+    /**
+     * Contadores de una carta
+     */
+    static final class CardCounters {
+        final String name;
+        final LongAdder rounds = new LongAdder();
+        final LongAdder wins = new LongAdder();
+        final LongAdder ties = new LongAdder();
+
+        CardCounters(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Duelo en curso en un hilo
+     */
+    private static final class DuelTally {
+        boolean active;
+        boolean playerStarted;
+        int rounds;
+        int ties;
+        int playerVictories;
+        int aiVictories;
+
+        void start(boolean playerStarted) {
+            this.active = true;
+            this.playerStarted = playerStarted;
+            this.rounds = 0;
+            this.ties = 0;
+            this.playerVictories = 0;
+            this.aiVictories = 0;
+        }
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    // ==================== EVENTOS DEL MOTOR ====================
+
+    @Override
+    public void onDuelCommenced(String initiatingPlayer) {
+        currentDuel.get().start(PLAYER_NAME.equals(initiatingPlayer));
+    }
+
+    @Override
+    public void onRoundResolved(TacticalChoice playerChoice, TacticalChoice aiChoice,
+                                String attackingPlayer, String roundVictor) {
+        DuelCard playerCard = playerChoice.getSelectedCard();
+        DuelCard aiCard = aiChoice.getSelectedCard();
+        int outcome = DuelRules.resolveRound(playerChoice.getEffectiveBattlePower(), playerCard.getLevel(),
+                                             aiChoice.getEffectiveBattlePower(), aiCard.getLevel());
+        recordCard(playerCard.getCardId(), playerCard.getCardName(), outcome, DuelRules.ROUND_PLAYER_WINS);
+        recordCard(aiCard.getCardId(), aiCard.getCardName(), outcome, DuelRules.ROUND_AI_WINS);
+        recordPositions(playerChoice.getBattlePosition().ordinal(), aiChoice.getBattlePosition().ordinal(), outcome);
+
+        DuelTally tally = currentDuel.get();
+        tally.rounds++;
+        if (outcome == DuelRules.ROUND_TIE) tally.ties++;
+        if (outcome == DuelRules.ROUND_PLAYER_WINS) tally.playerVictories++;
+        if (outcome == DuelRules.ROUND_AI_WINS) tally.aiVictories++;
+    }
+
+    @Override
+    public void onDuelCompleted(String finalWinner) {
+        DuelTally tally = currentDuel.get();
+        if (tally.active) {
+            tally.active = false;
+            recordDuel(tally.playerVictories, tally.aiVictories, tally.rounds, tally.ties, tally.playerStarted);
+        }
+    }
+
+    // ==================== REGISTRO DIRECTO ====================
+
+    /**
+     * Registra una ronda por identificadores, para simulaciones que no usan
+     * BattleEngine (la carta sin nombre se muestra por su identificador)
+     *
+     * @param outcome DuelRules.ROUND_PLAYER_WINS, ROUND_AI_WINS o ROUND_TIE
+     */
+    public void recordRound(int playerCardId, int playerPosition, int aiCardId, int aiPosition, int outcome) {
+        recordCard(playerCardId, null, outcome, DuelRules.ROUND_PLAYER_WINS);
+        recordCard(aiCardId, null, outcome, DuelRules.ROUND_AI_WINS);
+        recordPositions(playerPosition, aiPosition, outcome);
+    }
+
+    /**
+     * Registra el resultado de un duelo (mismos parámetros que SimulationStats.recordDuel)
+     */
+    public void recordDuel(int playerVictories, int aiVictories, int roundsPlayed, int ties, boolean playerStarted) {
+        duels.increment();
+        roundHistogram[Math.min(roundsPlayed, MAX_TRACKED_ROUNDS)].increment();
+        if (playerStarted) {
+            playerFirstDuels.increment();
+        }
+        if (playerVictories > aiVictories) {
+            playerWins.increment();
+            if (playerStarted) playerFirstWins.increment();
+        } else if (aiVictories > playerVictories) {
+            aiWins.increment();
+            if (!playerStarted) aiFirstWins.increment();
+        }
+    }
+
+    private void recordCard(int cardId, String name, int outcome, int winningOutcome) {
+        CardCounters counters = cards.get(cardId);
+        if (counters == null) {
+            counters = cards.computeIfAbsent(cardId, id -> new CardCounters(name));
+        }
+        counters.rounds.increment();
+        if (outcome == winningOutcome) counters.wins.increment();
+        else if (outcome == DuelRules.ROUND_TIE) counters.ties.increment();
+    }
+
+    private void recordPositions(int playerPosition, int aiPosition, int outcome) {
+        rounds.increment();
+        positionRounds[playerPosition].increment();
+        positionRounds[aiPosition].increment();
+        if (outcome == DuelRules.ROUND_TIE) {
+            tiedRounds.increment();
+            positionTies[playerPosition].increment();
+            positionTies[aiPosition].increment();
+        } else {
+            positionWins[outcome == DuelRules.ROUND_PLAYER_WINS ? playerPosition : aiPosition].increment();
+        }
+    }
+
+    /**
+     * Copia de las estadísticas en este momento, sin detener el registro
+     */
+    public DuelStatisticsSnapshot snapshot() {
+        return new DuelStatisticsSnapshot(this);
+    }
+}
@@ -0,0 +1,188 @@
+package duelmasters.stats;
+
+import duelmasters.entities.BattlePosition;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Copia inmutable de DuelStatisticsAggregator
+ * Con duelos en curso cada contador se lee en un instante ligeramente
+ * distinto (LongAdder.sum no es atómico entre contadores); al terminar los
+ * duelos los valores son exactos
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class DuelStatisticsSnapshot {
+
+    private static final BattlePosition[] POSITIONS = BattlePosition.values();
+
+    /**
+     * Estadísticas de una carta
+     */
+    public static final class CardStats {
+        private final int cardId;
+        private final String cardName;
+        private final long rounds;
+        private final long wins;
+        private final long ties;
+
+        CardStats(int cardId, String cardName, long rounds, long wins, long ties) {
+            this.cardId = cardId;
+            this.cardName = cardName;
+            this.rounds = rounds;
+            this.wins = wins;
+            this.ties = ties;
+        }
+
+        public int getCardId() { return cardId; }
+        /** Nombre de la carta, o "#id" si solo se registró por identificador */
+        public String getCardName() { return cardName != null ? cardName : "#" + cardId; }
+        public long getRounds() { return rounds; }
+        public long getWins() { return wins; }
+        public long getTies() { return ties; }
+        public double getWinRate() { return rounds == 0 ? 0 : (double) wins / rounds; }
+    }
+
+    private final long duels;
+    private final long playerWins;
+    private final long aiWins;
+    private final long playerFirstDuels;
+    private final long playerFirstWins;
+    private final long aiFirstWins;
+    private final long[] roundHistogram;
+    private final long rounds;
+    private final long tiedRounds;
+    private final long[] positionRounds;
+    private final long[] positionWins;
+    private final long[] positionTies;
+    private final List<CardStats> cards;
+
+    DuelStatisticsSnapshot(DuelStatisticsAggregator source) {
+        this.duels = source.duels.sum();
+        this.playerWins = source.playerWins.sum();
+        this.aiWins = source.aiWins.sum();
+        this.playerFirstDuels = source.playerFirstDuels.sum();
+        this.playerFirstWins = source.playerFirstWins.sum();
+        this.aiFirstWins = source.aiFirstWins.sum();
+        this.roundHistogram = sums(source.roundHistogram);
+        this.rounds = source.rounds.sum();
+        this.tiedRounds = source.tiedRounds.sum();
+        this.positionRounds = sums(source.positionRounds);
+        this.positionWins = sums(source.positionWins);
+        this.positionTies = sums(source.positionTies);
+
+        List<CardStats> cardStats = new ArrayList<>(source.cards.size());
+        for (Map.Entry<Integer, DuelStatisticsAggregator.CardCounters> entry : source.cards.entrySet()) {
+            DuelStatisticsAggregator.CardCounters counters = entry.getValue();
+            cardStats.add(new CardStats(entry.getKey(), counters.name, counters.rounds.sum(),
+                                        counters.wins.sum(), counters.ties.sum()));
+        }
+        cardStats.sort(Comparator.comparingDouble((CardStats stats) -> -stats.getWinRate())
+                                 .thenComparingLong(stats -> -stats.getRounds())
+                                 .thenComparingInt(CardStats::getCardId));
+        this.cards = List.copyOf(cardStats);
+    }
+
+    private static long[] sums(LongAdder[] adders) {
+        long[] values = new long[adders.length];
+        for (int i = 0; i < adders.length; i++) {
+            values[i] = adders[i].sum();
+        }
+        return values;
+    }
+
+    public long getDuels() { return duels; }
+    public long getPlayerWins() { return playerWins; }
+    public long getAiWins() { return aiWins; }
+    public long getDraws() { return duels - playerWins - aiWins; }
+    public long getRounds() { return rounds; }
+    public long getTiedRounds() { return tiedRounds; }
+
+    public double getPlayerWinRate() { return rate(playerWins, duels); }
+    public double getAiWinRate() { return rate(aiWins, duels); }
+    public double getDrawRate() { return rate(getDraws(), duels); }
+    public double getTieRate() { return rate(tiedRounds, rounds); }
+
+    /** Fracción de duelos ganados por quien movió primero */
+    public double getFirstMoverWinRate() { return rate(playerFirstWins + aiFirstWins, duels); }
+    /** Fracción de duelos ganados por el jugador cuando movió primero */
+    public double getPlayerFirstWinRate() { return rate(playerFirstWins, playerFirstDuels); }
+    /** Fracción de duelos ganados por la IA cuando movió primero */
+    public double getAiFirstWinRate() { return rate(aiFirstWins, duels - playerFirstDuels); }
+
+    /** Duelos con el número de rondas indicado (el último cubo agrupa los más largos) */
+    public long getDuelsWithRounds(int roundCount) {
+        return roundHistogram[Math.min(roundCount, DuelStatisticsAggregator.MAX_TRACKED_ROUNDS)];
+    }
+
+    /** Rondas por duelo, sobre los duelos terminados */
+    public double getMeanRounds() {
+        long total = 0;
+        for (int i = 0; i < roundHistogram.length; i++) {
+            total += i * roundHistogram[i];
+        }
+        return rate(total, duels);
+    }
+
+    /** Fracción de apariciones en la posición que ganaron la ronda */
+    public double getPositionWinRate(BattlePosition position) {
+        return rate(positionWins[position.ordinal()], positionRounds[position.ordinal()]);
+    }
+
+    public long getPositionRounds(BattlePosition position) { return positionRounds[position.ordinal()]; }
+
+    public double getPositionTieRate(BattlePosition position) {
+        return rate(positionTies[position.ordinal()], positionRounds[position.ordinal()]);
+    }
+
+    /** Cartas de mayor a menor porcentaje de rondas ganadas */
+    public List<CardStats> getCards() { return cards; }
+
+    private static double rate(long part, long total) {
+        return total == 0 ? 0.0 : (double) part / total;
+    }
+
+    /**
+     * Resumen legible: duelos, primer movimiento, rondas, posiciones y las
+     * mejores cartas con al menos minCardRounds rondas
+     */
+    public String summary(int topCards, long minCardRounds) {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Duelos: %,d | Jugador %.1f%% | IA %.1f%% | Empates %.1f%%%n",
+                                  duels, 100 * getPlayerWinRate(), 100 * getAiWinRate(), 100 * getDrawRate()));
+        text.append(String.format("Primer movimiento: gana %.1f%% (jugador %.1f%%, IA %.1f%%)%n",
+                                  100 * getFirstMoverWinRate(), 100 * getPlayerFirstWinRate(), 100 * getAiFirstWinRate()));
+        text.append(String.format("Rondas: %,d (%.2f por duelo) | Rondas empatadas: %.1f%%%n",
+                                  rounds, getMeanRounds(), 100 * getTieRate()));
+        text.append("Rondas por duelo:");
+        for (int i = 0; i < roundHistogram.length; i++) {
+            if (roundHistogram[i] > 0) {
+                text.append(String.format(" %d%s=%.1f%%", i, i == roundHistogram.length - 1 ? "+" : "",
+                                          100 * rate(roundHistogram[i], duels)));
+            }
+        }
+        text.append(System.lineSeparator());
+        for (BattlePosition position : POSITIONS) {
+            text.append(String.format("%s %-18s gana %.1f%% | empata %.1f%% (%,d apariciones)%n",
+                                      position.getSymbol(), position.getDisplayName(), 100 * getPositionWinRate(position),
+                                      100 * getPositionTieRate(position), getPositionRounds(position)));
+        }
+        int shown = 0;
+        for (CardStats card : cards) {
+            if (shown == topCards) {
+                break;
+            }
+            if (card.getRounds() >= minCardRounds) {
+                text.append(String.format("  %-32s gana %.1f%% de %,d rondas%n",
+                                          card.getCardName(), 100 * card.getWinRate(), card.getRounds()));
+                shown++;
+            }
+        }
+        return text.toString();
+    }
+}
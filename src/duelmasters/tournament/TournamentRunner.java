@@ -0,0 +1,494 @@
+package duelmasters.tournament;
+
+import duelmasters.engine.BattleEngine;
+import duelmasters.engine.CombatEventAdapter;
+import duelmasters.engine.CombatEventListener;
+import duelmasters.engine.CombatEventMulticaster;
+import duelmasters.engine.DuelRandom;
+import duelmasters.engine.DuelRules;
+import duelmasters.entities.DuelCard;
+import duelmasters.headless.HeadlessDuelRunner;
+import duelmasters.headless.HeadlessPlayer;
+import duelmasters.headless.HeadlessPlayers;
+import duelmasters.headless.SyntheticDeckFactory;
+import duelmasters.rating.CardRatings;
+import duelmasters.rating.RatingSnapshot;
+import duelmasters.services.DuelCardsService;
+import duelmasters.stats.DuelStatisticsAggregator;
+import duelmasters.stats.DuelStatisticsSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Torneo entre muchos mazos sobre BattleEngine
+ * Enfrenta N mazos por todos contra todos o por sistema suizo. Cada
+ * emparejamiento es una serie de duelos sembrados (los mazos alternan el lado
+ * del jugador automático codicioso y el de la IA heurística) y los
+ * emparejamientos se reparten en un ForkJoinPool con robo de trabajo. Cada
+ * emparejamiento se suma a la clasificación en cuanto termina
+ *
+ * Los todos contra todos no materializan la lista de emparejamientos: las
+ * tareas dividen el rango de índices y cada hoja los decodifica, así que la
+ * memoria no crece con el cuadrado del número de mazos. Las semillas de cada
+ * emparejamiento salen de la semilla del torneo, la ronda y los dos mazos: el
+ * resultado no depende del número de hilos ni del orden de ejecución
+ *
+ * Uso: java duelmasters.DuelMastersLauncher --tournament [opciones]
+ *   --decks N        Mazos del torneo (por defecto 64)
+ *   --format F       round-robin | swiss (por defecto round-robin)
+ *   --rounds N       Rondas del suizo (por defecto log2 de los mazos, redondeado arriba)
+ *   --duels N        Duelos por emparejamiento (por defecto 20)
+ *   --seed S         Semilla de los mazos y de los duelos
+ *   --threads N      Hilos del pool (por defecto todos los núcleos)
+ *   --hand N         Cartas por mazo (por defecto 3)
+ *   --cards ARCHIVO  Reparte los mazos de un catálogo JSON de la API
+ *   --top N          Mazos de la clasificación final a mostrar (por defecto 10)
+ *   --progress MS    Intervalo del progreso en curso, 0 para desactivarlo (por defecto 1000)
+ *   --ratings ARCHIVO Calcula ratings Elo de cartas y posiciones con todas las rondas y los exporta a CSV
+ *   --stats          Muestra (también en el progreso) las estadísticas agregadas de todos los duelos
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public class TournamentRunner {
+
+    public enum Format { ROUND_ROBIN, SWISS }
+
+    private static final int DEFAULT_HAND_SIZE = 3;
+
+    /** Duelos por tarea hoja: suficiente para amortizar el coste del fork */
+    private static final int DUELS_PER_TASK = 256;
+
+    /** El listener vacío no tiene estado: lo comparten todos los motores */
+    private static final CombatEventListener SILENT = new CombatEventAdapter();
+
+    private final List<List<DuelCard>> decks;
+    private final int duelsPerPairing;
+    private final long seed;
+    private final CombatEventListener listener;
+    private final TournamentStandings standings;
+
+    /**
+     * Crea un torneo
+     *
+     * @param decks Mazos participantes; el índice de cada uno lo identifica en la clasificación
+     * @param duelsPerPairing Duelos de cada emparejamiento
+     * @param seed Semilla de los duelos
+     * @throws IllegalArgumentException Si hay menos de dos mazos o alguno es demasiado pequeño
+     */
+    public TournamentRunner(List<List<DuelCard>> decks, int duelsPerPairing, long seed) {
+        this(decks, duelsPerPairing, seed, SILENT);
+    }
+
+    /**
+     * Crea un torneo cuyos motores notifican a un listener compartido
+     *
+     * @param listener Listener de todos los duelos; se llama desde los hilos
+     *                 del pool, así que debe ser seguro entre hilos (por
+     *                 ejemplo CardRatings)
+     */
+    public TournamentRunner(List<List<DuelCard>> decks, int duelsPerPairing, long seed,
+                            CombatEventListener listener) {
+        if (decks.size() < 2) {
+            throw new IllegalArgumentException("El torneo necesita al menos dos mazos");
+        }
+        for (List<DuelCard> deck : decks) {
+            if (deck.size() < DuelRules.MIN_DECK_SIZE) {
+                throw new IllegalArgumentException(
+                    String.format("Todos los mazos necesitan al menos %d cartas", DuelRules.MIN_DECK_SIZE));
+            }
+        }
+        if (duelsPerPairing < 1) {
+            throw new IllegalArgumentException("Cada emparejamiento necesita al menos un duelo");
+        }
+        this.decks = List.copyOf(decks);
+        this.duelsPerPairing = duelsPerPairing;
+        this.seed = seed;
+        this.listener = listener;
+        this.standings = new TournamentStandings(decks.size());
+    }
+
+    public TournamentStandings getStandings() { return standings; }
+    public int getDeckCount() { return decks.size(); }
+    public int getDuelsPerPairing() { return duelsPerPairing; }
+
+    /**
+     * Emparejamientos de todos contra todos
+     */
+    public long getRoundRobinPairings() {
+        long n = decks.size();
+        return n * (n - 1) / 2;
+    }
+
+    /**
+     * Juega todos contra todos
+     */
+    public void runRoundRobin(ForkJoinPool pool) {
+        int n = decks.size();
+        pool.invoke(new PairingTask(new Pairings() {
+            @Override
+            public long size() {
+                return getRoundRobinPairings();
+            }
+
+            @Override
+            public void play(long index) {
+                int first = roundRobinFirst(index, n);
+                int second = (int) (index - roundRobinOffset(first, n)) + first + 1;
+                playPairing(0, first, second);
+            }
+        }, 0, getRoundRobinPairings()));
+    }
+
+    /**
+     * Juega un suizo: en cada ronda se emparejan mazos con puntuación
+     * parecida que aún no se han enfrentado
+     *
+     * @param rounds Número de rondas
+     */
+    public void runSwiss(int rounds, ForkJoinPool pool) {
+        int n = decks.size();
+        Set<Long> played = new HashSet<>();
+        boolean[] hadBye = new boolean[n];
+
+        for (int round = 1; round <= rounds; round++) {
+            int[] pairs = swissPairings(played, hadBye);
+            int roundNumber = round;
+            pool.invoke(new PairingTask(new Pairings() {
+                @Override
+                public long size() {
+                    return pairs.length / 2;
+                }
+
+                @Override
+                public void play(long index) {
+                    playPairing(roundNumber, pairs[(int) index * 2], pairs[(int) index * 2 + 1]);
+                }
+            }, 0, pairs.length / 2));
+        }
+    }
+
+    /**
+     * Empareja la ronda siguiente del suizo: recorre la clasificación y
+     * junta cada mazo con el siguiente que todavía no ha enfrentado (si ya
+     * los enfrentó a todos, con el siguiente libre). Con un número impar de
+     * mazos descansa el último clasificado que no haya descansado
+     *
+     * @return Pares de índices de mazo, aplanados
+     */
+    private int[] swissPairings(Set<Long> played, boolean[] hadBye) {
+        int n = decks.size();
+        int[] order = standings.ranking();
+        boolean[] paired = new boolean[n];
+
+        if (n % 2 == 1) {
+            int bye = order[n - 1];
+            for (int rank = n - 1; rank >= 0; rank--) {
+                if (!hadBye[order[rank]]) {
+                    bye = order[rank];
+                    break;
+                }
+            }
+            hadBye[bye] = true;
+            paired[bye] = true;
+            standings.recordBye(bye);
+        }
+
+        int[] pairs = new int[n / 2 * 2];
+        int next = 0;
+        for (int rank = 0; rank < n; rank++) {
+            int deck = order[rank];
+            if (paired[deck]) {
+                continue;
+            }
+            int opponent = -1;
+            for (int candidate = rank + 1; candidate < n; candidate++) {
+                int other = order[candidate];
+                if (!paired[other] && (opponent < 0 || !played.contains(pairKey(deck, other, n)))) {
+                    opponent = other;
+                    if (!played.contains(pairKey(deck, other, n))) {
+                        break;
+                    }
+                }
+            }
+            paired[deck] = true;
+            paired[opponent] = true;
+            played.add(pairKey(deck, opponent, n));
+            pairs[next++] = deck;
+            pairs[next++] = opponent;
+        }
+        return pairs;
+    }
+
+    private static long pairKey(int deckA, int deckB, int n) {
+        return (long) Math.min(deckA, deckB) * n + Math.max(deckA, deckB);
+    }
+
+    /**
+     * Juega un emparejamiento y lo suma a la clasificación
+     * En los duelos pares deckA ocupa el lado del jugador automático y en
+     * los impares el de la IA
+     */
+    void playPairing(int round, int deckA, int deckB) {
+        DuelRandom seeds = new DuelRandom(pairingSeed(round, deckA, deckB));
+        HeadlessPlayer player = HeadlessPlayers.greedy();
+        int winsA = 0;
+        int winsB = 0;
+        int draws = 0;
+
+        for (int duel = 0; duel < duelsPerPairing; duel++) {
+            boolean aIsPlayer = duel % 2 == 0;
+            List<DuelCard> playerDeck = decks.get(aIsPlayer ? deckA : deckB);
+            List<DuelCard> aiDeck = decks.get(aIsPlayer ? deckB : deckA);
+            HeadlessDuelRunner.DuelResult result = HeadlessDuelRunner.playDuel(
+                new BattleEngine(playerDeck, aiDeck, listener, seeds.split()), player);
+
+            if (!result.isPlayerWin() && !result.isAiWin()) {
+                draws++;
+            } else if (result.isPlayerWin() == aIsPlayer) {
+                winsA++;
+            } else {
+                winsB++;
+            }
+        }
+        standings.recordPairing(deckA, deckB, winsA, winsB, draws);
+    }
+
+    /**
+     * Semilla de un emparejamiento. Las claves vecinas se mezclan con
+     * DuelRandom.mix para que sus flujos de DuelRandom no se solapen
+     */
+    private long pairingSeed(int round, int deckA, int deckB) {
+        return DuelRandom.mix(seed, ((long) round << 42) ^ pairKey(deckA, deckB, decks.size()));
+    }
+
+    /** Índice del primer emparejamiento de la fila first en todos contra todos */
+    private static long roundRobinOffset(long first, long n) {
+        return first * n - first * (first + 1) / 2;
+    }
+
+    /** Fila (primer mazo) del emparejamiento index en todos contra todos */
+    private static int roundRobinFirst(long index, int n) {
+        double b = 2.0 * n - 1;
+        int first = (int) Math.max(0, Math.floor((b - Math.sqrt(b * b - 8.0 * index)) / 2));
+        // Corrige el redondeo de la raíz
+        while (first > 0 && roundRobinOffset(first, n) > index) first--;
+        while (roundRobinOffset(first + 1, n) <= index) first++;
+        return first;
+    }
+
+    /**
+     * Emparejamientos de una fase, accesibles por índice
+     */
+    private interface Pairings {
+        long size();
+        void play(long index);
+    }
+
+    /**
+     * Tarea que divide el rango de emparejamientos por la mitad hasta llegar
+     * a unos DUELS_PER_TASK duelos; los hilos libres roban las mitades pendientes
+     */
+    private final class PairingTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Pairings pairings;
+        private final long first;
+        private final long last;
+
+        PairingTask(Pairings pairings, long first, long last) {
+            this.pairings = pairings;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected void compute() {
+            long leafPairings = Math.max(1, DUELS_PER_TASK / duelsPerPairing);
+            if (last - first <= leafPairings) {
+                for (long index = first; index < last; index++) {
+                    pairings.play(index);
+                }
+                return;
+            }
+            long middle = (first + last) >>> 1;
+            invokeAll(new PairingTask(pairings, first, middle), new PairingTask(pairings, middle, last));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int deckCount = 64;
+        Format format = Format.ROUND_ROBIN;
+        int rounds = 0;
+        int duelsPerPairing = 20;
+        long seed = System.nanoTime();
+        int threads = Runtime.getRuntime().availableProcessors();
+        int handSize = DEFAULT_HAND_SIZE;
+        String cardsFile = null;
+        int top = 10;
+        long progressMillis = 1000;
+        String ratingsFile = null;
+        boolean stats = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--decks": deckCount = Integer.parseInt(args[++i]); break;
+                case "--format": format = Format.valueOf(args[++i].toUpperCase().replace('-', '_')); break;
+                case "--rounds": rounds = Integer.parseInt(args[++i]); break;
+                case "--duels": duelsPerPairing = Integer.parseInt(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--hand": handSize = Integer.parseInt(args[++i]); break;
+                case "--cards": cardsFile = args[++i]; break;
+                case "--top": top = Integer.parseInt(args[++i]); break;
+                case "--progress": progressMillis = Long.parseLong(args[++i]); break;
+                case "--ratings": ratingsFile = args[++i]; break;
+                case "--stats": stats = true; break;
+                default:
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        Random deckRandom = new Random(seed);
+        List<List<DuelCard>> decks = new ArrayList<>(deckCount);
+        if (cardsFile != null) {
+            List<DuelCard> catalog = new DuelCardsService().loadBattleCards(Paths.get(cardsFile), 0);
+            if (catalog.size() < handSize) {
+                System.err.println("El catálogo necesita al menos " + handSize + " cartas de batalla");
+                System.exit(2);
+            }
+            for (int deck = 0; deck < deckCount; deck++) {
+                Collections.shuffle(catalog, deckRandom);
+                decks.add(new ArrayList<>(catalog.subList(0, handSize)));
+            }
+        } else {
+            for (int deck = 0; deck < deckCount; deck++) {
+                decks.add(SyntheticDeckFactory.generateDeck(deckRandom, handSize, 1 + deck * handSize));
+            }
+        }
+
+        CardRatings ratings = ratingsFile != null ? new CardRatings() : null;
+        DuelStatisticsAggregator statistics = stats ? new DuelStatisticsAggregator() : null;
+        List<CombatEventListener> listeners = new ArrayList<>();
+        if (ratings != null) listeners.add(ratings);
+        if (statistics != null) listeners.add(statistics);
+        TournamentRunner tournament = listeners.isEmpty()
+            ? new TournamentRunner(decks, duelsPerPairing, seed)
+            : new TournamentRunner(decks, duelsPerPairing, seed,
+                                   CombatEventMulticaster.of(listeners.toArray(new CombatEventListener[0])));
+        if (rounds <= 0) {
+            rounds = 32 - Integer.numberOfLeadingZeros(deckCount - 1);
+        }
+        long expectedPairings = format == Format.ROUND_ROBIN
+            ? tournament.getRoundRobinPairings() : (long) rounds * (deckCount / 2);
+
+        System.out.printf("=== TORNEO %s === mazos=%d, emparejamientos=%,d, duelos=%,d, mano=%d, hilos=%d, semilla=%d%n",
+                          format == Format.ROUND_ROBIN ? "TODOS CONTRA TODOS" : "SUIZO (" + rounds + " rondas)",
+                          deckCount, expectedPairings, expectedPairings * duelsPerPairing, handSize, threads, seed);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tournament-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        if (progressMillis > 0) {
+            reporter.scheduleAtFixedRate(() -> printProgress(tournament, statistics, expectedPairings, start),
+                                         progressMillis, progressMillis, TimeUnit.MILLISECONDS);
+        }
+        try {
+            if (format == Format.ROUND_ROBIN) {
+                tournament.runRoundRobin(pool);
+            } else {
+                tournament.runSwiss(rounds, pool);
+            }
+        } finally {
+            reporter.shutdownNow();
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        TournamentStandings standings = tournament.getStandings();
+        System.out.println("--------------------------------------------");
+        System.out.println("Puesto  Mazo    Puntos  G-E-P (emparejamientos)  Duelos ganados  Poder total");
+        int[] ranking = standings.ranking();
+        for (int rank = 0; rank < Math.min(top, ranking.length); rank++) {
+            int deck = ranking[rank];
+            System.out.printf("%6d  #%-6d %6d  %5d-%d-%-16d %13.1f%%  %11d%n",
+                              rank + 1, deck, standings.getMatchPoints(deck), standings.getMatchWins(deck),
+                              standings.getMatchDraws(deck), standings.getMatchLosses(deck),
+                              100 * standings.getDuelScore(deck), totalPower(decks.get(deck)));
+        }
+        System.out.println("--------------------------------------------");
+        System.out.printf("Emparejamientos: %,d | Duelos: %,d | Tiempo: %.3f s | Rendimiento: %,.0f duelos/s%n",
+                          standings.getPairingsCompleted(), standings.getDuelsPlayed(), seconds,
+                          seconds > 0 ? standings.getDuelsPlayed() / seconds : 0.0);
+
+        if (statistics != null) {
+            System.out.println("--------------------------------------------");
+            System.out.print(statistics.snapshot().summary(top, duelsPerPairing));
+        }
+        if (ratings != null) {
+            printRatings(ratings.snapshot(), Paths.get(ratingsFile), top);
+        }
+    }
+
+    /**
+     * Muestra las cartas mejor valoradas y exporta la instantánea de ratings
+     */
+    private static void printRatings(RatingSnapshot snapshot, Path file, int top) throws IOException {
+        System.out.println("--------------------------------------------");
+        System.out.println("Cartas mejor valoradas (Elo por ronda):");
+        List<RatingSnapshot.Entry> cards = snapshot.getCardEntries();
+        for (int rank = 0; rank < Math.min(top, cards.size()); rank++) {
+            RatingSnapshot.Entry entry = cards.get(rank);
+            System.out.printf("%6d  %-32s %7.1f  (%,d rondas, %,d-%,d-%,d)%n", rank + 1, entry.getCardName(),
+                              entry.getRating(), entry.getRounds(), entry.getWins(), entry.getTies(), entry.getLosses());
+        }
+        snapshot.writeCsv(file);
+        System.out.printf("✅ %,d ratings exportados a %s%n", snapshot.getEntries().size(), file);
+    }
+
+    /**
+     * Línea de progreso con la clasificación en curso
+     */
+    private static void printProgress(TournamentRunner tournament, DuelStatisticsAggregator statistics,
+                                      long expectedPairings, long start) {
+        TournamentStandings standings = tournament.getStandings();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        int leader = standings.leader();
+        System.out.printf("[%6.1f s] %,d/%,d emparejamientos, %,.0f duelos/s | líder #%d (%d puntos, %.1f%% de duelos)%n",
+                          seconds, standings.getPairingsCompleted(), expectedPairings,
+                          standings.getDuelsPlayed() / seconds, leader, standings.getMatchPoints(leader),
+                          100 * standings.getDuelScore(leader));
+        if (statistics != null) {
+            DuelStatisticsSnapshot snapshot = statistics.snapshot();
+            System.out.printf("           primer movimiento gana %.1f%% | rondas empatadas %.1f%% | %.2f rondas por duelo%n",
+                              100 * snapshot.getFirstMoverWinRate(), 100 * snapshot.getTieRate(),
+                              snapshot.getMeanRounds());
+        }
+    }
+
+    private static int totalPower(List<DuelCard> deck) {
+        int power = 0;
+        for (DuelCard card : deck) {
+            power += card.getTotalBattlePower();
+        }
+        return power;
+    }
+}
@@ -0,0 +1,148 @@
+package duelmasters.tournament;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Clasificación de un torneo, actualizada a medida que terminan los
+ * emparejamientos
+ * Los hilos del pool registran cada emparejamiento sin bloqueos (arreglos
+ * atómicos por mazo), y la clasificación se puede consultar mientras el
+ * torneo sigue en curso. Durante el torneo un emparejamiento puede verse a
+ * medio registrar; al terminar los valores son exactos
+ *
+ * Un emparejamiento lo gana el mazo con más duelos ganados (3 puntos),
+ * el empate da 1 punto a cada uno y el descanso del sistema suizo cuenta
+ * como victoria. A igualdad de puntos ordena la puntuación de duelos
+ * (victoria 1, empate 0.5) y después el índice del mazo
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+public final class TournamentStandings {
+
+    public static final int MATCH_WIN_POINTS = 3;
+    public static final int MATCH_DRAW_POINTS = 1;
+
+    private final int deckCount;
+    private final AtomicIntegerArray matchPoints;
+    private final AtomicIntegerArray matchWins;
+    private final AtomicIntegerArray matchDraws;
+    private final AtomicIntegerArray matchLosses;
+    private final AtomicLongArray duelWins;
+    private final AtomicLongArray duelDraws;
+    private final AtomicLongArray duelLosses;
+    private final LongAdder pairingsCompleted = new LongAdder();
+    private final LongAdder duelsPlayed = new LongAdder();
+
+    public TournamentStandings(int deckCount) {
+        this.deckCount = deckCount;
+        this.matchPoints = new AtomicIntegerArray(deckCount);
+        this.matchWins = new AtomicIntegerArray(deckCount);
+        this.matchDraws = new AtomicIntegerArray(deckCount);
+        this.matchLosses = new AtomicIntegerArray(deckCount);
+        this.duelWins = new AtomicLongArray(deckCount);
+        this.duelDraws = new AtomicLongArray(deckCount);
+        this.duelLosses = new AtomicLongArray(deckCount);
+    }
+
+    /**
+     * Registra un emparejamiento terminado
+     *
+     * @param deckA Primer mazo
+     * @param deckB Segundo mazo
+     * @param winsA Duelos ganados por deckA
+     * @param winsB Duelos ganados por deckB
+     * @param draws Duelos empatados
+     */
+    void recordPairing(int deckA, int deckB, int winsA, int winsB, int draws) {
+        duelWins.addAndGet(deckA, winsA);
+        duelLosses.addAndGet(deckA, winsB);
+        duelDraws.addAndGet(deckA, draws);
+        duelWins.addAndGet(deckB, winsB);
+        duelLosses.addAndGet(deckB, winsA);
+        duelDraws.addAndGet(deckB, draws);
+
+        if (winsA > winsB) {
+            recordMatchWin(deckA);
+            matchLosses.incrementAndGet(deckB);
+        } else if (winsB > winsA) {
+            recordMatchWin(deckB);
+            matchLosses.incrementAndGet(deckA);
+        } else {
+            matchDraws.incrementAndGet(deckA);
+            matchDraws.incrementAndGet(deckB);
+            matchPoints.addAndGet(deckA, MATCH_DRAW_POINTS);
+            matchPoints.addAndGet(deckB, MATCH_DRAW_POINTS);
+        }
+
+        duelsPlayed.add(winsA + winsB + draws);
+        pairingsCompleted.increment();
+    }
+
+    /**
+     * Registra el descanso de un mazo en una ronda suiza
+     */
+    void recordBye(int deck) {
+        recordMatchWin(deck);
+    }
+
+    private void recordMatchWin(int deck) {
+        matchWins.incrementAndGet(deck);
+        matchPoints.addAndGet(deck, MATCH_WIN_POINTS);
+    }
+
+    public int getDeckCount() { return deckCount; }
+    public int getMatchPoints(int deck) { return matchPoints.get(deck); }
+    public int getMatchWins(int deck) { return matchWins.get(deck); }
+    public int getMatchDraws(int deck) { return matchDraws.get(deck); }
+    public int getMatchLosses(int deck) { return matchLosses.get(deck); }
+    public long getPairingsCompleted() { return pairingsCompleted.sum(); }
+    public long getDuelsPlayed() { return duelsPlayed.sum(); }
+
+    /**
+     * Fracción de duelos ganados por el mazo (empate 0.5), o 0 sin duelos
+     */
+    public double getDuelScore(int deck) {
+        long wins = duelWins.get(deck);
+        long draws = duelDraws.get(deck);
+        long total = wins + draws + duelLosses.get(deck);
+        return total == 0 ? 0.0 : (wins + 0.5 * draws) / total;
+    }
+
+    /**
+     * Índices de los mazos del primero al último clasificado
+     */
+    public int[] ranking() {
+        int[] points = new int[deckCount];
+        double[] scores = new double[deckCount];
+        Integer[] order = new Integer[deckCount];
+        for (int deck = 0; deck < deckCount; deck++) {
+            points[deck] = matchPoints.get(deck);
+            scores[deck] = getDuelScore(deck);
+            order[deck] = deck;
+        }
+        // Se ordena sobre una copia para que la comparación sea estable aunque sigan llegando resultados
+        Arrays.sort(order, Comparator.<Integer>comparingInt(deck -> -points[deck])
+                                     .thenComparingDouble(deck -> -scores[deck])
+                                     .thenComparingInt(deck -> deck));
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Mazo en cabeza en este momento
+     */
+    public int leader() {
+        int best = 0;
+        for (int deck = 1; deck < deckCount; deck++) {
+            int difference = matchPoints.get(deck) - matchPoints.get(best);
+            if (difference > 0 || (difference == 0 && getDuelScore(deck) > getDuelScore(best))) {
+                best = deck;
+            }
+        }
+        return best;
+    }
+}
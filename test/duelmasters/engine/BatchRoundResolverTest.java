@@ -0,0 +1,89 @@
+package duelmasters.engine;
+
+import duelmasters.entities.BattlePosition;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de BatchRoundResolver: las mismas reglas que TacticalChoice y
+ * DuelRules, y el mismo resultado con y sin la Vector API
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+class BatchRoundResolverTest {
+
+    /** No múltiplo del ancho vectorial, para pasar también por la cola escalar */
+    private static final int ROUNDS = 4_099;
+    private static final BattlePosition[] POSITIONS = BattlePosition.values();
+
+    @Test
+    void matchesEngineRulesForValidPositions() {
+        Random random = new Random(42);
+        BatchRoundResolver.Side player = new BatchRoundResolver.Side(ROUNDS);
+        BatchRoundResolver.Side ai = new BatchRoundResolver.Side(ROUNDS);
+        int[] expected = new int[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            int playerAttack = random.nextInt(31) * 100;
+            int playerDefense = random.nextInt(31) * 100;
+            int playerLevel = 1 + random.nextInt(12);
+            BattlePosition playerPosition = POSITIONS[random.nextInt(POSITIONS.length)];
+            int aiAttack = random.nextInt(31) * 100;
+            int aiDefense = random.nextInt(31) * 100;
+            int aiLevel = 1 + random.nextInt(12);
+            BattlePosition aiPosition = POSITIONS[random.nextInt(POSITIONS.length)];
+            player.set(i, playerAttack, playerDefense, playerLevel, playerPosition);
+            ai.set(i, aiAttack, aiDefense, aiLevel, aiPosition);
+            expected[i] = DuelRules.resolveRound(playerPosition.getEffectivePower(playerAttack, playerDefense), playerLevel,
+                                                 aiPosition.getEffectivePower(aiAttack, aiDefense), aiLevel);
+        }
+
+        int[] outcomes = new int[ROUNDS];
+        BatchRoundResolver.resolve(player, ai, outcomes, ROUNDS);
+        assertArrayEquals(expected, outcomes);
+        BatchRoundResolver.resolveScalar(player, ai, outcomes, ROUNDS);
+        assertArrayEquals(expected, outcomes);
+    }
+
+    @Test
+    void vectorAndScalarPathsAgreeOnAnyPositionOrdinal() {
+        Random random = new Random(7);
+        BatchRoundResolver.Side player = randomSide(random);
+        BatchRoundResolver.Side ai = randomSide(random);
+
+        int[] outcomes = new int[ROUNDS];
+        int[] scalarOutcomes = new int[ROUNDS];
+        BatchRoundResolver.resolve(player, ai, outcomes, ROUNDS);
+        BatchRoundResolver.resolveScalar(player, ai, scalarOutcomes, ROUNDS);
+        assertArrayEquals(scalarOutcomes, outcomes);
+    }
+
+    @Test
+    void unknownPositionOrdinalsAreDefensive() {
+        for (int position : new int[] {-1, 3, 17, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+            assertEquals(900, BatchRoundResolver.effectivePower(2500, 900, position), "posición " + position);
+        }
+    }
+
+    /**
+     * Lado con estadísticas y ordinales de posición arbitrarios, incluidos
+     * valores fuera de 0..2
+     */
+    private static BatchRoundResolver.Side randomSide(Random random) {
+        int[] attack = new int[ROUNDS];
+        int[] defense = new int[ROUNDS];
+        int[] level = new int[ROUNDS];
+        int[] position = new int[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            attack[i] = random.nextInt(5001) - 500;
+            defense[i] = random.nextInt(5001) - 500;
+            level[i] = random.nextInt(13);
+            position[i] = random.nextInt(9) - 3;
+        }
+        return new BatchRoundResolver.Side(attack, defense, level, position);
+    }
+}
@@ -0,0 +1,81 @@
+package duelmasters.engine;
+
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+import duelmasters.headless.HeadlessDuelRunner;
+import duelmasters.headless.HeadlessPlayers;
+import duelmasters.headless.SyntheticDeckFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de BattleEngine cuando la estrategia de la IA no da un movimiento válido
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+class BattleEngineTest {
+
+    private static final int DUELS = 200;
+
+    /** Estrategia que lanza una excepción en cada ronda */
+    private static final AiStrategy FAILING = new AiStrategy() {
+        @Override public TacticalChoice chooseOpeningMove(DuelView view) { throw new IllegalStateException("prueba"); }
+        @Override public TacticalChoice chooseResponse(DuelView view, TacticalChoice playerChoice) {
+            throw new IllegalStateException("prueba");
+        }
+    };
+
+    /** Estrategia que elige una carta que no está en la mano de la IA */
+    private static final AiStrategy FOREIGN_CARD = new AiStrategy() {
+        private final TacticalChoice foreign = new TacticalChoice(
+            SyntheticDeckFactory.generateDeck(new Random(1), 1, 9999).get(0), BattlePosition.OFFENSIVE);
+        @Override public TacticalChoice chooseOpeningMove(DuelView view) { return foreign; }
+        @Override public TacticalChoice chooseResponse(DuelView view, TacticalChoice playerChoice) { return foreign; }
+    };
+
+    @Test
+    void failingStrategyFallsBackToHeuristicAndFinishes() {
+        for (AiStrategy strategy : List.of(FAILING, FOREIGN_CARD)) {
+            Random random = new Random(42);
+            for (int duel = 0; duel < DUELS; duel++) {
+                BattleEngine engine = newEngine(random, strategy);
+                HeadlessDuelRunner.DuelResult result = HeadlessDuelRunner.playDuel(engine, HeadlessPlayers.random(random));
+                assertTrue(result.isCompleted(), "duelo " + duel + " con " + strategy);
+                assertFalse(engine.isDuelAborted());
+            }
+        }
+    }
+
+    @Test
+    void duelIsAbortedWhenTheHeuristicItselfFails() {
+        HeuristicAiStrategy broken = new HeuristicAiStrategy(new Random(1)) {
+            @Override public TacticalChoice chooseOpeningMove(DuelView view) { return null; }
+            @Override public TacticalChoice chooseResponse(DuelView view, TacticalChoice playerChoice) { return null; }
+        };
+        Random random = new Random(7);
+        for (int duel = 0; duel < DUELS; duel++) {
+            BattleEngine engine = newEngine(random, broken);
+            HeadlessDuelRunner.DuelResult result = HeadlessDuelRunner.playDuel(engine, HeadlessPlayers.random(random));
+            assertFalse(result.isCompleted());
+            assertFalse(engine.isDuelActive());
+            assertTrue(engine.isDuelAborted());
+            assertNull(engine.getPendingPlayerChoice());
+            assertNull(engine.getPendingAiChoice());
+        }
+    }
+
+    private static BattleEngine newEngine(Random random, AiStrategy strategy) {
+        int handSize = DuelRules.MIN_DECK_SIZE + random.nextInt(4);
+        List<DuelCard> playerDeck = SyntheticDeckFactory.generateDeck(random, handSize, 1);
+        List<DuelCard> aiDeck = SyntheticDeckFactory.generateDeck(random, handSize, 1 + handSize);
+        return new BattleEngine(playerDeck, aiDeck, new CombatEventAdapter(), new DuelRandom(random.nextLong()), strategy);
+    }
+}
@@ -0,0 +1,67 @@
+package duelmasters.gui;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de CardImageLoader.decodeThumbnail: la región fuente recorta el
+ * arte de la carta antes de escalar
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+class CardImageLoaderTest {
+
+    private static final int CARD_WIDTH = 421;
+    private static final int CARD_HEIGHT = 614;
+    private static final int THUMBNAIL_SIZE = 40;
+    private static final int FRAME_RGB = 0xC08040;
+    private static final int ART_RGB = 0x2060A0;
+
+    @Test
+    void artRegionKeepsOnlyTheArtwork() throws IOException {
+        BufferedImage thumbnail = CardImageLoader.decodeThumbnail(encodedCard(), THUMBNAIL_SIZE,
+                                                                  CardImageLoader.DEFAULT_OVERSAMPLING,
+                                                                  CardImageLoader.CARD_ART_REGION);
+        assertEquals(THUMBNAIL_SIZE, thumbnail.getWidth());
+        assertEquals(ART_RGB, rgb(thumbnail, 0, 0));
+        assertEquals(ART_RGB, rgb(thumbnail, THUMBNAIL_SIZE - 1, THUMBNAIL_SIZE - 1));
+        assertEquals(ART_RGB, rgb(thumbnail, THUMBNAIL_SIZE / 2, THUMBNAIL_SIZE / 2));
+    }
+
+    @Test
+    void withoutRegionDecodesTheWholeCard() throws IOException {
+        BufferedImage thumbnail = CardImageLoader.decodeThumbnail(encodedCard(), THUMBNAIL_SIZE,
+                                                                  CardImageLoader.DEFAULT_OVERSAMPLING);
+        assertEquals(FRAME_RGB, rgb(thumbnail, 0, 0));
+        assertEquals(FRAME_RGB, rgb(thumbnail, THUMBNAIL_SIZE - 1, THUMBNAIL_SIZE - 1));
+    }
+
+    /**
+     * Carta en PNG con el marco de un color y el arte (50,110 de 320x320) de otro
+     */
+    private static byte[] encodedCard() throws IOException {
+        BufferedImage card = new BufferedImage(CARD_WIDTH, CARD_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = card.createGraphics();
+        g.setColor(new Color(FRAME_RGB));
+        g.fillRect(0, 0, CARD_WIDTH, CARD_HEIGHT);
+        g.setColor(new Color(ART_RGB));
+        g.fillRect(50, 110, 320, 320);
+        g.dispose();
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(card, "png", encoded);
+        return encoded.toByteArray();
+    }
+
+    private static int rgb(BufferedImage image, int x, int y) {
+        return image.getRGB(x, y) & 0xFFFFFF;
+    }
+}
@@ -0,0 +1,83 @@
+package duelmasters.gui;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de ThumbnailAtlas: persistencia entre aperturas y recuperación
+ * de un índice con una entrada a medio escribir
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+class ThumbnailAtlasTest {
+
+    private static final int CELL_SIZE = 8;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopensWithTheSameThumbnails() throws IOException {
+        Path dataFile = directory.resolve("thumbnails.atlas");
+        try (ThumbnailAtlas atlas = ThumbnailAtlas.open(dataFile, CELL_SIZE)) {
+            assertTrue(atlas.put(1, solid(0x112233)));
+            assertTrue(atlas.put(2, solid(0x445566)));
+            assertFalse(atlas.put(1, solid(0x778899)));
+        }
+        try (ThumbnailAtlas atlas = ThumbnailAtlas.open(dataFile, CELL_SIZE)) {
+            assertEquals(2, atlas.size());
+            assertEquals(0x112233, atlas.getThumbnail(1).orElseThrow().getRGB(3, 3) & 0xffffff);
+            assertEquals(0x445566, atlas.getThumbnail(2).orElseThrow().getRGB(3, 3) & 0xffffff);
+        }
+    }
+
+    @Test
+    void dropsTornIndexEntryAndKeepsLaterWrites() throws IOException {
+        Path dataFile = directory.resolve("thumbnails.atlas");
+        try (ThumbnailAtlas atlas = ThumbnailAtlas.open(dataFile, CELL_SIZE)) {
+            atlas.put(1, solid(0x112233));
+            atlas.put(2, solid(0x445566));
+        }
+        // Escritura interrumpida: media entrada (solo el cardId) al final del índice
+        Path indexFile = dataFile.resolveSibling(dataFile.getFileName() + ".idx");
+        long completeSize;
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+            completeSize = index.size();
+            index.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 3), completeSize);
+        }
+
+        try (ThumbnailAtlas atlas = ThumbnailAtlas.open(dataFile, CELL_SIZE)) {
+            assertEquals(2, atlas.size());
+            assertEquals(completeSize, indexFile.toFile().length());
+            assertTrue(atlas.put(3, solid(0x778899)));
+            assertTrue(atlas.contains(3));
+        }
+        try (ThumbnailAtlas atlas = ThumbnailAtlas.open(dataFile, CELL_SIZE)) {
+            assertEquals(3, atlas.size());
+            assertTrue(atlas.contains(1));
+            assertEquals(0x778899, atlas.getThumbnail(3).orElseThrow().getRGB(3, 3) & 0xffffff);
+        }
+    }
+
+    private static BufferedImage solid(int rgb) {
+        BufferedImage image = new BufferedImage(CELL_SIZE, CELL_SIZE, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < CELL_SIZE; y++) {
+            for (int x = 0; x < CELL_SIZE; x++) {
+                image.setRGB(x, y, rgb);
+            }
+        }
+        return image;
+    }
+}
@@ -0,0 +1,112 @@
+package duelmasters.headless;
+
+import duelmasters.engine.BattleEngine;
+import duelmasters.engine.BattleSnapshot;
+import duelmasters.engine.DuelRandom;
+import duelmasters.engine.DuelRules;
+import duelmasters.entities.DuelCard;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verificación de BattleSnapshot
+ * En cada duelo toma una instantánea en un punto al azar (incluido entre la
+ * elección del jugador y la resolución de la ronda), restaura un motor nuevo
+ * a partir de ella y continúa el original y el restaurado con jugadores
+ * idénticos: los eventos posteriores y el estado final deben coincidir
+ *
+ * El tamaño y el coste de captura y restauración se miden con JMH
+ * (BattleSnapshotBenchmark)
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+class BattleSnapshotTest {
+
+    private static final int DUELS = 2_000;
+    private static final long SEED = 42;
+
+    @Test
+    void restoredEngineContinuesLikeTheOriginal() {
+        Random random = new Random(SEED);
+        for (int duel = 0; duel < DUELS; duel++) {
+            verifyDuel(duel, random);
+        }
+    }
+
+    /**
+     * Juega un duelo, lo bifurca en un punto al azar y compara ambas ramas
+     */
+    private static void verifyDuel(int duel, Random random) {
+        int handSize = DuelRules.MIN_DECK_SIZE + random.nextInt(6);
+        List<DuelCard> playerDeck = SyntheticDeckFactory.generateDeck(random, handSize, 1);
+        List<DuelCard> aiDeck = SyntheticDeckFactory.generateDeck(random, handSize, 1 + handSize);
+        Map<Integer, DuelCard> catalog = catalogOf(playerDeck, aiDeck);
+        long engineSeed = random.nextLong();
+        long playerSeed = random.nextLong();
+        long continuationSeed = random.nextLong();
+        int forkStep = random.nextInt(2 * handSize);
+
+        ByteArrayOutputStream originalTrace = new ByteArrayOutputStream();
+        BattleEngine original = new BattleEngine(playerDeck, aiDeck, traceListener(originalTrace),
+                                                 new DuelRandom(engineSeed));
+        original.commenceBattle();
+        HeadlessPlayer player = HeadlessPlayers.random(new Random(playerSeed));
+        for (int step = 0; step < forkStep && original.isDuelActive(); step++) {
+            playStep(original, player);
+        }
+
+        byte[] snapshot = original.snapshot();
+        originalTrace.reset();
+        ByteArrayOutputStream restoredTrace = new ByteArrayOutputStream();
+        BattleEngine restored = BattleSnapshot.restore(snapshot, catalog::get, traceListener(restoredTrace), null);
+        String context = "duelo " + duel + ", bifurcado en el paso " + forkStep;
+        assertArrayEquals(snapshot, restored.snapshot(), context + ": instantánea del motor restaurado");
+
+        playToEnd(original, HeadlessPlayers.random(new Random(continuationSeed)));
+        playToEnd(restored, HeadlessPlayers.random(new Random(continuationSeed)));
+
+        assertEquals(originalTrace.toString(StandardCharsets.UTF_8), restoredTrace.toString(StandardCharsets.UTF_8),
+                     context + ": eventos posteriores");
+        assertArrayEquals(original.snapshot(), restored.snapshot(), context + ": estado final");
+    }
+
+    /**
+     * Un paso del duelo: resuelve la ronda si ambas elecciones están
+     * pendientes o, si no, registra la elección del jugador
+     */
+    private static void playStep(BattleEngine engine, HeadlessPlayer player) {
+        if (engine.getPendingPlayerChoice() != null && engine.getPendingAiChoice() != null) {
+            engine.resolvePendingRound();
+        } else {
+            engine.setPlayerTacticalChoice(player.chooseMove(engine));
+        }
+    }
+
+    private static void playToEnd(BattleEngine engine, HeadlessPlayer player) {
+        while (engine.isDuelActive()) {
+            playStep(engine, player);
+        }
+    }
+
+    private static Map<Integer, DuelCard> catalogOf(List<DuelCard> playerDeck, List<DuelCard> aiDeck) {
+        Map<Integer, DuelCard> catalog = new HashMap<>();
+        playerDeck.forEach(card -> catalog.put(card.getCardId(), card));
+        aiDeck.forEach(card -> catalog.put(card.getCardId(), card));
+        return catalog;
+    }
+
+    private static LoggingCombatListener traceListener(ByteArrayOutputStream trace) {
+        return new LoggingCombatListener(new PrintStream(trace, true, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,54 @@
+package duelmasters.journal;
+
+import duelmasters.entities.DuelCard;
+import duelmasters.headless.SyntheticDeckFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de DuelJournal: un duelo sin final se ofrece para recuperar y uno
+ * cerrado como abandonado deja de ofrecerse
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+class DuelJournalTest {
+
+    private static final int HAND_SIZE = 3;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void abandonedDuelIsNoLongerRecovered() throws IOException {
+        Path file = directory.resolve("duels.journal");
+        Random random = new Random(42);
+        List<DuelCard> playerDeck = SyntheticDeckFactory.generateDeck(random, HAND_SIZE, 1);
+        List<DuelCard> aiDeck = SyntheticDeckFactory.generateDeck(random, HAND_SIZE, 1 + HAND_SIZE);
+
+        try (DuelJournal journal = DuelJournal.open(file, DuelJournal.SyncPolicy.NONE)) {
+            journal.recordDuelStart(7, true, playerDeck, aiDeck);
+        }
+        assertTrue(DuelJournalReader.findUnfinishedDuel(file).isPresent());
+
+        try (DuelJournal journal = DuelJournal.open(file, DuelJournal.SyncPolicy.NONE)) {
+            journal.recordDuelStart(7, true, playerDeck, aiDeck);
+            journal.recordDuelAbandoned();
+        }
+        assertFalse(DuelJournalReader.findUnfinishedDuel(file).isPresent());
+
+        List<RecordedDuel> duels = DuelJournalReader.readDuels(file);
+        assertEquals(2, duels.size());
+        assertFalse(duels.get(0).isFinished());
+        assertFalse(duels.get(1).isFinished());
+    }
+}
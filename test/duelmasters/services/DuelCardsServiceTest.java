@@ -0,0 +1,38 @@
+package duelmasters.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Pruebas de DuelCardsService.unescapeJsonString
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+class DuelCardsServiceTest {
+
+    @Test
+    void unescapesEveryJsonEscape() {
+        assertEquals("Add 1 \"Blue-Eyes\" Spell/Trap\r\n\tto your hand \\ \u2019 \b\f",
+                     DuelCardsService.unescapeJsonString(
+                         "Add 1 \\\"Blue-Eyes\\\" Spell\\/Trap\\r\\n\\tto your hand \\\\ \\u2019 \\b\\f"));
+    }
+
+    @Test
+    void escapedBackslashIsNotPartOfTheNextEscape() {
+        assertEquals("C:\\new", DuelCardsService.unescapeJsonString("C:\\\\new"));
+    }
+
+    @Test
+    void keepsUnknownAndTruncatedEscapes() {
+        assertEquals("\\x \\u12 \\", DuelCardsService.unescapeJsonString("\\x \\u12 \\"));
+    }
+
+    @Test
+    void returnsTheSameStringWithoutEscapes() {
+        String text = "Once per turn: draw 1 card.";
+        assertSame(text, DuelCardsService.unescapeJsonString(text));
+    }
+}
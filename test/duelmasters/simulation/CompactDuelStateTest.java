@@ -0,0 +1,232 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.BattleEngine;
+import duelmasters.engine.CombatEventAdapter;
+import duelmasters.engine.DuelRandom;
+import duelmasters.engine.DuelRules;
+import duelmasters.entities.BattlePosition;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+import duelmasters.headless.HeadlessPlayer;
+import duelmasters.headless.SyntheticDeckFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verificación diferencial de CompactDuelState contra BattleEngine
+ * Juega el mismo duelo en ambos con el mismo flujo aleatorio para las
+ * decisiones de la IA y los mismos movimientos del jugador, y compara ronda
+ * por ronda el resultado, el marcador, las vidas, las manos restantes y las
+ * elecciones de la IA. La mitad de los duelos usa estadísticas con pocos
+ * valores distintos para forzar empates de poder y de nivel
+ *
+ * La asignación por ronda del camino compacto se mide con JMH
+ * (CompactDuelStateBenchmark, -prof gc)
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+class CompactDuelStateTest {
+
+    private static final int DUELS = 2_000;
+    private static final long SEED = 42;
+    private static final int MAX_REPORTED_MISMATCHES = 10;
+
+    /** Estadísticas con pocos valores distintos para forzar empates de poder y de nivel */
+    private static final int[] TIE_HEAVY_STATS = {0, 500, 1000, 1500, 2000};
+
+    private static final BattlePosition[] POSITIONS = BattlePosition.values();
+
+    private final List<String> mismatches = new ArrayList<>();
+    private long roundsCompared;
+
+    /**
+     * Listener que recuerda el ganador de la última ronda
+     */
+    private static final class RoundRecorder extends CombatEventAdapter {
+        String lastRoundVictor;
+        String lastError;
+
+        @Override
+        public void onRoundResolved(TacticalChoice playerChoice, TacticalChoice aiChoice,
+                                   String attackingPlayer, String roundVictor) {
+            lastRoundVictor = roundVictor;
+        }
+
+        @Override
+        public void onErrorOccurred(String errorMessage, Throwable exception) {
+            lastError = errorMessage;
+        }
+    }
+
+    @Test
+    void matchesBattleEngineRoundByRound() {
+        Random random = new Random(SEED);
+        for (int duel = 0; duel < DUELS; duel++) {
+            verifyDuel(duel, random);
+        }
+        assertTrue(roundsCompared > DUELS, "rondas comparadas: " + roundsCompared);
+        assertTrue(mismatches.isEmpty(), mismatches.size() + " diferencias, las primeras:\n"
+                   + String.join("\n", mismatches.subList(0, Math.min(MAX_REPORTED_MISMATCHES, mismatches.size()))));
+    }
+
+    @Test
+    void fromViewKeepsScoreLivesAndTiedRounds() {
+        Random random = new Random(SEED);
+        for (int duel = 0; duel < DUELS / 10; duel++) {
+            int handSize = DuelRules.MIN_DECK_SIZE + random.nextInt(6);
+            List<DuelCard> playerDeck = generateDeck(random, handSize, 1, true);
+            List<DuelCard> aiDeck = generateDeck(random, handSize, 1 + handSize, true);
+            BattleEngine engine = new BattleEngine(playerDeck, aiDeck, new CombatEventAdapter(),
+                                                   new DuelRandom(random.nextLong()));
+            engine.commenceBattle();
+            int ties = 0;
+            while (engine.isDuelActive()) {
+                CompactDuelState state = CompactDuelState.fromView(engine, engine.getPendingAiChoice() == null);
+                assertEquals(ties, state.getTiedRounds());
+                assertEquals(engine.getTotalRoundsPlayed(), state.getRoundsPlayed());
+                assertEquals(engine.getPlayerVictories(), state.getPlayerVictories());
+                assertEquals(engine.getAiVictories(), state.getAiVictories());
+                assertEquals(engine.getPlayerLivesRemaining(), state.getPlayerLives());
+                assertEquals(engine.getAiLivesRemaining(), state.getAiLives());
+
+                List<DuelCard> activeCards = engine.getPlayerActiveCards();
+                engine.setPlayerTacticalChoice(new TacticalChoice(activeCards.get(random.nextInt(activeCards.size())),
+                                                                  POSITIONS[random.nextInt(POSITIONS.length)]));
+                int victories = engine.getPlayerVictories() + engine.getAiVictories();
+                engine.resolvePendingRound();
+                if (engine.getPlayerVictories() + engine.getAiVictories() == victories) {
+                    ties++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Juega un duelo en paralelo en el motor y en el estado compacto
+     */
+    private void verifyDuel(int duel, Random random) {
+        int playerSize = DuelRules.MIN_DECK_SIZE + random.nextInt(6);
+        int aiSize = DuelRules.MIN_DECK_SIZE + random.nextInt(6);
+        boolean tieHeavy = random.nextBoolean();
+        List<DuelCard> playerDeck = generateDeck(random, playerSize, 1, tieHeavy);
+        List<DuelCard> aiDeck = generateDeck(random, aiSize, 1 + playerSize, tieHeavy);
+        long aiSeed = random.nextLong();
+
+        RoundRecorder recorder = new RoundRecorder();
+        BattleEngine engine = new BattleEngine(playerDeck, aiDeck, recorder, new DuelRandom(aiSeed));
+        CompactDuelState state = new CompactDuelState(playerDeck, aiDeck);
+        SplittableRandom aiRandom = new SplittableRandom(aiSeed);
+
+        engine.commenceBattle();
+        state.reset(aiRandom.nextBoolean());
+        String context = "duelo " + duel;
+        check(context, "inicio", state.isPlayerTurn(), engine.getPendingAiChoice() == null);
+
+        while (engine.isDuelActive()) {
+            String round = context + ", ronda " + (state.getRoundsPlayed() + 1);
+
+            int aiCard = -1;
+            int aiPosition = -1;
+            if (!state.isPlayerTurn()) {
+                aiCard = state.selectAiCard(aiRandom);
+                aiPosition = CompactDuelState.selectAiPosition(aiRandom, -1);
+                checkAiChoice(round, engine.getPendingAiChoice(), aiDeck, aiCard, aiPosition);
+            }
+
+            // Movimiento aleatorio del jugador, aplicado por índice a ambos lados
+            List<DuelCard> activeCards = engine.getPlayerActiveCards();
+            int index = random.nextInt(activeCards.size());
+            int playerPosition = random.nextInt(POSITIONS.length);
+            int playerCard = CompactDuelState.nthCard(state.getPlayerHand(), index);
+            check(round, "carta del jugador", playerDeck.get(playerCard).getCardId(), activeCards.get(index).getCardId());
+
+            engine.setPlayerTacticalChoice(new TacticalChoice(activeCards.get(index), POSITIONS[playerPosition],
+                                                              HeadlessPlayer.PLAYER_NAME));
+            if (state.isPlayerTurn()) {
+                aiCard = state.selectAiCard(aiRandom);
+                aiPosition = CompactDuelState.selectAiPosition(aiRandom, playerPosition);
+                checkAiChoice(round, engine.getPendingAiChoice(), aiDeck, aiCard, aiPosition);
+            }
+
+            if (engine.getPendingAiChoice() == null) {
+                check(round, "error del motor", null, recorder.lastError);
+                return;
+            }
+            engine.resolvePendingRound();
+            int outcome = state.resolveRound(playerCard, playerPosition, aiCard, aiPosition);
+            roundsCompared++;
+
+            check(round, "resultado", describeOutcome(outcome), recorder.lastRoundVictor);
+            check(round, "victorias jugador", state.getPlayerVictories(), engine.getPlayerVictories());
+            check(round, "victorias IA", state.getAiVictories(), engine.getAiVictories());
+            check(round, "vidas jugador", state.getPlayerLives(), engine.getPlayerLivesRemaining());
+            check(round, "vidas IA", state.getAiLives(), engine.getAiLivesRemaining());
+            check(round, "rondas", state.getRoundsPlayed(), engine.getTotalRoundsPlayed());
+            check(round, "empates", state.getTiedRounds(), engine.getTiedRounds());
+            check(round, "mano jugador", state.getPlayerHand(), handMask(playerDeck, engine.getPlayerActiveCards()));
+            check(round, "mano IA", state.getAiHand(), handMask(aiDeck, engine.getAiActiveCards()));
+            check(round, "fin del duelo", state.isFinished(), !engine.isDuelActive());
+            if (state.isFinished() != !engine.isDuelActive()) {
+                return;
+            }
+        }
+    }
+
+    private void checkAiChoice(String round, TacticalChoice engineChoice, List<DuelCard> aiDeck,
+                               int aiCard, int aiPosition) {
+        if (engineChoice == null) {
+            check(round, "elección de la IA", "carta " + aiCard, null);
+            return;
+        }
+        check(round, "carta de la IA", aiDeck.get(aiCard).getCardId(), engineChoice.getSelectedCard().getCardId());
+        check(round, "posición de la IA", POSITIONS[aiPosition], engineChoice.getBattlePosition());
+    }
+
+    private void check(String context, String field, Object compact, Object engine) {
+        if (compact == null ? engine != null : !compact.equals(engine)) {
+            mismatches.add(String.format("%s: %s compacto=%s motor=%s", context, field, compact, engine));
+        }
+    }
+
+    private static String describeOutcome(int outcome) {
+        switch (outcome) {
+            case DuelRules.ROUND_PLAYER_WINS: return "Jugador Humano";
+            case DuelRules.ROUND_AI_WINS: return "IA Estratégica";
+            default: return "Empate Táctico";
+        }
+    }
+
+    /**
+     * Máscara de la mano del motor sobre los índices del mazo original
+     */
+    private static long handMask(List<DuelCard> deck, List<DuelCard> activeCards) {
+        long mask = 0;
+        for (DuelCard card : activeCards) {
+            mask |= 1L << deck.indexOf(card);
+        }
+        return mask;
+    }
+
+    private static List<DuelCard> generateDeck(Random random, int size, int firstCardId, boolean tieHeavy) {
+        if (!tieHeavy) {
+            return SyntheticDeckFactory.generateDeck(random, size, firstCardId);
+        }
+        List<DuelCard> deck = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int cardId = firstCardId + i;
+            deck.add(new DuelCard(cardId, "Duelista de Empate #" + cardId, "Normal Monster",
+                                  TIE_HEAVY_STATS[random.nextInt(TIE_HEAVY_STATS.length)],
+                                  TIE_HEAVY_STATS[random.nextInt(TIE_HEAVY_STATS.length)],
+                                  "Carta generada para verificación", ""));
+        }
+        return deck;
+    }
+}
@@ -0,0 +1,69 @@
+package duelmasters.simulation;
+
+import duelmasters.engine.DuelView;
+import duelmasters.entities.DuelCard;
+import duelmasters.entities.TacticalChoice;
+import duelmasters.headless.SyntheticDeckFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de MctsAiStrategy: búsqueda interrumpida y determinismo con límite de simulaciones
+ *
+ * @author Sistema DS3 - Duel Masters Team
+ * @version 2.0
+ */
+class MctsAiStrategyTest {
+
+    private static final List<DuelCard> PLAYER_CARDS = SyntheticDeckFactory.generateDeck(new Random(1), 5, 1);
+    private static final List<DuelCard> AI_CARDS = SyntheticDeckFactory.generateDeck(new Random(2), 5, 6);
+
+    @Test
+    void interruptedSearchMergesOnlyFinishedWorkersAndReturnsAMove() {
+        try (MctsAiStrategy strategy = new MctsAiStrategy(10_000, 4, PlayerPolicy.GREEDY, 0, 42)) {
+            Thread.currentThread().interrupt();
+            long start = System.nanoTime();
+            TacticalChoice move = strategy.chooseOpeningMove(view());
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(Thread.interrupted(), "la interrupción se conserva");
+            assertNotNull(move);
+            assertTrue(AI_CARDS.contains(move.getSelectedCard()));
+            assertTrue(elapsedMillis < 5_000, "la búsqueda interrumpida no agota el presupuesto: " + elapsedMillis + " ms");
+            // Solo cuenta el buscador del llamador, que se detiene tras su primer bloque de simulaciones
+            assertTrue(strategy.getLastReport().getRollouts() < 1_000);
+        }
+    }
+
+    @Test
+    void rolloutLimitGivesTheSameMoveForTheSameSeed() {
+        TacticalChoice first;
+        TacticalChoice second;
+        try (MctsAiStrategy strategy = new MctsAiStrategy(10_000, 2, PlayerPolicy.GREEDY, 4_000, 42)) {
+            first = strategy.chooseOpeningMove(view());
+        }
+        try (MctsAiStrategy strategy = new MctsAiStrategy(10_000, 2, PlayerPolicy.GREEDY, 4_000, 42)) {
+            second = strategy.chooseOpeningMove(view());
+        }
+        assertEquals(first.getSelectedCard(), second.getSelectedCard());
+        assertEquals(first.getBattlePosition(), second.getBattlePosition());
+    }
+
+    private static DuelView view() {
+        return new DuelView() {
+            @Override public List<DuelCard> getPlayerActiveCards() { return PLAYER_CARDS; }
+            @Override public List<DuelCard> getAiActiveCards() { return AI_CARDS; }
+            @Override public int getPlayerVictories() { return 0; }
+            @Override public int getAiVictories() { return 0; }
+            @Override public int getPlayerLivesRemaining() { return 3; }
+            @Override public int getAiLivesRemaining() { return 3; }
+            @Override public int getTotalRoundsPlayed() { return 0; }
+        };
+    }
+}